@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.yoga;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.annotation.Nullable;
+
+/**
+ * Records style properties and child insertions for many {@link YogaNode}s into a single direct
+ * {@link ByteBuffer} so that they can be applied natively with one JNI call, instead of one call
+ * per property. Style ops reuse the values of {@link YogaStyleInputs}.
+ *
+ * <p>Children are attached on the Java side immediately, so {@link YogaNode#getChildCount()} and
+ * {@link YogaNode#getChildAt(int)} stay valid while recording. Style getters only reflect recorded
+ * values after {@link #apply()}.
+ *
+ * <p>A batch is not thread safe; use {@link #obtain()} and {@link #release()} to reuse one batch
+ * per thread.
+ */
+public final class YogaBatch {
+
+  /* Those ops need be in sync with YGJNI.h */
+  private static final int NODE = 100;
+  private static final int INSERT_CHILD = 101;
+
+  private static final int INITIAL_CAPACITY = 4096;
+
+  private static final ThreadLocal<YogaBatch> sBatches = new ThreadLocal<>();
+  private static final ThreadLocal<ByteBuffer> sLayoutResults = new ThreadLocal<>();
+
+  private static volatile boolean sLayoutResultsBufferEnabled = false;
+
+  private ByteBuffer mBuffer;
+  private @Nullable YogaNodeJNIBase mCurrentNode;
+  private boolean mInUse;
+
+  public YogaBatch() {
+    this(INITIAL_CAPACITY);
+  }
+
+  YogaBatch(int initialCapacity) {
+    mBuffer = ByteBuffer.allocateDirect(initialCapacity).order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Returns this thread's cached batch, or a new one if the cached batch is still in use. Call
+   * {@link #release()} once the batch has been applied.
+   */
+  public static YogaBatch obtain() {
+    YogaBatch batch = sBatches.get();
+    if (batch == null) {
+      batch = new YogaBatch();
+      sBatches.set(batch);
+    } else if (batch.mInUse) {
+      batch = new YogaBatch();
+    }
+    batch.mInUse = true;
+    return batch;
+  }
+
+  /** Drops anything not yet applied and makes this batch available to {@link #obtain()} again. */
+  public void release() {
+    mBuffer.clear();
+    mCurrentNode = null;
+    mInUse = false;
+  }
+
+  /**
+   * When enabled, {@link YogaNode#calculateLayout(float, float)} returns the layout outputs of all
+   * nodes through one shared direct buffer instead of setting a float[] on each node from JNI.
+   */
+  public static void setLayoutResultsBufferEnabled(boolean enabled) {
+    sLayoutResultsBufferEnabled = enabled;
+  }
+
+  public static boolean isLayoutResultsBufferEnabled() {
+    return sLayoutResultsBufferEnabled;
+  }
+
+  static ByteBuffer obtainLayoutResultsBuffer(int nodeCount) {
+    final int capacity = nodeCount * YogaNodeJNIBase.LAYOUT_RESULT_RECORD_SIZE;
+    ByteBuffer results = sLayoutResults.get();
+    if (results == null || results.capacity() < capacity) {
+      results = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+      sLayoutResults.set(results);
+    }
+    return results;
+  }
+
+  /** Makes node the target of every style op recorded until the next call to this method. */
+  public YogaBatch node(YogaNode node) {
+    final YogaNodeJNIBase jniNode = asJNINode(node);
+    if (mCurrentNode != jniNode) {
+      mCurrentNode = jniNode;
+      ensureCapacity(12);
+      mBuffer.putInt(NODE).putLong(jniNode.mNativePointer);
+    }
+    return this;
+  }
+
+  /** Batched equivalent of {@link YogaNode#addChildAt(YogaNode, int)}. */
+  public YogaBatch addChildAt(YogaNode parent, YogaNode child, int index) {
+    final YogaNodeJNIBase jniParent = asJNINode(parent);
+    final YogaNodeJNIBase jniChild = asJNINode(child);
+    jniParent.attachChild(jniChild, index);
+    ensureCapacity(24);
+    mBuffer
+        .putInt(INSERT_CHILD)
+        .putLong(jniParent.mNativePointer)
+        .putLong(jniChild.mNativePointer)
+        .putInt(index);
+    return this;
+  }
+
+  public YogaBatch setDirection(YogaDirection direction) {
+    return putInt(YogaStyleInputs.LAYOUT_DIRECTION, direction.intValue());
+  }
+
+  public YogaBatch setFlexDirection(YogaFlexDirection flexDirection) {
+    return putInt(YogaStyleInputs.FLEX_DIRECTION, flexDirection.intValue());
+  }
+
+  public YogaBatch setJustifyContent(YogaJustify justifyContent) {
+    return putInt(YogaStyleInputs.JUSTIFY_CONTENT, justifyContent.intValue());
+  }
+
+  public YogaBatch setAlignItems(YogaAlign alignItems) {
+    return putInt(YogaStyleInputs.ALIGN_ITEMS, alignItems.intValue());
+  }
+
+  public YogaBatch setAlignSelf(YogaAlign alignSelf) {
+    return putInt(YogaStyleInputs.ALIGN_SELF, alignSelf.intValue());
+  }
+
+  public YogaBatch setAlignContent(YogaAlign alignContent) {
+    return putInt(YogaStyleInputs.ALIGN_CONTENT, alignContent.intValue());
+  }
+
+  public YogaBatch setPositionType(YogaPositionType positionType) {
+    return putInt(YogaStyleInputs.POSITION_TYPE, positionType.intValue());
+  }
+
+  public YogaBatch setWrap(YogaWrap flexWrap) {
+    return putInt(YogaStyleInputs.FLEX_WRAP, flexWrap.intValue());
+  }
+
+  public YogaBatch setOverflow(YogaOverflow overflow) {
+    return putInt(YogaStyleInputs.OVERFLOW, overflow.intValue());
+  }
+
+  public YogaBatch setDisplay(YogaDisplay display) {
+    return putInt(YogaStyleInputs.DISPLAY, display.intValue());
+  }
+
+  public YogaBatch setIsReferenceBaseline(boolean isReferenceBaseline) {
+    return putInt(YogaStyleInputs.IS_REFERENCE_BASELINE, isReferenceBaseline ? 1 : 0);
+  }
+
+  public YogaBatch setFlex(float flex) {
+    return putFloat(YogaStyleInputs.FLEX, flex);
+  }
+
+  public YogaBatch setFlexGrow(float flexGrow) {
+    return putFloat(YogaStyleInputs.FLEX_GROW, flexGrow);
+  }
+
+  public YogaBatch setFlexShrink(float flexShrink) {
+    return putFloat(YogaStyleInputs.FLEX_SHRINK, flexShrink);
+  }
+
+  public YogaBatch setFlexBasis(float flexBasis) {
+    return putFloat(YogaStyleInputs.FLEX_BASIS, flexBasis);
+  }
+
+  public YogaBatch setFlexBasisPercent(float percent) {
+    return putFloat(YogaStyleInputs.FLEX_BASIS_PERCENT, percent);
+  }
+
+  public YogaBatch setFlexBasisAuto() {
+    return putOp(YogaStyleInputs.FLEX_BASIS_AUTO);
+  }
+
+  public YogaBatch setWidth(float width) {
+    return putFloat(YogaStyleInputs.WIDTH, width);
+  }
+
+  public YogaBatch setWidthPercent(float percent) {
+    return putFloat(YogaStyleInputs.WIDTH_PERCENT, percent);
+  }
+
+  public YogaBatch setWidthAuto() {
+    return putOp(YogaStyleInputs.WIDTH_AUTO);
+  }
+
+  public YogaBatch setMinWidth(float minWidth) {
+    return putFloat(YogaStyleInputs.MIN_WIDTH, minWidth);
+  }
+
+  public YogaBatch setMinWidthPercent(float percent) {
+    return putFloat(YogaStyleInputs.MIN_WIDTH_PERCENT, percent);
+  }
+
+  public YogaBatch setMaxWidth(float maxWidth) {
+    return putFloat(YogaStyleInputs.MAX_WIDTH, maxWidth);
+  }
+
+  public YogaBatch setMaxWidthPercent(float percent) {
+    return putFloat(YogaStyleInputs.MAX_WIDTH_PERCENT, percent);
+  }
+
+  public YogaBatch setHeight(float height) {
+    return putFloat(YogaStyleInputs.HEIGHT, height);
+  }
+
+  public YogaBatch setHeightPercent(float percent) {
+    return putFloat(YogaStyleInputs.HEIGHT_PERCENT, percent);
+  }
+
+  public YogaBatch setHeightAuto() {
+    return putOp(YogaStyleInputs.HEIGHT_AUTO);
+  }
+
+  public YogaBatch setMinHeight(float minHeight) {
+    return putFloat(YogaStyleInputs.MIN_HEIGHT, minHeight);
+  }
+
+  public YogaBatch setMinHeightPercent(float percent) {
+    return putFloat(YogaStyleInputs.MIN_HEIGHT_PERCENT, percent);
+  }
+
+  public YogaBatch setMaxHeight(float maxHeight) {
+    return putFloat(YogaStyleInputs.MAX_HEIGHT, maxHeight);
+  }
+
+  public YogaBatch setMaxHeightPercent(float percent) {
+    return putFloat(YogaStyleInputs.MAX_HEIGHT_PERCENT, percent);
+  }
+
+  public YogaBatch setAspectRatio(float aspectRatio) {
+    return putFloat(YogaStyleInputs.ASPECT_RATIO, aspectRatio);
+  }
+
+  public YogaBatch setMargin(YogaEdge edge, float margin) {
+    return putEdge(YogaStyleInputs.MARGIN, edge, margin);
+  }
+
+  public YogaBatch setMarginPercent(YogaEdge edge, float percent) {
+    return putEdge(YogaStyleInputs.MARGIN_PERCENT, edge, percent);
+  }
+
+  public YogaBatch setMarginAuto(YogaEdge edge) {
+    return putInt(YogaStyleInputs.MARGIN_AUTO, edge.intValue());
+  }
+
+  public YogaBatch setPadding(YogaEdge edge, float padding) {
+    return putEdge(YogaStyleInputs.PADDING, edge, padding);
+  }
+
+  public YogaBatch setPaddingPercent(YogaEdge edge, float percent) {
+    return putEdge(YogaStyleInputs.PADDING_PERCENT, edge, percent);
+  }
+
+  public YogaBatch setBorder(YogaEdge edge, float border) {
+    return putEdge(YogaStyleInputs.BORDER, edge, border);
+  }
+
+  public YogaBatch setPosition(YogaEdge edge, float position) {
+    return putEdge(YogaStyleInputs.POSITION, edge, position);
+  }
+
+  public YogaBatch setPositionPercent(YogaEdge edge, float percent) {
+    return putEdge(YogaStyleInputs.POSITION_PERCENT, edge, percent);
+  }
+
+  /** Returns the number of bytes recorded since the last {@link #apply()}. */
+  public int size() {
+    return mBuffer.position();
+  }
+
+  public boolean isEmpty() {
+    return mBuffer.position() == 0;
+  }
+
+  /** Applies everything recorded so far with a single JNI call and clears the batch. */
+  public void apply() {
+    if (mBuffer.position() > 0) {
+      YogaNative.jni_YGNodeApplyBatchJNI(mBuffer, mBuffer.position());
+    }
+    mBuffer.clear();
+    mCurrentNode = null;
+  }
+
+  private YogaBatch putOp(int op) {
+    checkHasNode();
+    ensureCapacity(4);
+    mBuffer.putInt(op);
+    return this;
+  }
+
+  private YogaBatch putInt(int op, int value) {
+    checkHasNode();
+    ensureCapacity(8);
+    mBuffer.putInt(op).putInt(value);
+    return this;
+  }
+
+  private YogaBatch putFloat(int op, float value) {
+    checkHasNode();
+    ensureCapacity(8);
+    mBuffer.putInt(op).putFloat(value);
+    return this;
+  }
+
+  private YogaBatch putEdge(int op, YogaEdge edge, float value) {
+    checkHasNode();
+    ensureCapacity(12);
+    mBuffer.putInt(op).putInt(edge.intValue()).putFloat(value);
+    return this;
+  }
+
+  private void checkHasNode() {
+    if (mCurrentNode == null) {
+      throw new IllegalStateException("node() must be called before recording style ops");
+    }
+  }
+
+  private void ensureCapacity(int bytes) {
+    if (mBuffer.remaining() >= bytes) {
+      return;
+    }
+    final ByteBuffer grown =
+        ByteBuffer.allocateDirect(Math.max(mBuffer.capacity() * 2, mBuffer.position() + bytes))
+            .order(ByteOrder.nativeOrder());
+    mBuffer.flip();
+    grown.put(mBuffer);
+    mBuffer = grown;
+  }
+
+  private static YogaNodeJNIBase asJNINode(YogaNode node) {
+    if (!(node instanceof YogaNodeJNIBase)) {
+      throw new IllegalArgumentException("YogaBatch only supports JNI backed YogaNodes");
+    }
+    return (YogaNodeJNIBase) node;
+  }
+}
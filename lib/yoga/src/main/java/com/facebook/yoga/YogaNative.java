@@ -9,6 +9,7 @@ package com.facebook.yoga;
 
 import com.facebook.yoga.annotations.DoNotStrip;
 import com.facebook.soloader.SoLoader;
+import java.nio.ByteBuffer;
 
 @DoNotStrip
 public class YogaNative {
@@ -40,6 +41,8 @@ public class YogaNative {
   static native void jni_YGNodeRemoveAllChildrenJNI(long nativePointer);
   static native void jni_YGNodeRemoveChildJNI(long nativePointer, long childPointer);
   static native void jni_YGNodeCalculateLayoutJNI(long nativePointer, float width, float height, long[] nativePointers, YogaNodeJNIBase[] nodes);
+  static native int jni_YGNodeCalculateLayoutIntoBufferJNI(long nativePointer, float width, float height, long[] nativePointers, YogaNodeJNIBase[] nodes, ByteBuffer layoutResults);
+  static native void jni_YGNodeApplyBatchJNI(ByteBuffer batch, int length);
   static native void jni_YGNodeMarkDirtyJNI(long nativePointer);
   static native void jni_YGNodeMarkDirtyAndPropagateToDescendantsJNI(long nativePointer);
   static native boolean jni_YGNodeIsDirtyJNI(long nativePointer);
@@ -8,6 +8,7 @@
 package com.facebook.yoga;
 
 import com.facebook.yoga.annotations.DoNotStrip;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -31,6 +32,10 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
   private static final byte LAYOUT_PADDING_START_INDEX = 10;
   private static final byte LAYOUT_BORDER_START_INDEX = 14;
 
+  /* A record of the shared layout results buffer, needs be in sync with YGJNI.h */
+  static final int LAYOUT_RESULT_HEADER_SIZE = 8;
+  static final int LAYOUT_RESULT_RECORD_SIZE = LAYOUT_RESULT_HEADER_SIZE + 18 * 4;
+
   @Nullable private YogaNodeJNIBase mOwner;
   @Nullable private List<YogaNodeJNIBase> mChildren;
   @Nullable private YogaMeasureFunction mMeasureFunction;
@@ -86,6 +91,12 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
       return;
     }
     YogaNodeJNIBase child = (YogaNodeJNIBase) c;
+    attachChild(child, i);
+    YogaNative.jni_YGNodeInsertChildJNI(mNativePointer, child.mNativePointer, i);
+  }
+
+  /** Records child at index i on the Java side only; the native insert is left to the caller. */
+  void attachChild(YogaNodeJNIBase child, int i) {
     if (child.mOwner != null) {
       throw new IllegalStateException("Child already has a parent, it must be removed first.");
     }
@@ -95,7 +106,6 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
     }
     mChildren.add(i, child);
     child.mOwner = this;
-    YogaNative.jni_YGNodeInsertChildJNI(mNativePointer, child.mNativePointer, i);
   }
 
   public void setIsReferenceBaseline(boolean isReferenceBaseline) {
@@ -217,7 +227,31 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
       nativePointers[i] = nodes[i].mNativePointer;
     }
 
-    YogaNative.jni_YGNodeCalculateLayoutJNI(mNativePointer, width, height, nativePointers, nodes);
+    if (YogaBatch.isLayoutResultsBufferEnabled()) {
+      final ByteBuffer results = YogaBatch.obtainLayoutResultsBuffer(nodes.length);
+      final int count =
+          YogaNative.jni_YGNodeCalculateLayoutIntoBufferJNI(
+              mNativePointer, width, height, nativePointers, nodes, results);
+      for (int i = 0; i < count; ++i) {
+        final int offset = i * LAYOUT_RESULT_RECORD_SIZE;
+        nodes[results.getInt(offset)].applyLayoutResult(
+            results, offset + LAYOUT_RESULT_HEADER_SIZE, results.getInt(offset + 4));
+      }
+    } else {
+      YogaNative.jni_YGNodeCalculateLayoutJNI(mNativePointer, width, height, nativePointers, nodes);
+    }
+  }
+
+  /**
+   * Copies this node's layout outputs out of the shared results buffer. A new array is allocated
+   * because clones share arr with the node they were cloned from.
+   */
+  private void applyLayoutResult(ByteBuffer results, int offset, int size) {
+    final float[] outputs = new float[size];
+    for (int i = 0; i < size; ++i) {
+      outputs[i] = results.getFloat(offset + i * 4);
+    }
+    arr = outputs;
   }
 
   private void freeze(YogaNode parent) {
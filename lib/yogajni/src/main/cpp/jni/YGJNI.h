@@ -17,6 +17,60 @@ const short int LAYOUT_MARGIN_START_INDEX = 6;
 const short int LAYOUT_PADDING_START_INDEX = 10;
 const short int LAYOUT_BORDER_START_INDEX = 14;
 
+// A layout result record written by jni_YGNodeCalculateLayoutIntoBufferJNI:
+// int32 node index, int32 output count and up to 18 floats of layout outputs.
+// Needs to be in sync with YogaNodeJNIBase.java
+const int LAYOUT_RESULT_MAX_OUTPUTS = 18;
+const int LAYOUT_RESULT_RECORD_SIZE =
+    2 * sizeof(int32_t) + LAYOUT_RESULT_MAX_OUTPUTS * sizeof(float);
+
+// Ops of a style batch applied by jni_YGNodeApplyBatchJNI. Style ops need to
+// be in sync with YogaStyleInputs.java, batch ops with YogaBatch.java
+enum YGJNIBatchOp : int32_t {
+  BATCH_LAYOUT_DIRECTION = 0,
+  BATCH_FLEX_DIRECTION = 1,
+  BATCH_FLEX = 2,
+  BATCH_FLEX_GROW = 3,
+  BATCH_FLEX_SHRINK = 4,
+  BATCH_FLEX_BASIS = 5,
+  BATCH_FLEX_BASIS_PERCENT = 6,
+  BATCH_FLEX_BASIS_AUTO = 7,
+  BATCH_FLEX_WRAP = 8,
+  BATCH_WIDTH = 9,
+  BATCH_WIDTH_PERCENT = 10,
+  BATCH_WIDTH_AUTO = 11,
+  BATCH_MIN_WIDTH = 12,
+  BATCH_MIN_WIDTH_PERCENT = 13,
+  BATCH_MAX_WIDTH = 14,
+  BATCH_MAX_WIDTH_PERCENT = 15,
+  BATCH_HEIGHT = 16,
+  BATCH_HEIGHT_PERCENT = 17,
+  BATCH_HEIGHT_AUTO = 18,
+  BATCH_MIN_HEIGHT = 19,
+  BATCH_MIN_HEIGHT_PERCENT = 20,
+  BATCH_MAX_HEIGHT = 21,
+  BATCH_MAX_HEIGHT_PERCENT = 22,
+  BATCH_JUSTIFY_CONTENT = 23,
+  BATCH_ALIGN_ITEMS = 24,
+  BATCH_ALIGN_SELF = 25,
+  BATCH_ALIGN_CONTENT = 26,
+  BATCH_POSITION_TYPE = 27,
+  BATCH_ASPECT_RATIO = 28,
+  BATCH_OVERFLOW = 29,
+  BATCH_DISPLAY = 30,
+  BATCH_MARGIN = 31,
+  BATCH_MARGIN_PERCENT = 32,
+  BATCH_MARGIN_AUTO = 33,
+  BATCH_PADDING = 34,
+  BATCH_PADDING_PERCENT = 35,
+  BATCH_BORDER = 36,
+  BATCH_POSITION = 37,
+  BATCH_POSITION_PERCENT = 38,
+  BATCH_IS_REFERENCE_BASELINE = 39,
+  BATCH_NODE = 100,
+  BATCH_INSERT_CHILD = 101,
+};
+
 namespace {
 
 const int HAS_NEW_LAYOUT = 16;
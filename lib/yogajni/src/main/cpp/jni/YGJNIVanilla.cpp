@@ -263,17 +263,10 @@ static void jni_YGNodeRemoveChildJNI(
       _jlong2YGNodeRef(nativePointer), _jlong2YGNodeRef(childPointer));
 }
 
-static void
-YGTransferLayoutOutputsRecursive(JNIEnv* env, jobject thiz, YGNodeRef root) {
-  if (!YGNodeGetHasNewLayout(root)) {
-    return;
-  }
-  auto obj = YGNodeJobject(root);
-  if (!obj) {
-    return;
-  }
-
-  auto edgesSet = YGNodeEdges{root};
+// Fills `arr` with the layout outputs of `node` and returns how many of its
+// entries were written.
+static int YGCollectLayoutOutputs(YGNodeRef node, float* arr) {
+  auto edgesSet = YGNodeEdges{node};
 
   bool marginFieldSet = edgesSet.has(YGNodeEdges::MARGIN);
   bool paddingFieldSet = edgesSet.has(YGNodeEdges::PADDING);
@@ -284,40 +277,55 @@ YGTransferLayoutOutputsRecursive(JNIEnv* env, jobject thiz, YGNodeRef root) {
 
   const int arrSize = 6 + (marginFieldSet ? 4 : 0) + (paddingFieldSet ? 4 : 0) +
       (borderFieldSet ? 4 : 0);
-  float arr[18];
   arr[LAYOUT_EDGE_SET_FLAG_INDEX] = static_cast<float>(fieldFlags);
-  arr[LAYOUT_WIDTH_INDEX] = YGNodeLayoutGetWidth(root);
-  arr[LAYOUT_HEIGHT_INDEX] = YGNodeLayoutGetHeight(root);
-  arr[LAYOUT_LEFT_INDEX] = YGNodeLayoutGetLeft(root);
-  arr[LAYOUT_TOP_INDEX] = YGNodeLayoutGetTop(root);
+  arr[LAYOUT_WIDTH_INDEX] = YGNodeLayoutGetWidth(node);
+  arr[LAYOUT_HEIGHT_INDEX] = YGNodeLayoutGetHeight(node);
+  arr[LAYOUT_LEFT_INDEX] = YGNodeLayoutGetLeft(node);
+  arr[LAYOUT_TOP_INDEX] = YGNodeLayoutGetTop(node);
   arr[LAYOUT_DIRECTION_INDEX] =
-      static_cast<float>(YGNodeLayoutGetDirection(root));
+      static_cast<float>(YGNodeLayoutGetDirection(node));
   if (marginFieldSet) {
-    arr[LAYOUT_MARGIN_START_INDEX] = YGNodeLayoutGetMargin(root, YGEdgeLeft);
-    arr[LAYOUT_MARGIN_START_INDEX + 1] = YGNodeLayoutGetMargin(root, YGEdgeTop);
+    arr[LAYOUT_MARGIN_START_INDEX] = YGNodeLayoutGetMargin(node, YGEdgeLeft);
+    arr[LAYOUT_MARGIN_START_INDEX + 1] = YGNodeLayoutGetMargin(node, YGEdgeTop);
     arr[LAYOUT_MARGIN_START_INDEX + 2] =
-        YGNodeLayoutGetMargin(root, YGEdgeRight);
+        YGNodeLayoutGetMargin(node, YGEdgeRight);
     arr[LAYOUT_MARGIN_START_INDEX + 3] =
-        YGNodeLayoutGetMargin(root, YGEdgeBottom);
+        YGNodeLayoutGetMargin(node, YGEdgeBottom);
   }
   if (paddingFieldSet) {
     int paddingStartIndex =
         LAYOUT_PADDING_START_INDEX - (marginFieldSet ? 0 : 4);
-    arr[paddingStartIndex] = YGNodeLayoutGetPadding(root, YGEdgeLeft);
-    arr[paddingStartIndex + 1] = YGNodeLayoutGetPadding(root, YGEdgeTop);
-    arr[paddingStartIndex + 2] = YGNodeLayoutGetPadding(root, YGEdgeRight);
-    arr[paddingStartIndex + 3] = YGNodeLayoutGetPadding(root, YGEdgeBottom);
+    arr[paddingStartIndex] = YGNodeLayoutGetPadding(node, YGEdgeLeft);
+    arr[paddingStartIndex + 1] = YGNodeLayoutGetPadding(node, YGEdgeTop);
+    arr[paddingStartIndex + 2] = YGNodeLayoutGetPadding(node, YGEdgeRight);
+    arr[paddingStartIndex + 3] = YGNodeLayoutGetPadding(node, YGEdgeBottom);
   }
 
   if (borderFieldSet) {
     int borderStartIndex = LAYOUT_BORDER_START_INDEX -
         (marginFieldSet ? 0 : 4) - (paddingFieldSet ? 0 : 4);
-    arr[borderStartIndex] = YGNodeLayoutGetBorder(root, YGEdgeLeft);
-    arr[borderStartIndex + 1] = YGNodeLayoutGetBorder(root, YGEdgeTop);
-    arr[borderStartIndex + 2] = YGNodeLayoutGetBorder(root, YGEdgeRight);
-    arr[borderStartIndex + 3] = YGNodeLayoutGetBorder(root, YGEdgeBottom);
+    arr[borderStartIndex] = YGNodeLayoutGetBorder(node, YGEdgeLeft);
+    arr[borderStartIndex + 1] = YGNodeLayoutGetBorder(node, YGEdgeTop);
+    arr[borderStartIndex + 2] = YGNodeLayoutGetBorder(node, YGEdgeRight);
+    arr[borderStartIndex + 3] = YGNodeLayoutGetBorder(node, YGEdgeBottom);
   }
 
+  return arrSize;
+}
+
+static void
+YGTransferLayoutOutputsRecursive(JNIEnv* env, jobject thiz, YGNodeRef root) {
+  if (!YGNodeGetHasNewLayout(root)) {
+    return;
+  }
+  auto obj = YGNodeJobject(root);
+  if (!obj) {
+    return;
+  }
+
+  float arr[LAYOUT_RESULT_MAX_OUTPUTS];
+  const int arrSize = YGCollectLayoutOutputs(root, arr);
+
   // Create scope to make sure to release any local refs created here
   {
     // Don't change this field name without changing the name of the field in
@@ -340,6 +348,49 @@ YGTransferLayoutOutputsRecursive(JNIEnv* env, jobject thiz, YGNodeRef root) {
   }
 }
 
+// Writes one LAYOUT_RESULT_RECORD_SIZE record per node with a new layout into
+// `out`, instead of allocating and setting a float[] on every Java node.
+static void YGWriteLayoutOutputsRecursive(
+    const PtrJNodeMapVanilla& map,
+    YGNodeRef root,
+    uint8_t* out,
+    size_t capacity,
+    size_t& offset) {
+  if (!YGNodeGetHasNewLayout(root)) {
+    return;
+  }
+  const jsize index = map.indexOf(root);
+  if (index < 0) {
+    return;
+  }
+  if (offset + LAYOUT_RESULT_RECORD_SIZE > capacity) {
+    throw std::logic_error("Layout result buffer is too small");
+  }
+
+  float arr[LAYOUT_RESULT_MAX_OUTPUTS];
+  const int32_t header[2] = {
+      static_cast<int32_t>(index), YGCollectLayoutOutputs(root, arr)};
+  std::memcpy(out + offset, header, sizeof(header));
+  std::memcpy(out + offset + sizeof(header), arr, header[1] * sizeof(float));
+  offset += LAYOUT_RESULT_RECORD_SIZE;
+
+  YGNodeSetHasNewLayout(root, false);
+
+  for (size_t i = 0; i < YGNodeGetChildCount(root); i++) {
+    YGWriteLayoutOutputsRecursive(
+        map, YGNodeGetChild(root, i), out, capacity, offset);
+  }
+}
+
+static void YGThrowLogicError(JNIEnv* env, const std::logic_error& ex) {
+  env->ExceptionClear();
+  jclass cl = env->FindClass("java/lang/IllegalStateException");
+  static const jmethodID methodId = facebook::yoga::vanillajni::getMethodId(
+      env, cl, "<init>", "(Ljava/lang/String;)V");
+  auto throwable = env->NewObject(cl, methodId, env->NewStringUTF(ex.what()));
+  env->Throw(static_cast<jthrowable>(throwable));
+}
+
 static void jni_YGNodeCalculateLayoutJNI(
     JNIEnv* env,
     jobject obj,
@@ -371,13 +422,48 @@ static void jni_YGNodeCalculateLayoutJNI(
       env->Throw(throwable.get());
     }
   } catch (const std::logic_error& ex) {
-    env->ExceptionClear();
-    jclass cl = env->FindClass("java/lang/IllegalStateException");
-    static const jmethodID methodId = facebook::yoga::vanillajni::getMethodId(
-        env, cl, "<init>", "(Ljava/lang/String;)V");
-    auto throwable = env->NewObject(cl, methodId, env->NewStringUTF(ex.what()));
-    env->Throw(static_cast<jthrowable>(throwable));
+    YGThrowLogicError(env, ex);
+  }
+}
+
+static jint jni_YGNodeCalculateLayoutIntoBufferJNI(
+    JNIEnv* env,
+    jobject /*obj*/,
+    jlong nativePointer,
+    jfloat width,
+    jfloat height,
+    jlongArray nativePointers,
+    jobjectArray javaNodes,
+    jobject layoutResults) {
+  try {
+    auto map = PtrJNodeMapVanilla{nativePointers, javaNodes};
+    LayoutContext::Provider contextProvider(&map);
+
+    const YGNodeRef root = _jlong2YGNodeRef(nativePointer);
+    YGNodeCalculateLayout(
+        root,
+        static_cast<float>(width),
+        static_cast<float>(height),
+        YGNodeStyleGetDirection(root));
+
+    auto out = static_cast<uint8_t*>(env->GetDirectBufferAddress(layoutResults));
+    const jlong capacity = env->GetDirectBufferCapacity(layoutResults);
+    if (out == nullptr || capacity < 0) {
+      throw std::logic_error("Layout results must be a direct buffer");
+    }
+    size_t offset = 0;
+    YGWriteLayoutOutputsRecursive(
+        map, root, out, static_cast<size_t>(capacity), offset);
+    return static_cast<jint>(offset / LAYOUT_RESULT_RECORD_SIZE);
+  } catch (const YogaJniException& jniException) {
+    ScopedLocalRef<jthrowable> throwable = jniException.getThrowable();
+    if (throwable.get()) {
+      env->Throw(throwable.get());
+    }
+  } catch (const std::logic_error& ex) {
+    YGThrowLogicError(env, ex);
   }
+  return 0;
 }
 
 static void
@@ -736,6 +822,238 @@ static void jni_YGNodeStyleSetGapJNI(
 // Yoga specific properties, not compatible with flexbox specification
 YG_NODE_JNI_STYLE_PROP(jfloat, float, AspectRatio);
 
+namespace {
+
+// Sequential reader over a style batch written by YogaBatch.java. Records are
+// an int32 op followed by its operands, all in native byte order.
+class YGJNIBatchReader {
+  const uint8_t* data_;
+  size_t length_;
+  size_t offset_ = 0;
+
+  template <typename T>
+  T read() {
+    if (offset_ + sizeof(T) > length_) {
+      throw std::logic_error("Truncated Yoga style batch");
+    }
+    T value;
+    std::memcpy(&value, data_ + offset_, sizeof(T));
+    offset_ += sizeof(T);
+    return value;
+  }
+
+ public:
+  YGJNIBatchReader(const uint8_t* data, size_t length)
+      : data_{data}, length_{length} {}
+
+  bool hasNext() const {
+    return offset_ < length_;
+  }
+
+  int32_t readInt() {
+    return read<int32_t>();
+  }
+
+  float readFloat() {
+    return read<float>();
+  }
+
+  YGNodeRef readNode() {
+    return _jlong2YGNodeRef(read<jlong>());
+  }
+
+  YGEdge readEdge() {
+    return static_cast<YGEdge>(read<int32_t>());
+  }
+};
+
+} // namespace
+
+static void YGApplyBatchOp(
+    YGJNIBatchReader& reader,
+    YGJNIBatchOp op,
+    YGNodeRef node) {
+  switch (op) {
+    case BATCH_LAYOUT_DIRECTION:
+      YGNodeStyleSetDirection(node, static_cast<YGDirection>(reader.readInt()));
+      break;
+    case BATCH_FLEX_DIRECTION:
+      YGNodeStyleSetFlexDirection(
+          node, static_cast<YGFlexDirection>(reader.readInt()));
+      break;
+    case BATCH_FLEX:
+      YGNodeStyleSetFlex(node, reader.readFloat());
+      break;
+    case BATCH_FLEX_GROW:
+      YGNodeStyleSetFlexGrow(node, reader.readFloat());
+      break;
+    case BATCH_FLEX_SHRINK:
+      YGNodeStyleSetFlexShrink(node, reader.readFloat());
+      break;
+    case BATCH_FLEX_BASIS:
+      YGNodeStyleSetFlexBasis(node, reader.readFloat());
+      break;
+    case BATCH_FLEX_BASIS_PERCENT:
+      YGNodeStyleSetFlexBasisPercent(node, reader.readFloat());
+      break;
+    case BATCH_FLEX_BASIS_AUTO:
+      YGNodeStyleSetFlexBasisAuto(node);
+      break;
+    case BATCH_FLEX_WRAP:
+      YGNodeStyleSetFlexWrap(node, static_cast<YGWrap>(reader.readInt()));
+      break;
+    case BATCH_WIDTH:
+      YGNodeStyleSetWidth(node, reader.readFloat());
+      break;
+    case BATCH_WIDTH_PERCENT:
+      YGNodeStyleSetWidthPercent(node, reader.readFloat());
+      break;
+    case BATCH_WIDTH_AUTO:
+      YGNodeStyleSetWidthAuto(node);
+      break;
+    case BATCH_MIN_WIDTH:
+      YGNodeStyleSetMinWidth(node, reader.readFloat());
+      break;
+    case BATCH_MIN_WIDTH_PERCENT:
+      YGNodeStyleSetMinWidthPercent(node, reader.readFloat());
+      break;
+    case BATCH_MAX_WIDTH:
+      YGNodeStyleSetMaxWidth(node, reader.readFloat());
+      break;
+    case BATCH_MAX_WIDTH_PERCENT:
+      YGNodeStyleSetMaxWidthPercent(node, reader.readFloat());
+      break;
+    case BATCH_HEIGHT:
+      YGNodeStyleSetHeight(node, reader.readFloat());
+      break;
+    case BATCH_HEIGHT_PERCENT:
+      YGNodeStyleSetHeightPercent(node, reader.readFloat());
+      break;
+    case BATCH_HEIGHT_AUTO:
+      YGNodeStyleSetHeightAuto(node);
+      break;
+    case BATCH_MIN_HEIGHT:
+      YGNodeStyleSetMinHeight(node, reader.readFloat());
+      break;
+    case BATCH_MIN_HEIGHT_PERCENT:
+      YGNodeStyleSetMinHeightPercent(node, reader.readFloat());
+      break;
+    case BATCH_MAX_HEIGHT:
+      YGNodeStyleSetMaxHeight(node, reader.readFloat());
+      break;
+    case BATCH_MAX_HEIGHT_PERCENT:
+      YGNodeStyleSetMaxHeightPercent(node, reader.readFloat());
+      break;
+    case BATCH_JUSTIFY_CONTENT:
+      YGNodeStyleSetJustifyContent(
+          node, static_cast<YGJustify>(reader.readInt()));
+      break;
+    case BATCH_ALIGN_ITEMS:
+      YGNodeStyleSetAlignItems(node, static_cast<YGAlign>(reader.readInt()));
+      break;
+    case BATCH_ALIGN_SELF:
+      YGNodeStyleSetAlignSelf(node, static_cast<YGAlign>(reader.readInt()));
+      break;
+    case BATCH_ALIGN_CONTENT:
+      YGNodeStyleSetAlignContent(node, static_cast<YGAlign>(reader.readInt()));
+      break;
+    case BATCH_POSITION_TYPE:
+      YGNodeStyleSetPositionType(
+          node, static_cast<YGPositionType>(reader.readInt()));
+      break;
+    case BATCH_ASPECT_RATIO:
+      YGNodeStyleSetAspectRatio(node, reader.readFloat());
+      break;
+    case BATCH_OVERFLOW:
+      YGNodeStyleSetOverflow(node, static_cast<YGOverflow>(reader.readInt()));
+      break;
+    case BATCH_DISPLAY:
+      YGNodeStyleSetDisplay(node, static_cast<YGDisplay>(reader.readInt()));
+      break;
+    case BATCH_MARGIN: {
+      const YGEdge edge = reader.readEdge();
+      YGNodeEdges{node}.add(YGNodeEdges::MARGIN).setOn(node);
+      YGNodeStyleSetMargin(node, edge, reader.readFloat());
+      break;
+    }
+    case BATCH_MARGIN_PERCENT: {
+      const YGEdge edge = reader.readEdge();
+      YGNodeEdges{node}.add(YGNodeEdges::MARGIN).setOn(node);
+      YGNodeStyleSetMarginPercent(node, edge, reader.readFloat());
+      break;
+    }
+    case BATCH_MARGIN_AUTO:
+      YGNodeEdges{node}.add(YGNodeEdges::MARGIN).setOn(node);
+      YGNodeStyleSetMarginAuto(node, reader.readEdge());
+      break;
+    case BATCH_PADDING: {
+      const YGEdge edge = reader.readEdge();
+      YGNodeEdges{node}.add(YGNodeEdges::PADDING).setOn(node);
+      YGNodeStyleSetPadding(node, edge, reader.readFloat());
+      break;
+    }
+    case BATCH_PADDING_PERCENT: {
+      const YGEdge edge = reader.readEdge();
+      YGNodeEdges{node}.add(YGNodeEdges::PADDING).setOn(node);
+      YGNodeStyleSetPaddingPercent(node, edge, reader.readFloat());
+      break;
+    }
+    case BATCH_BORDER: {
+      const YGEdge edge = reader.readEdge();
+      YGNodeEdges{node}.add(YGNodeEdges::BORDER).setOn(node);
+      YGNodeStyleSetBorder(node, edge, reader.readFloat());
+      break;
+    }
+    case BATCH_POSITION: {
+      const YGEdge edge = reader.readEdge();
+      YGNodeStyleSetPosition(node, edge, reader.readFloat());
+      break;
+    }
+    case BATCH_POSITION_PERCENT: {
+      const YGEdge edge = reader.readEdge();
+      YGNodeStyleSetPositionPercent(node, edge, reader.readFloat());
+      break;
+    }
+    case BATCH_IS_REFERENCE_BASELINE:
+      YGNodeSetIsReferenceBaseline(node, reader.readInt() != 0);
+      break;
+    default:
+      throw std::logic_error("Unknown Yoga style batch op");
+  }
+}
+
+static void jni_YGNodeApplyBatchJNI(
+    JNIEnv* env,
+    jobject /*obj*/,
+    jobject batch,
+    jint length) {
+  try {
+    auto data = static_cast<const uint8_t*>(env->GetDirectBufferAddress(batch));
+    if (data == nullptr || length > env->GetDirectBufferCapacity(batch)) {
+      throw std::logic_error("Yoga style batch must be a direct buffer");
+    }
+    YGJNIBatchReader reader{data, static_cast<size_t>(length)};
+    YGNodeRef node = nullptr;
+    while (reader.hasNext()) {
+      const auto op = static_cast<YGJNIBatchOp>(reader.readInt());
+      if (op == BATCH_NODE) {
+        node = reader.readNode();
+      } else if (op == BATCH_INSERT_CHILD) {
+        const YGNodeRef parent = reader.readNode();
+        const YGNodeRef child = reader.readNode();
+        YGNodeInsertChild(
+            parent, child, static_cast<uint32_t>(reader.readInt()));
+      } else if (node == nullptr) {
+        throw std::logic_error("Yoga style batch op without a node");
+      } else {
+        YGApplyBatchOp(reader, op, node);
+      }
+    }
+  } catch (const std::logic_error& ex) {
+    YGThrowLogicError(env, ex);
+  }
+}
+
 static JNINativeMethod methods[] = {
     {"jni_YGConfigNewJNI", "()J", (void*)jni_YGConfigNewJNI},
     {"jni_YGConfigFreeJNI", "(J)V", (void*)jni_YGConfigFreeJNI},
@@ -775,6 +1093,12 @@ static JNINativeMethod methods[] = {
     {"jni_YGNodeCalculateLayoutJNI",
      "(JFF[J[Lcom/facebook/yoga/YogaNodeJNIBase;)V",
      (void*)jni_YGNodeCalculateLayoutJNI},
+    {"jni_YGNodeCalculateLayoutIntoBufferJNI",
+     "(JFF[J[Lcom/facebook/yoga/YogaNodeJNIBase;Ljava/nio/ByteBuffer;)I",
+     (void*)jni_YGNodeCalculateLayoutIntoBufferJNI},
+    {"jni_YGNodeApplyBatchJNI",
+     "(Ljava/nio/ByteBuffer;I)V",
+     (void*)jni_YGNodeApplyBatchJNI},
     {"jni_YGNodeMarkDirtyJNI", "(J)V", (void*)jni_YGNodeMarkDirtyJNI},
     {"jni_YGNodeMarkDirtyAndPropagateToDescendantsJNI",
      "(J)V",
@@ -37,6 +37,11 @@ class PtrJNodeMapVanilla {
     }
   }
 
+  jsize indexOf(YGNodeConstRef node) const {
+    auto idx = ptrsToIdxs_.find(node);
+    return idx == ptrsToIdxs_.end() ? -1 : idx->second;
+  }
+
   facebook::yoga::vanillajni::ScopedLocalRef<jobject> ref(YGNodeConstRef node) {
     using namespace facebook::yoga::vanillajni;
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import com.facebook.litho.dataflow.DataFlowGraph;
+import com.facebook.litho.dataflow.GraphBinding;
+import com.facebook.litho.dataflow.MockTimingSource;
+import com.facebook.litho.dataflow.NodeCanFinish;
+import com.facebook.litho.dataflow.ValueNode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single animation frame of a {@link DataFlowGraph} running {@link #animationCount}
+ * concurrent animations, each a chain of a never-ending driver node and two nodes reading their
+ * default input. Allocations per op should be zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DataFlowGraphBenchmark {
+
+  @Param({"10", "100", "500"})
+  public int animationCount;
+
+  private MockTimingSource mTimingSource;
+  private GraphBinding[] mBindings;
+
+  @Setup
+  public void setup() {
+    mTimingSource = new MockTimingSource();
+    final DataFlowGraph graph = DataFlowGraph.create(mTimingSource);
+    mBindings = new GraphBinding[animationCount];
+    for (int i = 0; i < animationCount; i++) {
+      final GraphBinding binding = GraphBinding.create(graph);
+      final DriverNode driver = new DriverNode();
+      final ScaleNode first = new ScaleNode();
+      binding.addBinding(driver, first);
+      binding.addBinding(first, new ScaleNode());
+      binding.activate();
+      mBindings[i] = binding;
+    }
+    // Compiles the graph, so that only steady-state frames are measured.
+    mTimingSource.step(1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    for (GraphBinding binding : mBindings) {
+      binding.deactivate();
+    }
+  }
+
+  @Benchmark
+  public void frame() {
+    mTimingSource.step(1);
+  }
+
+  private static class DriverNode extends ValueNode implements NodeCanFinish {
+
+    @Override
+    protected float calculateValue(long frameTimeNanos) {
+      return (frameTimeNanos % 1000) / 1000f;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return false;
+    }
+  }
+
+  private static class ScaleNode extends ValueNode {
+
+    @Override
+    protected float calculateValue(long frameTimeNanos) {
+      return getInput().getValue() * 0.5f;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import com.facebook.litho.BenchmarkTestHelper;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.ResolveResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Yoga layout phase, which creates the {@code LithoLayoutResult} tree, on a tree
+ * resolved once up front.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LayoutBenchmark extends PipelineBenchmarkState {
+
+  private ResolveResult mResolveResult;
+
+  @Setup
+  public void setup() {
+    final ComponentContext c = createContext();
+    mResolveResult = BenchmarkTestHelper.resolve(c, createComponent(c));
+  }
+
+  @Benchmark
+  public BenchmarkTestHelper.MeasuredTree layout() {
+    return BenchmarkTestHelper.measure(mResolveResult, WIDTH_SPEC, HEIGHT_SPEC);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.Collection;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point which runs the JMH pipeline benchmarks inside the Robolectric sandbox, so that they
+ * have access to the Android classes used by the render pipeline.
+ *
+ * <p>Benchmarks only run when the {@code litho.benchmarks} Gradle property is set, e.g.
+ *
+ * <pre>
+ * ./gradlew :litho-benchmarks:testDebugUnitTest -Plitho.benchmarks \
+ *     -Plitho.benchmarks.include=ResolveBenchmark
+ * </pre>
+ *
+ * Results, including allocations per op reported by the GC profiler, are written as JSON to
+ * {@code build/reports/jmh/results.json} so they can be compared against a previous run.
+ */
+@RunWith(LithoTestRunner.class)
+public class LithoPipelineBenchmarksTest {
+
+  @Test
+  public void runPipelineBenchmarks() throws RunnerException {
+    assumeTrue("Benchmarks are disabled", Boolean.getBoolean("litho.benchmarks"));
+
+    final Options options =
+        new OptionsBuilder()
+            .include(
+                LithoPipelineBenchmarksTest.class.getPackage().getName()
+                    + ".*"
+                    + System.getProperty("litho.benchmarks.include", ".*"))
+            // Forked JVMs would run outside of the Robolectric sandbox.
+            .forks(0)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty("litho.benchmarks.results", "jmh-results.json"))
+            .build();
+
+    final Collection<RunResult> results = new Runner(options).run();
+
+    assertFalse("No benchmarks matched the include pattern", results.isEmpty());
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import com.facebook.litho.BenchmarkTestHelper;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.LithoView;
+import com.facebook.litho.ThreadUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures mounting a committed layout ({@code MountState.mount}) into an unmounted {@link
+ * LithoView}. The view is unmounted before every invocation, which is excluded from the results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MountBenchmark extends PipelineBenchmarkState {
+
+  private LithoView mLithoView;
+
+  @Setup
+  public void setup() {
+    // JMH runs benchmarks on its own worker threads, but mounting asserts the main thread.
+    ThreadUtils.setMainThreadOverride(ThreadUtils.OVERRIDE_MAIN_THREAD_TRUE);
+    final ComponentContext c = createContext();
+    mLithoView =
+        BenchmarkTestHelper.createAndMeasureLithoView(
+            c, createComponent(c), WIDTH_SPEC, HEIGHT_SPEC);
+  }
+
+  @Setup(Level.Invocation)
+  public void unmount() {
+    BenchmarkTestHelper.unmountLithoView(mLithoView);
+    BenchmarkTestHelper.setMountStateDirty(mLithoView);
+  }
+
+  @Benchmark
+  public LithoView mount() {
+    BenchmarkTestHelper.mountLithoView(mLithoView);
+    return mLithoView;
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkTestHelper.unmountLithoView(mLithoView);
+    ThreadUtils.setMainThreadOverride(ThreadUtils.OVERRIDE_DISABLED);
+  }
+}
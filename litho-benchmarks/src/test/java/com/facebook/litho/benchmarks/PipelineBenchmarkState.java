@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import androidx.test.core.app.ApplicationProvider;
+import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.SizeSpec;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Base state shared by the pipeline benchmarks: a synthetic tree of {@link #nodeCount} components
+ * with the given {@link #shape}, laid out against a fixed viewport.
+ */
+@State(Scope.Benchmark)
+public abstract class PipelineBenchmarkState {
+
+  static final int WIDTH_SPEC = SizeSpec.makeSizeSpec(1080, SizeSpec.EXACTLY);
+  static final int HEIGHT_SPEC = SizeSpec.makeSizeSpec(0, SizeSpec.UNSPECIFIED);
+
+  @Param({"100", "1000", "10000"})
+  public int nodeCount;
+
+  @Param({"WIDE", "DEEP"})
+  public SyntheticTrees.Shape shape;
+
+  ComponentContext createContext() {
+    return new ComponentContext(ApplicationProvider.getApplicationContext());
+  }
+
+  Component createComponent(ComponentContext c) {
+    return SyntheticTrees.create(c, nodeCount, shape);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import android.graphics.Color;
+import com.facebook.litho.Column;
+import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.Row;
+import com.facebook.litho.widget.SolidColor;
+
+/** Creates synthetic component trees of a given size and shape for benchmarking. */
+public final class SyntheticTrees {
+
+  /** The shape of a synthetic tree. */
+  public enum Shape {
+    /** A single container holding every leaf. */
+    WIDE,
+    /** Chains of nested containers, each level holding one leaf and the next level. */
+    DEEP,
+  }
+
+  /**
+   * The depth of a single chain in a {@link Shape#DEEP} tree. Chains are capped so that deep trees
+   * of 10k nodes don't overflow the stack of the (recursive) resolve and layout passes.
+   */
+  private static final int MAX_CHAIN_DEPTH = 100;
+
+  private static final int LEAF_SIZE_PX = 10;
+
+  private SyntheticTrees() {}
+
+  /** Creates a tree of approximately {@code nodeCount} components with the given shape. */
+  public static Component create(ComponentContext c, int nodeCount, Shape shape) {
+    switch (shape) {
+      case WIDE:
+        return createWide(c, nodeCount);
+      case DEEP:
+        return createDeep(c, nodeCount);
+      default:
+        throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+  }
+
+  private static Component createWide(ComponentContext c, int nodeCount) {
+    final Column.Builder root = Column.create(c);
+    for (int i = 1; i < nodeCount; i++) {
+      root.child(createLeaf(c, i));
+    }
+    return root.build();
+  }
+
+  private static Component createDeep(ComponentContext c, int nodeCount) {
+    final Row.Builder root = Row.create(c);
+    int remaining = nodeCount - 1;
+    int index = 0;
+    while (remaining > 0) {
+      // Every level of a chain is a container plus a leaf.
+      final int depth = Math.min(MAX_CHAIN_DEPTH, Math.max(1, remaining / 2));
+      root.child(createChain(c, depth, index));
+      remaining -= depth * 2;
+      index += depth;
+    }
+    return root.build();
+  }
+
+  private static Component createChain(ComponentContext c, int depth, int startIndex) {
+    Component current = Column.create(c).child(createLeaf(c, startIndex + depth - 1)).build();
+    for (int level = depth - 2; level >= 0; level--) {
+      current = Column.create(c).child(createLeaf(c, startIndex + level)).child(current).build();
+    }
+    return current;
+  }
+
+  private static Component createLeaf(ComponentContext c, int index) {
+    return SolidColor.create(c)
+        .color(index % 2 == 0 ? Color.RED : Color.BLUE)
+        .widthPx(LEAF_SIZE_PX)
+        .heightPx(LEAF_SIZE_PX)
+        .build();
+  }
+}
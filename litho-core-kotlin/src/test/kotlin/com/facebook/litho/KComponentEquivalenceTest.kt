@@ -133,4 +133,43 @@ class KComponentEquivalenceTest {
                 .isEquivalentTo(ComponentWithComplexProps(Counter(0), Name("Grace"))))
         .isFalse()
   }
+
+  @Test
+  fun kcomponentWithPrimitiveProps_isEquivalentTo_comparesEachPrimitiveType() {
+    class ComponentWithPrimitiveProps(
+        private val long: Long = 1L,
+        private val boolean: Boolean = true,
+        private val float: Float = 1f,
+        private val double: Double = 1.0,
+        private val byte: Byte = 1,
+        private val short: Short = 1,
+        private val char: Char = 'a',
+    ) : KComponent() {
+      override fun ComponentScope.render() = null
+    }
+
+    assertThat(ComponentWithPrimitiveProps().isEquivalentTo(ComponentWithPrimitiveProps()))
+        .isTrue()
+    assertThat(
+            ComponentWithPrimitiveProps(float = Float.NaN)
+                .isEquivalentTo(ComponentWithPrimitiveProps(float = Float.NaN)))
+        .isTrue()
+    assertThat(ComponentWithPrimitiveProps().isEquivalentTo(ComponentWithPrimitiveProps(long = 2L)))
+        .isFalse()
+    assertThat(
+            ComponentWithPrimitiveProps()
+                .isEquivalentTo(ComponentWithPrimitiveProps(boolean = false)))
+        .isFalse()
+    assertThat(ComponentWithPrimitiveProps().isEquivalentTo(ComponentWithPrimitiveProps(float = 2f)))
+        .isFalse()
+    assertThat(
+            ComponentWithPrimitiveProps().isEquivalentTo(ComponentWithPrimitiveProps(double = 2.0)))
+        .isFalse()
+    assertThat(ComponentWithPrimitiveProps().isEquivalentTo(ComponentWithPrimitiveProps(byte = 2)))
+        .isFalse()
+    assertThat(ComponentWithPrimitiveProps().isEquivalentTo(ComponentWithPrimitiveProps(short = 2)))
+        .isFalse()
+    assertThat(ComponentWithPrimitiveProps().isEquivalentTo(ComponentWithPrimitiveProps(char = 'b')))
+        .isFalse()
+  }
 }
@@ -33,6 +33,7 @@ import com.facebook.litho.animation.AnimatedProperties;
 import com.facebook.litho.animation.AnimatedProperty;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.debug.DebugOverlay;
+import com.facebook.litho.stats.LithoMetrics;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.rendercore.MountDelegateTarget;
 import com.facebook.rendercore.MountState;
@@ -497,8 +498,15 @@ public abstract class BaseMountingView extends ComponentHost
   private void mountWithMountDelegateTarget(
       LayoutState layoutState, @Nullable Rect currentVisibleArea) {
     final boolean needsMount = isMountStateDirty() || mountStateNeedsRemount();
+    final long metricsStartNs = LithoMetrics.start();
+    final long metricsStartAllocations = LithoMetrics.startAllocations();
     if (currentVisibleArea != null && !needsMount) {
       mMountState.getMountDelegate().notifyVisibleBoundsChanged(currentVisibleArea);
+      LithoMetrics.record(
+          LithoMetrics.Stage.INCREMENTAL_MOUNT,
+          layoutState.getComponentTreeId(),
+          metricsStartNs,
+          metricsStartAllocations);
     } else {
       // Generate the renderTree here so that any operations
       // that occur in toRenderTree() happen prior to "beforeMount".
@@ -507,6 +515,11 @@ public abstract class BaseMountingView extends ComponentHost
       mLithoHostListenerCoordinator.beforeMount(layoutState, currentVisibleArea);
       mMountState.mount(renderTree);
       LithoStats.incrementComponentMountCount();
+      LithoMetrics.record(
+          LithoMetrics.Stage.MOUNT,
+          layoutState.getComponentTreeId(),
+          metricsStartNs,
+          metricsStartAllocations);
       drawDebugOverlay(this, layoutState.getComponentTreeId());
     }
   }
@@ -753,8 +766,15 @@ public abstract class BaseMountingView extends ComponentHost
       layoutState.setShouldProcessVisibilityOutputs(true);
 
       if (mLithoHostListenerCoordinator != null) {
+        final long metricsStartNs = LithoMetrics.start();
+        final long metricsStartAllocations = LithoMetrics.startAllocations();
         mLithoHostListenerCoordinator.processVisibilityOutputs(
             currentVisibleArea, isMountStateDirty());
+        LithoMetrics.record(
+            LithoMetrics.Stage.VISIBILITY,
+            layoutState.getComponentTreeId(),
+            metricsStartNs,
+            metricsStartAllocations);
       }
 
       mPreviousMountVisibleRectBounds.set(currentVisibleArea);
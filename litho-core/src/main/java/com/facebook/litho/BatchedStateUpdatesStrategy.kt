@@ -41,6 +41,14 @@ interface BatchedStateUpdatesStrategy {
    */
   fun onInternalStateUpdateStart()
 
+  /**
+   * This method is called whenever a layout calculated because of a state update is committed.
+   *
+   * Strategies can use it to know when the layout started by [onInternalStateUpdateStart] is no
+   * longer in flight.
+   */
+  fun onStateUpdateLayoutCommitted()
+
   /**
    * This method should be called whenever the resources held by this strategy should be freed or
    * reset.
@@ -486,6 +486,27 @@ public abstract class Component implements Cloneable, Equivalence<Component>, At
 
     LithoLayoutResult lastMeasuredLayout = resultCache.getCachedResult(this);
 
+    // Only sizes are cached across renders, so the cross render cache is only used when the
+    // measured result is discarded anyway.
+    final boolean useCrossRenderCache =
+        !shouldCacheResult && lastMeasuredLayout == null && CrossRenderMeasureCache.isEnabled();
+    @Nullable String crossRenderGlobalKey = null;
+    if (useCrossRenderCache) {
+      // The key is generated before the lookup so that hits and misses advance the key counters of
+      // the parent scope in the same way.
+      crossRenderGlobalKey = ComponentKeyUtils.generateGlobalKey(c, c.getComponentScope(), this);
+      if (CrossRenderMeasureCache.get(
+          c,
+          this,
+          crossRenderGlobalKey,
+          calculationContext.getTreeId(),
+          widthSpec,
+          heightSpec,
+          outputSize)) {
+        return;
+      }
+    }
+
     if (lastMeasuredLayout == null
         || !MeasureComparisonUtils.isMeasureSpecCompatible(
             lastMeasuredLayout.getWidthSpec(), widthSpec, lastMeasuredLayout.getWidth())
@@ -515,7 +536,7 @@ public abstract class Component implements Cloneable, Equivalence<Component>, At
                   null);
           c.setRenderStateContext(nestedRsc);
 
-          node = Resolver.resolveTree(nestedRsc, c, this);
+          node = Resolver.resolveTree(nestedRsc, c, this, crossRenderGlobalKey);
         }
 
         if (mainRsc != null && mainRsc.isLayoutInterrupted() && node != null) {
@@ -551,6 +572,18 @@ public abstract class Component implements Cloneable, Equivalence<Component>, At
 
       // Add the cached result.
       resultCache.addCachedResult(this, lastMeasuredLayout.getNode(), lastMeasuredLayout);
+
+      if (crossRenderGlobalKey != null) {
+        CrossRenderMeasureCache.put(
+            c,
+            this,
+            crossRenderGlobalKey,
+            calculationContext.getTreeId(),
+            treeState,
+            widthSpec,
+            heightSpec,
+            lastMeasuredLayout);
+      }
     }
     outputSize.width = lastMeasuredLayout.getWidth();
     outputSize.height = lastMeasuredLayout.getHeight();
@@ -16,6 +16,8 @@
 
 package com.facebook.litho
 
+import com.facebook.litho.config.ComponentsConfiguration
+
 object ComponentKeyUtils {
 
   private const val DUPLICATE_MANUAL_KEY = "ComponentKeyUtils:DuplicateManualKey"
@@ -76,7 +78,6 @@ object ComponentKeyUtils {
         logParentHasNullGlobalKey(parentComponent, childComponent)
         globalKey = "null$key"
       } else {
-        val childKey = getKeyWithSeparator(parentGlobalKey, key)
         val index: Int
         if (hasManualKey) {
           index = parentContext.scopedComponentInfo.getManualKeyUsagesCountAndIncrement(key)
@@ -86,12 +87,30 @@ object ComponentKeyUtils {
         } else {
           index = parentContext.scopedComponentInfo.getChildCountAndIncrement(childComponent)
         }
-        globalKey = getKeyForChildPosition(childKey, index)
+        val keyTable =
+            if (ComponentsConfiguration.useInternedGlobalKeys) {
+              parentContext.renderUnitIdGenerator?.keyTable
+            } else {
+              null
+            }
+        globalKey =
+            keyTable?.getChildKey(parentGlobalKey, childComponent, key, index)
+                ?: getChildKey(parentGlobalKey, key, index)
       }
     }
     return globalKey
   }
 
+  /**
+   * @param parentGlobalKey the global key of the parent component
+   * @param key the key of the child component, prefixed if it is a manual key
+   * @param index the number of siblings which generated the same key before this child
+   * @return the global key of the child component
+   */
+  @JvmStatic
+  fun getChildKey(parentGlobalKey: String, key: String, index: Int): String =
+      getKeyForChildPosition(getKeyWithSeparator(parentGlobalKey, key), index)
+
   private fun logParentHasNullGlobalKey(parentComponent: Component, childComponent: Component) {
     ComponentsReporter.emitMessage(
         ComponentsReporter.LogLevel.ERROR,
@@ -77,13 +77,16 @@ import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.infer.annotation.ThreadSafe;
 import com.facebook.litho.LithoLifecycleProvider.LithoLifecycle;
 import com.facebook.litho.annotations.MountSpec;
+import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.debug.AttributionUtils;
 import com.facebook.litho.debug.DebugOverlay;
 import com.facebook.litho.debug.LithoDebugEvent;
 import com.facebook.litho.debug.LithoDebugEventAttributes;
 import com.facebook.litho.perfboost.LithoPerfBooster;
+import com.facebook.litho.stats.LithoMetrics;
 import com.facebook.litho.stats.LithoStats;
+import com.facebook.litho.yoga.YogaNodePool;
 import com.facebook.rendercore.LogLevel;
 import com.facebook.rendercore.RunnableHandler;
 import com.facebook.rendercore.RunnableHandler.DefaultHandler;
@@ -314,6 +317,8 @@ public class ComponentTree
   @GuardedBy("mCurrentDoLayoutRunnableLock")
   private @Nullable DoResolveRunnable mCurrentDoResolveRunnable;
 
+  private volatile @LayoutPriority int mLayoutPriority = LayoutPriority.VISIBLE;
+
   private final Object mLayoutStateFutureLock = new Object();
 
   private final Object mResolveResultFutureLock = new Object();
@@ -326,8 +331,10 @@ public class ComponentTree
 
   private @Nullable TreeFuture.FutureExecutionListener mFutureExecutionListener;
 
-  @GuardedBy("this")
-  private @Nullable Component mRoot;
+  // This is written to only with the lock held. queueStateUpdate, queueHookStateUpdate and
+  // applyLazyStateUpdatesForContainer read it without the lock, only to check whether the tree has
+  // a root. Any other read holds the lock.
+  private volatile @Nullable Component mRoot;
 
   @GuardedBy("this")
   private int mExternalRootVersion = INVALID_LAYOUT_VERSION;
@@ -366,8 +373,12 @@ public class ComponentTree
   @GuardedBy("this")
   private @Nullable ResolveResult mCommittedResolveResult;
 
-  @GuardedBy("this")
-  private @Nullable TreeState mTreeState;
+  // This is written to only with the lock held, and is only replaced by applyRevision and cleared
+  // by release. queueStateUpdate and queueHookStateUpdate read it without the lock and queue
+  // updates into it, which is safe because the pending updates of StateHandler are kept in a thread
+  // safe StateUpdateQueue. The event trigger and pending state update accessors also read it
+  // without the lock. Any other read holds the lock.
+  private volatile @Nullable TreeState mTreeState;
 
   protected final int mId;
 
@@ -397,6 +408,18 @@ public class ComponentTree
 
   private final @Nullable BatchedStateUpdatesStrategy mBatchedStateUpdatesStrategy;
 
+  private final @Nullable LayoutSizeSnapshotCache mLayoutSizeSnapshotCache;
+  private final @Nullable String mLayoutSizeSnapshotKey;
+
+  // Whether the size returned by measure came from mLayoutSizeSnapshotCache.
+  @GuardedBy("this")
+  private boolean mHasMeasuredFromLayoutSizeSnapshot;
+
+  // The number of layouts which may be reusing the layout results of the LayoutState that was
+  // committed when they started. The Yoga nodes of a LayoutState are only recycled when it is 0.
+  @GuardedBy("this")
+  private int mRunningLayoutCount;
+
   public static Builder create(ComponentContext context) {
     return new ComponentTree.Builder(context);
   }
@@ -453,7 +476,21 @@ public class ComponentTree
       logger = builder.context.getLogger();
     }
 
-    if (ComponentsConfiguration.enableStateUpdatesBatching) {
+    if (ComponentsConfiguration.enableStateUpdatesBatching
+        && ComponentsConfiguration.useFrameBudgetStateUpdatesStrategy) {
+      mBatchedStateUpdatesStrategy =
+          new FrameBudgetStateUpdatesStrategy(
+              ChoreographerCompatImpl.getInstance(),
+              attribution ->
+                  updateStateInternal(
+                      true,
+                      attribution != null
+                          ? attribution
+                          : "<cls>"
+                              + getContext().getComponentScope().getClass().getName()
+                              + "</cls>",
+                      getContext().isCreateLayoutInProgress()));
+    } else if (ComponentsConfiguration.enableStateUpdatesBatching) {
       mBatchedStateUpdatesStrategy = new PostStateUpdateToChoreographerCallback();
     } else {
       mBatchedStateUpdatesStrategy = null;
@@ -467,6 +504,13 @@ public class ComponentTree
 
     addMeasureListener(builder.mMeasureListener);
 
+    mLayoutSizeSnapshotCache = builder.layoutSizeSnapshotCache;
+    mLayoutSizeSnapshotKey = builder.layoutSizeSnapshotKey;
+
+    if (ComponentsConfiguration.useYogaNodePool) {
+      YogaNodePool.ensureComponentCallbacks(builder.context.getAndroidContext());
+    }
+
     mTreeState = builder.treeState == null ? new TreeState() : builder.treeState;
 
     mIncrementalMountHelper =
@@ -670,6 +714,39 @@ public class ComponentTree
     mLayoutThreadHandler = ensureAndInstrumentLayoutThreadHandler(layoutThreadHandler);
   }
 
+  /**
+   * Sets the {@link LayoutPriority} async resolves and layouts of this tree are scheduled with when
+   * the layout thread handler is a {@link PriorityLayoutHandler}. Computations which are still
+   * pending in that handler are moved to the lane of the new priority; computations which already
+   * started, or which run on any other handler, are not affected.
+   */
+  public void setLayoutPriority(@LayoutPriority int layoutPriority) {
+    if (mLayoutPriority == layoutPriority) {
+      return;
+    }
+
+    mLayoutPriority = layoutPriority;
+
+    final RunnableHandler layoutThreadHandler = mLayoutThreadHandler;
+    if (!(layoutThreadHandler instanceof PriorityLayoutHandler)) {
+      return;
+    }
+
+    final PriorityLayoutHandler priorityLayoutHandler = (PriorityLayoutHandler) layoutThreadHandler;
+    synchronized (mCurrentDoLayoutRunnableLock) {
+      if (mCurrentDoResolveRunnable != null) {
+        priorityLayoutHandler.reprioritize(mCurrentDoResolveRunnable);
+      }
+      if (mCurrentDoLayoutRunnable != null) {
+        priorityLayoutHandler.reprioritize(mCurrentDoLayoutRunnable);
+      }
+    }
+  }
+
+  public @LayoutPriority int getLayoutPriority() {
+    return mLayoutPriority;
+  }
+
   @VisibleForTesting
   public @Nullable NewLayoutStateReadyListener getNewLayoutStateReadyListener() {
     return mNewLayoutStateReadyListener;
@@ -947,7 +1024,9 @@ public class ComponentTree
     if (mCommittedLayoutState == mMainThreadLayoutState) {
       return;
     }
+    final @Nullable LayoutState previousLayoutState = mMainThreadLayoutState;
     mMainThreadLayoutState = mCommittedLayoutState;
+    maybeRecycleYogaNodes(previousLayoutState);
     dispatchOnAttached();
 
     if (mLithoView != null) {
@@ -955,6 +1034,23 @@ public class ComponentTree
     }
   }
 
+  /**
+   * Returns the Yoga nodes of a LayoutState which was replaced or released to the {@link
+   * YogaNodePool}, unless a running layout could still be reusing its layout results.
+   */
+  @GuardedBy("this")
+  private void maybeRecycleYogaNodes(@Nullable LayoutState layoutState) {
+    if (layoutState == null
+        || !ComponentsConfiguration.useYogaNodePool
+        || NodeConfig.yogaNodeFactory != null
+        || layoutState == mCommittedLayoutState
+        || layoutState == mMainThreadLayoutState
+        || mRunningLayoutCount > 0) {
+      return;
+    }
+    mLayoutThreadHandler.post(layoutState::recycleYogaNodes, "recycleYogaNodes");
+  }
+
   @UiThread
   @GuardedBy("this")
   private void dispatchOnAttached() {
@@ -973,6 +1069,8 @@ public class ComponentTree
     mIsMeasuring = true;
     try {
       final boolean needsSyncLayout;
+      boolean measuredFromLayoutSizeSnapshot = false;
+      boolean remeasuredLayoutSizeSnapshot = false;
       synchronized (this) {
         if (mCommittedLayoutState != null
             && mCommittedLayoutState != mMainThreadLayoutState
@@ -994,6 +1092,17 @@ public class ComponentTree
           measureOutput[0] = mMainThreadLayoutState.getWidth();
           measureOutput[1] = mMainThreadLayoutState.getHeight();
           needsSyncLayout = false;
+        } else if (!forceLayout && isRemeasuringLayoutSizeSnapshot(widthSpec, heightSpec)) {
+          // LithoView.onBeforeLayout measures again with the size returned from the snapshot. The
+          // layout keeps the specs which produced it, so that a stale size is corrected by another
+          // Android layout pass once the layout is committed.
+          measureOutput[0] = SizeSpec.getSize(widthSpec);
+          measureOutput[1] = SizeSpec.getSize(heightSpec);
+          needsSyncLayout = false;
+          remeasuredLayoutSizeSnapshot = true;
+        } else if (!forceLayout && getLayoutSizeSnapshot(widthSpec, heightSpec, measureOutput)) {
+          needsSyncLayout = false;
+          measuredFromLayoutSizeSnapshot = true;
         } else {
           needsSyncLayout = true;
 
@@ -1086,7 +1195,11 @@ public class ComponentTree
                     + LayoutState.layoutSourceToString(mLastLayoutSource));
           }
         }
-      } else {
+      } else if (measuredFromLayoutSizeSnapshot) {
+        // No layout exists for these specs yet: compute it in the background, and mount it (or
+        // request another Android layout pass if its size differs) once it is committed.
+        setSizeSpecAsync(widthSpec, heightSpec);
+      } else if (!remeasuredLayoutSizeSnapshot) {
         setSizeSpecForMeasureAsync(widthSpec, heightSpec);
       }
     } finally {
@@ -1107,6 +1220,47 @@ public class ComponentTree
     }
   }
 
+  /**
+   * Whether these exact specs (e.g. from {@link LithoView#onBeforeLayout}) follow a measure which
+   * returned a size from the {@link LayoutSizeSnapshotCache}, before its layout was mounted. They
+   * are answered with their own size, without laying out with them.
+   */
+  @GuardedBy("this")
+  private boolean isRemeasuringLayoutSizeSnapshot(int widthSpec, int heightSpec) {
+    return mHasMeasuredFromLayoutSizeSnapshot
+        && mMainThreadLayoutState == null
+        && SizeSpec.getMode(widthSpec) == SizeSpec.EXACTLY
+        && SizeSpec.getMode(heightSpec) == SizeSpec.EXACTLY;
+  }
+
+  /**
+   * Writes the size recorded in the {@link LayoutSizeSnapshotCache} into {@code measureOutput} if
+   * this tree has never committed a layout.
+   *
+   * @return true if a size was found
+   */
+  @GuardedBy("this")
+  private boolean getLayoutSizeSnapshot(int widthSpec, int heightSpec, int[] measureOutput) {
+    if (mLayoutSizeSnapshotCache == null
+        || mLayoutSizeSnapshotKey == null
+        || mRoot == null
+        || mMainThreadLayoutState != null
+        || mCommittedLayoutState != null) {
+      return false;
+    }
+
+    final Size size = new Size();
+    if (!mLayoutSizeSnapshotCache.get(
+        mContext, mRoot, mLayoutSizeSnapshotKey, widthSpec, heightSpec, size)) {
+      return false;
+    }
+
+    measureOutput[0] = size.width;
+    measureOutput[1] = size.height;
+    mHasMeasuredFromLayoutSizeSnapshot = true;
+    return true;
+  }
+
   private static String specsToString(int widthSpec, int heightSpec) {
     return "w: "
         + SizeSpec.toSimpleString(widthSpec)
@@ -1232,20 +1386,13 @@ public class ComponentTree
   }
 
   @VisibleForTesting
-  synchronized void updateStateLazy(String componentKey, StateUpdate stateUpdate) {
+  void updateStateLazy(String componentKey, StateUpdate stateUpdate) {
     updateStateLazy(componentKey, stateUpdate, false);
   }
 
   @Override
-  public synchronized void updateStateLazy(
-      String componentKey, StateUpdate stateUpdate, boolean isNestedTree) {
-    if (mRoot == null) {
-      return;
-    }
-
-    if (mTreeState != null) {
-      mTreeState.queueStateUpdate(componentKey, stateUpdate, true, isNestedTree);
-    }
+  public void updateStateLazy(String componentKey, StateUpdate stateUpdate, boolean isNestedTree) {
+    queueStateUpdate(componentKey, stateUpdate, true, isNestedTree);
   }
 
   /**
@@ -1253,14 +1400,54 @@ public class ComponentTree
    *     in if there were no updates to apply. This method won't mutate the passed container.
    */
   @Override
-  public synchronized StateContainer applyLazyStateUpdatesForContainer(
+  public StateContainer applyLazyStateUpdatesForContainer(
       String componentKey, StateContainer container, boolean isNestedTree) {
-
-    if (mRoot == null || mTreeState == null) {
+    final @Nullable TreeState treeState = mTreeState;
+    if (mRoot == null || treeState == null) {
       return container;
     }
 
-    return mTreeState.applyLazyStateUpdatesForContainer(componentKey, container, isNestedTree);
+    return treeState.applyLazyStateUpdatesForContainer(componentKey, container, isNestedTree);
+  }
+
+  /**
+   * Queues a state update without taking the ComponentTree lock, so that producers such as
+   * animations never wait on a layout holding it.
+   *
+   * @return false if the tree has no root and the update was dropped.
+   */
+  private boolean queueStateUpdate(
+      String componentKey, StateUpdate stateUpdate, boolean isLazy, boolean isNestedTree) {
+    final @Nullable TreeState treeState = mTreeState;
+    if (mRoot == null) {
+      return false;
+    }
+
+    if (treeState != null) {
+      treeState.queueStateUpdate(componentKey, stateUpdate, isLazy, isNestedTree);
+      CrossRenderMeasureCache.invalidate(mId);
+    }
+    return true;
+  }
+
+  /**
+   * Queues a hook state update without taking the ComponentTree lock, like {@link
+   * #queueStateUpdate}.
+   *
+   * @return false if the tree has no root and the update was dropped.
+   */
+  private boolean queueHookStateUpdate(
+      String globalKey, HookUpdater updater, boolean isNestedTree) {
+    final @Nullable TreeState treeState = mTreeState;
+    if (mRoot == null) {
+      return false;
+    }
+
+    if (treeState != null) {
+      treeState.queueHookStateUpdate(globalKey, updater, isNestedTree);
+      CrossRenderMeasureCache.invalidate(mId);
+    }
+    return true;
   }
 
   @VisibleForTesting
@@ -1279,14 +1466,8 @@ public class ComponentTree
       String attribution,
       boolean isCreateLayoutInProgress,
       boolean isNestedTree) {
-    synchronized (this) {
-      if (mRoot == null) {
-        return;
-      }
-
-      if (mTreeState != null) {
-        mTreeState.queueStateUpdate(componentKey, stateUpdate, false, isNestedTree);
-      }
+    if (!queueStateUpdate(componentKey, stateUpdate, false, isNestedTree)) {
+      return;
     }
 
     ensureSyncStateUpdateRunnable(attribution, isCreateLayoutInProgress);
@@ -1308,14 +1489,8 @@ public class ComponentTree
       String attribution,
       boolean isCreateLayoutInProgress,
       boolean isNestedTree) {
-    synchronized (this) {
-      if (mRoot == null) {
-        return;
-      }
-
-      if (mTreeState != null) {
-        mTreeState.queueStateUpdate(componentKey, stateUpdate, false, isNestedTree);
-      }
+    if (!queueStateUpdate(componentKey, stateUpdate, false, isNestedTree)) {
+      return;
     }
 
     LithoStats.incrementComponentStateUpdateAsyncCount();
@@ -1329,14 +1504,8 @@ public class ComponentTree
       String attribution,
       boolean isCreateLayoutInProgress,
       boolean isNestedTree) {
-    synchronized (this) {
-      if (mRoot == null) {
-        return;
-      }
-
-      if (mTreeState != null) {
-        mTreeState.queueHookStateUpdate(globalKey, updater, isNestedTree);
-      }
+    if (!queueHookStateUpdate(globalKey, updater, isNestedTree)) {
+      return;
     }
 
     ensureSyncStateUpdateRunnable(attribution, isCreateLayoutInProgress);
@@ -1349,14 +1518,8 @@ public class ComponentTree
       String attribution,
       boolean isCreateLayoutInProgress,
       boolean isNestedTree) {
-    synchronized (this) {
-      if (mRoot == null) {
-        return;
-      }
-
-      if (mTreeState != null) {
-        mTreeState.queueHookStateUpdate(globalKey, updater, isNestedTree);
-      }
+    if (!queueHookStateUpdate(globalKey, updater, isNestedTree)) {
+      return;
     }
 
     LithoStats.incrementComponentStateUpdateAsyncCount();
@@ -2367,35 +2530,41 @@ public class ComponentTree
       currentDiffNode = currentLayoutState != null ? currentLayoutState.getDiffTree() : null;
       layoutVersion = mNextLayoutVersion++;
       treeProps = resolveResult != null ? resolveResult.context.getTreeProps() : null;
+      mRunningLayoutCount++;
     }
 
-    // No width / height spec, no point proceeding.
-    if (widthSpec == SIZE_UNINITIALIZED && heightSpec == SIZE_UNINITIALIZED) {
-      return;
-    }
-
-    resolveResult.treeState.registerLayoutState();
+    final TreeFuture.TreeFutureResult<LayoutState> layoutStateHolder;
+    try {
+      // No width / height spec, no point proceeding.
+      if (widthSpec == SIZE_UNINITIALIZED && heightSpec == SIZE_UNINITIALIZED) {
+        return;
+      }
 
-    final LayoutTreeFuture layoutTreeFuture =
-        new LayoutTreeFuture(
-            resolveResult,
-            currentLayoutState,
-            currentDiffNode,
-            null,
-            widthSpec,
-            heightSpec,
-            mId,
-            layoutVersion,
-            mIsLayoutDiffingEnabled,
-            source);
+      resolveResult.treeState.registerLayoutState();
 
-    final TreeFuture.TreeFutureResult<LayoutState> layoutStateHolder =
-        TreeFuture.trackAndRunTreeFuture(
-            layoutTreeFuture,
-            mLayoutTreeFutures,
-            source,
-            mLayoutStateFutureLock,
-            mFutureExecutionListener);
+      final LayoutTreeFuture layoutTreeFuture =
+          new LayoutTreeFuture(
+              resolveResult,
+              currentLayoutState,
+              currentDiffNode,
+              null,
+              widthSpec,
+              heightSpec,
+              mId,
+              layoutVersion,
+              mIsLayoutDiffingEnabled,
+              source);
+
+      layoutStateHolder =
+          TreeFuture.trackAndRunTreeFuture(
+              layoutTreeFuture,
+              mLayoutTreeFutures,
+              source,
+              mLayoutStateFutureLock,
+              mFutureExecutionListener);
+    } finally {
+      onLayoutFinished();
+    }
 
     if (layoutStateHolder == null) {
       return;
@@ -2444,6 +2613,10 @@ public class ComponentTree
         resolveResult.component);
   }
 
+  private synchronized void onLayoutFinished() {
+    mRunningLayoutCount--;
+  }
+
   @VisibleForTesting(otherwise = VisibleForTesting.PACKAGE_PRIVATE)
   void setFutureExecutionListener(
       final @Nullable TreeFuture.FutureExecutionListener futureExecutionListener) {
@@ -2517,6 +2690,12 @@ public class ComponentTree
         measureListeners = mMeasureListeners == null ? null : new ArrayList<>(mMeasureListeners);
       }
 
+      if (mBatchedStateUpdatesStrategy != null
+          && (source == RenderSource.UPDATE_STATE_ASYNC
+              || source == RenderSource.UPDATE_STATE_SYNC)) {
+        mBatchedStateUpdatesStrategy.onStateUpdateLayoutCommitted();
+      }
+
       // Resetting the count after layout calculation is complete and it was triggered from within
       // layout creation
       if (!isCreateLayoutInProgress) {
@@ -2536,6 +2715,17 @@ public class ComponentTree
         }
       }
 
+      if (mLayoutSizeSnapshotCache != null && mLayoutSizeSnapshotKey != null) {
+        mLayoutSizeSnapshotCache.put(
+            mContext,
+            rootComponent,
+            mLayoutSizeSnapshotKey,
+            layoutState.getWidthSpec(),
+            layoutState.getHeightSpec(),
+            layoutState.getWidth(),
+            layoutState.getHeight());
+      }
+
       postBackgroundLayoutStateUpdated();
 
       if (mPreAllocateMountContentHandler != null) {
@@ -2618,6 +2808,9 @@ public class ComponentTree
 
       mMainThreadHandler.remove(mBackgroundLayoutStateUpdateRunnable);
 
+      LithoMetrics.stopTrackingTree(mId);
+      CrossRenderMeasureCache.invalidate(mId);
+
       synchronized (mCurrentDoLayoutRunnableLock) {
         if (mCurrentDoResolveRunnable != null) {
           mLayoutThreadHandler.remove(mCurrentDoResolveRunnable);
@@ -2672,8 +2865,14 @@ public class ComponentTree
       // dispatch OnExitRange events.
       clearWorkingRangeStatusHandler();
 
+      final @Nullable LayoutState mainThreadLayoutState = mMainThreadLayoutState;
+      final @Nullable LayoutState committedLayoutState = mCommittedLayoutState;
       mMainThreadLayoutState = null;
       mCommittedLayoutState = null;
+      maybeRecycleYogaNodes(mainThreadLayoutState);
+      if (committedLayoutState != mainThreadLayoutState) {
+        maybeRecycleYogaNodes(committedLayoutState);
+      }
       mTreeState = null;
       mMeasureListeners = null;
       mCommittedResolveResult = null;
@@ -2906,7 +3105,7 @@ public class ComponentTree
     return sIdGenerator.getAndIncrement();
   }
 
-  private class DoLayoutRunnable extends ThreadTracingRunnable {
+  private class DoLayoutRunnable extends ThreadTracingRunnable implements PrioritizedRunnable {
 
     private final ResolveResult mResolveResult;
     private final @RenderSource int mSource;
@@ -2930,6 +3129,11 @@ public class ComponentTree
       mIsCreateLayoutInProgress = isCreateLayoutInProgress;
     }
 
+    @Override
+    public int getLayoutPriority() {
+      return mLayoutPriority;
+    }
+
     @Override
     public void tracedRun() {
       doLayout(
@@ -2943,7 +3147,7 @@ public class ComponentTree
     }
   }
 
-  private class DoResolveRunnable extends ThreadTracingRunnable {
+  private class DoResolveRunnable extends ThreadTracingRunnable implements PrioritizedRunnable {
 
     private final @RenderSource int mSource;
     private final Component mRoot;
@@ -2970,6 +3174,11 @@ public class ComponentTree
       mIsCreateLayoutInProgress = isCreateLayoutInProgress;
     }
 
+    @Override
+    public int getLayoutPriority() {
+      return mLayoutPriority;
+    }
+
     @Override
     public void tracedRun() {
       doResolve(
@@ -3077,6 +3286,8 @@ public class ComponentTree
     private @Nullable RenderUnitIdGenerator mRenderUnitIdGenerator;
     private @Nullable VisibilityBoundsTransformer visibilityBoundsTransformer;
     private @Nullable ComponentTreeDebugEventListener componentTreeDebugEventListener;
+    private @Nullable LayoutSizeSnapshotCache layoutSizeSnapshotCache;
+    private @Nullable String layoutSizeSnapshotKey;
 
     protected Builder(ComponentContext context) {
       this.context = context;
@@ -3270,6 +3481,27 @@ public class ComponentTree
       return this;
     }
 
+    /**
+     * Records the size of every committed layout in the given {@link LayoutSizeSnapshotCache}, so
+     * that the first measure of an equivalent tree in a later process can return that size instead
+     * of blocking on a synchronous layout.
+     *
+     * <p>The cache is loaded in the background if it was not loaded yet; until then, measure
+     * doesn't use it.
+     *
+     * @param snapshotKey identifies the content of the root, e.g. a hash of its props. It must
+     *     change whenever the size of the content may change.
+     */
+    public Builder layoutSizeSnapshot(
+        @Nullable LayoutSizeSnapshotCache cache, @Nullable String snapshotKey) {
+      layoutSizeSnapshotCache = cache;
+      layoutSizeSnapshotKey = snapshotKey;
+      if (cache != null) {
+        cache.loadAsync();
+      }
+      return this;
+    }
+
     /** Builds a {@link ComponentTree} using the parameters specified in this builder. */
     public ComponentTree build() {
 
@@ -3392,6 +3624,9 @@ public class ComponentTree
       removeFrameCallback();
     }
 
+    @Override
+    public void onStateUpdateLayoutCommitted() {}
+
     @Override
     public void release() {
       resetEnqueuedUpdates();
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import android.content.res.Configuration
+import androidx.annotation.VisibleForTesting
+import com.facebook.litho.config.ComponentsConfiguration
+import com.facebook.litho.stats.LithoStats
+import java.util.HashMap
+import java.util.LinkedHashMap
+
+/**
+ * A process wide, size bounded cache of the sizes produced by [Component.measure]. Unlike
+ * [MeasuredResultCache], which only lives for the duration of a single render, entries survive
+ * across renders and across [ComponentTree]s, so equivalent components measured with the same size
+ * specs (e.g. repeated list items with the same content) skip resolve and Yoga measurement.
+ *
+ * Entries are bucketed by (component type, width spec, height spec) and matched with
+ * [Component.isEquivalentTo], the tree props and the resources [Configuration]. Buckets are evicted
+ * in LRU order once [ComponentsConfiguration.crossRenderMeasureCacheMaxSize] is exceeded.
+ *
+ * A measured sub-tree which holds state is only reused by the same [ComponentTree] for the same
+ * global key of the measured component, and is invalidated as soon as a state update is enqueued on
+ * that tree or the tree is released.
+ *
+ * Only sizes are cached, so [Component.measure] only consults this cache when it discards the
+ * measured result anyway; otherwise a hit would leave nothing for the layout to reuse.
+ */
+object CrossRenderMeasureCache {
+
+  private const val MAX_ENTRIES_PER_BUCKET = 4
+  private const val NO_TREE_ID = -1
+
+  private val buckets: LinkedHashMap<Key, MutableList<Entry>> =
+      object : LinkedHashMap<Key, MutableList<Entry>>(16, 0.75f, true) {
+        override fun removeEldestEntry(
+            eldest: MutableMap.MutableEntry<Key, MutableList<Entry>>
+        ): Boolean {
+          if (size <= ComponentsConfiguration.crossRenderMeasureCacheMaxSize) {
+            return false
+          }
+          removeStatefulKey(eldest.key)
+          return true
+        }
+      }
+
+  /** The keys of the stateful buckets of every [ComponentTree], keyed by tree id. */
+  private val statefulKeys: HashMap<Int, MutableSet<Key>> = HashMap()
+
+  @JvmStatic
+  val isEnabled: Boolean
+    get() = ComponentsConfiguration.enableCrossRenderMeasureCache
+
+  /**
+   * Writes the size previously measured for an equivalent component into [outputSize].
+   *
+   * @param c the context the component is measured in
+   * @param globalKey the global key of the measured component
+   * @return true if a compatible entry was found
+   */
+  @JvmStatic
+  fun get(
+      c: ComponentContext,
+      component: Component,
+      globalKey: String,
+      treeId: Int,
+      widthSpec: Int,
+      heightSpec: Int,
+      outputSize: Size
+  ): Boolean {
+    val configuration = c.androidContext.resources.configuration
+    val treeProps = c.treeProps
+    val entry: Entry? =
+        synchronized(this) {
+          find(
+              Key(component.typeId, widthSpec, heightSpec, NO_TREE_ID, null),
+              component,
+              treeProps,
+              configuration)
+              ?: find(
+                  Key(component.typeId, widthSpec, heightSpec, treeId, globalKey),
+                  component,
+                  treeProps,
+                  configuration)
+        }
+
+    if (entry == null) {
+      LithoStats.incrementMeasureCacheMissCount()
+      return false
+    }
+
+    LithoStats.incrementMeasureCacheHitCount()
+    outputSize.width = entry.width
+    outputSize.height = entry.height
+    return true
+  }
+
+  /** Records the size measured for [component], with the given [globalKey], in [result]. */
+  @JvmStatic
+  fun put(
+      c: ComponentContext,
+      component: Component,
+      globalKey: String,
+      treeId: Int,
+      treeState: TreeState?,
+      widthSpec: Int,
+      heightSpec: Int,
+      result: LithoLayoutResult
+  ) {
+    val isStateful = treeState != null && hasState(treeState, result)
+    val key =
+        if (isStateful) {
+          Key(component.typeId, widthSpec, heightSpec, treeId, globalKey)
+        } else {
+          Key(component.typeId, widthSpec, heightSpec, NO_TREE_ID, null)
+        }
+    val entry =
+        Entry(
+            component,
+            TreeProps.copy(c.treeProps),
+            Configuration(c.androidContext.resources.configuration),
+            result.width,
+            result.height)
+
+    synchronized(this) {
+      if (isStateful) {
+        statefulKeys.getOrPut(treeId) { HashSet() }.add(key)
+      }
+      val bucket = buckets.getOrPut(key) { ArrayList(1) }
+      bucket.removeAll { it.matches(component, entry.treeProps, entry.configuration) }
+      if (bucket.size >= MAX_ENTRIES_PER_BUCKET) {
+        bucket.removeAt(0)
+      }
+      bucket.add(entry)
+    }
+  }
+
+  /** Drops every stateful entry recorded by the [ComponentTree] with the given id. */
+  @JvmStatic
+  fun invalidate(treeId: Int) {
+    if (!isEnabled) {
+      return
+    }
+    synchronized(this) {
+      val keys = statefulKeys.remove(treeId) ?: return
+      for (key in keys) {
+        buckets.remove(key)
+      }
+    }
+  }
+
+  @JvmStatic
+  @Synchronized
+  fun clear() {
+    buckets.clear()
+    statefulKeys.clear()
+  }
+
+  @VisibleForTesting
+  @JvmStatic
+  @Synchronized
+  fun size(): Int = buckets.size
+
+  private fun removeStatefulKey(key: Key) {
+    if (key.treeId == NO_TREE_ID) {
+      return
+    }
+    val keys = statefulKeys[key.treeId] ?: return
+    keys.remove(key)
+    if (keys.isEmpty()) {
+      statefulKeys.remove(key.treeId)
+    }
+  }
+
+  private fun find(
+      key: Key,
+      component: Component,
+      treeProps: TreeProps?,
+      configuration: Configuration
+  ): Entry? = buckets[key]?.lastOrNull { it.matches(component, treeProps, configuration) }
+
+  private fun hasState(treeState: TreeState, result: LithoLayoutResult): Boolean {
+    for (info in result.node.scopedComponentInfos) {
+      val context = info.context
+      if (info.stateContainer != null ||
+          treeState.getStateContainer(context.globalKey, context.isNestedTreeContext) != null) {
+        return true
+      }
+    }
+    if (result is NestedTreeHolderResult) {
+      // The nested tree hasn't been measured yet, so its state is unknown.
+      val nestedResult = result.nestedResult ?: return true
+      if (hasState(treeState, nestedResult)) {
+        return true
+      }
+    }
+    for (i in 0 until result.childCount) {
+      if (hasState(treeState, result.getChildAt(i))) {
+        return true
+      }
+    }
+    return false
+  }
+
+  private data class Key(
+      val typeId: Int,
+      val widthSpec: Int,
+      val heightSpec: Int,
+      val treeId: Int,
+      val globalKey: String?
+  )
+
+  private class Entry(
+      val component: Component,
+      val treeProps: TreeProps?,
+      val configuration: Configuration,
+      val width: Int,
+      val height: Int
+  ) {
+    fun matches(other: Component, otherTreeProps: TreeProps?, otherConfiguration: Configuration) =
+        treeProps == otherTreeProps &&
+            configuration == otherConfiguration &&
+            component.isEquivalentTo(other, true)
+  }
+}
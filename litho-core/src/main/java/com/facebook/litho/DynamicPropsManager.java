@@ -18,11 +18,12 @@ package com.facebook.litho;
 
 import android.graphics.drawable.Drawable;
 import android.os.Build;
-import android.util.Pair;
 import android.util.SparseArray;
 import android.view.View;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -42,6 +43,11 @@ import java.util.Set;
  * its represent dynamic props, and keeps the mounted content the Components is rendered into in
  * sync with {@link DynamicValue#get()} until the Component gets unbound, at which point, the
  * DynamicPropsManager unsubscribes from the DynamicValues.
+ *
+ * <p>Every subscribed {@link DynamicValue} is listened to by its own {@link
+ * DynamicValueSubscriptions}, which keeps the (component, content, prop key) slots the value is
+ * bound to in flat arrays. A value change is then applied by walking these slots without any map
+ * lookups or allocations.
  */
 public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
   public static final int KEY_ALPHA = 1;
@@ -57,8 +63,7 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
 
   private static final DynamicValue<?>[] sEmptyArray = new DynamicValue[0];
 
-  private final Map<DynamicValue<?>, Set<Pair<Component, SparseArray<? extends DynamicValue<?>>>>>
-      mDependentComponents = new HashMap<>();
+  private final Map<DynamicValue<?>, DynamicValueSubscriptions> mSubscriptions = new HashMap<>();
   private final Map<Component, Set<DynamicValue<?>>> mAffectingDynamicValues = new HashMap<>();
   private final Map<Component, Object> mContents = new HashMap<>();
 
@@ -74,6 +79,9 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
       return;
     }
 
+    // Drop the slots of a previous bind of the same Component, if any
+    unsubscribe(component);
+
     final Set<DynamicValue<?>> dynamicValues = new HashSet<>();
 
     if (commonDynamicProps != null && hasCommonDynamicPropsToBind) {
@@ -84,7 +92,7 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
 
         bindCommonDynamicProp(key, value, (View) content);
 
-        addDependentComponentAndSubscribeIfNeeded(value, new Pair<>(component, commonDynamicProps));
+        subscribe(value, component, content, key);
         dynamicValues.add(value);
       }
     }
@@ -98,8 +106,10 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
         ((SpecGeneratedComponent) component)
             .bindDynamicProp(i, value != null ? value.get() : null, content);
 
-        addDependentComponentAndSubscribeIfNeeded(value, new Pair<>(component, commonDynamicProps));
-        dynamicValues.add(value);
+        if (value != null) {
+          subscribe(value, component, content, toCustomPropSlotKey(i));
+          dynamicValues.add(value);
+        }
       } catch (Exception e) {
         if (scopedContext != null) {
           ComponentUtils.handle(scopedContext, e);
@@ -124,18 +134,11 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
 
     mContents.remove(component);
 
-    final Set<DynamicValue<?>> dynamicValues = mAffectingDynamicValues.get(component);
-    if (dynamicValues == null) {
+    if (!unsubscribe(component)) {
       return;
     }
 
-    for (DynamicValue<?> value : dynamicValues) {
-      removeDependentComponentAndUnsubscribeIfNeeded(
-          value, new Pair<>(component, commonDynamicProps));
-    }
-
     resetDynamicValues(content);
-    mAffectingDynamicValues.remove(component);
   }
 
   private static void resetDynamicValues(Object content) {
@@ -179,43 +182,46 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
     }
   }
 
-  private void addDependentComponentAndSubscribeIfNeeded(
-      @Nullable DynamicValue<?> value,
-      Pair<Component, SparseArray<? extends DynamicValue<?>>> componentWithProps) {
-    if (value == null) {
-      return;
-    }
-    Set<Pair<Component, SparseArray<? extends DynamicValue<?>>>> dependentComponents =
-        mDependentComponents.get(value);
+  private void subscribe(DynamicValue<?> value, Component component, Object content, int key) {
+    DynamicValueSubscriptions subscriptions = mSubscriptions.get(value);
 
-    if (dependentComponents == null) {
-      dependentComponents = new HashSet<>();
-      mDependentComponents.put(value, dependentComponents);
+    if (subscriptions == null) {
+      subscriptions = new DynamicValueSubscriptions();
+      mSubscriptions.put(value, subscriptions);
 
-      value.attachListener(this);
+      value.attachListener(subscriptions);
     }
 
-    dependentComponents.add(componentWithProps);
+    subscriptions.add(component, content, key);
   }
 
-  private void removeDependentComponentAndUnsubscribeIfNeeded(
-      @Nullable DynamicValue<?> value,
-      Pair<Component, SparseArray<? extends DynamicValue<?>>> componentWithProps) {
-    if (value == null) {
-      return;
-    }
-    final Set<Pair<Component, SparseArray<? extends DynamicValue<?>>>> dependentComponents =
-        mDependentComponents.get(value);
-    if (dependentComponents == null) {
-      return;
+  /**
+   * Removes all the slots of the given Component, and detaches from the DynamicValues that no
+   * longer have any slots.
+   *
+   * @return false if the Component was not subscribed to any DynamicValue
+   */
+  private boolean unsubscribe(Component component) {
+    final Set<DynamicValue<?>> dynamicValues = mAffectingDynamicValues.remove(component);
+    if (dynamicValues == null) {
+      return false;
     }
 
-    dependentComponents.remove(componentWithProps);
+    for (DynamicValue<?> value : dynamicValues) {
+      final DynamicValueSubscriptions subscriptions = mSubscriptions.get(value);
+      if (subscriptions == null) {
+        continue;
+      }
+
+      subscriptions.remove(component);
 
-    if (dependentComponents.isEmpty()) {
-      mDependentComponents.remove(value);
-      value.detach(this);
+      if (subscriptions.isEmpty()) {
+        mSubscriptions.remove(value);
+        value.detach(subscriptions);
+      }
     }
+
+    return true;
   }
 
   private static void bindCommonDynamicProp(int key, @Nullable DynamicValue<?> value, View target) {
@@ -270,40 +276,18 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
 
   @Override
   public void onValueChange(DynamicValue value) {
-    final Set<Pair<Component, SparseArray<? extends DynamicValue<?>>>> dependentComponents =
-        mDependentComponents.get(value);
-    if (dependentComponents == null) {
-      return;
+    final DynamicValueSubscriptions subscriptions = mSubscriptions.get(value);
+    if (subscriptions != null) {
+      subscriptions.onValueChange(value);
     }
+  }
 
-    // It's possible that applying a dynamic prop could bind or unbind a component - snapshot the
-    // components here to prevent a ConcurrentModificationException during iteration
-    Pair<Component, SparseArray<DynamicValue<?>>>[] dependentComponentSnapshot =
-        dependentComponents.toArray(new Pair[dependentComponents.size()]);
-    for (Pair<Component, SparseArray<DynamicValue<?>>> componentWithProps :
-        dependentComponentSnapshot) {
-      final Component component = componentWithProps.first;
-      final SparseArray<DynamicValue<?>> commonDynamicProps = componentWithProps.second;
-      final Object content = mContents.get(component);
-      if (content == null) {
-        continue;
-      }
-
-      if (hasCommonDynamicPropsToBind(commonDynamicProps, content)) {
-        for (int i = 0; i < commonDynamicProps.size(); i++) {
-          if (commonDynamicProps.valueAt(i) == value) {
-            bindCommonDynamicProp(commonDynamicProps.keyAt(i), value, (View) content);
-          }
-        }
-      }
+  private static int toCustomPropSlotKey(int index) {
+    return -(index + 1);
+  }
 
-      final DynamicValue<?>[] dynamicProps = getCustomDynamicProps(component);
-      for (int i = 0; i < dynamicProps.length; i++) {
-        if (value == dynamicProps[i]) {
-          ((SpecGeneratedComponent) component).bindDynamicProp(i, value.get(), content);
-        }
-      }
-    }
+  private static int toCustomPropIndex(int slotKey) {
+    return -slotKey - 1;
   }
 
   /**
@@ -335,4 +319,134 @@ public class DynamicPropsManager implements DynamicValue.OnValueChangeListener {
   boolean hasCachedContent(Component component) {
     return mContents.containsKey(component);
   }
+
+  /**
+   * The slots a single {@link DynamicValue} is bound to, stored in parallel arrays. A slot key is
+   * either one of the common dynamic prop keys, or the encoded index of a custom dynamic prop.
+   *
+   * <p>Applying a dynamic prop could bind or unbind a component. If that happens while the slots
+   * are being dispatched to, the arrays are copied before they are modified, and the content of
+   * removed slots is cleared in every array being dispatched (dispatches can be nested) so that
+   * they are skipped.
+   */
+  private static final class DynamicValueSubscriptions
+      implements DynamicValue.OnValueChangeListener {
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    private Component[] mComponents = new Component[INITIAL_CAPACITY];
+    private Object[] mContents = new Object[INITIAL_CAPACITY];
+    private int[] mKeys = new int[INITIAL_CAPACITY];
+    private int mSize;
+
+    // The arrays of the dispatches in progress, outermost first. Created on the first dispatch.
+    private @Nullable ArrayList<Component[]> mDispatchingComponents;
+    private @Nullable ArrayList<Object[]> mDispatchingContents;
+
+    void add(Component component, Object content, int key) {
+      copyIfDispatching();
+      if (mSize == mKeys.length) {
+        final int capacity = mSize * 2;
+        mComponents = Arrays.copyOf(mComponents, capacity);
+        mContents = Arrays.copyOf(mContents, capacity);
+        mKeys = Arrays.copyOf(mKeys, capacity);
+      }
+      mComponents[mSize] = component;
+      mContents[mSize] = content;
+      mKeys[mSize] = key;
+      mSize++;
+    }
+
+    void remove(Component component) {
+      copyIfDispatching();
+      if (mDispatchingComponents != null && mDispatchingContents != null) {
+        for (int i = 0, count = mDispatchingContents.size(); i < count; i++) {
+          final Component[] dispatchingComponents = mDispatchingComponents.get(i);
+          final Object[] dispatchingContents = mDispatchingContents.get(i);
+          for (int j = 0; j < dispatchingContents.length; j++) {
+            if (dispatchingComponents[j] == component) {
+              dispatchingContents[j] = null;
+            }
+          }
+        }
+      }
+
+      int size = 0;
+      for (int i = 0; i < mSize; i++) {
+        if (mComponents[i] == component) {
+          continue;
+        }
+        mComponents[size] = mComponents[i];
+        mContents[size] = mContents[i];
+        mKeys[size] = mKeys[i];
+        size++;
+      }
+      for (int i = size; i < mSize; i++) {
+        mComponents[i] = null;
+        mContents[i] = null;
+      }
+      mSize = size;
+    }
+
+    boolean isEmpty() {
+      return mSize == 0;
+    }
+
+    @Override
+    public void onValueChange(DynamicValue value) {
+      final Component[] components = mComponents;
+      final Object[] contents = mContents;
+      final int[] keys = mKeys;
+      final int size = mSize;
+
+      if (mDispatchingComponents == null || mDispatchingContents == null) {
+        mDispatchingComponents = new ArrayList<>(1);
+        mDispatchingContents = new ArrayList<>(1);
+      }
+      final ArrayList<Component[]> dispatchingComponents = mDispatchingComponents;
+      final ArrayList<Object[]> dispatchingContents = mDispatchingContents;
+      dispatchingComponents.add(components);
+      dispatchingContents.add(contents);
+      try {
+        for (int i = 0; i < size; i++) {
+          final Object content = contents[i];
+          if (content == null) {
+            continue;
+          }
+
+          final int key = keys[i];
+          if (key > 0) {
+            bindCommonDynamicProp(key, value, (View) content);
+          } else {
+            ((SpecGeneratedComponent) components[i])
+                .bindDynamicProp(toCustomPropIndex(key), value.get(), content);
+          }
+        }
+      } finally {
+        dispatchingComponents.remove(dispatchingComponents.size() - 1);
+        dispatchingContents.remove(dispatchingContents.size() - 1);
+      }
+    }
+
+    private void copyIfDispatching() {
+      if (!isDispatching(mContents)) {
+        return;
+      }
+      mComponents = mComponents.clone();
+      mContents = mContents.clone();
+      mKeys = mKeys.clone();
+    }
+
+    private boolean isDispatching(Object[] contents) {
+      if (mDispatchingContents == null) {
+        return false;
+      }
+      for (int i = 0, count = mDispatchingContents.size(); i < count; i++) {
+        if (mDispatchingContents.get(i) == contents) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
 }
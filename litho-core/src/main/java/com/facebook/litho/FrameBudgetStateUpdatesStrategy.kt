@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import com.facebook.litho.choreographercompat.ChoreographerCompat
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * A [BatchedStateUpdatesStrategy] that coalesces every async state update enqueued before the next
+ * vsync into a single layout calculation, and starts at most one such calculation per frame.
+ *
+ * Updates enqueued while a state update layout is still being calculated are held back until that
+ * layout commits, instead of starting a second calculation that would race the first one. The
+ * coalescing window also adapts to the tree: when a state update layout takes longer than a frame
+ * the window grows to as many frames as the layout takes, so a storm of updates never queues more
+ * work than the tree can absorb. The window never exceeds [MAX_COALESCED_FRAMES].
+ */
+class FrameBudgetStateUpdatesStrategy
+@JvmOverloads
+constructor(
+    private val choreographer: ChoreographerCompat,
+    private val flusher: Flusher,
+    private val nanoTime: () -> Long = { System.nanoTime() }
+) : BatchedStateUpdatesStrategy {
+
+  /** Starts the async layout calculation that consumes all the enqueued state updates. */
+  fun interface Flusher {
+    fun flush(attribution: String?)
+  }
+
+  private val enqueuedUpdatesCount = AtomicInteger(0)
+  private val attribution = AtomicReference<String?>(null)
+  private val isFrameCallbackPosted = AtomicBoolean(false)
+  private val framesWaited = AtomicInteger(0)
+  private val stateUpdateStartNanos = AtomicLong(NOT_IN_FLIGHT)
+
+  @Volatile private var averageCostNanos = 0L
+
+  // Only accessed from the frame callback, which always runs on the main thread.
+  private var lastFrameTimeNanos = 0L
+  private var frameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS
+
+  private val frameCallback =
+      object : ChoreographerCompat.FrameCallback() {
+        override fun doFrame(frameTimeNanos: Long) {
+          onFrame(frameTimeNanos)
+        }
+      }
+
+  /** The number of frames updates are currently coalesced over before a layout is started. */
+  val coalescedFrames: Int
+    get() {
+      val cost = averageCostNanos
+      if (cost <= frameIntervalNanos) {
+        return 1
+      }
+      return ((cost + frameIntervalNanos - 1) / frameIntervalNanos)
+          .toInt()
+          .coerceAtMost(MAX_COALESCED_FRAMES)
+    }
+
+  override fun onAsyncStateUpdateEnqueued(
+      attribution: String?,
+      isCreateLayoutInProgress: Boolean
+  ): Boolean {
+    if (enqueuedUpdatesCount.getAndIncrement() == 0) {
+      this.attribution.set(attribution)
+    }
+    postFrameCallback()
+    return true
+  }
+
+  override fun onInternalStateUpdateStart() {
+    // The callback is removed before the count is reset: an update enqueued in between posts a
+    // new callback, which is harmless because that update is consumed by the upcoming layout.
+    removeFrameCallback()
+    // Every enqueued update is consumed by the layout that is about to start.
+    enqueuedUpdatesCount.set(0)
+    attribution.set(null)
+    framesWaited.set(0)
+    stateUpdateStartNanos.set(nanoTime())
+  }
+
+  override fun onStateUpdateLayoutCommitted() {
+    val start = stateUpdateStartNanos.getAndSet(NOT_IN_FLIGHT)
+    if (start == NOT_IN_FLIGHT) {
+      return
+    }
+    val cost = nanoTime() - start
+    val average = averageCostNanos
+    averageCostNanos = if (average == 0L) cost else (average * 3 + cost) / 4
+  }
+
+  override fun release() {
+    removeFrameCallback()
+    enqueuedUpdatesCount.set(0)
+    attribution.set(null)
+    framesWaited.set(0)
+    stateUpdateStartNanos.set(NOT_IN_FLIGHT)
+  }
+
+  private fun onFrame(frameTimeNanos: Long) {
+    isFrameCallbackPosted.set(false)
+    sampleFrameInterval(frameTimeNanos)
+
+    if (enqueuedUpdatesCount.get() == 0) {
+      framesWaited.set(0)
+      lastFrameTimeNanos = 0L
+      return
+    }
+
+    val waited = framesWaited.incrementAndGet()
+    val isLayoutInFlight = stateUpdateStartNanos.get() != NOT_IN_FLIGHT
+    // A layout that never commits (e.g. it was superseded) must not hold updates back forever, so
+    // the wait is capped even while a layout is in flight.
+    if (waited < MAX_COALESCED_FRAMES && (isLayoutInFlight || waited < coalescedFrames)) {
+      lastFrameTimeNanos = frameTimeNanos
+      postFrameCallback()
+      return
+    }
+
+    lastFrameTimeNanos = 0L
+    framesWaited.set(0)
+    // We retrieve the attribution before we reset the enqueued updates count. The order here
+    // matters, otherwise there could be an inconsistency in the attribution.
+    val attribution = attribution.getAndSet(null)
+    if (enqueuedUpdatesCount.getAndSet(0) > 0) {
+      flusher.flush(attribution)
+    }
+  }
+
+  /**
+   * Consecutive callbacks are one vsync apart, so the smallest gap seen between them is the display
+   * refresh interval. Dropped frames only produce larger gaps and are ignored.
+   */
+  private fun sampleFrameInterval(frameTimeNanos: Long) {
+    val last = lastFrameTimeNanos
+    if (last != 0L) {
+      val delta = frameTimeNanos - last
+      if (delta in 1 until frameIntervalNanos) {
+        frameIntervalNanos = delta
+      }
+    }
+  }
+
+  private fun postFrameCallback() {
+    if (isFrameCallbackPosted.compareAndSet(false, true)) {
+      choreographer.postFrameCallback(frameCallback)
+    }
+  }
+
+  private fun removeFrameCallback() {
+    if (isFrameCallbackPosted.compareAndSet(true, false)) {
+      choreographer.removeFrameCallback(frameCallback)
+    }
+  }
+
+  companion object {
+    /** Upper bound of the coalescing window, and of how long an in-flight layout can defer. */
+    const val MAX_COALESCED_FRAMES: Int = 4
+
+    private const val DEFAULT_FRAME_INTERVAL_NANOS: Long = 16_666_667L
+    private const val NOT_IN_FLIGHT: Long = -1L
+  }
+}
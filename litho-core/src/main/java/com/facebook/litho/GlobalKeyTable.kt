@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import androidx.annotation.GuardedBy
+import androidx.collection.LongSparseArray
+import java.util.HashMap
+
+/**
+ * Interns the global keys generated for the components of a tree, and assigns each of them a stable
+ * integer id.
+ *
+ * A child key is looked up by (parent key id, type id or manual key, index) using primitive keys,
+ * so re-rendering the same hierarchy returns the same String instances instead of concatenating
+ * new ones. Since the instances are shared, their hash code is computed once and equality checks in
+ * the maps keyed by global keys short-circuit on identity.
+ */
+class GlobalKeyTable {
+
+  @GuardedBy("this") private val keyToEntry = HashMap<String, Entry>()
+
+  @GuardedBy("this") private val manualKeyToId = HashMap<String, Int>()
+
+  @GuardedBy("this") private var nextId = 1
+
+  /** Returns the id of the given global key, interning it if needed. */
+  @Synchronized fun getId(globalKey: String): Int = getOrCreateEntry(globalKey).id
+
+  /**
+   * Returns the interned global key of a child component.
+   *
+   * @param parentGlobalKey the global key of the parent component
+   * @param child the child component
+   * @param key the key of the child component, prefixed if it is a manual key
+   * @param index the number of siblings which generated the same key before this child
+   */
+  @Synchronized
+  fun getChildKey(parentGlobalKey: String, child: Component, key: String, index: Int): String {
+    val parent = getOrCreateEntry(parentGlobalKey)
+    val part = if (child.hasManualKey()) -getManualKeyId(key) else child.typeId
+    val code = (part.toLong() shl 32) or (index.toLong() and 0xFFFFFFFFL)
+    val children = parent.children ?: LongSparseArray<Entry>().also { parent.children = it }
+    val existing = children[code]
+    if (existing != null) {
+      return existing.key
+    }
+
+    val entry = getOrCreateEntry(ComponentKeyUtils.getChildKey(parentGlobalKey, key, index))
+    children.put(code, entry)
+    return entry.key
+  }
+
+  @GuardedBy("this")
+  private fun getOrCreateEntry(globalKey: String): Entry =
+      keyToEntry.getOrPut(globalKey) { Entry(nextId++, globalKey) }
+
+  @GuardedBy("this")
+  private fun getManualKeyId(key: String): Int = manualKeyToId.getOrPut(key) { nextId++ }
+
+  private class Entry(val id: Int, val key: String) {
+    var children: LongSparseArray<Entry>? = null
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import androidx.annotation.IntDef
+
+/**
+ * The priority of a layout computation. Lower values are more urgent, and are run first by a
+ * [PriorityLayoutHandler].
+ */
+@IntDef(
+    LayoutPriority.SYNC,
+    LayoutPriority.VISIBLE,
+    LayoutPriority.IN_RANGE,
+    LayoutPriority.PREFETCH)
+annotation class LayoutPriority {
+  companion object {
+    /** A thread (typically the UI thread) is blocked waiting for the result. */
+    const val SYNC = 0
+    /** The result is for content that is currently visible on screen. */
+    const val VISIBLE = 1
+    /** The result is for content inside the layout range, but not yet visible. */
+    const val IN_RANGE = 2
+    /** The result is speculative, e.g. content pre-warmed ahead of being inserted. */
+    const val PREFETCH = 3
+
+    internal const val COUNT = 4
+  }
+}
+
+/**
+ * A [Runnable] which exposes the [LayoutPriority] it should be scheduled with. The priority is read
+ * when the runnable is posted, so a runnable has to be removed and posted again for a change in
+ * priority to take effect.
+ */
+interface PrioritizedRunnable : Runnable {
+  @get:LayoutPriority val layoutPriority: Int
+}
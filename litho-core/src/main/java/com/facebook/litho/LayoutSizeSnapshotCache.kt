@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import android.content.res.Configuration
+import androidx.annotation.VisibleForTesting
+import java.io.BufferedOutputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.nio.channels.FileChannel
+import java.util.LinkedHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * A persistent, size bounded cache of the root sizes of committed [LayoutState]s, stored in a
+ * compact binary [file] which is memory-mapped when it is loaded.
+ *
+ * A [ComponentTree] opts in with [ComponentTree.Builder.layoutSizeSnapshot]. On cold start, its
+ * first measure returns the size recorded by a previous process instead of blocking the main
+ * thread on resolve and layout; the real layout is then computed in the background and, once
+ * committed, either mounted or followed by a new Android layout pass if its size differs.
+ *
+ * Entries are keyed by the class of the root component, a caller provided snapshot key which must
+ * change whenever the content may change size (e.g. a hash of the props of the root), the size
+ * specs and the parts of the resources [Configuration] which affect layout. Entries are evicted in
+ * LRU order once [maxSize] is exceeded.
+ *
+ * The file is never read on the main thread: [get] misses until [load] has finished, which
+ * [ComponentTree.Builder.layoutSizeSnapshot] schedules on [writeExecutor] through [loadAsync]. Call
+ * [loadAsync] earlier during startup to make a hit on the first measure more likely. Writes also
+ * happen on [writeExecutor], after the file was loaded.
+ */
+class LayoutSizeSnapshotCache
+@JvmOverloads
+constructor(
+    private val file: File,
+    private val maxSize: Int = DEFAULT_MAX_SIZE,
+    private val writeExecutor: Executor = defaultWriteExecutor
+) {
+
+  private val entries: LinkedHashMap<Long, Long> =
+      object : LinkedHashMap<Long, Long>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Long, Long>) =
+            size > maxSize
+      }
+
+  // Guarded by this, like entries.
+  private var isLoaded = false
+  private var isWriteScheduled = false
+
+  private val isLoadScheduled = AtomicBoolean()
+  private val loadLock = Any()
+
+  private val writeRunnable = Runnable { write() }
+
+  /** Schedules [load] on [writeExecutor], if it was not scheduled yet. */
+  fun loadAsync() {
+    if (isLoadScheduled.compareAndSet(false, true)) {
+      writeExecutor.execute { load() }
+    }
+  }
+
+  /**
+   * Reads the entries persisted in [file], if they were not read yet. The file is read without
+   * holding the lock taken by [get] and [put], so a concurrent measure is never blocked on I/O.
+   */
+  fun load() {
+    synchronized(loadLock) {
+      synchronized(this) {
+        if (isLoaded) {
+          return
+        }
+      }
+      val persistedEntries = read()
+      synchronized(this) {
+        // Entries recorded by this process before the file was read are more recent, so they
+        // replace the persisted ones and stay the most recently used.
+        val recordedEntries = LinkedHashMap(entries)
+        entries.clear()
+        if (persistedEntries != null) {
+          for (i in persistedEntries.indices step 2) {
+            entries[persistedEntries[i]] = persistedEntries[i + 1]
+          }
+        }
+        entries.putAll(recordedEntries)
+        isLoaded = true
+      }
+    }
+  }
+
+  /** Returns the keys and sizes persisted in [file], interleaved, or null if there are none. */
+  private fun read(): LongArray? {
+    if (!file.exists()) {
+      return null
+    }
+    try {
+      RandomAccessFile(file, "r").use { randomAccessFile ->
+        val channel = randomAccessFile.channel
+        val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+        if (buffer.remaining() < HEADER_SIZE_BYTES ||
+            buffer.getInt() != MAGIC ||
+            buffer.getInt() != VERSION) {
+          return null
+        }
+        val count = buffer.getInt()
+        if (count < 0 || buffer.remaining() < count.toLong() * ENTRY_SIZE_BYTES) {
+          return null
+        }
+        val result = LongArray(count * 2)
+        for (i in result.indices) {
+          result[i] = buffer.getLong()
+        }
+        return result
+      }
+    } catch (e: IOException) {
+      // A missing or corrupted snapshot only means that the first layout can't be skipped.
+      return null
+    }
+  }
+
+  /**
+   * Writes the size recorded for [root] with the given [snapshotKey] and size specs into
+   * [outputSize]. Never reads [file]: misses until [load] has finished.
+   *
+   * @return true if an entry was found
+   */
+  fun get(
+      c: ComponentContext,
+      root: Component,
+      snapshotKey: String,
+      widthSpec: Int,
+      heightSpec: Int,
+      outputSize: Size
+  ): Boolean {
+    val key = computeKey(c, root, snapshotKey, widthSpec, heightSpec)
+    val size: Long
+    synchronized(this) {
+      if (!isLoaded) {
+        return false
+      }
+      size = entries[key] ?: return false
+    }
+    outputSize.width = (size ushr 32).toInt()
+    outputSize.height = size.toInt()
+    return true
+  }
+
+  /** Records the size of a [LayoutState] committed for [root], and schedules a write if needed. */
+  fun put(
+      c: ComponentContext,
+      root: Component,
+      snapshotKey: String,
+      widthSpec: Int,
+      heightSpec: Int,
+      width: Int,
+      height: Int
+  ) {
+    val key = computeKey(c, root, snapshotKey, widthSpec, heightSpec)
+    val size = (width.toLong() shl 32) or (height.toLong() and 0xFFFFFFFFL)
+    synchronized(this) {
+      if (entries.put(key, size) == size || isWriteScheduled) {
+        return
+      }
+      isWriteScheduled = true
+    }
+    writeExecutor.execute(writeRunnable)
+  }
+
+  @VisibleForTesting
+  @Synchronized
+  fun size(): Int = entries.size
+
+  /**
+   * Atomically replaces [file] with the current entries, after loading it so that the entries it
+   * persisted are not lost.
+   */
+  @VisibleForTesting
+  fun write() {
+    load()
+    val keys: LongArray
+    val sizes: LongArray
+    synchronized(this) {
+      isWriteScheduled = false
+      keys = LongArray(entries.size)
+      sizes = LongArray(entries.size)
+      var i = 0
+      for ((key, size) in entries) {
+        keys[i] = key
+        sizes[i] = size
+        i++
+      }
+    }
+
+    val tempFile = File(file.path + ".tmp")
+    try {
+      DataOutputStream(BufferedOutputStream(FileOutputStream(tempFile))).use { output ->
+        output.writeInt(MAGIC)
+        output.writeInt(VERSION)
+        output.writeInt(keys.size)
+        for (i in keys.indices) {
+          output.writeLong(keys[i])
+          output.writeLong(sizes[i])
+        }
+      }
+      if (!tempFile.renameTo(file)) {
+        tempFile.delete()
+      }
+    } catch (e: IOException) {
+      tempFile.delete()
+    }
+  }
+
+  companion object {
+    const val DEFAULT_MAX_SIZE = 64
+
+    private const val MAGIC = 0x4c53_5343 // "LSSC"
+    private const val VERSION = 1
+    private const val HEADER_SIZE_BYTES = 12
+    private const val ENTRY_SIZE_BYTES = 16
+
+    private const val FNV_OFFSET_BASIS = -0x340d631b7bdddcdbL
+    private const val FNV_PRIME = 0x100000001b3L
+
+    private val defaultWriteExecutor: Executor by lazy { Executors.newSingleThreadExecutor() }
+
+    /**
+     * A 64-bit FNV-1a hash of everything an entry is keyed by. Unlike [Component.getTypeId] and
+     * [Any.hashCode], it is stable across processes.
+     */
+    @Suppress("DEPRECATION")
+    @VisibleForTesting
+    @JvmStatic
+    fun computeKey(
+        c: ComponentContext,
+        root: Component,
+        snapshotKey: String,
+        widthSpec: Int,
+        heightSpec: Int
+    ): Long {
+      val configuration = c.androidContext.resources.configuration
+      var hash = FNV_OFFSET_BASIS
+      hash = hash(hash, root.javaClass.name)
+      hash = hash(hash, snapshotKey)
+      hash = hash(hash, widthSpec)
+      hash = hash(hash, heightSpec)
+      hash = hash(hash, configuration.densityDpi)
+      hash = hash(hash, java.lang.Float.floatToIntBits(configuration.fontScale))
+      hash = hash(hash, configuration.orientation)
+      hash = hash(hash, configuration.uiMode)
+      hash = hash(hash, configuration.screenLayout)
+      hash = hash(hash, configuration.locale?.toString() ?: "")
+      return hash
+    }
+
+    private fun hash(hash: Long, value: String): Long {
+      var result = hash(hash, value.length)
+      for (char in value) {
+        result = (result xor char.code.toLong()) * FNV_PRIME
+      }
+      return result
+    }
+
+    private fun hash(hash: Long, value: Int): Long {
+      var result = hash
+      for (shift in 0 until 32 step 8) {
+        result = (result xor ((value ushr shift) and 0xFF).toLong()) * FNV_PRIME
+      }
+      return result
+    }
+  }
+}
@@ -33,6 +33,7 @@ import com.facebook.infer.annotation.ThreadSafe;
 import com.facebook.litho.EndToEndTestingExtension.EndToEndTestingExtensionInput;
 import com.facebook.litho.LithoViewAttributesExtension.ViewAttributesInput;
 import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.yoga.YogaNodePool;
 import com.facebook.rendercore.LayoutCache;
 import com.facebook.rendercore.LayoutResult;
 import com.facebook.rendercore.MountItemsPool;
@@ -41,11 +42,13 @@ import com.facebook.rendercore.RenderTree;
 import com.facebook.rendercore.RenderTreeNode;
 import com.facebook.rendercore.Systracer;
 import com.facebook.rendercore.incrementalmount.IncrementalMountExtensionInput;
+import com.facebook.rendercore.incrementalmount.IncrementalMountIndex;
 import com.facebook.rendercore.incrementalmount.IncrementalMountOutput;
 import com.facebook.rendercore.transitions.TransitionsExtensionInput;
 import com.facebook.rendercore.visibility.VisibilityBoundsTransformer;
 import com.facebook.rendercore.visibility.VisibilityExtensionInput;
 import com.facebook.rendercore.visibility.VisibilityOutput;
+import com.facebook.yoga.YogaNode;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -113,6 +116,7 @@ public class LayoutState
   final Map<Long, ViewAttributes> mRenderUnitsWithViewAttributes = new HashMap<>(8);
   final Map<Long, IncrementalMountOutput> mIncrementalMountOutputs = new LinkedHashMap<>(8);
   final Map<Long, DynamicValueOutput> mDynamicValueOutputs = new LinkedHashMap<>(8);
+  private volatile @Nullable IncrementalMountIndex mIncrementalMountIndex;
   final ArrayList<IncrementalMountOutput> mMountableOutputTops = new ArrayList<>();
   final ArrayList<IncrementalMountOutput> mMountableOutputBottoms = new ArrayList<>();
   final LongSparseArray<AnimatableItem> mAnimatableItems = new LongSparseArray<>(8);
@@ -128,6 +132,9 @@ public class LayoutState
 
   @Nullable DiffNode mDiffTreeRoot;
 
+  // The layout results whose Yoga nodes are returned to the YogaNodePool by recycleYogaNodes().
+  @Nullable LayoutResult mLayoutResultToRecycle;
+
   int mWidth;
   int mHeight;
 
@@ -465,6 +472,18 @@ public class LayoutState
     return mMountableOutputBottoms;
   }
 
+  @Override
+  public IncrementalMountIndex getIncrementalMountIndex() {
+    // The outputs are sorted and immutable once the LayoutState is reduced, so the index is only
+    // built the first time this LayoutState is mounted.
+    IncrementalMountIndex index = mIncrementalMountIndex;
+    if (index == null) {
+      index = IncrementalMountIndex.create(this);
+      mIncrementalMountIndex = index;
+    }
+    return index;
+  }
+
   int getVisibilityOutputCount() {
     return mVisibilityOutputs.size();
   }
@@ -757,6 +776,44 @@ public class LayoutState
     mIsCommitted = true;
   }
 
+  /**
+   * Resets the Yoga nodes of this LayoutState, including the ones of its nested trees, and returns
+   * them to the {@link YogaNodePool}. Must only be called once no layout can reuse the layout
+   * results of this LayoutState anymore.
+   */
+  void recycleYogaNodes() {
+    final @Nullable LayoutResult layoutResult;
+    synchronized (this) {
+      layoutResult = mLayoutResultToRecycle;
+      mLayoutResultToRecycle = null;
+    }
+    if (!(layoutResult instanceof LithoLayoutResult)) {
+      return;
+    }
+
+    final List<YogaNode> roots = new ArrayList<>();
+    collectYogaRoots((LithoLayoutResult) layoutResult, roots);
+    for (int i = 0, size = roots.size(); i < size; i++) {
+      YogaNodePool.recycleTree(NodeConfig.getYogaConfig(), roots.get(i));
+    }
+  }
+
+  private static void collectYogaRoots(LithoLayoutResult result, List<YogaNode> roots) {
+    if (result.getYogaNode().getOwner() == null) {
+      roots.add(result.getYogaNode());
+    }
+    if (result instanceof NestedTreeHolderResult) {
+      final @Nullable LithoLayoutResult nestedResult =
+          ((NestedTreeHolderResult) result).getNestedResult();
+      if (nestedResult != null) {
+        collectYogaRoots(nestedResult, roots);
+      }
+    }
+    for (int i = 0, count = result.getChildCount(); i < count; i++) {
+      collectYogaRoots(result.getChildAt(i), roots);
+    }
+  }
+
   @Override
   public boolean isProcessingVisibilityOutputsEnabled() {
     return mShouldProcessVisibilityOutputs;
@@ -23,6 +23,7 @@ import android.view.accessibility.AccessibilityManager;
 import androidx.annotation.Nullable;
 import com.facebook.litho.debug.DebugOverlay;
 import com.facebook.litho.debug.LithoDebugEvent;
+import com.facebook.litho.stats.LithoMetrics;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.rendercore.LayoutCache;
 import com.facebook.rendercore.debug.DebugEventAttribute;
@@ -201,6 +202,9 @@ public class LayoutTreeFuture extends TreeFuture<LayoutState> {
       try {
         c.setLithoLayoutContext(lsc);
 
+        final long layoutStartNs = LithoMetrics.start();
+        final long layoutStartAllocations = LithoMetrics.startAllocations();
+
         @Nullable
         LithoLayoutResult root =
             Layout.measureTree(
@@ -213,12 +217,21 @@ public class LayoutTreeFuture extends TreeFuture<LayoutState> {
         layoutState.mLayoutResult = root;
         layoutState.mLayoutCacheData = layoutCache.getWriteCacheData();
 
+        LithoMetrics.record(
+            LithoMetrics.Stage.LAYOUT, treeId, layoutStartNs, layoutStartAllocations);
+
         if (perfEventLogger != null) {
           perfEventLogger.markerPoint("start_collect_results");
         }
 
+        final long reduceStartNs = LithoMetrics.start();
+        final long reduceStartAllocations = LithoMetrics.startAllocations();
+
         LithoReducer.setSizeAfterMeasureAndCollectResults(c, lsc, layoutState);
 
+        LithoMetrics.record(
+            LithoMetrics.Stage.REDUCE, treeId, reduceStartNs, reduceStartAllocations);
+
         if (perfEventLogger != null) {
           perfEventLogger.markerPoint("end_collect_results");
         }
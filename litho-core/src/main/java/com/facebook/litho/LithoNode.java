@@ -70,6 +70,7 @@ import com.facebook.rendercore.Node;
 import com.facebook.rendercore.RenderUnit;
 import com.facebook.rendercore.primitives.Primitive;
 import com.facebook.yoga.YogaAlign;
+import com.facebook.yoga.YogaBatch;
 import com.facebook.yoga.YogaConstants;
 import com.facebook.yoga.YogaDirection;
 import com.facebook.yoga.YogaEdge;
@@ -80,6 +81,7 @@ import com.facebook.yoga.YogaNode;
 import com.facebook.yoga.YogaPositionType;
 import com.facebook.yoga.YogaWrap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -118,22 +120,33 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   protected static final long PFLAG_DUPLICATE_CHILDREN_STATES_IS_SET = 1L << 33;
   protected static final long PFLAG_BINDER_IS_SET = 1L << 34;
 
-  private List<LithoNode> mChildren = new ArrayList<>(4);
+  // Internal boolean state of the node, packed into mStateFlags.
+  private static final int SFLAG_IS_PADDING_SET = 1 << 0;
+  private static final int SFLAG_HOST_DUPLICATE_PARENT_STATE = 1 << 1;
+  private static final int SFLAG_NEEDS_HOST_VIEW = 1 << 2;
+  private static final int SFLAG_WILL_MOUNT_VIEW = 1 << 3;
+  private static final int SFLAG_IS_CLONE = 1 << 4;
+  private static final int SFLAG_FROZEN = 1 << 5;
+  private static final int SFLAG_NODE_INFO_WAS_WRITTEN = 1 << 6;
+
+  private static final LithoNode[] EMPTY_CHILDREN = new LithoNode[0];
+  private static final int[] EMPTY_BORDER_COLORS = new int[Border.EDGE_COUNT];
+  private static final float[] EMPTY_BORDER_RADIUS = new float[Border.RADIUS_COUNT];
+
+  // Children are kept in an array which is trimmed to size once the node is frozen.
+  private LithoNode[] mChildren = EMPTY_CHILDREN;
+  private int mChildCount;
 
   @ThreadConfined(ThreadConfined.ANY)
   private final List<ScopedComponentInfo> mScopedComponentInfos = new ArrayList<>(2);
 
-  protected final int[] mBorderEdgeWidths = new int[Border.EDGE_COUNT];
-  protected final int[] mBorderColors = new int[Border.EDGE_COUNT];
-  protected final float[] mBorderRadius = new float[Border.RADIUS_COUNT];
+  // Border arrays are only allocated for nodes with a border.
+  protected @Nullable int[] mBorderEdgeWidths;
+  protected @Nullable int[] mBorderColors;
+  protected @Nullable float[] mBorderRadius;
 
   protected @Nullable NodeInfo mNodeInfo;
-  protected @Nullable EventHandler<VisibleEvent> mVisibleHandler;
-  protected @Nullable EventHandler<FocusedVisibleEvent> mFocusedHandler;
-  protected @Nullable EventHandler<UnfocusedVisibleEvent> mUnfocusedHandler;
-  protected @Nullable EventHandler<FullImpressionVisibleEvent> mFullImpressionHandler;
-  protected @Nullable EventHandler<InvisibleEvent> mInvisibleHandler;
-  protected @Nullable EventHandler<VisibilityChangedEvent> mVisibilityChangedHandler;
+  private @Nullable VisibilityAttributes mVisibilityAttributes;
   protected @Nullable Drawable mBackground;
   protected @Nullable Rect mPaddingFromBackground;
   protected @Nullable Drawable mForeground;
@@ -162,9 +175,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   private @Nullable List<Component> mUnresolvedComponents;
   protected @Nullable Paint mLayerPaint;
 
-  protected boolean mIsPaddingSet;
   protected boolean mDuplicateParentState;
-  protected boolean mHostDuplicateParentState;
   protected boolean mDuplicateChildrenStates;
   protected boolean mForceViewWrapping;
 
@@ -172,9 +183,6 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   protected int mImportantForAccessibility = ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_AUTO;
   protected @DrawableRes int mStateListAnimatorRes;
 
-  protected float mVisibleHeightRatio;
-  protected float mVisibleWidthRatio;
-
   protected @Nullable YogaDirection mLayoutDirection;
   protected @Nullable YogaFlexDirection mFlexDirection;
   protected @Nullable YogaJustify mJustifyContent;
@@ -190,15 +198,10 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
   private @Nullable CommonProps.DefaultLayoutProps mDebugLayoutProps;
 
-  private boolean mNeedsHostView = false;
-  private boolean mWillMountView = false;
-
   private int mId;
-  private boolean mIsClone = false;
-  private boolean mFrozen;
-  private boolean mNodeInfoWasWritten;
 
   protected long mPrivateFlags;
+  private int mStateFlags;
 
   private @Nullable Primitive mPrimitive;
 
@@ -216,7 +219,17 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public void addChildAt(LithoNode child, int index) {
-    mChildren.add(index, child);
+    if (index < 0 || index > mChildCount) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mChildCount);
+    }
+    if (mChildCount == mChildren.length) {
+      mChildren = Arrays.copyOf(mChildren, mChildCount == 0 ? 4 : mChildCount * 2);
+    }
+    if (index < mChildCount) {
+      System.arraycopy(mChildren, index, mChildren, index + 1, mChildCount - index);
+    }
+    mChildren[index] = child;
+    mChildCount++;
   }
 
   public void addComponentNeedingPreviousRenderData(
@@ -259,7 +272,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   public void appendComponent(ScopedComponentInfo scopedComponentInfo) {
     mScopedComponentInfos.add(scopedComponentInfo);
     if (mScopedComponentInfos.size() == 1) {
-      mWillMountView = willMountView(this);
+      setStateFlag(SFLAG_WILL_MOUNT_VIEW, willMountView(this));
     }
   }
 
@@ -382,9 +395,9 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
   public void border(int[] widths, int[] colors, float[] radii, @Nullable PathEffect effect) {
     mPrivateFlags |= PFLAG_BORDER_IS_SET;
-    System.arraycopy(widths, 0, mBorderEdgeWidths, 0, mBorderEdgeWidths.length);
-    System.arraycopy(colors, 0, mBorderColors, 0, mBorderColors.length);
-    System.arraycopy(radii, 0, mBorderRadius, 0, mBorderRadius.length);
+    mBorderEdgeWidths = Arrays.copyOf(widths, Border.EDGE_COUNT);
+    mBorderColors = Arrays.copyOf(colors, Border.EDGE_COUNT);
+    mBorderRadius = Arrays.copyOf(radii, Border.RADIUS_COUNT);
     mBorderPathEffect = effect;
   }
 
@@ -473,7 +486,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
       final int parentImportantForAccessibility,
       final int parentEnabledState,
       final boolean parentDuplicatesParentState) {
-    if (mFrozen) {
+    if ((mStateFlags & SFLAG_FROZEN) != 0) {
       return;
     }
 
@@ -493,8 +506,8 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
       }
     }
 
-    mHostDuplicateParentState = isDuplicateParentStateEnabled();
-    mNeedsHostView = needsHostView(this);
+    setStateFlag(SFLAG_HOST_DUPLICATE_PARENT_STATE, isDuplicateParentStateEnabled());
+    setStateFlag(SFLAG_NEEDS_HOST_VIEW, needsHostView(this));
 
     // We need to take into account flattening when setting duplicate parent state. The parent after
     // flattening may no longer exist. Therefore the value of duplicate parent state should only be
@@ -502,7 +515,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
     // duplicate parent state.
 
     final boolean shouldDuplicateParentState =
-        mNeedsHostView
+        (mStateFlags & SFLAG_NEEDS_HOST_VIEW) != 0
             || isRoot
             || (parentDuplicatesParentState && isDuplicateParentStateEnabled());
 
@@ -519,8 +532,28 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
               isDuplicateParentStateEnabled());
     }
 
-    // Sets mFrozen as true to avoid anymore mutation.
-    mFrozen = true;
+    // No more children will be added, so release the unused capacity.
+    if (mChildren.length != mChildCount) {
+      mChildren = mChildCount == 0 ? EMPTY_CHILDREN : Arrays.copyOf(mChildren, mChildCount);
+    }
+
+    // Sets the frozen flag to avoid anymore mutation.
+    mStateFlags |= SFLAG_FROZEN;
+  }
+
+  private void setStateFlag(int flag, boolean value) {
+    if (value) {
+      mStateFlags |= flag;
+    } else {
+      mStateFlags &= ~flag;
+    }
+  }
+
+  private VisibilityAttributes getOrCreateVisibilityAttributes() {
+    if (mVisibilityAttributes == null) {
+      mVisibilityAttributes = new VisibilityAttributes();
+    }
+    return mVisibilityAttributes;
   }
 
   /**
@@ -530,7 +563,8 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   private static @Nullable LithoLayoutResult buildYogaTree(
       LayoutContext<LithoRenderContext> context,
       LithoNode currentNode,
-      @Nullable YogaNode parentNode) {
+      @Nullable YogaNode parentNode,
+      @Nullable YogaBatch batch) {
 
     final boolean isTracing = ComponentsSystrace.isTracing();
     LithoLayoutResult layoutResult = null;
@@ -575,7 +609,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
     }
 
     if (layoutResult == null) {
-      final @Nullable YogaLayoutProps writer = currentNode.createYogaNodeWriter();
+      final @Nullable YogaLayoutProps writer = currentNode.createYogaNodeWriter(batch);
       if (writer == null) {
         return null;
       }
@@ -599,9 +633,13 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
     for (int i = 0; i < currentNode.getChildCount(); i++) {
       final @Nullable LithoLayoutResult childLayoutResult =
-          buildYogaTree(context, currentNode.getChildAt(i), yogaNode);
+          buildYogaTree(context, currentNode.getChildAt(i), yogaNode, batch);
       if (childLayoutResult != null) {
-        yogaNode.addChildAt(childLayoutResult.getYogaNode(), yogaNode.getChildCount());
+        if (batch != null) {
+          batch.addChildAt(yogaNode, childLayoutResult.getYogaNode(), yogaNode.getChildCount());
+        } else {
+          yogaNode.addChildAt(childLayoutResult.getYogaNode(), yogaNode.getChildCount());
+        }
         layoutResult.addChild(childLayoutResult);
       }
     }
@@ -724,7 +762,20 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
       ComponentsSystrace.beginSection("buildYogaTree:" + getHeadComponent().getSimpleName());
     }
 
-    final @Nullable LithoLayoutResult layoutResult = buildYogaTree(c, this, null);
+    final @Nullable YogaBatch batch =
+        ComponentsConfiguration.useBatchedYogaNative ? YogaBatch.obtain() : null;
+    final @Nullable LithoLayoutResult layoutResult;
+    try {
+      layoutResult = buildYogaTree(c, this, null, batch);
+      if (batch != null) {
+        // Styles and children of the whole tree cross JNI here in a single call.
+        batch.apply();
+      }
+    } finally {
+      if (batch != null) {
+        batch.release();
+      }
+    }
     final @Nullable YogaNode yogaRoot = layoutResult != null ? layoutResult.getYogaNode() : null;
 
     if (isTracing) {
@@ -777,7 +828,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
   public void child(@Nullable LithoNode child) {
     if (child != null) {
-      addChildAt(child, mChildren.size());
+      addChildAt(child, mChildCount);
     }
   }
 
@@ -796,7 +847,8 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
   public void focusedHandler(@Nullable EventHandler<FocusedVisibleEvent> focusedHandler) {
     mPrivateFlags |= PFLAG_FOCUSED_HANDLER_IS_SET;
-    mFocusedHandler = addVisibilityHandler(mFocusedHandler, focusedHandler);
+    final VisibilityAttributes attributes = getOrCreateVisibilityAttributes();
+    attributes.focusedHandler = addVisibilityHandler(attributes.focusedHandler, focusedHandler);
   }
 
   public void foreground(@Nullable Drawable foreground) {
@@ -834,11 +886,13 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   public void fullImpressionHandler(
       @Nullable EventHandler<FullImpressionVisibleEvent> fullImpressionHandler) {
     mPrivateFlags |= PFLAG_FULL_IMPRESSION_HANDLER_IS_SET;
-    mFullImpressionHandler = addVisibilityHandler(mFullImpressionHandler, fullImpressionHandler);
+    final VisibilityAttributes attributes = getOrCreateVisibilityAttributes();
+    attributes.fullImpressionHandler =
+        addVisibilityHandler(attributes.fullImpressionHandler, fullImpressionHandler);
   }
 
   public int[] getBorderColors() {
-    return mBorderColors;
+    return mBorderColors != null ? mBorderColors : EMPTY_BORDER_COLORS;
   }
 
   public @Nullable PathEffect getBorderPathEffect() {
@@ -846,20 +900,23 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public float[] getBorderRadius() {
-    return mBorderRadius;
+    return mBorderRadius != null ? mBorderRadius : EMPTY_BORDER_RADIUS;
   }
 
   public LithoNode getChildAt(int index) {
-    return mChildren.get(index);
+    if (index >= mChildCount) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mChildCount);
+    }
+    return mChildren[index];
   }
 
   public int getChildCount() {
-    return mChildren.size();
+    return mChildCount;
   }
 
   public int getChildIndex(LithoNode child) {
-    for (int i = 0, count = mChildren.size(); i < count; i++) {
-      if (mChildren.get(i) == child) {
+    for (int i = 0; i < mChildCount; i++) {
+      if (mChildren[i] == child) {
         return i;
       }
     }
@@ -880,7 +937,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public @Nullable EventHandler<FocusedVisibleEvent> getFocusedHandler() {
-    return mFocusedHandler;
+    return mVisibilityAttributes != null ? mVisibilityAttributes.focusedHandler : null;
   }
 
   public @Nullable Drawable getForeground() {
@@ -888,7 +945,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public @Nullable EventHandler<FullImpressionVisibleEvent> getFullImpressionHandler() {
-    return mFullImpressionHandler;
+    return mVisibilityAttributes != null ? mVisibilityAttributes.fullImpressionHandler : null;
   }
 
   public Component getHeadComponent() {
@@ -908,7 +965,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public @Nullable EventHandler<InvisibleEvent> getInvisibleHandler() {
-    return mInvisibleHandler;
+    return mVisibilityAttributes != null ? mVisibilityAttributes.invisibleHandler : null;
   }
 
   public @Nullable NodeInfo getNodeInfo() {
@@ -916,8 +973,8 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public NodeInfo mutableNodeInfo() {
-    if (!mNodeInfoWasWritten) {
-      mNodeInfoWasWritten = true;
+    if ((mStateFlags & SFLAG_NODE_INFO_WAS_WRITTEN) == 0) {
+      mStateFlags |= SFLAG_NODE_INFO_WAS_WRITTEN;
       NodeInfo nodeInfo = new NodeInfo();
       if (mNodeInfo != null) {
         mNodeInfo.copyInto(nodeInfo);
@@ -934,7 +991,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
   public void applyNodeInfo(@Nullable NodeInfo nodeInfo) {
     if (nodeInfo != null) {
-      if (mNodeInfoWasWritten || mNodeInfo != null) {
+      if ((mStateFlags & SFLAG_NODE_INFO_WAS_WRITTEN) != 0 || mNodeInfo != null) {
         nodeInfo.copyInto(mutableNodeInfo());
       } else {
         mNodeInfo = nodeInfo;
@@ -1046,23 +1103,23 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public @Nullable EventHandler<UnfocusedVisibleEvent> getUnfocusedHandler() {
-    return mUnfocusedHandler;
+    return mVisibilityAttributes != null ? mVisibilityAttributes.unfocusedHandler : null;
   }
 
   public @Nullable EventHandler<VisibilityChangedEvent> getVisibilityChangedHandler() {
-    return mVisibilityChangedHandler;
+    return mVisibilityAttributes != null ? mVisibilityAttributes.visibilityChangedHandler : null;
   }
 
   public @Nullable EventHandler<VisibleEvent> getVisibleHandler() {
-    return mVisibleHandler;
+    return mVisibilityAttributes != null ? mVisibilityAttributes.visibleHandler : null;
   }
 
   public float getVisibleHeightRatio() {
-    return mVisibleHeightRatio;
+    return mVisibilityAttributes != null ? mVisibilityAttributes.visibleHeightRatio : 0;
   }
 
   public float getVisibleWidthRatio() {
-    return mVisibleWidthRatio;
+    return mVisibilityAttributes != null ? mVisibilityAttributes.visibleWidthRatio : 0;
   }
 
   public @Nullable ArrayList<WorkingRangeContainer.Registration> getWorkingRangeRegistrations() {
@@ -1070,6 +1127,9 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public boolean hasBorderColor() {
+    if (mBorderColors == null) {
+      return false;
+    }
     for (int color : mBorderColors) {
       if (color != Color.TRANSPARENT) {
         return true;
@@ -1092,12 +1152,14 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public boolean hasVisibilityHandlers() {
-    return mVisibleHandler != null
-        || mFocusedHandler != null
-        || mUnfocusedHandler != null
-        || mFullImpressionHandler != null
-        || mInvisibleHandler != null
-        || mVisibilityChangedHandler != null;
+    final VisibilityAttributes attributes = mVisibilityAttributes;
+    return attributes != null
+        && (attributes.visibleHandler != null
+            || attributes.focusedHandler != null
+            || attributes.unfocusedHandler != null
+            || attributes.fullImpressionHandler != null
+            || attributes.invisibleHandler != null
+            || attributes.visibilityChangedHandler != null);
   }
 
   public LithoNode importantForAccessibility(int importantForAccessibility) {
@@ -1108,7 +1170,9 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
   public LithoNode invisibleHandler(@Nullable EventHandler<InvisibleEvent> invisibleHandler) {
     mPrivateFlags |= PFLAG_INVISIBLE_HANDLER_IS_SET;
-    mInvisibleHandler = addVisibilityHandler(mInvisibleHandler, invisibleHandler);
+    final VisibilityAttributes attributes = getOrCreateVisibilityAttributes();
+    attributes.invisibleHandler =
+        addVisibilityHandler(attributes.invisibleHandler, invisibleHandler);
     return this;
   }
 
@@ -1121,7 +1185,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public boolean isHostDuplicateParentState() {
-    return mHostDuplicateParentState;
+    return (mStateFlags & SFLAG_HOST_DUPLICATE_PARENT_STATE) != 0;
   }
 
   public boolean isForceViewWrapping() {
@@ -1197,27 +1261,31 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
   public void unfocusedHandler(@Nullable EventHandler<UnfocusedVisibleEvent> unfocusedHandler) {
     mPrivateFlags |= PFLAG_UNFOCUSED_HANDLER_IS_SET;
-    mUnfocusedHandler = addVisibilityHandler(mUnfocusedHandler, unfocusedHandler);
+    final VisibilityAttributes attributes = getOrCreateVisibilityAttributes();
+    attributes.unfocusedHandler =
+        addVisibilityHandler(attributes.unfocusedHandler, unfocusedHandler);
   }
 
   public void visibilityChangedHandler(
       @Nullable EventHandler<VisibilityChangedEvent> visibilityChangedHandler) {
     mPrivateFlags |= PFLAG_VISIBLE_RECT_CHANGED_HANDLER_IS_SET;
-    mVisibilityChangedHandler =
-        addVisibilityHandler(mVisibilityChangedHandler, visibilityChangedHandler);
+    final VisibilityAttributes attributes = getOrCreateVisibilityAttributes();
+    attributes.visibilityChangedHandler =
+        addVisibilityHandler(attributes.visibilityChangedHandler, visibilityChangedHandler);
   }
 
   public void visibleHandler(@Nullable EventHandler<VisibleEvent> visibleHandler) {
     mPrivateFlags |= PFLAG_VISIBLE_HANDLER_IS_SET;
-    mVisibleHandler = addVisibilityHandler(mVisibleHandler, visibleHandler);
+    final VisibilityAttributes attributes = getOrCreateVisibilityAttributes();
+    attributes.visibleHandler = addVisibilityHandler(attributes.visibleHandler, visibleHandler);
   }
 
   public void visibleHeightRatio(float visibleHeightRatio) {
-    mVisibleHeightRatio = visibleHeightRatio;
+    getOrCreateVisibilityAttributes().visibleHeightRatio = visibleHeightRatio;
   }
 
   public void visibleWidthRatio(float visibleWidthRatio) {
-    mVisibleWidthRatio = visibleWidthRatio;
+    getOrCreateVisibilityAttributes().visibleWidthRatio = visibleWidthRatio;
   }
 
   public void wrap(YogaWrap wrap) {
@@ -1360,7 +1428,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   public boolean willMountView() {
-    return mWillMountView;
+    return (mStateFlags & SFLAG_WILL_MOUNT_VIEW) != 0;
   }
 
   /**
@@ -1369,22 +1437,25 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
    * @return {@code true} iff the node's out requires a host to wrap it
    */
   public boolean needsHostView() {
-    if (!mFrozen) {
+    if ((mStateFlags & SFLAG_FROZEN) == 0) {
       throw new IllegalStateException("LithoNode:(" + getSimpleName() + ") has not been resolved.");
     }
-    return mNeedsHostView;
+    return (mStateFlags & SFLAG_NEEDS_HOST_VIEW) != 0;
   }
 
   public boolean isClone() {
-    return mIsClone;
+    return (mStateFlags & SFLAG_IS_CLONE) != 0;
   }
 
   protected LithoNode clone() {
     final LithoNode node;
     try {
       node = (LithoNode) super.clone();
-      node.mIsClone = true;
+      node.mStateFlags |= SFLAG_IS_CLONE;
       node.mId = this.mId;
+      if (mVisibilityAttributes != null) {
+        node.mVisibilityAttributes = mVisibilityAttributes.copy();
+      }
     } catch (CloneNotSupportedException e) {
       throw new RuntimeException(e);
     }
@@ -1412,8 +1483,8 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
     mNestedTreeHolder = holder;
   }
 
-  protected @Nullable YogaLayoutProps createYogaNodeWriter() {
-    return new YogaLayoutProps(NodeConfig.createYogaNode());
+  protected @Nullable YogaLayoutProps createYogaNodeWriter(@Nullable YogaBatch batch) {
+    return new YogaLayoutProps(NodeConfig.createYogaNode(), batch);
   }
 
   void writeToYogaNode(YogaLayoutProps writer) {
@@ -1421,23 +1492,23 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
 
     // Apply the extra layout props
     if (mLayoutDirection != null) {
-      node.setDirection(mLayoutDirection);
+      writer.layoutDirection(mLayoutDirection);
     }
 
     if (mFlexDirection != null) {
-      node.setFlexDirection(mFlexDirection);
+      writer.flexDirection(mFlexDirection);
     }
     if (mJustifyContent != null) {
-      node.setJustifyContent(mJustifyContent);
+      writer.justifyContent(mJustifyContent);
     }
     if (mAlignContent != null) {
-      node.setAlignContent(mAlignContent);
+      writer.alignContent(mAlignContent);
     }
     if (mAlignItems != null) {
-      node.setAlignItems(mAlignItems);
+      writer.alignItems(mAlignItems);
     }
     if (mYogaWrap != null) {
-      node.setWrap(mYogaWrap);
+      writer.wrap(mYogaWrap);
     }
     if (mYogaMeasureFunction != null) {
       node.setMeasureFunction(mYogaMeasureFunction);
@@ -1450,7 +1521,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
       if (mNestedTreeHolder != null && isLayoutSpecWithSizeSpec(component)) {
         mNestedTreeHolder.transferInto(this);
         // TODO (T151239896): Revaluate copy into and freeze after common props are refactored
-        mNeedsHostView = needsHostView(this);
+        setStateFlag(SFLAG_NEEDS_HOST_VIEW, needsHostView(this));
         if (mPaddingFromBackground != null) {
           setPaddingFromDrawable(writer, mPaddingFromBackground);
         }
@@ -1481,7 +1552,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
     }
 
     // Apply the border widths
-    if ((mPrivateFlags & PFLAG_BORDER_IS_SET) != 0L) {
+    if ((mPrivateFlags & PFLAG_BORDER_IS_SET) != 0L && mBorderEdgeWidths != null) {
       for (int i = 0, length = mBorderEdgeWidths.length; i < length; ++i) {
         writer.setBorderWidth(Border.edgeFromIndex(i), mBorderEdgeWidths[i]);
       }
@@ -1506,7 +1577,7 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
       mDebugLayoutProps.copyInto(writer);
     }
 
-    mIsPaddingSet = writer.isPaddingSet;
+    setStateFlag(SFLAG_IS_PADDING_SET, writer.isPaddingSet);
   }
 
   LithoLayoutResult createLayoutResult(
@@ -1527,11 +1598,13 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   }
 
   boolean isPaddingSet() {
-    return mIsPaddingSet;
+    return (mStateFlags & SFLAG_IS_PADDING_SET) != 0;
   }
 
-  void setChildren(List<LithoNode> children) {
-    mChildren = children;
+  /** Drops all children, reserving space for the given number of new ones. */
+  void resetChildren(int expectedChildCount) {
+    mChildren = expectedChildCount > 0 ? new LithoNode[expectedChildCount] : EMPTY_CHILDREN;
+    mChildCount = 0;
   }
 
   void resetDebugInfo() {
@@ -1746,4 +1819,32 @@ public class LithoNode implements Node<LithoRenderContext>, Cloneable {
   static boolean needsHostViewForTransition(final LithoNode node) {
     return !TextUtils.isEmpty(node.getTransitionKey()) && !node.willMountView();
   }
+
+  /**
+   * Visibility handlers and ratios, which only a small fraction of nodes set, so they are kept in a
+   * side object allocated on first use rather than in fields of every node.
+   */
+  private static final class VisibilityAttributes {
+    @Nullable EventHandler<VisibleEvent> visibleHandler;
+    @Nullable EventHandler<FocusedVisibleEvent> focusedHandler;
+    @Nullable EventHandler<UnfocusedVisibleEvent> unfocusedHandler;
+    @Nullable EventHandler<FullImpressionVisibleEvent> fullImpressionHandler;
+    @Nullable EventHandler<InvisibleEvent> invisibleHandler;
+    @Nullable EventHandler<VisibilityChangedEvent> visibilityChangedHandler;
+    float visibleHeightRatio;
+    float visibleWidthRatio;
+
+    VisibilityAttributes copy() {
+      final VisibilityAttributes copy = new VisibilityAttributes();
+      copy.visibleHandler = visibleHandler;
+      copy.focusedHandler = focusedHandler;
+      copy.unfocusedHandler = unfocusedHandler;
+      copy.fullImpressionHandler = fullImpressionHandler;
+      copy.invisibleHandler = invisibleHandler;
+      copy.visibilityChangedHandler = visibilityChangedHandler;
+      copy.visibleHeightRatio = visibleHeightRatio;
+      copy.visibleWidthRatio = visibleWidthRatio;
+      return copy;
+    }
+  }
 }
@@ -131,6 +131,11 @@ object LithoReducer {
     layoutState.mRoot = null
     layoutState.mLayoutResult = null
 
+    // Kept so that the Yoga nodes can be returned to the pool once the LayoutState is replaced.
+    if (ComponentsConfiguration.useYogaNodePool) {
+      layoutState.mLayoutResultToRecycle = layoutResultForSaving
+    }
+
     // enabled for debugging and end to end tests
     if (ComponentsConfiguration.isDebugModeEnabled || ComponentsConfiguration.isEndToEndTestRun) {
       layoutState.mRoot = nodeForSaving
@@ -811,13 +816,12 @@ object LithoReducer {
   }
 
   private fun sortTops(layoutState: LayoutState) {
-    val unsorted: List<IncrementalMountOutput> = ArrayList(layoutState.mMountableOutputTops)
     try {
       layoutState.mMountableOutputTops.sortWith(IncrementalMountRenderCoreExtension.sTopsComparator)
     } catch (e: IllegalArgumentException) {
       val errorMessage = StringBuilder()
       errorMessage.append(e.message).append("\n")
-      val size = unsorted.size
+      val size = layoutState.mMountableOutputTops.size
       errorMessage.append("Error while sorting LayoutState tops. Size: $size").append("\n")
       val rect = Rect()
       for (i in 0 until size) {
@@ -829,14 +833,13 @@ object LithoReducer {
   }
 
   private fun sortBottoms(layoutState: LayoutState) {
-    val unsorted: List<IncrementalMountOutput> = ArrayList(layoutState.mMountableOutputBottoms)
     try {
       layoutState.mMountableOutputBottoms.sortWith(
           IncrementalMountRenderCoreExtension.sBottomsComparator)
     } catch (e: IllegalArgumentException) {
       val errorMessage = StringBuilder()
       errorMessage.append(e.message).append("\n")
-      val size = unsorted.size
+      val size = layoutState.mMountableOutputBottoms.size
       errorMessage.append("Error while sorting LayoutState bottoms. Size: $size").append("\n")
       val rect = Rect()
       for (i in 0 until size) {
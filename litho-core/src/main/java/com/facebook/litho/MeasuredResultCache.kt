@@ -23,6 +23,8 @@ import kotlin.jvm.JvmField
 /**
  * Read & write layout result cache used during render phase for caching measured results that
  * happen during component-measure. This cache can be accessed via components or litho-nodes.
+ *
+ * Access is synchronized since children may be resolved concurrently, see [ParallelResolver].
  */
 class MeasuredResultCache
 /**
@@ -62,6 +64,7 @@ constructor(private val delegateCache: MeasuredResultCache? = null) {
    * @param node The node generated from the component
    * @param layoutResult The layout result
    */
+  @Synchronized
   fun addCachedResult(componentId: Int, node: LithoNode, layoutResult: LithoLayoutResult) {
     check(!isFrozen) { "Cannot write into a frozen cache." }
     componentIdToNodeCache.put(componentId, node)
@@ -72,11 +75,13 @@ constructor(private val delegateCache: MeasuredResultCache? = null) {
   fun hasCachedNode(component: Component): Boolean = hasCachedNode(component.id)
 
   /** Return true if there exists a cached layout result for the given component ID. */
+  @Synchronized
   fun hasCachedNode(componentId: Int): Boolean =
       componentIdToNodeCache.containsKey(componentId) ||
           delegateCache?.hasCachedNode(componentId) == true
 
   /** Return true if there exists a cached layout result for the given LithoNode. */
+  @Synchronized
   fun hasCachedNode(node: LithoNode): Boolean =
       nodeToResultCache.containsKey(node) || delegateCache?.hasCachedNode(node) == true
 
@@ -84,6 +89,7 @@ constructor(private val delegateCache: MeasuredResultCache? = null) {
   fun getCachedNode(component: Component): LithoNode? = getCachedNode(component.id)
 
   /** Returns the cached LithoNode from a given component ID. */
+  @Synchronized
   fun getCachedNode(componentId: Int): LithoNode? {
     val currentCacheNode = componentIdToNodeCache[componentId]
     return currentCacheNode ?: delegateCache?.getCachedNode(componentId)
@@ -93,6 +99,7 @@ constructor(private val delegateCache: MeasuredResultCache? = null) {
   fun getCachedResult(component: Component): LithoLayoutResult? = getCachedResult(component.id)
 
   /** Returns the cached layout result for the given component ID, or null if it does not exist. */
+  @Synchronized
   fun getCachedResult(componentId: Int): LithoLayoutResult? {
     val node =
         componentIdToNodeCache[componentId] ?: return delegateCache?.getCachedResult(componentId)
@@ -100,12 +107,14 @@ constructor(private val delegateCache: MeasuredResultCache? = null) {
   }
 
   /** Returns the cached layout result for the given node, or null if it does not exist. */
+  @Synchronized
   fun getCachedResult(node: LithoNode): LithoLayoutResult? {
     val currentLayoutResult = nodeToResultCache[node]
     return currentLayoutResult ?: delegateCache?.getCachedResult(node)
   }
 
   /** Remove the cached layout result for the given Node. */
+  @Synchronized
   fun removeCachedResult(node: LithoNode) {
     // Should we also check for freezing here?
     nodeToResultCache.remove(node)
@@ -118,6 +127,7 @@ constructor(private val delegateCache: MeasuredResultCache? = null) {
   }
 
   /** Cleares the cache generated for the given component ID. */
+  @Synchronized
   fun clearCache(componentId: Int) {
     check(!isFrozen) { "Cannot delete from a frozen cache" }
     val node = componentIdToNodeCache[componentId] ?: return
@@ -16,10 +16,13 @@
 
 package com.facebook.litho
 
+import com.facebook.yoga.YogaBatch
 import com.facebook.yoga.YogaEdge
 import com.facebook.yoga.YogaNode
 
-class NestedTreeYogaLayoutProps(node: YogaNode) : YogaLayoutProps(node) {
+class NestedTreeYogaLayoutProps
+@JvmOverloads
+constructor(node: YogaNode, batch: YogaBatch? = null) : YogaLayoutProps(node, batch) {
 
   var borderWidth: IntArray? = null
     private set
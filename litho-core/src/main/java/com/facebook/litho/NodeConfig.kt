@@ -16,7 +16,10 @@
 
 package com.facebook.litho
 
+import com.facebook.litho.config.ComponentsConfiguration
 import com.facebook.litho.yoga.LithoYogaFactory
+import com.facebook.litho.yoga.YogaNodePool
+import com.facebook.yoga.YogaBatch
 import com.facebook.yoga.YogaConfig
 import com.facebook.yoga.YogaNode
 import kotlin.jvm.JvmField
@@ -33,9 +36,26 @@ object NodeConfig {
   /** Allows access to the internal YogaConfig instance */
   @get:JvmStatic val yogaConfig: YogaConfig = LithoYogaFactory.createYogaConfig()
 
+  /**
+   * Whether Yoga returns the layout outputs of a tree through one shared direct buffer instead of
+   * setting an array on every node from JNI. Pairs with
+   * [com.facebook.litho.config.ComponentsConfiguration.useBatchedYogaNative].
+   */
+  @JvmStatic
+  var useYogaLayoutResultsBuffer: Boolean
+    get() = YogaBatch.isLayoutResultsBufferEnabled()
+    set(value) = YogaBatch.setLayoutResultsBufferEnabled(value)
+
   @JvmStatic
   fun createYogaNode(): YogaNode {
-    return yogaNodeFactory?.create(yogaConfig) ?: LithoYogaFactory.createYogaNode(yogaConfig)
+    yogaNodeFactory?.let {
+      return it.create(yogaConfig)
+    }
+    return if (ComponentsConfiguration.useYogaNodePool) {
+      YogaNodePool.acquire(yogaConfig)
+    } else {
+      LithoYogaFactory.createYogaNode(yogaConfig)
+    }
   }
 
   /**
@@ -16,6 +16,7 @@
 
 package com.facebook.litho
 
+import com.facebook.yoga.YogaBatch
 import com.facebook.yoga.YogaNode
 import java.lang.UnsupportedOperationException
 
@@ -25,7 +26,7 @@ import java.lang.UnsupportedOperationException
  */
 class NullNode : LithoNode() {
 
-  override fun createYogaNodeWriter(): YogaLayoutProps? = null
+  override fun createYogaNodeWriter(batch: YogaBatch?): YogaLayoutProps? = null
 
   public override fun createLayoutResult(
       node: YogaNode,
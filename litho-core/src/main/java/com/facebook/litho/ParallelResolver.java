@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the children of a container component. When {@link
+ * ComponentsConfiguration#enableParallelResolve} is enabled, children whose estimated resolve cost
+ * is above {@link ComponentsConfiguration#parallelResolveCostThresholdNs} are resolved as subtasks
+ * on a shared pool while the remaining children are resolved on the calling thread.
+ *
+ * <p>The result is identical to a sequential resolution: global keys of forked children are
+ * generated on the calling thread in sibling order before the subtask starts, and the resolved
+ * nodes are appended to the parent in order once all of them complete.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+class ParallelResolver {
+
+  private static final int MAX_THREADS =
+      Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+  /** Weight of the latest sample in the moving average of the resolve cost of a component type. */
+  private static final int COST_SAMPLE_WEIGHT_SHIFT = 2;
+
+  /** Estimated cost (in ns) to resolve a component, keyed by component type id. */
+  private static final ConcurrentHashMap<Integer, Long> sEstimatedCostNs =
+      new ConcurrentHashMap<>();
+
+  private static class ExecutorHolder {
+    static final Executor INSTANCE = createExecutor();
+  }
+
+  private ParallelResolver() {}
+
+  /**
+   * Resolves the children and appends them to the given node in order. Children are appended as
+   * unresolved components if the layout is interrupted.
+   *
+   * @return false if the resolution was aborted because the tree future was released.
+   */
+  @SuppressWarnings("unchecked")
+  static boolean resolveChildren(
+      ResolveContext resolveContext, ComponentContext c, LithoNode node, List<Component> children) {
+    if (!ComponentsConfiguration.enableParallelResolve || children.size() < 2) {
+      for (Component child : children) {
+        if (resolveContext.isFutureReleased()) {
+          return false;
+        }
+        if (resolveContext.isLayoutInterrupted()) {
+          node.appendUnresolvedComponent(child);
+        } else {
+          node.child(resolveContext, c, child);
+        }
+      }
+      return true;
+    }
+
+    final int size = children.size();
+    final Object[] results = new Object[size];
+    for (int i = 0; i < size; i++) {
+      final Component child = children.get(i);
+      if (resolveContext.isFutureReleased()) {
+        return false;
+      }
+
+      if (resolveContext.isLayoutInterrupted()) {
+        results[i] = child;
+      } else if (shouldFork(resolveContext, child)) {
+        // The key has to be generated here to keep it independent from scheduling order.
+        final String globalKey =
+            ComponentKeyUtils.generateGlobalKey(c, c.getComponentScope(), child);
+        final FutureTask<LithoNode> task =
+            new FutureTask<>(() -> resolveForked(resolveContext, c, child, globalKey));
+        ExecutorHolder.INSTANCE.execute(task);
+        results[i] = task;
+      } else {
+        results[i] = resolveAndRecordCost(resolveContext, c, child, null);
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      final Object result = results[i];
+      if (result instanceof Component) {
+        node.appendUnresolvedComponent((Component) result);
+      } else if (result instanceof FutureTask) {
+        node.child(join((FutureTask<LithoNode>) result));
+      } else {
+        node.child((LithoNode) result);
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean shouldFork(ResolveContext resolveContext, Component child) {
+    // Children with pre-computed nodes don't generate a key, so they must not be forked.
+    if (resolveContext.getLayoutCreatedInWillRender(child.getId()) != null
+        || Component.hasCachedNode(resolveContext, child)) {
+      return false;
+    }
+
+    final Long estimatedCostNs = sEstimatedCostNs.get(child.getTypeId());
+    return estimatedCostNs != null
+        && estimatedCostNs >= ComponentsConfiguration.parallelResolveCostThresholdNs;
+  }
+
+  /**
+   * Resolves a forked child. The calculation state context is a thread local, so it has to be set
+   * on the thread running the subtask for willRender, measure and hooks to work; the previous value
+   * is restored because the subtask may also run inline on the joining thread.
+   */
+  private static @Nullable LithoNode resolveForked(
+      ResolveContext resolveContext, ComponentContext c, Component child, String globalKey) {
+    final @Nullable CalculationContext previousStateContext = c.getCalculationStateContext();
+    try {
+      c.setRenderStateContext(resolveContext);
+      return resolveAndRecordCost(resolveContext, c, child, globalKey);
+    } finally {
+      c.setCalculationStateContext(previousStateContext);
+    }
+  }
+
+  private static @Nullable LithoNode resolveAndRecordCost(
+      ResolveContext resolveContext,
+      ComponentContext c,
+      Component child,
+      @Nullable String globalKey) {
+    final long startTimeNs = System.nanoTime();
+    final LithoNode node = Resolver.resolveWithGlobalKey(resolveContext, c, child, globalKey);
+    recordCost(child.getTypeId(), System.nanoTime() - startTimeNs);
+    return node;
+  }
+
+  /**
+   * Updates the moving average atomically, since siblings of the same type may record their cost
+   * concurrently. ConcurrentHashMap#merge requires API 24, so this uses a compare-and-set loop.
+   */
+  private static void recordCost(int typeId, long costNs) {
+    while (true) {
+      final Long previousCostNs = sEstimatedCostNs.putIfAbsent(typeId, costNs);
+      if (previousCostNs == null) {
+        return;
+      }
+      final long estimatedCostNs =
+          previousCostNs + ((costNs - previousCostNs) >> COST_SAMPLE_WEIGHT_SHIFT);
+      if (sEstimatedCostNs.replace(typeId, previousCostNs, estimatedCostNs)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Waits for the result of a forked subtask. If the subtask has not started yet, it is run on the
+   * calling thread instead, so that a thread never blocks on work queued behind it.
+   */
+  private static @Nullable LithoNode join(FutureTask<LithoNode> task) {
+    task.run();
+    try {
+      return task.get();
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Executor createExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            MAX_THREADS,
+            MAX_THREADS,
+            ComponentsConfiguration.layoutThreadKeepAliveTimeMs,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new LayoutThreadFactory(
+                ComponentsConfiguration.DEFAULT_BACKGROUND_THREAD_PRIORITY, null));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
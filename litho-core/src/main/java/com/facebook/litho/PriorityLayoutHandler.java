@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.config.LayoutThreadPoolConfiguration;
+import com.facebook.rendercore.RunnableHandler;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * A {@link RunnableHandler} which runs layout computations on a pool of threads, with a separate
+ * queue (lane) for every {@link LayoutPriority}. Idle threads always pick up work from the most
+ * urgent non-empty lane, so visible content is never queued behind speculative prefetch work.
+ *
+ * <p>The lane of a runnable is read from {@link PrioritizedRunnable#getLayoutPriority()} when it is
+ * posted; other runnables use the handler's default priority. Runnables posted with {@link
+ * #postAtFront(Runnable, String)} are put at the front of the {@link LayoutPriority#SYNC} lane.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public class PriorityLayoutHandler implements RunnableHandler {
+
+  public static final LayoutThreadPoolConfiguration DEFAULT_LAYOUT_THREAD_POOL_CONFIGURATION =
+      new LayoutThreadPoolConfigurationImpl(
+          Math.max(2, Runtime.getRuntime().availableProcessors() - 1),
+          Math.max(2, Runtime.getRuntime().availableProcessors() - 1),
+          ComponentsConfiguration.DEFAULT_BACKGROUND_THREAD_PRIORITY);
+
+  private static class DefaultThreadPoolHolder {
+    static final PriorityLayoutHandler INSTANCE =
+        new PriorityLayoutHandler(DEFAULT_LAYOUT_THREAD_POOL_CONFIGURATION, LayoutPriority.VISIBLE);
+  }
+
+  private final LayoutThreadFactory mThreadFactory;
+  private final int mCorePoolSize;
+  private final int mMaxPoolSize;
+  private final @LayoutPriority int mDefaultPriority;
+
+  private final Object mLock = new Object();
+
+  @GuardedBy("mLock")
+  private final ArrayDeque<Runnable>[] mLanes;
+
+  @GuardedBy("mLock")
+  private int mThreadCount;
+
+  @GuardedBy("mLock")
+  private int mIdleThreadCount;
+
+  @SuppressWarnings("unchecked")
+  @VisibleForTesting
+  PriorityLayoutHandler(
+      LayoutThreadPoolConfiguration configuration, @LayoutPriority int defaultPriority) {
+    mThreadFactory =
+        new LayoutThreadFactory(
+            configuration.getThreadPriority(), configuration.getLayoutThreadInitializer());
+    mCorePoolSize = Math.max(1, configuration.getCorePoolSize());
+    mMaxPoolSize = Math.max(mCorePoolSize, configuration.getMaxPoolSize());
+    mDefaultPriority = defaultPriority;
+    mLanes = new ArrayDeque[LayoutPriority.COUNT];
+    for (int i = 0; i < mLanes.length; i++) {
+      mLanes[i] = new ArrayDeque<>();
+    }
+  }
+
+  /**
+   * Gets the default static singleton reference to {@link PriorityLayoutHandler}. It is preferred
+   * to use the default instance in order prevent the app creating too many threads.
+   */
+  public static RunnableHandler getDefaultInstance() {
+    return DefaultThreadPoolHolder.INSTANCE;
+  }
+
+  /**
+   * Creates a new {@link PriorityLayoutHandler} with the provided configuration. Runnables which
+   * don't implement {@link PrioritizedRunnable} are scheduled with {@code defaultPriority}.
+   */
+  public static RunnableHandler getNewInstance(
+      LayoutThreadPoolConfiguration configuration, @LayoutPriority int defaultPriority) {
+    return new PriorityLayoutHandler(configuration, defaultPriority);
+  }
+
+  @Override
+  public boolean isTracing() {
+    return false;
+  }
+
+  @Override
+  public void post(Runnable runnable, String tag) {
+    synchronized (mLock) {
+      mLanes[getLane(runnable)].addLast(runnable);
+      onEnqueuedLocked();
+    }
+  }
+
+  @Override
+  public void postAtFront(Runnable runnable, String tag) {
+    synchronized (mLock) {
+      mLanes[LayoutPriority.SYNC].addFirst(runnable);
+      onEnqueuedLocked();
+    }
+  }
+
+  /** Removes all pending instances of the runnable, from every lane. */
+  @Override
+  public void remove(Runnable runnable) {
+    synchronized (mLock) {
+      for (ArrayDeque<Runnable> lane : mLanes) {
+        final Iterator<Runnable> iterator = lane.iterator();
+        while (iterator.hasNext()) {
+          if (iterator.next() == runnable) {
+            iterator.remove();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves a pending runnable to the lane of its current {@link
+   * PrioritizedRunnable#getLayoutPriority()}. Runnables which are not pending, or which were posted
+   * at the front of the {@link LayoutPriority#SYNC} lane, are left untouched.
+   *
+   * @return true if the runnable was pending and has been moved to a different lane.
+   */
+  public boolean reprioritize(Runnable runnable) {
+    synchronized (mLock) {
+      final int targetLane = getLane(runnable);
+      boolean removed = false;
+      for (int i = 0; i < mLanes.length; i++) {
+        if (i == targetLane || i == LayoutPriority.SYNC) {
+          continue;
+        }
+        final Iterator<Runnable> iterator = mLanes[i].iterator();
+        while (iterator.hasNext()) {
+          if (iterator.next() == runnable) {
+            iterator.remove();
+            removed = true;
+          }
+        }
+      }
+      if (removed) {
+        mLanes[targetLane].addLast(runnable);
+      }
+      return removed;
+    }
+  }
+
+  @VisibleForTesting
+  int getPendingCount(@LayoutPriority int priority) {
+    synchronized (mLock) {
+      return mLanes[priority].size();
+    }
+  }
+
+  private @LayoutPriority int getLane(Runnable runnable) {
+    if (runnable instanceof PrioritizedRunnable) {
+      final int priority = ((PrioritizedRunnable) runnable).getLayoutPriority();
+      if (priority >= 0 && priority < LayoutPriority.COUNT) {
+        return priority;
+      }
+    }
+    return mDefaultPriority;
+  }
+
+  @GuardedBy("mLock")
+  private void onEnqueuedLocked() {
+    if (mIdleThreadCount > 0) {
+      mLock.notify();
+    } else if (mThreadCount < mMaxPoolSize) {
+      mThreadCount++;
+      mThreadFactory.newThread(new Worker()).start();
+    }
+  }
+
+  @GuardedBy("mLock")
+  private @Nullable Runnable pollLocked() {
+    for (ArrayDeque<Runnable> lane : mLanes) {
+      final Runnable runnable = lane.pollFirst();
+      if (runnable != null) {
+        return runnable;
+      }
+    }
+    return null;
+  }
+
+  @GuardedBy("mLock")
+  private boolean hasPendingLocked() {
+    for (ArrayDeque<Runnable> lane : mLanes) {
+      if (!lane.isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Blocks until a runnable is available. Returns null if this thread has been idle for longer than
+   * the keep-alive time and is allowed to exit.
+   */
+  private @Nullable Runnable take() throws InterruptedException {
+    synchronized (mLock) {
+      long remainingNanos =
+          TimeUnit.MILLISECONDS.toNanos(ComponentsConfiguration.layoutThreadKeepAliveTimeMs);
+      Runnable runnable;
+      while ((runnable = pollLocked()) == null) {
+        final boolean canTimeOut =
+            mThreadCount > mCorePoolSize || ComponentsConfiguration.shouldAllowCoreThreadTimeout;
+        if (canTimeOut && remainingNanos <= 0) {
+          mThreadCount--;
+          return null;
+        }
+
+        final long waitStart = System.nanoTime();
+        mIdleThreadCount++;
+        try {
+          if (canTimeOut) {
+            TimeUnit.NANOSECONDS.timedWait(mLock, remainingNanos);
+          } else {
+            mLock.wait();
+          }
+        } finally {
+          mIdleThreadCount--;
+        }
+        remainingNanos -= System.nanoTime() - waitStart;
+      }
+      return runnable;
+    }
+  }
+
+  private class Worker implements Runnable {
+    @Override
+    public void run() {
+      boolean exitedAbruptly = true;
+      try {
+        Runnable runnable;
+        while ((runnable = take()) != null) {
+          runnable.run();
+        }
+        exitedAbruptly = false;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        if (exitedAbruptly) {
+          synchronized (mLock) {
+            mThreadCount--;
+            // Replace this thread if there is still pending work for it.
+            if (mIdleThreadCount == 0 && hasPendingLocked()) {
+              mThreadCount++;
+              mThreadFactory.newThread(new Worker()).start();
+            }
+          }
+        }
+      }
+    }
+  }
+}
@@ -16,10 +16,6 @@
 
 package com.facebook.litho
 
-import androidx.annotation.GuardedBy
-import java.util.HashMap
-import java.util.concurrent.atomic.AtomicInteger
-
 /**
  * Class that handles generation of unique IDs for RenderUnits for a given ComponentTree. The ID
  * generation uses the component key to create an ID, and creates unique IDs for any components
@@ -30,9 +26,8 @@ class RenderUnitIdGenerator(
     val componentTreeId: Int
 ) {
 
-  private val nextId = AtomicInteger(1)
-
-  @GuardedBy("this") private val keyToId = HashMap<String, Int>()
+  /** The interned global keys of the ComponentTree; their ids are used to build RenderUnit IDs. */
+  val keyTable: GlobalKeyTable = GlobalKeyTable()
 
   /**
    * Calculates a returns a unique ID for a given component key and output type. The IDs will be
@@ -44,10 +39,7 @@ class RenderUnitIdGenerator(
    * @param type The output type @see OutputUnitType
    */
   fun calculateLayoutOutputId(componentKey: String, @OutputUnitType type: Int): Long =
-      addTypeAndComponentTreeToId(getId(componentKey), type, componentTreeId)
-
-  @Synchronized
-  private fun getId(key: String): Int = keyToId.getOrPut(key) { nextId.getAndIncrement() }
+      addTypeAndComponentTreeToId(keyTable.getId(componentKey), type, componentTreeId)
 
   companion object {
     private fun addTypeAndComponentTreeToId(
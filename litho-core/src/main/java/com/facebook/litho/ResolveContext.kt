@@ -62,6 +62,7 @@ constructor(
       return _eventHandlers
     }
 
+  @Synchronized
   override fun recordEventHandler(globalKey: String, eventHandler: EventHandler<*>) {
     (_eventHandlers ?: ArrayList()).apply {
       _eventHandlers = this
@@ -84,10 +85,13 @@ constructor(
       }
     }
 
+  // Synchronized because children may be resolved concurrently, see ParallelResolver.
+  @Synchronized
   fun consumeLayoutCreatedInWillRender(id: Int): LithoNode? = _cachedNodes?.remove(id)
 
-  fun getLayoutCreatedInWillRender(id: Int): LithoNode? = _cachedNodes?.get(id)
+  @Synchronized fun getLayoutCreatedInWillRender(id: Int): LithoNode? = _cachedNodes?.get(id)
 
+  @Synchronized
   fun setLayoutCreatedInWillRender(id: Int, node: LithoNode?) {
     (_cachedNodes ?: HashMap()).apply {
       _cachedNodes = this
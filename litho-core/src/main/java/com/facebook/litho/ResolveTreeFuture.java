@@ -29,6 +29,7 @@ import android.view.accessibility.AccessibilityManager;
 import androidx.annotation.Nullable;
 import com.facebook.litho.debug.DebugOverlay;
 import com.facebook.litho.debug.LithoDebugEvent;
+import com.facebook.litho.stats.LithoMetrics;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.rendercore.debug.DebugEventDispatcher;
 import java.util.HashMap;
@@ -224,6 +225,8 @@ public class ResolveTreeFuture extends TreeFuture<ResolveResult> {
       final @Nullable TreeFuture future,
       final @Nullable PerfEvent perfEventLogger) {
     LithoStats.incrementResolveCount();
+    final long metricsStartNs = LithoMetrics.start();
+    final long metricsStartAllocations = LithoMetrics.startAllocations();
 
     final boolean isTracing = ComponentsSystrace.isTracing();
     try {
@@ -291,6 +294,11 @@ public class ResolveTreeFuture extends TreeFuture<ResolveResult> {
 
     } finally {
       state.unregisterResolveInitialState();
+      LithoMetrics.record(
+          LithoMetrics.Stage.RESOLVE,
+          componentTreeId,
+          metricsStartNs,
+          metricsStartAllocations);
       if (isTracing) {
         ComponentsSystrace.endSection();
         if (extraAttribution != null) {
@@ -321,6 +329,8 @@ public class ResolveTreeFuture extends TreeFuture<ResolveResult> {
       throw new IllegalStateException("RenderStateContext cannot be null during resume");
     }
 
+    final long metricsStartNs = LithoMetrics.start();
+    final long metricsStartAllocations = LithoMetrics.startAllocations();
     final boolean isTracing = ComponentsSystrace.isTracing();
     try {
       if (isTracing) {
@@ -363,6 +373,11 @@ public class ResolveTreeFuture extends TreeFuture<ResolveResult> {
           outputs,
           null);
     } finally {
+      LithoMetrics.record(
+          LithoMetrics.Stage.RESOLVE,
+          partialResult.contextForResuming.getTreeId(),
+          metricsStartNs,
+          metricsStartAllocations);
       if (isTracing) {
         ComponentsSystrace.endSection();
         if (extraAttribution != null) {
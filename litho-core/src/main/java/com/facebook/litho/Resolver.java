@@ -49,6 +49,18 @@ public class Resolver {
 
   static @Nullable LithoNode resolveTree(
       final ResolveContext resolveContext, final ComponentContext c, final Component component) {
+    return resolveTree(resolveContext, c, component, null);
+  }
+
+  /**
+   * Resolves the tree of the component. If the component is not reconciled, it is resolved with
+   * {@code globalKeyToReuse} when it is not null instead of generating a new global key.
+   */
+  static @Nullable LithoNode resolveTree(
+      final ResolveContext resolveContext,
+      final ComponentContext c,
+      final Component component,
+      final @Nullable String globalKeyToReuse) {
 
     final @Nullable LithoNode current = resolveContext.getCurrentRoot();
     final @Nullable PerfEvent layoutStatePerfEvent = resolveContext.getPerfEventLogger();
@@ -71,7 +83,7 @@ public class Resolver {
 
     final @Nullable LithoNode node;
     if (!isReconcilable) {
-      node = resolve(resolveContext, c, component);
+      node = resolveWithGlobalKey(resolveContext, c, component, globalKeyToReuse);
 
       if (node != null && !resolveContext.isLayoutInterrupted()) {
         node.applyParentDependentCommonProps(resolveContext);
@@ -637,7 +649,7 @@ public class Resolver {
     final LithoNode layout;
 
     layout = current.clone();
-    layout.setChildren(new ArrayList<>(current.getChildCount()));
+    layout.resetChildren(current.getChildCount());
     layout.resetDebugInfo();
     commitToLayoutState(resolveContext, current);
 
@@ -30,15 +30,14 @@ import kotlin.collections.HashSet
 /** Holds information about the current State of the components in a Component Tree. */
 class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? = null) {
 
-  /** List of state updates that will be applied during the next layout pass. */
-  @GuardedBy("this")
-  private val _pendingStateUpdates: MutableMap<String, MutableList<StateUpdate>> =
-      HashMap(INITIAL_MAP_CAPACITY)
+  /**
+   * State updates that will be applied during the next layout pass. Enqueued without holding this
+   * StateHandler's lock, drained while holding it.
+   */
+  private val _pendingStateUpdates: StateUpdateQueue<StateUpdate> = StateUpdateQueue()
 
-  /** List of lazy state updates. */
-  @GuardedBy("this")
-  private val _pendingLazyStateUpdates: MutableMap<String, MutableList<StateUpdate>> =
-      HashMap(INITIAL_MAP_CAPACITY)
+  /** Lazy state updates, enqueued and drained like [_pendingStateUpdates]. */
+  private val _pendingLazyStateUpdates: StateUpdateQueue<StateUpdate> = StateUpdateQueue()
 
   /** List of transitions from state update that will be applied on next mount. */
   @GuardedBy("this")
@@ -65,8 +64,7 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
 
   // These are both lists of (globalKey, updateMethod) pairs, where globalKey is the global key
   // of the component the update applies to
-  @GuardedBy("this")
-  private val pendingHookUpdates: MutableMap<String, MutableList<HookUpdater>> = mutableMapOf()
+  private val pendingHookUpdates: StateUpdateQueue<HookUpdater> = StateUpdateQueue()
   private var appliedHookUpdates: Map<String, List<HookUpdater>> = emptyMap()
 
   var initialStateContainer: InitialStateContainer
@@ -82,7 +80,6 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
    * @return whether this StateHandler has updates that haven't been committed to the
    *   source-of-truth StateHandler on the ComponentTree.
    */
-  @Synchronized
   fun hasUncommittedUpdates(): Boolean =
       // Because we immediately apply Kotlin state updates at the  beginning of layout, we need to
       // also check applied state updates to see if this StateHandler has uncommitted updates.
@@ -98,11 +95,10 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
    * @param stateUpdate the state update to apply to the component
    * @param isLazyStateUpdate the flag to indicate if it's a lazy state update
    */
-  @Synchronized
   fun queueStateUpdate(key: String, stateUpdate: StateUpdate, isLazyStateUpdate: Boolean) {
-    addStateUpdateForKey(key, stateUpdate, _pendingStateUpdates)
+    _pendingStateUpdates.enqueue(key, stateUpdate)
     if (isLazyStateUpdate) {
-      addStateUpdateForKey(key, stateUpdate, _pendingLazyStateUpdates)
+      _pendingLazyStateUpdates.enqueue(key, stateUpdate)
     }
   }
 
@@ -136,7 +132,7 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
 
   private fun applyStateUpdates(key: String, newStateContainer: StateContainer) {
     // If there are no state updates pending for this component, simply store its current state.
-    val stateUpdatesForKey = synchronized(this) { _pendingStateUpdates[key] } ?: return
+    val stateUpdatesForKey = _pendingStateUpdates[key] ?: return
 
     var transitionsFromStateUpdate: MutableList<Transition>? = null
     val asTransitionContainer = newStateContainer as? TransitionContainer
@@ -175,7 +171,7 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
       component: Component?,
       prevTreeRootNode: LithoNode?
   ) {
-    for ((key, _) in _pendingStateUpdates) {
+    for (key in _pendingStateUpdates.keys) {
       try {
         var stateContainer = _stateContainers[key]
         if (stateContainer == null) {
@@ -228,7 +224,7 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
       componentKey: String,
       container: StateContainer
   ): StateContainer {
-    val stateUpdatesForKey = synchronized(this) { pendingLazyStateUpdates?.get(componentKey) }
+    val stateUpdatesForKey = _pendingLazyStateUpdates[componentKey]
 
     if (stateUpdatesForKey.isNullOrEmpty()) {
       return container
@@ -268,31 +264,14 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
         }
 
   private fun clearStateUpdates(appliedStateUpdates: Map<String, List<StateUpdate>>?) {
-    synchronized(this) {
-      if (appliedStateUpdates == null || _pendingStateUpdates.isEmpty()) {
-        return
-      }
+    if (appliedStateUpdates == null) {
+      return
     }
 
-    for ((appliedStateUpdateKey, appliedStateUpdatesForKey) in appliedStateUpdates!!) {
-      val (pendingStateUpdatesForKey, pendingLazyStateUpdatesForKey) =
-          synchronized(this) {
-            _pendingStateUpdates[appliedStateUpdateKey] to
-                _pendingLazyStateUpdates[appliedStateUpdateKey]
-          }
-
-      if (pendingStateUpdatesForKey == null) {
-        continue
-      }
-
-      if (pendingStateUpdatesForKey.size == appliedStateUpdatesForKey.size) {
-        synchronized(this) {
-          _pendingStateUpdates.remove(appliedStateUpdateKey)
-          _pendingLazyStateUpdates.remove(appliedStateUpdateKey)
-        }
-      } else {
-        pendingStateUpdatesForKey.removeAll(appliedStateUpdatesForKey)
-        pendingLazyStateUpdatesForKey?.removeAll(appliedStateUpdatesForKey)
+    synchronized(this) {
+      for ((appliedStateUpdateKey, appliedStateUpdatesForKey) in appliedStateUpdates) {
+        _pendingStateUpdates.removeApplied(appliedStateUpdateKey, appliedStateUpdatesForKey)
+        _pendingLazyStateUpdates.removeApplied(appliedStateUpdateKey, appliedStateUpdatesForKey)
       }
     }
   }
@@ -301,13 +280,13 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
   val stateContainers: Map<String, StateContainer>
     get() = _stateContainers
 
-  @get:Synchronized
-  val pendingStateUpdates: Map<String, MutableList<StateUpdate>>?
-    get() = _pendingStateUpdates
+  /** A snapshot of the state updates that are still pending. */
+  val pendingStateUpdates: Map<String, List<StateUpdate>>
+    get() = _pendingStateUpdates.snapshot()
 
-  @get:Synchronized
-  val pendingLazyStateUpdates: Map<String, MutableList<StateUpdate>>?
-    get() = _pendingLazyStateUpdates
+  /** A snapshot of the lazy state updates that are still pending. */
+  val pendingLazyStateUpdates: Map<String, List<StateUpdate>>
+    get() = _pendingLazyStateUpdates.snapshot()
 
   @get:Synchronized
   val pendingStateUpdateTransitions: Map<String, List<Transition>>?
@@ -342,21 +321,16 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
    * updates.
    */
   private fun copyStateUpdatesMap(
-      pendingStateUpdates: Map<String, MutableList<StateUpdate>?>?,
-      pendingLazyStateUpdates: Map<String, MutableList<StateUpdate>?>?,
+      pendingStateUpdates: Map<String, List<StateUpdate>>,
+      pendingLazyStateUpdates: Map<String, List<StateUpdate>>,
       appliedStateUpdates: Map<String, List<StateUpdate>>?
   ) {
-    if (CollectionsUtils.isNullOrEmpty(pendingStateUpdates) &&
-        CollectionsUtils.isNullOrEmpty(appliedStateUpdates)) {
+    if (pendingStateUpdates.isEmpty() && CollectionsUtils.isNullOrEmpty(appliedStateUpdates)) {
       return
     }
     synchronized(this) {
-      if (pendingStateUpdates != null) {
-        for (key in pendingStateUpdates.keys) {
-          _pendingStateUpdates[key] = createStateUpdatesList(pendingStateUpdates[key])
-        }
-      }
-      copyPendingLazyStateUpdates(pendingLazyStateUpdates)
+      _pendingStateUpdates.enqueueAll(pendingStateUpdates)
+      _pendingLazyStateUpdates.enqueueAll(pendingLazyStateUpdates)
       if (appliedStateUpdates != null) {
         for ((key, value) in appliedStateUpdates) {
           _appliedStateUpdates[key] = createStateUpdatesList(value)
@@ -365,17 +339,6 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
     }
   }
 
-  private fun copyPendingLazyStateUpdates(
-      pendingLazyStateUpdates: Map<String, MutableList<StateUpdate>?>?
-  ) {
-    if (pendingLazyStateUpdates == null || pendingLazyStateUpdates.isEmpty()) {
-      return
-    }
-    for ((key, value) in pendingLazyStateUpdates) {
-      _pendingLazyStateUpdates?.set(key, createStateUpdatesList(value))
-    }
-  }
-
   /**
    * Copies the list of given state containers into the map that holds the current state containers
    * of components.
@@ -408,20 +371,13 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
   /**
    * Registers the given block to be run before the next layout calculation to update hook state.
    */
-  @Synchronized
   fun queueHookStateUpdate(key: String, updater: HookUpdater) {
-    var hookUpdaters = pendingHookUpdates[key]
-    if (hookUpdaters == null) {
-      hookUpdaters = ArrayList()
-      pendingHookUpdates[key] = hookUpdaters
-    }
-
-    hookUpdaters.add(updater)
+    pendingHookUpdates.enqueue(key, updater)
   }
 
   @get:VisibleForTesting
   val pendingHookUpdatesCount: Int
-    get() = pendingHookUpdates.asSequence().sumOf { it.value.size }
+    get() = pendingHookUpdates.size
 
   init {
     if (stateHandler == null) {
@@ -450,7 +406,7 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
    *   collected
    */
   private fun runHooks(other: StateHandler) {
-    val updates = getHookUpdatesCopy(other.pendingHookUpdates)
+    val updates = other.pendingHookUpdates.snapshot()
     for ((key, value) in updates) {
       val stateContainer = _stateContainers[key]
       /* currentState could be null if the state is removed from the StateHandler before the update runs */
@@ -473,8 +429,7 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
   fun getStateContainerWithHookUpdates(globalKey: String): KStateContainer? {
     val stateContainer = synchronized(this) { _stateContainers[globalKey] } ?: return null
 
-    val hookUpdaters =
-        synchronized(this) { pendingHookUpdates?.get(globalKey)?.let { ArrayList(it) } }
+    val hookUpdaters = pendingHookUpdates[globalKey]
 
     if (hookUpdaters == null) {
       return stateContainer as KStateContainer
@@ -500,16 +455,9 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
       return
     }
 
-    for ((globalKey, appliedHookUpdatersForKey) in appliedHookUpdates) {
-      val pendingHookUpdatersForKey: MutableList<HookUpdater>?
-      synchronized(this) {
-        pendingHookUpdatersForKey = pendingHookUpdates[globalKey]
-        if (!pendingHookUpdatersForKey.isNullOrEmpty()) {
-          pendingHookUpdatersForKey.removeAll(appliedHookUpdatersForKey)
-          if (pendingHookUpdatersForKey.isEmpty()) {
-            pendingHookUpdates.remove(globalKey)
-          }
-        }
+    synchronized(this) {
+      for ((globalKey, appliedHookUpdatersForKey) in appliedHookUpdates) {
+        pendingHookUpdates.removeApplied(globalKey, appliedHookUpdatersForKey)
       }
     }
   }
@@ -520,20 +468,6 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
     const val ERROR_STATE_CONTAINER_NOT_FOUND_APPLY_STATE_UPDATE_EARLY =
         "StateHandler:StateContainerNotFoundApplyStateUpdateEarly"
 
-    private fun addStateUpdateForKey(
-        key: String,
-        stateUpdate: StateUpdate,
-        map: MutableMap<String, MutableList<StateUpdate>>?
-    ) {
-      var pendingStateUpdatesForKey = map?.get(key)
-      if (pendingStateUpdatesForKey == null) {
-        pendingStateUpdatesForKey = createStateUpdatesList()
-        map?.set(key, pendingStateUpdatesForKey)
-      }
-
-      pendingStateUpdatesForKey.add(stateUpdate)
-    }
-
     private fun handleExceptionDuringApplyStateUpdate(
         key: String,
         current: LithoNode,
@@ -580,16 +514,6 @@ class StateHandler @VisibleForTesting constructor(stateHandler: StateHandler? =
         }
       }
     }
-
-    private fun getHookUpdatesCopy(
-        copyFrom: Map<String, List<HookUpdater>>
-    ): Map<String, List<HookUpdater>> {
-      val copyInto: MutableMap<String, List<HookUpdater>> = HashMap(copyFrom.size)
-      for ((key, value) in copyFrom) {
-        copyInto[key] = ArrayList(value)
-      }
-      return copyInto
-    }
   }
 }
 
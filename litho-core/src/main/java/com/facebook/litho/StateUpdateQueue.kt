@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Pending state updates grouped by the global key of the component they apply to.
+ *
+ * Any number of threads can [enqueue] without taking a lock. Everything else reads or drains the
+ * queues and must be serialized by the owner (the [StateHandler] monitor). Updates for a key are
+ * always seen in the order they were enqueued.
+ */
+internal class StateUpdateQueue<T : Any> {
+
+  private val queues: ConcurrentHashMap<String, KeyQueue<T>> = ConcurrentHashMap(INITIAL_CAPACITY)
+
+  /** Appends an update for [key]. Safe to call from any thread. */
+  fun enqueue(key: String, update: T) {
+    while (true) {
+      val queue = queues[key] ?: KeyQueue<T>().let { queues.putIfAbsent(key, it) ?: it }
+      val writers = queue.writers.get()
+      // A closed queue is being detached; retry until it is gone or reopened.
+      if (writers != CLOSED && queue.writers.compareAndSet(writers, writers + 1)) {
+        queue.updates.add(update)
+        queue.writers.decrementAndGet()
+        return
+      }
+    }
+  }
+
+  fun enqueueAll(from: Map<String, List<T>>) {
+    for ((key, updates) in from) {
+      for (update in updates) {
+        enqueue(key, update)
+      }
+    }
+  }
+
+  /** Returns a snapshot of the updates pending for [key], or null if there are none. */
+  operator fun get(key: String): List<T>? {
+    val updates = queues[key]?.updates ?: return null
+    return if (updates.isEmpty()) null else ArrayList(updates)
+  }
+
+  fun isEmpty(): Boolean = queues.values.all { it.updates.isEmpty() }
+
+  fun isNotEmpty(): Boolean = !isEmpty()
+
+  val keys: Set<String>
+    get() = snapshot().keys
+
+  val size: Int
+    get() = queues.values.sumOf { it.updates.size }
+
+  fun snapshot(): Map<String, List<T>> {
+    val snapshot = HashMap<String, List<T>>(queues.size)
+    for ((key, queue) in queues) {
+      if (queue.updates.isNotEmpty()) {
+        snapshot[key] = ArrayList(queue.updates)
+      }
+    }
+    return snapshot
+  }
+
+  /**
+   * Drops [applied] from the updates pending for [key]. Updates are applied in enqueue order, so
+   * they are normally the head of the queue and are polled off without scanning the rest of it.
+   */
+  fun removeApplied(key: String, applied: List<T>) {
+    val queue = queues[key] ?: return
+    val updates = queue.updates
+    var index = 0
+    while (index < applied.size && updates.peek() === applied[index]) {
+      updates.poll()
+      index++
+    }
+    if (index < applied.size) {
+      updates.removeAll(applied.subList(index, applied.size).toSet())
+    }
+    detachIfEmpty(key, queue)
+  }
+
+  fun remove(key: String) {
+    val queue = queues[key] ?: return
+    queue.updates.clear()
+    detachIfEmpty(key, queue)
+  }
+
+  fun clear() {
+    for (key in queues.keys) {
+      remove(key)
+    }
+  }
+
+  private fun detachIfEmpty(key: String, queue: KeyQueue<T>) {
+    if (queue.updates.isEmpty() && queue.writers.compareAndSet(0, CLOSED)) {
+      if (queue.updates.isEmpty()) {
+        queues.remove(key, queue)
+      } else {
+        // An update landed between the check and the close, keep the queue.
+        queue.writers.set(0)
+      }
+    }
+  }
+
+  private class KeyQueue<T : Any> {
+    val updates: ConcurrentLinkedQueue<T> = ConcurrentLinkedQueue()
+
+    /** Number of producers currently appending, or [CLOSED] once the queue is being detached. */
+    val writers: AtomicInteger = AtomicInteger()
+  }
+
+  private companion object {
+    const val INITIAL_CAPACITY = 4
+    const val CLOSED = -1
+  }
+}
@@ -17,6 +17,7 @@
 package com.facebook.litho
 
 import com.facebook.yoga.YogaAlign
+import com.facebook.yoga.YogaBatch
 import com.facebook.yoga.YogaConstants
 import com.facebook.yoga.YogaDirection
 import com.facebook.yoga.YogaEdge
@@ -27,7 +28,13 @@ import com.facebook.yoga.YogaPositionType
 import com.facebook.yoga.YogaWrap
 import kotlin.jvm.JvmField
 
-open class YogaLayoutProps(val node: YogaNode) : LayoutProps {
+/**
+ * Writes layout props into [node]. If a [batch] is given, props are recorded into it instead and
+ * only reach the native node once the batch is applied.
+ */
+open class YogaLayoutProps
+@JvmOverloads
+constructor(val node: YogaNode, private val batch: YogaBatch? = null) : LayoutProps {
 
   @JvmField var isPaddingSet: Boolean = false
   @JvmField var widthFromStyle: Float = YogaConstants.UNDEFINED
@@ -35,132 +42,134 @@ open class YogaLayoutProps(val node: YogaNode) : LayoutProps {
 
   override fun widthPx(width: Int) {
     widthFromStyle = width.toFloat()
-    node.setWidth(widthFromStyle)
+    write({ setWidth(widthFromStyle) }) { node.setWidth(widthFromStyle) }
   }
 
   override fun widthPercent(percent: Float) {
     widthFromStyle = percent
-    node.setWidthPercent(widthFromStyle)
+    write({ setWidthPercent(widthFromStyle) }) { node.setWidthPercent(widthFromStyle) }
   }
 
   override fun minWidthPx(minWidth: Int) {
     widthFromStyle = minWidth.toFloat()
-    node.setMinWidth(widthFromStyle)
+    write({ setMinWidth(widthFromStyle) }) { node.setMinWidth(widthFromStyle) }
   }
 
   override fun maxWidthPx(maxWidth: Int) {
     widthFromStyle = maxWidth.toFloat()
-    node.setMaxWidth(widthFromStyle)
+    write({ setMaxWidth(widthFromStyle) }) { node.setMaxWidth(widthFromStyle) }
   }
 
   override fun minWidthPercent(percent: Float) {
     widthFromStyle = percent
-    node.setMinWidthPercent(widthFromStyle)
+    write({ setMinWidthPercent(widthFromStyle) }) { node.setMinWidthPercent(widthFromStyle) }
   }
 
   override fun maxWidthPercent(percent: Float) {
     widthFromStyle = percent
-    node.setMaxWidthPercent(widthFromStyle)
+    write({ setMaxWidthPercent(widthFromStyle) }) { node.setMaxWidthPercent(widthFromStyle) }
   }
 
   override fun heightPx(height: Int) {
     heightFromStyle = height.toFloat()
-    node.setHeight(heightFromStyle)
+    write({ setHeight(heightFromStyle) }) { node.setHeight(heightFromStyle) }
   }
 
   override fun heightPercent(percent: Float) {
     heightFromStyle = percent
-    node.setHeightPercent(heightFromStyle)
+    write({ setHeightPercent(heightFromStyle) }) { node.setHeightPercent(heightFromStyle) }
   }
 
   override fun minHeightPx(minHeight: Int) {
     heightFromStyle = minHeight.toFloat()
-    node.setMinHeight(heightFromStyle)
+    write({ setMinHeight(heightFromStyle) }) { node.setMinHeight(heightFromStyle) }
   }
 
   override fun maxHeightPx(maxHeight: Int) {
     heightFromStyle = maxHeight.toFloat()
-    node.setMaxHeight(heightFromStyle)
+    write({ setMaxHeight(heightFromStyle) }) { node.setMaxHeight(heightFromStyle) }
   }
 
   override fun minHeightPercent(percent: Float) {
     heightFromStyle = percent
-    node.setMinHeightPercent(heightFromStyle)
+    write({ setMinHeightPercent(heightFromStyle) }) { node.setMinHeightPercent(heightFromStyle) }
   }
 
   override fun maxHeightPercent(percent: Float) {
     heightFromStyle = percent
-    node.setMaxHeightPercent(heightFromStyle)
+    write({ setMaxHeightPercent(heightFromStyle) }) { node.setMaxHeightPercent(heightFromStyle) }
   }
 
   override fun layoutDirection(direction: YogaDirection) {
-    node.setDirection(direction)
+    write({ setDirection(direction) }) { node.setDirection(direction) }
   }
 
   override fun alignSelf(alignSelf: YogaAlign) {
-    node.alignSelf = alignSelf
+    write({ setAlignSelf(alignSelf) }) { node.alignSelf = alignSelf }
   }
 
   override fun flex(flex: Float) {
-    node.flex = flex
+    write({ setFlex(flex) }) { node.flex = flex }
   }
 
   override fun flexGrow(flexGrow: Float) {
-    node.flexGrow = flexGrow
+    write({ setFlexGrow(flexGrow) }) { node.flexGrow = flexGrow }
   }
 
   override fun flexShrink(flexShrink: Float) {
-    node.flexShrink = flexShrink
+    write({ setFlexShrink(flexShrink) }) { node.flexShrink = flexShrink }
   }
 
   override fun flexBasisPx(flexBasis: Int) {
-    node.setFlexBasis(flexBasis.toFloat())
+    write({ setFlexBasis(flexBasis.toFloat()) }) { node.setFlexBasis(flexBasis.toFloat()) }
   }
 
   override fun flexBasisPercent(percent: Float) {
-    node.setFlexBasisPercent(percent)
+    write({ setFlexBasisPercent(percent) }) { node.setFlexBasisPercent(percent) }
   }
 
   override fun aspectRatio(aspectRatio: Float) {
-    node.aspectRatio = aspectRatio
+    write({ setAspectRatio(aspectRatio) }) { node.aspectRatio = aspectRatio }
   }
 
   override fun positionType(positionType: YogaPositionType) {
-    node.positionType = positionType
+    write({ setPositionType(positionType) }) { node.positionType = positionType }
   }
 
   override fun positionPx(edge: YogaEdge, position: Int) {
-    node.setPosition(edge, position.toFloat())
+    write({ setPosition(edge, position.toFloat()) }) { node.setPosition(edge, position.toFloat()) }
   }
 
   override fun positionPercent(edge: YogaEdge, percent: Float) {
-    node.setPositionPercent(edge, percent)
+    write({ setPositionPercent(edge, percent) }) { node.setPositionPercent(edge, percent) }
   }
 
   override fun paddingPx(edge: YogaEdge, padding: Int) {
     isPaddingSet = true
-    node.setPadding(edge, padding.toFloat())
+    write({ setPadding(edge, padding.toFloat()) }) { node.setPadding(edge, padding.toFloat()) }
   }
 
   override fun paddingPercent(edge: YogaEdge, percent: Float) {
     isPaddingSet = true
-    node.setPaddingPercent(edge, percent)
+    write({ setPaddingPercent(edge, percent) }) { node.setPaddingPercent(edge, percent) }
   }
 
   override fun marginPx(edge: YogaEdge, margin: Int) {
-    node.setMargin(edge, margin.toFloat())
+    write({ setMargin(edge, margin.toFloat()) }) { node.setMargin(edge, margin.toFloat()) }
   }
 
   override fun marginPercent(edge: YogaEdge, percent: Float) {
-    node.setMarginPercent(edge, percent)
+    write({ setMarginPercent(edge, percent) }) { node.setMarginPercent(edge, percent) }
   }
 
   override fun marginAuto(edge: YogaEdge) {
-    node.setMarginAuto(edge)
+    write({ setMarginAuto(edge) }) { node.setMarginAuto(edge) }
   }
 
   override fun isReferenceBaseline(isReferenceBaseline: Boolean) {
-    node.setIsReferenceBaseline(isReferenceBaseline)
+    write({ setIsReferenceBaseline(isReferenceBaseline) }) {
+      node.setIsReferenceBaseline(isReferenceBaseline)
+    }
   }
 
   override fun useHeightAsBaseline(useHeightAsBaseline: Boolean) {
@@ -170,34 +179,47 @@ open class YogaLayoutProps(val node: YogaNode) : LayoutProps {
   }
 
   override fun heightAuto() {
-    node.setHeightAuto()
+    write({ setHeightAuto() }) { node.setHeightAuto() }
   }
 
   override fun widthAuto() {
-    node.setWidthAuto()
+    write({ setWidthAuto() }) { node.setWidthAuto() }
   }
 
   override fun flexBasisAuto() {
-    node.setFlexBasisAuto()
+    write({ setFlexBasisAuto() }) { node.setFlexBasisAuto() }
   }
 
   override fun setBorderWidth(edge: YogaEdge, borderWidth: Float) {
-    node.setBorder(edge, borderWidth)
+    write({ setBorder(edge, borderWidth) }) { node.setBorder(edge, borderWidth) }
   }
 
   fun flexDirection(direction: YogaFlexDirection) {
-    node.flexDirection = direction
+    write({ setFlexDirection(direction) }) { node.flexDirection = direction }
   }
 
   fun wrap(wrap: YogaWrap) {
-    node.wrap = wrap
+    write({ setWrap(wrap) }) { node.wrap = wrap }
   }
 
   fun justifyContent(justify: YogaJustify) {
-    node.justifyContent = justify
+    write({ setJustifyContent(justify) }) { node.justifyContent = justify }
+  }
+
+  fun alignContent(align: YogaAlign) {
+    write({ setAlignContent(align) }) { node.alignContent = align }
   }
 
   fun alignItems(align: YogaAlign) {
-    node.alignItems = align
+    write({ setAlignItems(align) }) { node.alignItems = align }
+  }
+
+  private inline fun write(batched: YogaBatch.() -> Unit, direct: () -> Unit) {
+    val batch = batch
+    if (batch != null) {
+      batch.node(node).batched()
+    } else {
+      direct()
+    }
   }
 }
@@ -219,6 +219,72 @@ public class ComponentsConfiguration {
 
   public static long layoutThreadKeepAliveTimeMs = 1000;
 
+  /**
+   * When enabled, children of a Row or Column whose estimated resolve cost is above {@link
+   * #parallelResolveCostThresholdNs} are resolved concurrently on a shared thread pool.
+   */
+  public static boolean enableParallelResolve = false;
+
+  /** The estimated resolve cost (in ns) above which a child is resolved in parallel. */
+  public static long parallelResolveCostThresholdNs = 500_000;
+
+  /**
+   * When enabled, sizes computed by {@link com.facebook.litho.Component#measure} are kept in a
+   * bounded cache shared across renders and component trees.
+   */
+  public static boolean enableCrossRenderMeasureCache = false;
+
+  /** The maximum number of buckets kept by the cross render measure cache. */
+  public static int crossRenderMeasureCacheMaxSize = 256;
+
+  /**
+   * When enabled, global keys are interned per tree so re-renders reuse the same key instances
+   * instead of building new Strings.
+   */
+  public static boolean useInternedGlobalKeys = false;
+
+  /**
+   * When enabled, DataDiffSection matches the unchanged prefix and suffix of its data in linear
+   * time and only runs DiffUtil on the remaining range.
+   */
+  public static boolean enableDataDiffSectionFastPaths = false;
+
+  /**
+   * When enabled, the duration of each render pipeline stage is recorded into the latency
+   * histograms of {@link com.facebook.litho.stats.LithoMetrics}.
+   */
+  public static boolean enableRenderStageMetrics = false;
+
+  /**
+   * When enabled together with {@link #enableRenderStageMetrics}, the number of objects allocated
+   * by each stage is recorded as well. Counts are only available while {@link
+   * android.os.Debug#startAllocCounting()} is active, so this is meant for debug builds.
+   */
+  public static boolean recordRenderStageAllocations = false;
+
+  /**
+   * When enabled, the styles and children of a new Yoga tree are recorded into a {@link
+   * com.facebook.yoga.YogaBatch} and applied natively with a single JNI call before layout.
+   */
+  public static boolean useBatchedYogaNative = false;
+
+  /**
+   * When enabled together with {@link #enableStateUpdatesBatching}, async state updates are batched
+   * by {@link com.facebook.litho.FrameBudgetStateUpdatesStrategy}, which starts at most one state
+   * update layout per frame and widens its window for trees whose layout takes longer than a frame.
+   */
+  public static boolean useFrameBudgetStateUpdatesStrategy = false;
+
+  /**
+   * When enabled, Yoga nodes are acquired from {@link com.facebook.litho.yoga.YogaNodePool}, and
+   * the nodes of a {@link com.facebook.litho.LayoutState} are reset and returned to it once the
+   * LayoutState is replaced or its {@link com.facebook.litho.ComponentTree} is released.
+   */
+  public static boolean useYogaNodePool = false;
+
+  /** The maximum number of nodes kept by each {@link com.facebook.litho.yoga.YogaNodePool}. */
+  public static int yogaNodePoolMaxSize = 2048;
+
   public static boolean crashIfExceedingStateUpdateThreshold = false;
 
   public static boolean enableRecyclerBinderStableId = false;
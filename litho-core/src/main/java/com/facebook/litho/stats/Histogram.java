@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.stats;
+
+import com.facebook.infer.annotation.Nullsafe;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative long values (e.g. nanosecond durations or allocation
+ * counts) with log-linear buckets: every power of two is split in {@link #SUB_BUCKET_COUNT} equal
+ * buckets, so percentiles are accurate to within 25% of the value while the whole histogram stays
+ * at a fixed, small size. Recording is a couple of atomic increments and is safe from any thread.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class Histogram {
+
+  private static final int SUB_BUCKET_BITS = 2;
+  static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /** Values above 2^40 (~18 minutes in nanoseconds) are recorded in the last bucket. */
+  private static final int MAX_EXPONENT = 39;
+
+  static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+  static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong mCount = new AtomicLong();
+  private final AtomicLong mSum = new AtomicLong();
+  private final AtomicLong mMax = new AtomicLong();
+
+  /** Records a value. Negative values are recorded as 0. */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    mBuckets.incrementAndGet(bucketIndexOf(value));
+    mCount.incrementAndGet();
+    mSum.addAndGet(value);
+
+    long max = mMax.get();
+    while (value > max && !mMax.compareAndSet(max, value)) {
+      max = mMax.get();
+    }
+  }
+
+  public long getCount() {
+    return mCount.get();
+  }
+
+  /**
+   * @return the upper bound of the bucket holding the value at the given percentile, where
+   *     percentile is in [0, 100], or 0 if nothing was recorded.
+   */
+  public long getPercentile(double percentile) {
+    return getSnapshot().getPercentile(percentile);
+  }
+
+  /**
+   * @return a consistent copy of the histogram. Records racing with the snapshot may or may not be
+   *     included, but the snapshot itself never changes.
+   */
+  public Snapshot getSnapshot() {
+    final long[] buckets = new long[BUCKET_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets[i] = mBuckets.get(i);
+      count += buckets[i];
+    }
+    return new Snapshot(buckets, count, mSum.get(), mMax.get());
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      mBuckets.set(i, 0);
+    }
+    mCount.set(0);
+    mSum.set(0);
+    mMax.set(0);
+  }
+
+  static int bucketIndexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    if (value > MAX_TRACKABLE_VALUE) {
+      value = MAX_TRACKABLE_VALUE;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  static long bucketLowerBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    final int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+    final int subBucket = index % SUB_BUCKET_COUNT;
+    return ((long) (SUB_BUCKET_COUNT + subBucket)) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  static long bucketUpperBound(int index) {
+    return index == BUCKET_COUNT - 1 ? MAX_TRACKABLE_VALUE : bucketLowerBound(index + 1) - 1;
+  }
+
+  /** An immutable copy of a {@link Histogram}. */
+  public static final class Snapshot {
+
+    private final long[] mBuckets;
+    private final long mCount;
+    private final long mSum;
+    private final long mMax;
+
+    Snapshot(long[] buckets, long count, long sum, long max) {
+      mBuckets = buckets;
+      mCount = count;
+      mSum = sum;
+      mMax = max;
+    }
+
+    public long getCount() {
+      return mCount;
+    }
+
+    public long getMax() {
+      return mMax;
+    }
+
+    public double getMean() {
+      return mCount == 0 ? 0 : (double) mSum / mCount;
+    }
+
+    /** @see Histogram#getPercentile(double) */
+    public long getPercentile(double percentile) {
+      if (mCount == 0) {
+        return 0;
+      }
+      final long rank = Math.max(1, (long) Math.ceil(mCount * percentile / 100d));
+      long seen = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        seen += mBuckets[i];
+        if (seen >= rank) {
+          return Math.min(bucketUpperBound(i), mMax);
+        }
+      }
+      return mMax;
+    }
+
+    public long getP50() {
+      return getPercentile(50);
+    }
+
+    public long getP90() {
+      return getPercentile(90);
+    }
+
+    public long getP99() {
+      return getPercentile(99);
+    }
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.stats;
+
+import android.os.Debug;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency (and optionally allocation) histograms for every stage of the render pipeline, both
+ * process wide and for individually tracked ComponentTrees. Unlike {@link LithoStats}, which only
+ * counts operations, this gives the distribution of their cost, e.g. the p50/p99 of layout, without
+ * having to enable systrace.
+ *
+ * <p>Recording is enabled with {@link ComponentsConfiguration#enableRenderStageMetrics}. Stages are
+ * timed with the following pattern, which is a no-op when disabled:
+ *
+ * <pre>
+ *   final long startNs = LithoMetrics.start();
+ *   final long startAllocations = LithoMetrics.startAllocations();
+ *   ...
+ *   LithoMetrics.record(Stage.LAYOUT, treeId, startNs, startAllocations);
+ * </pre>
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class LithoMetrics {
+
+  /** The render pipeline stages which are measured. */
+  public enum Stage {
+    RESOLVE,
+    LAYOUT,
+    REDUCE,
+    MOUNT,
+    INCREMENTAL_MOUNT,
+    VISIBILITY,
+    CHANGESET,
+  }
+
+  /** Receives the global histograms of every stage when {@link #export()} is called. */
+  public interface Exporter {
+    void onExport(
+        Stage stage, Histogram.Snapshot latencyNs, @Nullable Histogram.Snapshot allocations);
+  }
+
+  /** Use as the tree id for stages which don't belong to a ComponentTree. */
+  public static final int NO_TREE_ID = -1;
+
+  /** Returned by {@link #start()} and {@link #startAllocations()} when nothing is recorded. */
+  private static final long NOT_RECORDING = -1;
+
+  private static final Stage[] STAGES = Stage.values();
+
+  private static final StageHistograms sGlobalHistograms = new StageHistograms();
+  private static final ConcurrentHashMap<Integer, StageHistograms> sTrackedTrees =
+      new ConcurrentHashMap<>();
+
+  private static volatile @Nullable Exporter sExporter;
+
+  private LithoMetrics() {}
+
+  public static boolean isEnabled() {
+    return ComponentsConfiguration.enableRenderStageMetrics;
+  }
+
+  /** @return the start timestamp to pass to {@link #record}. */
+  public static long start() {
+    return isEnabled() ? System.nanoTime() : NOT_RECORDING;
+  }
+
+  /** @return the thread's allocation count to pass to {@link #record}, if recorded. */
+  public static long startAllocations() {
+    return isEnabled() && ComponentsConfiguration.recordRenderStageAllocations
+        ? Debug.getThreadAllocCount()
+        : NOT_RECORDING;
+  }
+
+  /**
+   * Records the duration of a stage which started at {@code startNs}, and the number of objects it
+   * allocated if {@code startAllocations} was recorded.
+   */
+  public static void record(Stage stage, int treeId, long startNs, long startAllocations) {
+    if (startNs == NOT_RECORDING) {
+      return;
+    }
+    final long durationNs = System.nanoTime() - startNs;
+    final long allocations =
+        startAllocations == NOT_RECORDING
+            ? NOT_RECORDING
+            : Debug.getThreadAllocCount() - startAllocations;
+
+    sGlobalHistograms.record(stage, durationNs, allocations);
+    if (treeId != NO_TREE_ID && !sTrackedTrees.isEmpty()) {
+      final StageHistograms treeHistograms = sTrackedTrees.get(treeId);
+      if (treeHistograms != null) {
+        treeHistograms.record(stage, durationNs, allocations);
+      }
+    }
+  }
+
+  /** @return the process wide latency histogram, in nanoseconds, of the given stage. */
+  public static Histogram getLatencyHistogram(Stage stage) {
+    return sGlobalHistograms.mLatencies[stage.ordinal()];
+  }
+
+  /** @return the process wide allocation count histogram of the given stage. */
+  public static Histogram getAllocationHistogram(Stage stage) {
+    return sGlobalHistograms.mAllocations[stage.ordinal()];
+  }
+
+  /**
+   * Starts keeping separate histograms for the ComponentTree with the given id, until it's
+   * released or {@link #stopTrackingTree(int)} is called. Trees aren't tracked by default since
+   * each tracked tree costs a few KB.
+   */
+  public static void startTrackingTree(int treeId) {
+    sTrackedTrees.putIfAbsent(treeId, new StageHistograms());
+  }
+
+  public static void stopTrackingTree(int treeId) {
+    sTrackedTrees.remove(treeId);
+  }
+
+  /**
+   * @return the latency histogram, in nanoseconds, of the given stage for a tracked tree, or null
+   *     if the tree isn't tracked.
+   */
+  public static @Nullable Histogram getLatencyHistogram(int treeId, Stage stage) {
+    final StageHistograms treeHistograms = sTrackedTrees.get(treeId);
+    return treeHistograms != null ? treeHistograms.mLatencies[stage.ordinal()] : null;
+  }
+
+  public static void setExporter(@Nullable Exporter exporter) {
+    sExporter = exporter;
+  }
+
+  /**
+   * Passes a snapshot of the global histograms of every stage that was recorded to the exporter.
+   * Callers decide how often to export, and may {@link #reset()} afterwards to export deltas.
+   */
+  public static void export() {
+    final Exporter exporter = sExporter;
+    if (exporter == null) {
+      return;
+    }
+    for (Stage stage : STAGES) {
+      final Histogram.Snapshot latencies = getLatencyHistogram(stage).getSnapshot();
+      if (latencies.getCount() == 0) {
+        continue;
+      }
+      final Histogram.Snapshot allocations = getAllocationHistogram(stage).getSnapshot();
+      exporter.onExport(stage, latencies, allocations.getCount() > 0 ? allocations : null);
+    }
+  }
+
+  /** Clears the global histograms and those of every tracked tree. */
+  public static void reset() {
+    sGlobalHistograms.reset();
+    for (StageHistograms treeHistograms : sTrackedTrees.values()) {
+      treeHistograms.reset();
+    }
+  }
+
+  @VisibleForTesting
+  public static void resetForTest() {
+    reset();
+    sTrackedTrees.clear();
+    sExporter = null;
+  }
+
+  private static final class StageHistograms {
+    final Histogram[] mLatencies = new Histogram[STAGES.length];
+    final Histogram[] mAllocations = new Histogram[STAGES.length];
+
+    StageHistograms() {
+      for (int i = 0; i < STAGES.length; i++) {
+        mLatencies[i] = new Histogram();
+        mAllocations[i] = new Histogram();
+      }
+    }
+
+    void record(Stage stage, long durationNs, long allocations) {
+      mLatencies[stage.ordinal()].record(durationNs);
+      if (allocations != NOT_RECORDING) {
+        mAllocations[stage.ordinal()].record(allocations);
+      }
+    }
+
+    void reset() {
+      for (int i = 0; i < STAGES.length; i++) {
+        mLatencies[i].reset();
+        mAllocations[i].reset();
+      }
+    }
+  }
+}
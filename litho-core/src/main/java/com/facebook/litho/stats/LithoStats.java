@@ -43,6 +43,9 @@ public final class LithoStats {
   private static final AtomicLong sResolveCancelledCount = new AtomicLong(0);
   private static final AtomicLong sLayoutCancelledCount = new AtomicLong(0);
 
+  private static final AtomicLong sMeasureCacheHitCount = new AtomicLong(0);
+  private static final AtomicLong sMeasureCacheMissCount = new AtomicLong(0);
+
   /**
    * @return the global count of all applied state updates (async, lazy and sync) in Litho
    *     components that have happened in the process.
@@ -113,6 +116,20 @@ public final class LithoStats {
     return sLayoutCancelledCount.get();
   }
 
+  /**
+   * @return the global count of component measurements served by the cross render measure cache.
+   */
+  public static long getMeasureCacheHitCount() {
+    return sMeasureCacheHitCount.get();
+  }
+
+  /**
+   * @return the global count of component measurements not found in the cross render measure cache.
+   */
+  public static long getMeasureCacheMissCount() {
+    return sMeasureCacheMissCount.get();
+  }
+
   /**
    * @return the global count of all applied state updates (async, lazy and sync) in Litho sections
    *     that have happened in the process.
@@ -279,6 +296,24 @@ public final class LithoStats {
     return sSectionTriggeredAsyncStateUpdateCount.addAndGet(1);
   }
 
+  /**
+   * Increment the count of hits in the cross render measure cache (by one).
+   *
+   * @return The new total number of measure cache hits recorded.
+   */
+  public static long incrementMeasureCacheHitCount() {
+    return sMeasureCacheHitCount.addAndGet(1);
+  }
+
+  /**
+   * Increment the count of misses in the cross render measure cache (by one).
+   *
+   * @return The new total number of measure cache misses recorded.
+   */
+  public static long incrementMeasureCacheMissCount() {
+    return sMeasureCacheMissCount.addAndGet(1);
+  }
+
   /**
    * Increment the count of new changeset calculations in Litho sections (by one).
    *
@@ -317,5 +352,7 @@ public final class LithoStats {
     sSectionTriggeredAsyncStateUpdateCount.set(0);
     sSectionCalculateNewChangesetCount.set(0);
     sSectionCalculateNewChangesetOnUICount.set(0);
+    sMeasureCacheHitCount.set(0);
+    sMeasureCacheMissCount.set(0);
   }
 }
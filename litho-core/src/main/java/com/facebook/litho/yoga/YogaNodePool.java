@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.yoga;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.yoga.YogaConfig;
+import com.facebook.yoga.YogaNode;
+import com.facebook.yoga.YogaNodeJNIFinalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Pools of reset {@link YogaNode}s, one per {@link YogaConfig}, which lets frequent relayouts of
+ * large trees reuse native nodes instead of allocating new ones and leaving the old ones to the
+ * finalizer.
+ *
+ * <p>Each pool keeps at most {@link ComponentsConfiguration#yogaNodePoolMaxSize} nodes. Pools are
+ * halved when memory is running low and dropped when it is critical, freeing the native nodes
+ * immediately.
+ */
+public final class YogaNodePool {
+
+  private static final Object sLock = new Object();
+
+  @GuardedBy("sLock")
+  private static final Map<YogaConfig, ArrayDeque<YogaNode>> sPools = new IdentityHashMap<>();
+
+  @GuardedBy("sLock")
+  private static @Nullable PoolComponentCallbacks sComponentCallbacks;
+
+  private static final AtomicLong sAcquireHitCount = new AtomicLong(0);
+  private static final AtomicLong sAcquireMissCount = new AtomicLong(0);
+
+  private YogaNodePool() {}
+
+  /** @return a reset node created with the given config, reusing a pooled one if available. */
+  public static YogaNode acquire(YogaConfig config) {
+    final @Nullable YogaNode node;
+    synchronized (sLock) {
+      final @Nullable ArrayDeque<YogaNode> pool = sPools.get(config);
+      node = pool != null ? pool.pollLast() : null;
+    }
+
+    if (node != null) {
+      sAcquireHitCount.incrementAndGet();
+      return node;
+    }
+
+    sAcquireMissCount.incrementAndGet();
+    return LithoYogaFactory.createYogaNode(config);
+  }
+
+  /**
+   * Detaches every node of the tree rooted at {@code root}, resets them and returns them to the
+   * pool of {@code config}. Nodes which don't fit in the pool are freed. The nodes must have been
+   * created with {@code config}, and nothing may use them afterwards. Trees which are still
+   * attached to a parent are ignored.
+   */
+  public static void recycleTree(YogaConfig config, YogaNode root) {
+    if (root.getOwner() != null) {
+      return;
+    }
+
+    final ArrayList<YogaNode> nodes = new ArrayList<>();
+    nodes.add(root);
+    for (int i = 0; i < nodes.size(); i++) {
+      final YogaNode node = nodes.get(i);
+      for (int j = node.getChildCount() - 1; j >= 0; j--) {
+        nodes.add(node.removeChildAt(j));
+      }
+      node.reset();
+    }
+
+    final int pooledCount;
+    synchronized (sLock) {
+      ArrayDeque<YogaNode> pool = sPools.get(config);
+      if (pool == null) {
+        pool = new ArrayDeque<>();
+        sPools.put(config, pool);
+      }
+      pooledCount =
+          Math.max(
+              0,
+              Math.min(nodes.size(), ComponentsConfiguration.yogaNodePoolMaxSize - pool.size()));
+      for (int i = 0; i < pooledCount; i++) {
+        pool.addLast(nodes.get(i));
+      }
+    }
+
+    freeNatives(nodes, pooledCount);
+  }
+
+  /** Registers for memory pressure signals, which are forwarded to {@link #onTrimMemory(int)}. */
+  public static void ensureComponentCallbacks(Context context) {
+    synchronized (sLock) {
+      if (sComponentCallbacks == null) {
+        sComponentCallbacks = new PoolComponentCallbacks();
+        context.getApplicationContext().registerComponentCallbacks(sComponentCallbacks);
+      }
+    }
+  }
+
+  /**
+   * Releases pooled nodes in response to {@link ComponentCallbacks2#onTrimMemory(int)}. Pools are
+   * halved when memory is running low, and dropped when memory is critical.
+   */
+  public static void onTrimMemory(int level) {
+    if (level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL
+        || level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE) {
+      trimToSize(0);
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+      trimToSize(ComponentsConfiguration.yogaNodePoolMaxSize / 2);
+    }
+  }
+
+  private static void trimToSize(int size) {
+    final ArrayList<YogaNode> trimmed = new ArrayList<>();
+    synchronized (sLock) {
+      for (ArrayDeque<YogaNode> pool : sPools.values()) {
+        while (pool.size() > size) {
+          trimmed.add(pool.pollFirst());
+        }
+      }
+    }
+
+    freeNatives(trimmed, 0);
+  }
+
+  /**
+   * Frees the native nodes from index {@code start} on without waiting for the finalizer, which is
+   * safe since nothing else references them.
+   */
+  private static void freeNatives(ArrayList<YogaNode> nodes, int start) {
+    for (int i = start, count = nodes.size(); i < count; i++) {
+      final YogaNode node = nodes.get(i);
+      if (node instanceof YogaNodeJNIFinalizer) {
+        ((YogaNodeJNIFinalizer) node).freeNatives();
+      }
+    }
+  }
+
+  /** @return the number of pooled nodes for the given config. */
+  @VisibleForTesting
+  public static int size(YogaConfig config) {
+    synchronized (sLock) {
+      final @Nullable ArrayDeque<YogaNode> pool = sPools.get(config);
+      return pool != null ? pool.size() : 0;
+    }
+  }
+
+  /** @return the number of acquired nodes which were served from a pool. */
+  public static long getAcquireHitCount() {
+    return sAcquireHitCount.get();
+  }
+
+  /** @return the number of acquired nodes which had to be created because their pool was empty. */
+  public static long getAcquireMissCount() {
+    return sAcquireMissCount.get();
+  }
+
+  @VisibleForTesting
+  public static void clear() {
+    trimToSize(0);
+    sAcquireHitCount.set(0);
+    sAcquireMissCount.set(0);
+  }
+
+  /** Forwards memory pressure signals to {@link #onTrimMemory(int)}. */
+  private static class PoolComponentCallbacks implements ComponentCallbacks2 {
+
+    @Override
+    public void onTrimMemory(int level) {
+      YogaNodePool.onTrimMemory(level);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+      // Do nothing.
+    }
+
+    @Override
+    public void onLowMemory() {
+      YogaNodePool.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import com.facebook.litho.config.ComponentsConfiguration
+import com.facebook.litho.testing.helper.ComponentTestHelper
+import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import com.facebook.yoga.YogaAlign
+import com.facebook.yoga.YogaEdge
+import com.facebook.yoga.YogaJustify
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class BatchedYogaNativeTest {
+
+  private lateinit var context: ComponentContext
+
+  @Before
+  fun setup() {
+    context = ComponentContext(ApplicationProvider.getApplicationContext<Context>())
+    ComponentsConfiguration.useBatchedYogaNative = true
+  }
+
+  @After
+  fun tearDown() {
+    ComponentsConfiguration.useBatchedYogaNative = false
+    NodeConfig.useYogaLayoutResultsBuffer = false
+  }
+
+  @Test
+  fun `batched styles and children produce the same layout`() {
+    assertLayout()
+  }
+
+  @Test
+  fun `batched styles with shared layout results buffer produce the same layout`() {
+    NodeConfig.useYogaLayoutResultsBuffer = true
+    assertLayout()
+  }
+
+  private fun assertLayout() {
+    val lithoView =
+        ComponentTestHelper.mountComponent(
+            context,
+            object : InlineLayoutSpec() {
+              override fun onCreateLayout(c: ComponentContext): Component =
+                  Row.create(c)
+                      .paddingPx(YogaEdge.ALL, 10)
+                      .justifyContent(YogaJustify.SPACE_BETWEEN)
+                      .alignItems(YogaAlign.CENTER)
+                      .child(
+                          Column.create(c)
+                              .widthPx(100)
+                              .heightPx(50)
+                              .marginPx(YogaEdge.LEFT, 5)
+                              .wrapInView())
+                      .child(
+                          Column.create(c)
+                              .widthPx(200)
+                              .heightPx(100)
+                              .border(Border.create(c).widthPx(YogaEdge.ALL, 4).build())
+                              .child(Column.create(c).flexGrow(1f).wrapInView())
+                              .wrapInView())
+                      .widthPx(500)
+                      .heightPx(300)
+                      .build()
+            })
+    val first = lithoView.getChildAt(0)
+    val second = lithoView.getChildAt(1)
+    assertThat(first.left).isEqualTo(15)
+    assertThat(first.top).isEqualTo(125)
+    assertThat(first.width).isEqualTo(100)
+    assertThat(second.left).isEqualTo(290)
+    assertThat(second.top).isEqualTo(100)
+    assertThat(second.width).isEqualTo(200)
+    assertThat(second.height).isEqualTo(100)
+  }
+}
@@ -43,13 +43,16 @@ import com.facebook.litho.testing.atMost
 import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec
 import com.facebook.litho.testing.testrunner.LithoTestRunner
 import com.facebook.litho.widget.ComponentTreeTester
+import com.facebook.litho.widget.OnMeasureCallbackComponent
 import com.facebook.litho.widget.SimpleMountSpecTester
 import com.facebook.litho.widget.SimpleStateUpdateEmulator
 import com.facebook.litho.widget.SimpleStateUpdateEmulatorSpec
+import com.facebook.litho.yoga.YogaNodePool
 import com.facebook.rendercore.RunnableHandler
 import java.lang.Exception
 import java.lang.RuntimeException
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
 import java.util.concurrent.TimeUnit
 import junit.framework.AssertionFailedError
 import org.assertj.core.api.Assertions.assertThat
@@ -62,6 +65,7 @@ import org.junit.Assert.assertSame
 import org.junit.Before
 import org.junit.Rule
 import org.junit.Test
+import org.junit.rules.TemporaryFolder
 import org.junit.runner.RunWith
 import org.robolectric.Shadows
 import org.robolectric.annotation.LooperMode
@@ -73,6 +77,7 @@ class ComponentTreeTest {
 
   @JvmField @Rule var backgroundLayoutLooperRule = BackgroundLayoutLooperRule()
   @JvmField @Rule var lithoStatsRule = LithoStatsRule()
+  @JvmField @Rule var temporaryFolder = TemporaryFolder()
 
   private lateinit var context: ComponentContext
   private lateinit var component: Component
@@ -1324,6 +1329,136 @@ class ComponentTreeTest {
     componentTree.setRootAndSizeSpecSync(this.component, widthSpec, heightSpec)
   }
 
+  @Test
+  fun testMeasureWithLayoutSizeSnapshot_mountsLayoutComputedInBackground() {
+    val cache =
+        LayoutSizeSnapshotCache(temporaryFolder.newFile(), writeExecutor = Executor { it.run() })
+    cache.put(context, component, "snapshot", widthSpec, heightSpec, 39, 41)
+    val componentTree =
+        ComponentTree.create(context, component).layoutSizeSnapshot(cache, "snapshot").build()
+    val lithoView = LithoView(context)
+    lithoView.componentTree = componentTree
+    lithoView.onAttachedToWindowForTest()
+
+    lithoView.measure(widthSpec, heightSpec)
+    lithoView.layout(0, 0, lithoView.measuredWidth, lithoView.measuredHeight)
+
+    assertThat(lithoView.measuredWidth).isEqualTo(39)
+    assertThat(lithoView.measuredHeight).isEqualTo(41)
+    assertThat(componentTree.mainThreadLayoutState).isNull()
+    assertThat(lithoView.drawables).isEmpty()
+
+    runToEndOfTasks()
+
+    assertThat(componentTree.mainThreadLayoutState).isNotNull
+    assertThat(componentTree.mainThreadLayoutState?.width).isEqualTo(39)
+    assertThat(componentTree.mainThreadLayoutState?.height).isEqualTo(41)
+    assertThat(lithoView.drawables).hasSize(1)
+  }
+
+  @Test
+  fun testMeasureWithStaleLayoutSizeSnapshot_relayoutsWithSizeComputedInBackground() {
+    val file = temporaryFolder.newFile()
+    val cache = LayoutSizeSnapshotCache(file, writeExecutor = Executor { it.run() })
+    val root = SimpleMountSpecTester.create(context).measuredWidth(60).measuredHeight(30).build()
+    val atMostWidthSpec = makeSizeSpec(100, AT_MOST)
+    val atMostHeightSpec = makeSizeSpec(100, AT_MOST)
+    cache.put(context, root, "snapshot", atMostWidthSpec, atMostHeightSpec, 80, 50)
+    val componentTree =
+        ComponentTree.create(context, root).layoutSizeSnapshot(cache, "snapshot").build()
+    val lithoView = LithoView(context)
+    lithoView.componentTree = componentTree
+    lithoView.onAttachedToWindowForTest()
+
+    lithoView.measure(atMostWidthSpec, atMostHeightSpec)
+    lithoView.layout(0, 0, lithoView.measuredWidth, lithoView.measuredHeight)
+
+    assertThat(lithoView.measuredWidth).isEqualTo(80)
+    assertThat(lithoView.measuredHeight).isEqualTo(50)
+    assertThat(lithoView.isLayoutRequested).isFalse
+    assertThat(lithoView.drawables).isEmpty()
+
+    runToEndOfTasks()
+
+    assertThat(lithoView.isLayoutRequested).isTrue
+    lithoView.measure(atMostWidthSpec, atMostHeightSpec)
+    lithoView.layout(0, 0, lithoView.measuredWidth, lithoView.measuredHeight)
+
+    assertThat(lithoView.width).isEqualTo(60)
+    assertThat(lithoView.height).isEqualTo(30)
+    assertThat(lithoView.drawables).hasSize(1)
+
+    val persistedCache = LayoutSizeSnapshotCache(file, writeExecutor = Executor { it.run() })
+    persistedCache.load()
+    val size = Size()
+    assertThat(
+            persistedCache.get(context, root, "snapshot", atMostWidthSpec, atMostHeightSpec, size))
+        .isTrue
+    assertThat(size.width).isEqualTo(60)
+    assertThat(size.height).isEqualTo(30)
+  }
+
+  @Test
+  fun testYogaNodePool_recyclesNodesOfReplacedLayoutState() {
+    ComponentsConfiguration.useYogaNodePool = true
+    YogaNodePool.clear()
+    try {
+      val componentTree = ComponentTree.create(context).build()
+
+      componentTree.setRootAndSizeSpecSync(createColumn(), widthSpec, heightSpec)
+      runToEndOfTasks()
+      assertThat(YogaNodePool.size(NodeConfig.yogaConfig)).isEqualTo(0)
+
+      componentTree.setRootAndSizeSpecSync(createColumn(), widthSpec, heightSpec)
+      runToEndOfTasks()
+      assertThat(YogaNodePool.size(NodeConfig.yogaConfig)).isGreaterThan(0)
+    } finally {
+      ComponentsConfiguration.useYogaNodePool = false
+      YogaNodePool.clear()
+    }
+  }
+
+  @Test
+  fun testYogaNodePool_doesNotRecycleNodesWhileLayoutIsRunning() {
+    ComponentsConfiguration.useYogaNodePool = true
+    YogaNodePool.clear()
+    try {
+      val componentTree = ComponentTree.create(context).build()
+      componentTree.setRootAndSizeSpecSync(createColumn(), widthSpec, heightSpec)
+
+      val measureStarted = CountDownLatch(1)
+      val allowMeasure = CountDownLatch(1)
+      val blockingRoot =
+          Column.create(context)
+              .child(
+                  OnMeasureCallbackComponent.create(context).callback { _, _ ->
+                    measureStarted.countDown()
+                    allowMeasure.await(5, TimeUnit.SECONDS)
+                  })
+              .build()
+      val blockedLayout = runOnBackgroundThread {
+        componentTree.setRootAndSizeSpecSync(blockingRoot, widthSpec, heightSpec)
+      }
+      assertThat(measureStarted.await(5, TimeUnit.SECONDS)).isTrue
+
+      // Replaces the first LayoutState while the layout on the background thread is running.
+      componentTree.setRootAndSizeSpecSync(createColumn(), widthSpec, heightSpec)
+      runToEndOfTasks()
+      assertThat(YogaNodePool.size(NodeConfig.yogaConfig)).isEqualTo(0)
+
+      allowMeasure.countDown()
+      blockedLayout.acquire()
+      runToEndOfTasks()
+      assertThat(YogaNodePool.size(NodeConfig.yogaConfig)).isEqualTo(0)
+    } finally {
+      ComponentsConfiguration.useYogaNodePool = false
+      YogaNodePool.clear()
+    }
+  }
+
+  private fun createColumn(): Component =
+      Column.create(context).child(Row.create(context)).child(Row.create(context)).build()
+
   @Test
   fun testComponentIdIsUniqueAfterShallowCopy() {
     val firstComponent = Column.create(context).build()
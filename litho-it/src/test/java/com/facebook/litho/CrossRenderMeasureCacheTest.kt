@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider.getApplicationContext
+import com.facebook.litho.SizeSpec.UNSPECIFIED
+import com.facebook.litho.config.ComponentsConfiguration
+import com.facebook.litho.stats.LithoStats
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import com.facebook.litho.widget.SimpleMountSpecTester
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class CrossRenderMeasureCacheTest {
+
+  private val context = ComponentContext(getApplicationContext<Context>())
+  private val defaultMaxSize = ComponentsConfiguration.crossRenderMeasureCacheMaxSize
+
+  @Before
+  fun setUp() {
+    ComponentsConfiguration.enableCrossRenderMeasureCache = true
+    CrossRenderMeasureCache.clear()
+    LithoStats.resetAllCounters()
+  }
+
+  @After
+  fun tearDown() {
+    ComponentsConfiguration.enableCrossRenderMeasureCache = false
+    ComponentsConfiguration.crossRenderMeasureCacheMaxSize = defaultMaxSize
+    CrossRenderMeasureCache.clear()
+  }
+
+  @Test
+  fun testMeasure_withEquivalentComponent_reusesSizeAcrossTrees() {
+    val first = measure(createComponent(width = 40))
+    val second = measure(createComponent(width = 40))
+
+    assertThat(first.width).isEqualTo(40)
+    assertThat(second.width).isEqualTo(40)
+    assertThat(second.height).isEqualTo(first.height)
+    assertThat(LithoStats.getMeasureCacheMissCount()).isEqualTo(1)
+    assertThat(LithoStats.getMeasureCacheHitCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testMeasure_withDifferentProps_missesCache() {
+    measure(createComponent(width = 40))
+    val size = measure(createComponent(width = 50))
+
+    assertThat(size.width).isEqualTo(50)
+    assertThat(LithoStats.getMeasureCacheMissCount()).isEqualTo(2)
+    assertThat(LithoStats.getMeasureCacheHitCount()).isEqualTo(0)
+  }
+
+  @Test
+  fun testMeasure_whenMaxSizeExceeded_evictsLeastRecentlyUsed() {
+    ComponentsConfiguration.crossRenderMeasureCacheMaxSize = 1
+
+    measure(createComponent(width = 40))
+    measure(createComponent(width = 40), widthSpec = SizeSpec.makeSizeSpec(100, SizeSpec.AT_MOST))
+    measure(createComponent(width = 40))
+
+    assertThat(CrossRenderMeasureCache.size()).isEqualTo(1)
+    assertThat(LithoStats.getMeasureCacheMissCount()).isEqualTo(3)
+    assertThat(LithoStats.getMeasureCacheHitCount()).isEqualTo(0)
+  }
+
+  @Test
+  fun testInvalidate_keepsStatelessEntries() {
+    measure(createComponent(width = 40))
+
+    val tree = ComponentTree.create(context).build()
+    CrossRenderMeasureCache.invalidate(tree.mId)
+
+    assertThat(CrossRenderMeasureCache.size()).isEqualTo(1)
+    assertThat(measure(createComponent(width = 40)).width).isEqualTo(40)
+    assertThat(LithoStats.getMeasureCacheHitCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testMeasure_statefulComponents_areKeyedByTheirOwnGlobalKey() {
+    val tree = ComponentTree.create(context).build()
+    val treeContext = ComponentContextUtils.withComponentTree(context, tree)
+
+    measure(createStatefulComponent("first"), treeContext)
+    measure(createStatefulComponent("second"), treeContext)
+    measure(createStatefulComponent("first"), treeContext)
+
+    assertThat(LithoStats.getMeasureCacheMissCount()).isEqualTo(2)
+    assertThat(LithoStats.getMeasureCacheHitCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testRelease_dropsStatefulEntriesOfTheTree() {
+    val tree = ComponentTree.create(context).build()
+    val treeContext = ComponentContextUtils.withComponentTree(context, tree)
+    measure(createComponent(width = 40))
+    measure(createStatefulComponent("key"), treeContext)
+    assertThat(CrossRenderMeasureCache.size()).isEqualTo(2)
+
+    tree.release()
+
+    assertThat(CrossRenderMeasureCache.size()).isEqualTo(1)
+  }
+
+  @Test
+  fun testMeasure_withCachedResult_doesNotUseCrossRenderCache() {
+    val c = ComponentContextUtils.withComponentTree(context, ComponentTree.create(context).build())
+    c.setRenderStateContextForTests()
+    try {
+      createComponent(width = 40)
+          .measure(
+              c,
+              SizeSpec.makeSizeSpec(0, UNSPECIFIED),
+              SizeSpec.makeSizeSpec(0, UNSPECIFIED),
+              Size())
+    } finally {
+      c.clearCalculationStateContext()
+    }
+
+    assertThat(CrossRenderMeasureCache.size()).isEqualTo(0)
+    assertThat(LithoStats.getMeasureCacheMissCount()).isEqualTo(0)
+  }
+
+  private fun createStatefulComponent(key: String): Component =
+      Column.create(context).key(key).child(StatefulComponent()).build()
+
+  private fun createComponent(width: Int): Component =
+      Column.create(context)
+          .child(SimpleMountSpecTester.create(context).widthPx(width).heightPx(20))
+          .build()
+
+  private fun measure(
+      component: Component,
+      c: ComponentContext = context,
+      widthSpec: Int = SizeSpec.makeSizeSpec(0, UNSPECIFIED)
+  ): Size {
+    val size = Size()
+    component.measureMightNotCacheInternalNode(
+        c, widthSpec, SizeSpec.makeSizeSpec(0, UNSPECIFIED), size)
+    return size
+  }
+
+  private class StatefulComponent : KComponent() {
+    override fun ComponentScope.render(): Component {
+      val width = useState { 40 }
+      return SimpleMountSpecTester.create(context).widthPx(width.value).heightPx(20).build()
+    }
+  }
+}
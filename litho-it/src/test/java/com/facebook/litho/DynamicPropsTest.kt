@@ -323,6 +323,71 @@ class DynamicPropsTest {
     assertThat(lithoView.elevation).isEqualTo(-50f)
   }
 
+  @Test
+  fun testDynamicValueSharedBetweenComponentsIsAppliedToAllBoundContent() {
+    val alphaDV = DynamicValue(0.5f)
+    val component1 = Column.create(context).alpha(alphaDV).build()
+    val component2 = Column.create(context).alpha(alphaDV).scaleX(alphaDV).build()
+    val view1 = View(context.androidContext)
+    val view2 = View(context.androidContext)
+    val dynamicPropsManager = DynamicPropsManager()
+    dynamicPropsManager.onBindComponentToContent(
+        component1, context, component1.commonDynamicProps, view1)
+    dynamicPropsManager.onBindComponentToContent(
+        component2, context, component2.commonDynamicProps, view2)
+    assertThat(alphaDV.numberOfListeners).isEqualTo(1)
+
+    alphaDV.set(0.2f)
+    assertThat(view1.alpha).isEqualTo(0.2f)
+    assertThat(view2.alpha).isEqualTo(0.2f)
+    assertThat(view2.scaleX).isEqualTo(0.2f)
+
+    dynamicPropsManager.onUnbindComponent(component1, component1.commonDynamicProps, view1)
+    assertThat(view1.alpha).isEqualTo(1f)
+    assertThat(alphaDV.numberOfListeners).isEqualTo(1)
+
+    alphaDV.set(0.7f)
+    assertThat(view1.alpha).isEqualTo(1f)
+    assertThat(view2.alpha).isEqualTo(0.7f)
+    assertThat(view2.scaleX).isEqualTo(0.7f)
+
+    dynamicPropsManager.onUnbindComponent(component2, component2.commonDynamicProps, view2)
+    assertThat(alphaDV.numberOfListeners).isEqualTo(0)
+    assertThat(dynamicPropsManager.hasCachedContent(component2)).isFalse
+  }
+
+  @Test
+  fun testComponentUnboundDuringNestedDispatchIsSkippedByOuterDispatch() {
+    val alphaDV = DynamicValue(0.5f)
+    val components = List(4) { Column.create(context).alpha(alphaDV).build() }
+    val views = List(4) { AlphaListeningView(context.androidContext) }
+    val dynamicPropsManager = DynamicPropsManager()
+    for (i in 0 until 3) {
+      dynamicPropsManager.onBindComponentToContent(
+          components[i], context, components[i].commonDynamicProps, views[i])
+    }
+
+    // The outer dispatch binds another component, then dispatches a nested change during which
+    // the third component is unbound.
+    views[0].onAlphaSet = {
+      views[0].onAlphaSet = null
+      dynamicPropsManager.onBindComponentToContent(
+          components[3], context, components[3].commonDynamicProps, views[3])
+      alphaDV.set(0.9f)
+    }
+    views[1].onAlphaSet = {
+      views[1].onAlphaSet = null
+      dynamicPropsManager.onUnbindComponent(
+          components[2], components[2].commonDynamicProps, views[2])
+    }
+    alphaDV.set(0.2f)
+
+    assertThat(views[0].alpha).isEqualTo(0.9f)
+    assertThat(views[1].alpha).isEqualTo(0.9f)
+    assertThat(views[2].alpha).isEqualTo(1f)
+    assertThat(views[3].alpha).isEqualTo(0.9f)
+  }
+
   @Test
   fun commonDynamicProps_unbindAndRebindContent_resetValues() {
     val stateUpdateCaller = DynamicPropsResetValueTesterSpec.Caller()
@@ -611,3 +676,12 @@ private class SimpleTestPrimitiveComponent(
         style)
   }
 }
+
+private class AlphaListeningView(context: Context) : View(context) {
+  var onAlphaSet: (() -> Unit)? = null
+
+  override fun setAlpha(alpha: Float) {
+    super.setAlpha(alpha)
+    onAlphaSet?.invoke()
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import com.facebook.litho.choreographercompat.ChoreographerCompat
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class FrameBudgetStateUpdatesStrategyTest {
+
+  private val choreographer = FakeChoreographer()
+  private val flushes = mutableListOf<String?>()
+  private var nanoTime = 0L
+  private lateinit var strategy: FrameBudgetStateUpdatesStrategy
+
+  @Before
+  fun setup() {
+    strategy =
+        FrameBudgetStateUpdatesStrategy(
+            choreographer,
+            { attribution ->
+              flushes.add(attribution)
+              strategy.onInternalStateUpdateStart()
+            },
+            { nanoTime })
+  }
+
+  @Test
+  fun updatesEnqueuedBeforeVsync_areFlushedOnceOnNextFrame() {
+    repeat(50) { strategy.onAsyncStateUpdateEnqueued("update$it", false) }
+
+    assertThat(choreographer.postedCallbacks).isEqualTo(1)
+    assertThat(flushes).isEmpty()
+
+    choreographer.doFrame()
+
+    assertThat(flushes).containsExactly("update0")
+    assertThat(choreographer.hasPendingCallback).isFalse
+  }
+
+  @Test
+  fun updatesEnqueuedWhileLayoutInFlight_waitUntilLayoutIsCommitted() {
+    strategy.onAsyncStateUpdateEnqueued("first", false)
+    choreographer.doFrame()
+    assertThat(flushes).containsExactly("first")
+
+    strategy.onAsyncStateUpdateEnqueued("second", false)
+    choreographer.doFrame()
+    assertThat(flushes).containsExactly("first")
+
+    strategy.onStateUpdateLayoutCommitted()
+    choreographer.doFrame()
+    assertThat(flushes).containsExactly("first", "second")
+  }
+
+  @Test
+  fun layoutThatNeverCommits_doesNotHoldUpdatesBackForever() {
+    strategy.onAsyncStateUpdateEnqueued("first", false)
+    choreographer.doFrame()
+
+    strategy.onAsyncStateUpdateEnqueued("second", false)
+    repeat(FrameBudgetStateUpdatesStrategy.MAX_COALESCED_FRAMES) { choreographer.doFrame() }
+
+    assertThat(flushes).containsExactly("first", "second")
+  }
+
+  @Test
+  fun layoutSlowerThanFrame_coalescesUpdatesOverAsManyFramesAsItTakes() {
+    strategy.onAsyncStateUpdateEnqueued("first", false)
+    choreographer.doFrame()
+    nanoTime += 40_000_000L
+    strategy.onStateUpdateLayoutCommitted()
+
+    // ceil(40ms / 16.67ms)
+    assertThat(strategy.coalescedFrames).isEqualTo(3)
+
+    strategy.onAsyncStateUpdateEnqueued("second", false)
+    repeat(2) { choreographer.doFrame() }
+    assertThat(flushes).containsExactly("first")
+
+    choreographer.doFrame()
+    assertThat(flushes).containsExactly("first", "second")
+  }
+
+  @Test
+  fun layoutMuchSlowerThanFrame_coalescesUpdatesOverAtMostMaxFrames() {
+    strategy.onAsyncStateUpdateEnqueued("first", false)
+    choreographer.doFrame()
+    nanoTime += 200_000_000L
+    strategy.onStateUpdateLayoutCommitted()
+
+    assertThat(strategy.coalescedFrames)
+        .isEqualTo(FrameBudgetStateUpdatesStrategy.MAX_COALESCED_FRAMES)
+
+    strategy.onAsyncStateUpdateEnqueued("second", false)
+    repeat(FrameBudgetStateUpdatesStrategy.MAX_COALESCED_FRAMES - 1) { choreographer.doFrame() }
+    assertThat(flushes).containsExactly("first")
+
+    choreographer.doFrame()
+    assertThat(flushes).containsExactly("first", "second")
+  }
+
+  @Test
+  fun release_dropsPendingFrameCallback() {
+    strategy.onAsyncStateUpdateEnqueued("update", false)
+
+    strategy.release()
+
+    assertThat(choreographer.hasPendingCallback).isFalse
+    assertThat(flushes).isEmpty()
+  }
+
+  private class FakeChoreographer : ChoreographerCompat {
+
+    private var callback: ChoreographerCompat.FrameCallback? = null
+    private var frameTimeNanos = 0L
+    var postedCallbacks = 0
+
+    val hasPendingCallback: Boolean
+      get() = callback != null
+
+    fun doFrame() {
+      frameTimeNanos += 16_666_667L
+      val current = callback ?: return
+      callback = null
+      current.doFrame(frameTimeNanos)
+    }
+
+    override fun postFrameCallback(callbackWrapper: ChoreographerCompat.FrameCallback) {
+      postedCallbacks++
+      callback = callbackWrapper
+    }
+
+    override fun postFrameCallbackDelayed(
+        callbackWrapper: ChoreographerCompat.FrameCallback,
+        delayMillis: Long
+    ) {
+      postFrameCallback(callbackWrapper)
+    }
+
+    override fun removeFrameCallback(callbackWrapper: ChoreographerCompat.FrameCallback) {
+      if (callback === callbackWrapper) {
+        callback = null
+      }
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider.getApplicationContext
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import com.facebook.litho.widget.SimpleMountSpecTester
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class GlobalKeyTableTest {
+
+  private val context = ComponentContext(getApplicationContext<Context>())
+  private val table = GlobalKeyTable()
+
+  @Test
+  fun testGetChildKey_returnsSameKeyAsConcatenation() {
+    val child = SimpleMountSpecTester.create(context).build()
+
+    val key = table.getChildKey("root", child, child.key, 2)
+
+    assertThat(key).isEqualTo(ComponentKeyUtils.getChildKey("root", child.key, 2))
+  }
+
+  @Test
+  fun testGetChildKey_whenCalledAgain_returnsInternedInstance() {
+    val parent = table.getChildKey("root", Column.create(context).build(), "1", 0)
+    val first = SimpleMountSpecTester.create(context).build()
+    val second = SimpleMountSpecTester.create(context).build()
+
+    val firstKey = table.getChildKey(parent, first, first.key, 0)
+    val secondKey = table.getChildKey(String(parent.toCharArray()), second, second.key, 0)
+
+    assertThat(secondKey).isSameAs(firstKey)
+    assertThat(table.getId(secondKey)).isEqualTo(table.getId(firstKey))
+  }
+
+  @Test
+  fun testGetChildKey_withManualKeys_generatesDistinctKeys() {
+    val first = SimpleMountSpecTester.create(context).key("a").build()
+    val second = SimpleMountSpecTester.create(context).key("b").build()
+
+    val firstKey = table.getChildKey("root", first, "\$a", 0)
+    val secondKey = table.getChildKey("root", second, "\$b", 0)
+
+    assertThat(firstKey).isEqualTo("root,\$a")
+    assertThat(secondKey).isEqualTo("root,\$b")
+    assertThat(table.getId(firstKey)).isNotEqualTo(table.getId(secondKey))
+  }
+
+  @Test
+  fun testGetId_isStableForEqualKeys() {
+    val id = table.getId("some,key")
+
+    assertThat(table.getId(String("some,key".toCharArray()))).isEqualTo(id)
+    assertThat(table.getId("other,key")).isNotEqualTo(id)
+  }
+}
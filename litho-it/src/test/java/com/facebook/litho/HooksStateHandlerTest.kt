@@ -17,6 +17,8 @@
 package com.facebook.litho
 
 import com.facebook.litho.testing.testrunner.LithoTestRunner
+import java.util.concurrent.CountDownLatch
+import kotlin.concurrent.thread
 import org.assertj.core.api.Assertions.assertThat
 import org.assertj.core.util.Lists
 import org.junit.Test
@@ -151,6 +153,35 @@ class HooksStateHandlerTest {
         .isEqualTo(Lists.newArrayList("test", 7, bazState, "newValue"))
   }
 
+  @Test
+  fun queueHookStateUpdate_fromManyThreadsWhileCommitting_keepsEveryUpdateNotYetApplied() {
+    val first = StateHandler()
+    first.addStateContainer(GLOBAL_KEY, KStateContainer.withNewState(null, 0))
+    val increment =
+        object : HookUpdater {
+          override fun getUpdatedStateContainer(currentState: KStateContainer): KStateContainer =
+              currentState.copyAndMutate(0, currentState.states[0] as Int + 1)
+        }
+    repeat(10) { first.queueHookStateUpdate(GLOBAL_KEY, increment) }
+    val second = StateHandler(first)
+    second.keepStateContainerForGlobalKey(GLOBAL_KEY)
+
+    val start = CountDownLatch(1)
+    val producers =
+        List(4) {
+          thread {
+            start.await()
+            repeat(250) { first.queueHookStateUpdate(GLOBAL_KEY, increment) }
+          }
+        }
+    start.countDown()
+    first.commit(second)
+    producers.forEach { it.join() }
+
+    assertThat((first.getStateContainer(GLOBAL_KEY) as KStateContainer).states[0]).isEqualTo(10)
+    assertThat(first.pendingHookUpdatesCount).isEqualTo(1_000)
+  }
+
   companion object {
     private const val GLOBAL_KEY = "globalKey"
   }
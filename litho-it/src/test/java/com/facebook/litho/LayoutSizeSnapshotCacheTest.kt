@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider.getApplicationContext
+import com.facebook.litho.SizeSpec.EXACTLY
+import com.facebook.litho.SizeSpec.UNSPECIFIED
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import com.facebook.litho.widget.SimpleMountSpecTester
+import java.io.File
+import java.util.concurrent.Executor
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class LayoutSizeSnapshotCacheTest {
+
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  private val context = ComponentContext(getApplicationContext<Context>())
+  private val root = SimpleMountSpecTester.create(context).build()
+  private val widthSpec = SizeSpec.makeSizeSpec(1080, EXACTLY)
+  private val heightSpec = SizeSpec.makeSizeSpec(0, UNSPECIFIED)
+
+  @Test
+  fun testGet_afterPut_returnsRecordedSize() {
+    val cache = createCache(temporaryFolder.newFile())
+
+    cache.put(context, root, "feed", widthSpec, heightSpec, 1080, 420)
+
+    val size = Size()
+    assertThat(cache.get(context, root, "feed", widthSpec, heightSpec, size)).isTrue
+    assertThat(size.width).isEqualTo(1080)
+    assertThat(size.height).isEqualTo(420)
+  }
+
+  @Test
+  fun testGet_withDifferentSnapshotKeyOrSpecs_misses() {
+    val cache = createCache(temporaryFolder.newFile())
+
+    cache.put(context, root, "feed", widthSpec, heightSpec, 1080, 420)
+
+    assertThat(cache.get(context, root, "profile", widthSpec, heightSpec, Size())).isFalse
+    assertThat(
+            cache.get(
+                context, root, "feed", SizeSpec.makeSizeSpec(720, EXACTLY), heightSpec, Size()))
+        .isFalse
+  }
+
+  @Test
+  fun testLoad_readsEntriesWrittenByAnotherInstance() {
+    val file = temporaryFolder.newFile()
+    createCache(file).put(context, root, "feed", widthSpec, heightSpec, 1080, 420)
+
+    val cache = createCache(file)
+    cache.load()
+
+    val size = Size()
+    assertThat(cache.get(context, root, "feed", widthSpec, heightSpec, size)).isTrue
+    assertThat(size.height).isEqualTo(420)
+  }
+
+  @Test
+  fun testGet_beforeLoad_misses() {
+    val file = temporaryFolder.newFile()
+    createCache(file).put(context, root, "feed", widthSpec, heightSpec, 1080, 420)
+
+    val pendingTasks = ArrayList<Runnable>()
+    val cache = LayoutSizeSnapshotCache(file, writeExecutor = Executor { pendingTasks.add(it) })
+    cache.loadAsync()
+
+    assertThat(cache.get(context, root, "feed", widthSpec, heightSpec, Size())).isFalse
+
+    pendingTasks.forEach { it.run() }
+
+    assertThat(cache.get(context, root, "feed", widthSpec, heightSpec, Size())).isTrue
+  }
+
+  @Test
+  fun testLoad_keepsEntriesRecordedBeforeLoading() {
+    val file = temporaryFolder.newFile()
+    createCache(file).put(context, root, "feed", widthSpec, heightSpec, 1080, 420)
+
+    val cache = LayoutSizeSnapshotCache(file, writeExecutor = Executor {})
+    cache.put(context, root, "feed", widthSpec, heightSpec, 1080, 300)
+    cache.load()
+
+    val size = Size()
+    assertThat(cache.get(context, root, "feed", widthSpec, heightSpec, size)).isTrue
+    assertThat(size.height).isEqualTo(300)
+  }
+
+  @Test
+  fun testLoad_withCorruptedFile_startsEmpty() {
+    val file = temporaryFolder.newFile()
+    file.writeBytes(byteArrayOf(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13))
+
+    val cache = createCache(file)
+    cache.load()
+
+    assertThat(cache.size()).isEqualTo(0)
+  }
+
+  @Test
+  fun testPut_whenMaxSizeExceeded_evictsLeastRecentlyUsed() {
+    val cache = createCache(temporaryFolder.newFile(), maxSize = 1)
+
+    cache.put(context, root, "feed", widthSpec, heightSpec, 1080, 420)
+    cache.put(context, root, "profile", widthSpec, heightSpec, 1080, 300)
+
+    assertThat(cache.size()).isEqualTo(1)
+    assertThat(cache.get(context, root, "feed", widthSpec, heightSpec, Size())).isFalse
+    assertThat(cache.get(context, root, "profile", widthSpec, heightSpec, Size())).isTrue
+  }
+
+  private fun createCache(
+      file: File,
+      maxSize: Int = LayoutSizeSnapshotCache.DEFAULT_MAX_SIZE
+  ): LayoutSizeSnapshotCache = LayoutSizeSnapshotCache(file, maxSize, DIRECT_EXECUTOR)
+
+  companion object {
+    private val DIRECT_EXECUTOR = Executor { it.run() }
+  }
+}
@@ -307,6 +307,39 @@ class LithoNodeTest {
     assertThat(isFlagSet(dest, "PFLAG_VISIBLE_RECT_CHANGED_HANDLER_IS_SET")).isTrue
   }
 
+  @Test
+  fun testAddChildAt_keepsChildrenInOrderWhenGrowing() {
+    val parent = acquireNestedTreeHolder()
+    val children = List(6) { acquireNestedTreeHolder() }
+    children.forEach { parent.addChildAt(it, parent.childCount) }
+    val inserted = acquireNestedTreeHolder()
+    parent.addChildAt(inserted, 2)
+
+    assertThat(parent.childCount).isEqualTo(7)
+    assertThat(parent.getChildAt(2)).isSameAs(inserted)
+    assertThat(parent.getChildAt(3)).isSameAs(children[2])
+    assertThat(parent.getChildAt(6)).isSameAs(children[5])
+    assertThat(parent.getChildIndex(children[5])).isEqualTo(6)
+    assertThat(parent.getChildIndex(acquireNestedTreeHolder())).isEqualTo(-1)
+  }
+
+  @Test
+  fun testBorderAndVisibilityAttributes_defaultWhenUnset() {
+    val node = acquireNestedTreeHolder()
+
+    assertThat(node.borderColors).containsExactly(0, 0, 0, 0)
+    assertThat(node.borderRadius).containsExactly(0f, 0f, 0f, 0f)
+    assertThat(node.hasBorderColor()).isFalse
+    assertThat(node.hasVisibilityHandlers()).isFalse
+    assertThat(node.visibleHeightRatio).isEqualTo(0f)
+
+    node.visibleHandler(mock())
+    node.visibleHeightRatio(0.5f)
+
+    assertThat(node.hasVisibilityHandlers()).isTrue
+    assertThat(node.visibleHeightRatio).isEqualTo(0.5f)
+  }
+
   @Test
   fun testComponentCreateAndRetrieveCachedLayoutLS_measure() {
     val baseContext = ComponentContext(ApplicationProvider.getApplicationContext<Context>())
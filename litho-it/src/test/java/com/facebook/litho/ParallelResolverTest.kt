@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider.getApplicationContext
+import com.facebook.litho.SizeSpec.EXACTLY
+import com.facebook.litho.SizeSpec.makeSizeSpec
+import com.facebook.litho.config.ComponentsConfiguration
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import com.facebook.litho.widget.SimpleMountSpecTester
+import java.util.concurrent.ConcurrentHashMap
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class ParallelResolverTest {
+
+  private val context = ComponentContext(getApplicationContext<Context>())
+  private val defaultThresholdNs = ComponentsConfiguration.parallelResolveCostThresholdNs
+
+  @After
+  fun tearDown() {
+    ComponentsConfiguration.enableParallelResolve = false
+    ComponentsConfiguration.parallelResolveCostThresholdNs = defaultThresholdNs
+  }
+
+  @Test
+  fun testParallelResolve_generatesSameTreeAsSequentialResolve() {
+    val sequentialKeys = collectGlobalKeys(resolve(createTree()))
+
+    ComponentsConfiguration.enableParallelResolve = true
+    ComponentsConfiguration.parallelResolveCostThresholdNs = 0
+    // The first pass records the resolve cost of every component type, the second one forks.
+    resolve(createTree())
+    val parallelKeys = collectGlobalKeys(resolve(createTree()))
+
+    assertThat(parallelKeys).isEqualTo(sequentialKeys)
+  }
+
+  @Test
+  fun testParallelResolve_withManualKeys_generatesSameTreeAsSequentialResolve() {
+    val sequentialKeys = collectGlobalKeys(resolve(createTree(manualKeys = true)))
+
+    ComponentsConfiguration.enableParallelResolve = true
+    ComponentsConfiguration.parallelResolveCostThresholdNs = 0
+    resolve(createTree(manualKeys = true))
+    val parallelKeys = collectGlobalKeys(resolve(createTree(manualKeys = true)))
+
+    assertThat(parallelKeys).isEqualTo(sequentialKeys)
+  }
+
+  @Test
+  fun testParallelResolve_forkedChildrenCanUseWillRenderMeasureAndState() {
+    val sequentialResults = ConcurrentHashMap<Int, String>()
+    resolve(createTreeWithCalculationContextChildren(sequentialResults))
+
+    ComponentsConfiguration.enableParallelResolve = true
+    ComponentsConfiguration.parallelResolveCostThresholdNs = 0
+    resolve(createTreeWithCalculationContextChildren(ConcurrentHashMap()))
+    val parallelResults = ConcurrentHashMap<Int, String>()
+    val node = resolve(createTreeWithCalculationContextChildren(parallelResults))
+
+    assertThat(parallelResults).hasSize(CHILDREN_COUNT)
+    assertThat(parallelResults).isEqualTo(sequentialResults)
+    assertThat(node.childCount).isEqualTo(CHILDREN_COUNT)
+  }
+
+  private fun createTreeWithCalculationContextChildren(
+      results: MutableMap<Int, String>
+  ): Component {
+    val root = Row.create(context)
+    for (i in 0 until CHILDREN_COUNT) {
+      root.child(CalculationContextChild(i, results))
+    }
+    return root.build()
+  }
+
+  /**
+   * Uses every API which reads the calculation state context of the resolving thread, and records
+   * what it observed.
+   */
+  private class CalculationContextChild(
+      private val index: Int,
+      private val results: MutableMap<Int, String>
+  ) : KComponent() {
+    override fun ComponentScope.render(): Component {
+      val state = useState { index * 10 }
+      val willRender =
+          Component.willRender(
+              context, SimpleMountSpecTester.create(context).widthPx(index).heightPx(index).build())
+      val size = Size()
+      SimpleMountSpecTester.create(context)
+          .widthPx(index + 1)
+          .heightPx(index + 2)
+          .build()
+          .measure(context, makeSizeSpec(100, EXACTLY), makeSizeSpec(100, EXACTLY), size)
+      results[index] = "${state.value} $willRender ${size.width}x${size.height}"
+      return SimpleMountSpecTester.create(context).widthPx(size.width).heightPx(size.height).build()
+    }
+  }
+
+  private fun createTree(manualKeys: Boolean = false): Component {
+    val root = Column.create(context)
+    for (i in 0 until 4) {
+      val row = Row.create(context)
+      if (manualKeys) {
+        row.key("row")
+      }
+      for (j in 0 until 8) {
+        row.child(SimpleMountSpecTester.create(context).widthPx(10).heightPx(10))
+      }
+      root.child(row)
+    }
+    return root.build()
+  }
+
+  private fun resolve(component: Component): LithoNode =
+      checkNotNull(
+          ResolveTreeFuture.resolve(
+                  context, component, TreeState(), -1, -1, null, null, null, null)
+              .node)
+
+  private fun collectGlobalKeys(
+      node: LithoNode,
+      keys: MutableList<String> = ArrayList()
+  ): List<String> {
+    keys.add(node.headComponentKey)
+    for (i in 0 until node.childCount) {
+      collectGlobalKeys(node.getChildAt(i), keys)
+    }
+    return keys
+  }
+
+  companion object {
+    private const val CHILDREN_COUNT = 8
+  }
+}
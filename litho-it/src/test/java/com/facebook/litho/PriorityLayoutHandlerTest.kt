@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class PriorityLayoutHandlerTest {
+
+  private val handler =
+      PriorityLayoutHandler(
+          LayoutThreadPoolConfigurationImpl(1, 1, 0, null), LayoutPriority.IN_RANGE)
+  private val ranPriorities: MutableList<Int> = Collections.synchronizedList(ArrayList())
+
+  @Test
+  fun testIsTracing_returnsFalse() {
+    assertThat(handler.isTracing).isFalse
+  }
+
+  @Test
+  fun testPost_runsMostUrgentLaneFirst() {
+    val blocker = blockWorker()
+
+    handler.post(prioritized(LayoutPriority.PREFETCH), TAG)
+    handler.post(prioritized(LayoutPriority.IN_RANGE), TAG)
+    handler.post(prioritized(LayoutPriority.VISIBLE), TAG)
+    handler.postAtFront(prioritized(LayoutPriority.SYNC), TAG)
+    val done = CountDownLatch(1)
+    handler.post(PrioritizedLatch(LayoutPriority.PREFETCH, done), TAG)
+
+    blocker.countDown()
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue
+    assertThat(ranPriorities)
+        .containsExactly(
+            LayoutPriority.SYNC,
+            LayoutPriority.VISIBLE,
+            LayoutPriority.IN_RANGE,
+            LayoutPriority.PREFETCH)
+  }
+
+  @Test
+  fun testPost_nonPrioritizedRunnable_usesDefaultLane() {
+    val blocker = blockWorker()
+
+    handler.post(Runnable { ranPriorities.add(-1) }, TAG)
+
+    assertThat(handler.getPendingCount(LayoutPriority.IN_RANGE)).isEqualTo(1)
+    blocker.countDown()
+  }
+
+  @Test
+  fun testRemove_removesFromAllLanes() {
+    val blocker = blockWorker()
+    val runnable = prioritized(LayoutPriority.VISIBLE)
+
+    handler.post(runnable, TAG)
+    handler.postAtFront(runnable, TAG)
+    handler.remove(runnable)
+
+    assertThat(handler.getPendingCount(LayoutPriority.VISIBLE)).isEqualTo(0)
+    assertThat(handler.getPendingCount(LayoutPriority.SYNC)).isEqualTo(0)
+    blocker.countDown()
+  }
+
+  @Test
+  fun testReprioritize_pendingRunnable_movesToNewLane() {
+    val blocker = blockWorker()
+    val runnable = MutablePrioritizedRunnable(LayoutPriority.PREFETCH)
+
+    handler.post(runnable, TAG)
+    runnable.layoutPriority = LayoutPriority.VISIBLE
+
+    assertThat(handler.reprioritize(runnable)).isTrue
+    assertThat(handler.getPendingCount(LayoutPriority.PREFETCH)).isEqualTo(0)
+    assertThat(handler.getPendingCount(LayoutPriority.VISIBLE)).isEqualTo(1)
+    blocker.countDown()
+  }
+
+  @Test
+  fun testReprioritize_runnableNotPending_isNotPosted() {
+    val blocker = blockWorker()
+    val runnable = MutablePrioritizedRunnable(LayoutPriority.VISIBLE)
+
+    assertThat(handler.reprioritize(runnable)).isFalse
+    for (priority in 0 until LayoutPriority.COUNT) {
+      assertThat(handler.getPendingCount(priority)).isEqualTo(0)
+    }
+    blocker.countDown()
+  }
+
+  @Test
+  fun testReprioritize_runnablePostedAtFront_staysInSyncLane() {
+    val blocker = blockWorker()
+    val runnable = MutablePrioritizedRunnable(LayoutPriority.PREFETCH)
+
+    handler.postAtFront(runnable, TAG)
+
+    assertThat(handler.reprioritize(runnable)).isFalse
+    assertThat(handler.getPendingCount(LayoutPriority.SYNC)).isEqualTo(1)
+    assertThat(handler.getPendingCount(LayoutPriority.PREFETCH)).isEqualTo(0)
+    blocker.countDown()
+  }
+
+  /** Occupies the only worker thread until the returned latch is released. */
+  private fun blockWorker(): CountDownLatch {
+    val started = CountDownLatch(1)
+    val blocker = CountDownLatch(1)
+    handler.post(
+        Runnable {
+          started.countDown()
+          blocker.await()
+        },
+        TAG)
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue
+    return blocker
+  }
+
+  private fun prioritized(@LayoutPriority priority: Int): PrioritizedRunnable =
+      object : PrioritizedRunnable {
+        override val layoutPriority: Int = priority
+
+        override fun run() {
+          ranPriorities.add(priority)
+        }
+      }
+
+  private class PrioritizedLatch(
+      override val layoutPriority: Int,
+      private val latch: CountDownLatch
+  ) : PrioritizedRunnable {
+    override fun run() {
+      latch.countDown()
+    }
+  }
+
+  private class MutablePrioritizedRunnable(override var layoutPriority: Int) :
+      PrioritizedRunnable {
+    override fun run() = Unit
+  }
+
+  companion object {
+    private const val TAG = "testTag"
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.dataflow
+
+import com.facebook.litho.dataflow.springs.Spring
+import com.facebook.litho.dataflow.springs.SpringConfig
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.within
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Compares the trajectories of springs solved analytically with the ones of springs integrated
+ * with RK4, for every kind of damping.
+ */
+@RunWith(LithoTestRunner::class)
+class SpringTest {
+
+  @Test
+  fun testUnderDampedSpringMatchesIntegratedSpring() {
+    assertTrajectoriesMatch(SpringConfig.DEFAULT_TENSION, SpringConfig.DEFAULT_FRICTION, 0.0)
+  }
+
+  @Test
+  fun testCriticallyDampedSpringMatchesIntegratedSpring() {
+    assertTrajectoriesMatch(100.0, 20.0, 0.0)
+  }
+
+  @Test
+  fun testOverDampedSpringMatchesIntegratedSpring() {
+    assertTrajectoriesMatch(100.0, 40.0, 0.0)
+  }
+
+  @Test
+  fun testSpringWithInitialVelocityMatchesIntegratedSpring() {
+    assertTrajectoriesMatch(SpringConfig.DEFAULT_TENSION, SpringConfig.DEFAULT_FRICTION, -800.0)
+  }
+
+  @Test
+  fun testFrictionOnlySpringMatchesIntegratedSpring() {
+    assertTrajectoriesMatch(0.0, 5.0, 500.0)
+  }
+
+  private fun assertTrajectoriesMatch(tension: Double, friction: Double, velocity: Double) {
+    val integrated = createSpring(SpringConfig(tension, friction), velocity)
+    val analytic = createSpring(SpringConfig(tension, friction, true), velocity)
+
+    for (frame in 0 until FRAMES) {
+      integrated.advance(FRAME_TIME_SEC)
+      analytic.advance(FRAME_TIME_SEC)
+
+      assertThat(analytic.currentValue)
+          .describedAs("position at frame $frame")
+          .isCloseTo(integrated.currentValue, within(POSITION_TOLERANCE))
+    }
+
+    assertThat(analytic.isAtRest).isTrue
+    assertThat(integrated.isAtRest).isTrue
+    assertThat(analytic.currentValue).isCloseTo(integrated.currentValue, within(POSITION_TOLERANCE))
+  }
+
+  private fun createSpring(config: SpringConfig, velocity: Double): Spring {
+    val spring = Spring().setSpringConfig(config).setCurrentValue(0.0)
+    if (config.tension > 0) {
+      spring.endValue = 100.0
+    }
+    spring.velocity = velocity
+    return spring
+  }
+
+  companion object {
+    private const val FRAMES = 300
+    private const val FRAME_TIME_SEC = 1.0 / 60
+    private const val POSITION_TOLERANCE = 0.05
+  }
+}
@@ -23,6 +23,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.sections.SectionTree.Target;
@@ -349,6 +350,94 @@ public class BatchedTargetTest {
     verify(mMockTarget).notifyChangeSetComplete(true, changeSetCompleteCallback);
   }
 
+  @Test
+  public void testCoalesceInsertsInsideAndAdjacentToPendingInsert() throws Exception {
+    mTarget = new BatchedTarget(mMockTarget, mMockSectionsDebugLogger, "", true);
+    Change[] ops =
+        new Change[] {
+          Change.insert(10, ComponentRenderInfo.createEmpty()),
+          Change.insert(10, ComponentRenderInfo.createEmpty()),
+          Change.insertRange(11, 2, dummyComponentInfos(2)),
+          Change.insert(14, ComponentRenderInfo.createEmpty()),
+        };
+
+    executeOperations(ops);
+
+    verify(mMockTarget).insertRange(eq(10), eq(5), mListCaptor.capture());
+    final List<RenderInfo> renderInfos = mListCaptor.getValue();
+    assertThat(renderInfos)
+        .containsExactly(
+            ops[1].getRenderInfo(),
+            ops[2].getRenderInfos().get(0),
+            ops[2].getRenderInfos().get(1),
+            ops[0].getRenderInfo(),
+            ops[3].getRenderInfo());
+    verifyNoMoreInteractions(mMockTarget);
+  }
+
+  @Test
+  public void testCoalesceCancelsInsertThenDelete() throws Exception {
+    mTarget = new BatchedTarget(mMockTarget, mMockSectionsDebugLogger, "", true);
+    Change[] ops =
+        new Change[] {
+          Change.insertRange(0, 3, dummyComponentInfos(3)),
+          Change.remove(1),
+          Change.removeRange(0, 2),
+        };
+
+    executeOperations(ops);
+
+    verifyNoMoreInteractions(mMockTarget);
+  }
+
+  @Test
+  public void testCoalesceFoldsUpdatesIntoPendingInsert() throws Exception {
+    mTarget = new BatchedTarget(mMockTarget, mMockSectionsDebugLogger, "", true);
+    Change[] ops =
+        new Change[] {
+          Change.insertRange(4, 3, dummyComponentInfos(3)),
+          Change.update(5, ComponentRenderInfo.createEmpty()),
+          Change.updateRange(6, 1, dummyComponentInfos(1)),
+        };
+
+    executeOperations(ops);
+
+    verify(mMockTarget).insertRange(eq(4), eq(3), mListCaptor.capture());
+    assertThat(mListCaptor.getValue())
+        .containsExactly(
+            ops[0].getRenderInfos().get(0),
+            ops[1].getRenderInfo(),
+            ops[2].getRenderInfos().get(0));
+    verifyNoMoreInteractions(mMockTarget);
+  }
+
+  @Test
+  public void testCoalesceAdjacentRangeOperations() throws Exception {
+    mTarget = new BatchedTarget(mMockTarget, mMockSectionsDebugLogger, "", true);
+    Change[] ops =
+        new Change[] {
+          Change.removeRange(5, 2),
+          Change.remove(4),
+          Change.removeRange(2, 2),
+          Change.updateRange(10, 2, dummyComponentInfos(2)),
+          Change.update(12, ComponentRenderInfo.createEmpty()),
+          Change.updateRange(8, 2, dummyComponentInfos(2)),
+        };
+
+    executeOperations(ops);
+
+    verify(mMockTarget).deleteRange(2, 5);
+    verify(mMockTarget).updateRange(eq(8), eq(5), mListCaptor.capture());
+    assertThat(mListCaptor.getValue())
+        .containsExactly(
+            ops[5].getRenderInfos().get(0),
+            ops[5].getRenderInfos().get(1),
+            ops[3].getRenderInfos().get(0),
+            ops[3].getRenderInfos().get(1),
+            ops[4].getRenderInfo());
+    verifyNoMoreInteractions(mMockTarget);
+  }
+
   private List<RenderInfo> dummyComponentInfos(int count) {
     ArrayList<RenderInfo> renderInfos = new ArrayList<>(count);
     for (int i = 0; i < count; i++) {
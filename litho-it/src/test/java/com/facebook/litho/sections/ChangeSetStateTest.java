@@ -25,6 +25,8 @@ import com.facebook.litho.sections.logger.SectionsDebugLogger;
 import com.facebook.litho.testing.sections.TestSectionCreator;
 import com.facebook.litho.testing.testrunner.LithoTestRunner;
 import com.facebook.litho.widget.ComponentRenderInfo;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -112,6 +114,59 @@ public class ChangeSetStateTest {
     }
   }
 
+  @Test
+  public void testNewChangeSetGenerationWithExecutor() {
+    final Section node =
+        TestSectionCreator.createSectionComponent(
+            "node1",
+            TestSectionCreator.createChangeSetComponent(
+                "leaf1",
+                Change.insert(0, ComponentRenderInfo.createEmpty()),
+                Change.insert(1, ComponentRenderInfo.createEmpty()),
+                Change.insert(2, ComponentRenderInfo.createEmpty())),
+            TestSectionCreator.createChangeSetComponent(
+                "leaf2", Change.insert(0, ComponentRenderInfo.createEmpty())));
+    final Section node1 =
+        TestSectionCreator.createSectionComponent(
+            "node2",
+            TestSectionCreator.createChangeSetComponent(
+                "leaf3",
+                Change.insert(0, ComponentRenderInfo.createEmpty()),
+                Change.insert(1, ComponentRenderInfo.createEmpty())));
+    final Section root = TestSectionCreator.createSectionComponent("root", node, node1);
+    TestSectionCreator.createTree(root, mSectionContext);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    final ChangeSetState changeSetState;
+    try {
+      changeSetState =
+          ChangeSetState.generateChangeSet(
+              mSectionContext,
+              null,
+              root,
+              mSectionsDebugLogger,
+              mSectionTreeTag,
+              mCurrentPrefix,
+              mNextPrefix,
+              false,
+              executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    final ChangeSet changeSet = changeSetState.getChangeSet();
+
+    assertThat(changeSet.getChangeCount()).isEqualTo(6);
+    assertThat(node.getCount()).isEqualTo(4);
+    assertThat(node1.getCount()).isEqualTo(2);
+    assertThat(root.getCount()).isEqualTo(6);
+
+    // Merged in the same order as a serial generation.
+    for (int i = 0, size = changeSet.getChangeCount(); i < size; i++) {
+      assertThat(i).isEqualTo(changeSet.getChangeAt(i).getIndex());
+    }
+  }
+
   @Test
   public void testRecreateSameTree() {
     final Section leaf1 =
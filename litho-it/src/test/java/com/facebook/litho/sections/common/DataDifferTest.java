@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.sections.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests that {@link DataDiffer} dispatches the same updates as {@link DiffUtil}. The order of
+ * separate {@code onChanged} calls within an unchanged range is not part of that contract.
+ */
+@RunWith(JUnit4.class)
+public class DataDifferTest {
+
+  @Test
+  public void testAppend() {
+    assertSameUpdates(list("a1", "b1"), list("a1", "b1", "c1", "d1"));
+  }
+
+  @Test
+  public void testPrepend() {
+    assertSameUpdates(list("c1", "d1"), list("a1", "b1", "c1", "d1"));
+  }
+
+  @Test
+  public void testInsertInTheMiddleWithChangedPrefixAndSuffix() {
+    assertSameUpdates(list("a1", "b1", "e1"), list("a2", "b1", "c1", "d1", "e2"));
+  }
+
+  @Test
+  public void testRemoveInTheMiddle() {
+    assertSameUpdates(list("a1", "b1", "c1", "d1"), list("a1", "d1"));
+  }
+
+  @Test
+  public void testUnchangedWithUpdatedContent() {
+    assertSameUpdates(list("a1", "b1", "c1"), list("a1", "b2", "c2"));
+  }
+
+  @Test
+  public void testNonAdjacentChangesWithUnchangedItems() {
+    final List<String> previous = list("a1", "b1", "c1", "d1", "e1");
+    final List<String> next = list("a2", "b1", "c2", "d1", "e2");
+
+    final RecordingCallback expected = new RecordingCallback();
+    DiffUtil.calculateDiff(new ItemCallback(previous, next), true).dispatchUpdatesTo(expected);
+
+    final RecordingCallback actual = new RecordingCallback();
+    DataDiffer.calculateAndDispatchDiff(new ItemCallback(previous, next), true, actual);
+
+    assertThat(actual.mUpdates).containsExactlyInAnyOrderElementsOf(expected.mUpdates);
+  }
+
+  @Test
+  public void testMoveInTheMiddle() {
+    assertSameUpdates(list("a1", "b1", "c1", "d1", "e1"), list("a1", "d1", "b1", "c1", "e1"));
+  }
+
+  @Test
+  public void testReplaceEverything() {
+    assertSameUpdates(list("a1", "b1"), list("c1", "d1", "e1"));
+  }
+
+  @Test
+  public void testFromEmptyAndToEmpty() {
+    assertSameUpdates(list(), list("a1", "b1"));
+    assertSameUpdates(list("a1", "b1"), list());
+  }
+
+  private static void assertSameUpdates(List<String> previous, List<String> next) {
+    final RecordingCallback expected = new RecordingCallback();
+    DiffUtil.calculateDiff(new ItemCallback(previous, next), true).dispatchUpdatesTo(expected);
+
+    final RecordingCallback actual = new RecordingCallback();
+    DataDiffer.calculateAndDispatchDiff(new ItemCallback(previous, next), true, actual);
+
+    assertThat(actual.mUpdates).isEqualTo(expected.mUpdates);
+  }
+
+  private static List<String> list(String... items) {
+    return Arrays.asList(items);
+  }
+
+  /** Items are the same if they share their first character, and the same content if equal. */
+  private static class ItemCallback extends DiffUtil.Callback {
+
+    private final List<String> mPrevious;
+    private final List<String> mNext;
+
+    ItemCallback(List<String> previous, List<String> next) {
+      mPrevious = previous;
+      mNext = next;
+    }
+
+    @Override
+    public int getOldListSize() {
+      return mPrevious.size();
+    }
+
+    @Override
+    public int getNewListSize() {
+      return mNext.size();
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+      return mPrevious.get(oldItemPosition).charAt(0) == mNext.get(newItemPosition).charAt(0);
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+      return mPrevious.get(oldItemPosition).equals(mNext.get(newItemPosition));
+    }
+  }
+
+  private static class RecordingCallback implements ListUpdateCallback {
+
+    private final List<String> mUpdates = new ArrayList<>();
+
+    @Override
+    public void onInserted(int position, int count) {
+      mUpdates.add("insert " + position + " " + count);
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+      mUpdates.add("remove " + position + " " + count);
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+      mUpdates.add("move " + fromPosition + " " + toPosition);
+    }
+
+    @Override
+    public void onChanged(int position, int count, @Nullable Object payload) {
+      mUpdates.add("change " + position + " " + count);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.stats
+
+import com.facebook.litho.config.ComponentsConfiguration
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class LithoMetricsTest {
+
+  @Before
+  fun setUp() {
+    ComponentsConfiguration.enableRenderStageMetrics = true
+    LithoMetrics.resetForTest()
+  }
+
+  @After
+  fun tearDown() {
+    ComponentsConfiguration.enableRenderStageMetrics = false
+    LithoMetrics.resetForTest()
+  }
+
+  @Test
+  fun histogram_bucketsAreContiguous() {
+    for (index in 0 until Histogram.BUCKET_COUNT - 1) {
+      assertThat(Histogram.bucketIndexOf(Histogram.bucketLowerBound(index))).isEqualTo(index)
+      assertThat(Histogram.bucketIndexOf(Histogram.bucketUpperBound(index))).isEqualTo(index)
+      assertThat(Histogram.bucketLowerBound(index + 1))
+          .isEqualTo(Histogram.bucketUpperBound(index) + 1)
+    }
+    assertThat(Histogram.bucketIndexOf(Long.MAX_VALUE)).isEqualTo(Histogram.BUCKET_COUNT - 1)
+  }
+
+  @Test
+  fun histogram_percentilesAreWithinBucketPrecision() {
+    val histogram = Histogram()
+    for (value in 1L..1000L) {
+      histogram.record(value * 1000)
+    }
+
+    val snapshot = histogram.snapshot
+    assertThat(snapshot.count).isEqualTo(1000)
+    assertThat(snapshot.max).isEqualTo(1_000_000)
+    assertThat(snapshot.p50).isBetween(500_000, 625_000)
+    assertThat(snapshot.p99).isBetween(990_000, 1_000_000)
+    assertThat(snapshot.mean).isEqualTo(500_500.0)
+  }
+
+  @Test
+  fun histogram_emptyAndReset() {
+    val histogram = Histogram()
+    assertThat(histogram.getPercentile(99.0)).isEqualTo(0)
+
+    histogram.record(42)
+    histogram.reset()
+
+    assertThat(histogram.count).isEqualTo(0)
+    assertThat(histogram.getPercentile(50.0)).isEqualTo(0)
+  }
+
+  @Test
+  fun record_whenDisabled_recordsNothing() {
+    ComponentsConfiguration.enableRenderStageMetrics = false
+
+    LithoMetrics.record(
+        LithoMetrics.Stage.LAYOUT,
+        LithoMetrics.NO_TREE_ID,
+        LithoMetrics.start(),
+        LithoMetrics.startAllocations())
+
+    assertThat(LithoMetrics.getLatencyHistogram(LithoMetrics.Stage.LAYOUT).count).isEqualTo(0)
+  }
+
+  @Test
+  fun record_recordsGlobalAndTrackedTrees() {
+    LithoMetrics.startTrackingTree(1)
+
+    recordStage(LithoMetrics.Stage.MOUNT, treeId = 1)
+    recordStage(LithoMetrics.Stage.MOUNT, treeId = 2)
+
+    assertThat(LithoMetrics.getLatencyHistogram(LithoMetrics.Stage.MOUNT).count).isEqualTo(2)
+    assertThat(LithoMetrics.getLatencyHistogram(1, LithoMetrics.Stage.MOUNT)?.count).isEqualTo(1)
+    assertThat(LithoMetrics.getLatencyHistogram(2, LithoMetrics.Stage.MOUNT)).isNull()
+    assertThat(LithoMetrics.getAllocationHistogram(LithoMetrics.Stage.MOUNT).count).isEqualTo(0)
+
+    LithoMetrics.stopTrackingTree(1)
+    assertThat(LithoMetrics.getLatencyHistogram(1, LithoMetrics.Stage.MOUNT)).isNull()
+  }
+
+  @Test
+  fun export_onlyExportsRecordedStages() {
+    val exported = mutableListOf<LithoMetrics.Stage>()
+    LithoMetrics.setExporter { stage, latencyNs, allocations ->
+      assertThat(latencyNs.count).isEqualTo(1)
+      assertThat(allocations).isNull()
+      exported.add(stage)
+    }
+
+    recordStage(LithoMetrics.Stage.RESOLVE, LithoMetrics.NO_TREE_ID)
+    recordStage(LithoMetrics.Stage.CHANGESET, LithoMetrics.NO_TREE_ID)
+    LithoMetrics.export()
+
+    assertThat(exported)
+        .containsExactly(LithoMetrics.Stage.RESOLVE, LithoMetrics.Stage.CHANGESET)
+  }
+
+  private fun recordStage(stage: LithoMetrics.Stage, treeId: Int) {
+    LithoMetrics.record(stage, treeId, LithoMetrics.start(), LithoMetrics.startAllocations())
+  }
+}
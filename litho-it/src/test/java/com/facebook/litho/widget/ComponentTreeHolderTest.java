@@ -27,6 +27,7 @@ import com.facebook.litho.Component;
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentTree;
 import com.facebook.litho.EventHandler;
+import com.facebook.litho.LayoutState;
 import com.facebook.litho.RenderCompleteEvent;
 import com.facebook.litho.Size;
 import com.facebook.litho.SizeSpec;
@@ -157,6 +158,54 @@ public class ComponentTreeHolderTest {
     assertThat(holder.getTreeState()).isNotNull();
   }
 
+  @Test
+  public void testReuseRetainedTreeAfterReenteringRange() {
+    ComponentTreeHolder holder = createComponentTreeHolder(mComponentRenderInfo);
+    final ComponentTreeHolderLayoutCache layoutCache = new ComponentTreeHolderLayoutCache(1 << 20);
+    holder.setLayoutCache(layoutCache);
+    holder.computeLayoutSync(mContext, mWidthSpec, mHeightSpec, new Size());
+    final ComponentTree componentTree = holder.getComponentTree();
+    final LayoutState layoutState = componentTree.getCommittedLayoutState();
+
+    // component goes out of range
+    holder.acquireStateAndReleaseTree(true);
+    assertThat(holder.getComponentTree()).isNull();
+    assertThat(holder.isTreeValid()).isFalse();
+    assertThat(layoutCache.sizeBytes()).isGreaterThan(0);
+
+    // component comes back within range
+    holder.computeLayoutSync(mContext, mWidthSpec, mHeightSpec, new Size());
+    assertThat(holder.getComponentTree()).isSameAs(componentTree);
+    assertThat(componentTree.getCommittedLayoutState()).isSameAs(layoutState);
+    assertThat(layoutCache.sizeBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void testEvictRetainedTreeOverBudget() {
+    final ComponentTreeHolderLayoutCache layoutCache =
+        new ComponentTreeHolderLayoutCache(
+            ComponentTreeHolderLayoutCache.ESTIMATED_BYTES_PER_TREE
+                + 4 * ComponentTreeHolderLayoutCache.ESTIMATED_BYTES_PER_OUTPUT);
+    ComponentTreeHolder first = createComponentTreeHolder(mComponentRenderInfo);
+    ComponentTreeHolder second = createComponentTreeHolder(mComponentRenderInfo);
+    first.setLayoutCache(layoutCache);
+    second.setLayoutCache(layoutCache);
+    first.computeLayoutSync(mContext, mWidthSpec, mHeightSpec, new Size());
+    second.computeLayoutSync(mContext, mWidthSpec, mHeightSpec, new Size());
+    final ComponentTree firstTree = first.getComponentTree();
+    final ComponentTree secondTree = second.getComponentTree();
+
+    first.acquireStateAndReleaseTree(true);
+    second.acquireStateAndReleaseTree(true);
+
+    assertThat(firstTree.isReleased()).isTrue();
+    assertThat(secondTree.isReleased()).isFalse();
+
+    second.releaseTree();
+    assertThat(secondTree.isReleased()).isTrue();
+    assertThat(layoutCache.sizeBytes()).isEqualTo(0);
+  }
+
   @Test
   public void testHasCompletedLatestLayoutForSyncRender() {
     ComponentTreeHolder holder = createComponentTreeHolder(mComponentRenderInfo);
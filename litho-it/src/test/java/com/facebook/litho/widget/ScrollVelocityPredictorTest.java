@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Tests for {@link ScrollVelocityPredictor} */
+@RunWith(LithoTestRunner.class)
+public class ScrollVelocityPredictorTest {
+
+  private static final int STATIC_RANGE = 10;
+
+  private ScrollVelocityPredictor mPredictor;
+
+  @Before
+  public void setUp() {
+    mPredictor = new ScrollVelocityPredictor();
+  }
+
+  @Test
+  public void testNoScrollKeepsStaticRange() {
+    assertThat(mPredictor.getDirection(0)).isEqualTo(0);
+    assertThat(mPredictor.getRangeAhead(STATIC_RANGE, 0)).isEqualTo(STATIC_RANGE);
+    assertThat(mPredictor.getRangeBehind(STATIC_RANGE, 0)).isEqualTo(STATIC_RANGE);
+  }
+
+  @Test
+  public void testScrollDownExpandsRangeAheadAndShrinksBehind() {
+    // 20 items per second
+    mPredictor.onScrolled(0, 1000);
+    mPredictor.onScrolled(1, 1050);
+    mPredictor.onScrolled(2, 1100);
+
+    assertThat(mPredictor.getDirection(1100)).isEqualTo(1);
+    assertThat(mPredictor.getRangeAhead(STATIC_RANGE, 1100)).isEqualTo(STATIC_RANGE + 10);
+    assertThat(mPredictor.getRangeBehind(STATIC_RANGE, 1100)).isEqualTo(STATIC_RANGE / 2);
+  }
+
+  @Test
+  public void testScrollUpReversesDirection() {
+    mPredictor.onScrolled(50, 1000);
+    mPredictor.onScrolled(49, 1100);
+
+    assertThat(mPredictor.getDirection(1100)).isEqualTo(-1);
+  }
+
+  @Test
+  public void testFlingExpansionIsCapped() {
+    mPredictor.onScrolled(0, 1000);
+    mPredictor.onScrolled(100, 1001);
+
+    assertThat(mPredictor.getRangeAhead(STATIC_RANGE, 1001))
+        .isEqualTo(STATIC_RANGE * ScrollVelocityPredictor.MAX_EXPANSION_FACTOR);
+  }
+
+  @Test
+  public void testVelocityBecomesStaleAndResets() {
+    mPredictor.onScrolled(0, 1000);
+    mPredictor.onScrolled(1, 1100);
+
+    assertThat(mPredictor.getDirection(1100 + ScrollVelocityPredictor.STALE_VELOCITY_MS + 1))
+        .isEqualTo(0);
+
+    mPredictor.onScrolled(2, 1200);
+    mPredictor.reset();
+    assertThat(mPredictor.getDirection(1200)).isEqualTo(0);
+  }
+
+  @Test
+  public void testTimeToVisibleTraverserScrollingDown() {
+    assertThat(traverse(1, 0, 8, 3, 4)).isEqualTo(Arrays.asList(3, 4, 5, 6, 7, 2, 1, 0));
+  }
+
+  @Test
+  public void testTimeToVisibleTraverserScrollingUp() {
+    assertThat(traverse(-1, 0, 8, 3, 4)).isEqualTo(Arrays.asList(4, 3, 2, 1, 0, 5, 6, 7));
+  }
+
+  private static List<Integer> traverse(
+      int direction, int rangeStart, int rangeEnd, int firstVisible, int lastVisible) {
+    final List<Integer> indices = new ArrayList<>();
+    new ScrollVelocityPredictor.TimeToVisibleTraverser(direction)
+        .traverse(
+            rangeStart,
+            rangeEnd,
+            firstVisible,
+            lastVisible,
+            new RecyclerRangeTraverser.Processor() {
+              @Override
+              public boolean process(int index) {
+                indices.add(index);
+                return true;
+              }
+            });
+    return indices;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.yoga
+
+import android.content.ComponentCallbacks2
+import com.facebook.litho.config.ComponentsConfiguration
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import com.facebook.yoga.YogaNode
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(LithoTestRunner::class)
+class YogaNodePoolTest {
+
+  private val config = LithoYogaFactory.createYogaConfig()
+  private val defaultMaxSize = ComponentsConfiguration.yogaNodePoolMaxSize
+
+  @Before
+  fun setUp() {
+    YogaNodePool.clear()
+  }
+
+  @After
+  fun tearDown() {
+    ComponentsConfiguration.yogaNodePoolMaxSize = defaultMaxSize
+    YogaNodePool.clear()
+  }
+
+  @Test
+  fun testRecycleTree_poolsEveryNodeOfTheTree() {
+    YogaNodePool.recycleTree(config, createTree(childCount = 3))
+
+    assertThat(YogaNodePool.size(config)).isEqualTo(4)
+  }
+
+  @Test
+  fun testAcquire_afterRecycle_returnsResetNode() {
+    val root = createTree(childCount = 1)
+    root.setWidth(100f)
+    YogaNodePool.recycleTree(config, root)
+
+    val acquired = YogaNodePool.acquire(config)
+
+    assertThat(acquired.childCount).isEqualTo(0)
+    assertThat(acquired.owner).isNull()
+    assertThat(acquired.data).isNull()
+    assertThat(acquired.width.value).isNotEqualTo(100f)
+    assertThat(YogaNodePool.getAcquireHitCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testAcquire_withEmptyPool_createsNode() {
+    YogaNodePool.acquire(config)
+
+    assertThat(YogaNodePool.getAcquireMissCount()).isEqualTo(1)
+    assertThat(YogaNodePool.getAcquireHitCount()).isEqualTo(0)
+  }
+
+  @Test
+  fun testRecycleTree_whenPoolIsFull_dropsRemainingNodes() {
+    ComponentsConfiguration.yogaNodePoolMaxSize = 2
+
+    YogaNodePool.recycleTree(config, createTree(childCount = 3))
+
+    assertThat(YogaNodePool.size(config)).isEqualTo(2)
+  }
+
+  @Test
+  fun testRecycleTree_withAttachedSubtree_isIgnored() {
+    val root = createTree(childCount = 1)
+
+    YogaNodePool.recycleTree(config, root.getChildAt(0))
+
+    assertThat(YogaNodePool.size(config)).isEqualTo(0)
+    assertThat(root.childCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testOnTrimMemory_trimsPools() {
+    ComponentsConfiguration.yogaNodePoolMaxSize = 4
+    YogaNodePool.recycleTree(config, createTree(childCount = 3))
+
+    YogaNodePool.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+    assertThat(YogaNodePool.size(config)).isEqualTo(2)
+
+    YogaNodePool.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE)
+    assertThat(YogaNodePool.size(config)).isEqualTo(0)
+  }
+
+  private fun createTree(childCount: Int): YogaNode {
+    val root = LithoYogaFactory.createYogaNode(config)
+    for (i in 0 until childCount) {
+      root.addChildAt(LithoYogaFactory.createYogaNode(config), i)
+    }
+    return root
+  }
+}
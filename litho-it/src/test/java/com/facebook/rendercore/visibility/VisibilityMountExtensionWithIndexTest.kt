@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore.visibility
+
+import android.graphics.Rect
+import android.widget.FrameLayout
+import androidx.test.core.app.ApplicationProvider.getApplicationContext
+import com.facebook.litho.VisibilityChangedEvent
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import com.facebook.rendercore.Function
+import com.facebook.rendercore.HostView
+import com.facebook.rendercore.MountDelegate
+import com.facebook.rendercore.MountDelegateTarget
+import com.facebook.rendercore.RenderCoreSystrace
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+
+/**
+ * Tests that [VisibilityMountExtension] dispatches the same events while scrolling whether it walks
+ * every visibility output or only the ones found through a [VisibilityOutputsIndex].
+ */
+@RunWith(LithoTestRunner::class)
+class VisibilityMountExtensionWithIndexTest {
+
+  @After
+  fun tearDown() {
+    VisibilityExtensionConfigs.useVisibilityOutputsIndex = false
+    VisibilityExtensionConfigs.skipVisChecksForFullyVisible = false
+  }
+
+  @Test
+  fun onVisibleBoundsChanged_withIndex_dispatchesSameEventsAsLinearScan() {
+    val linearEvents = scroll(useIndex = false)
+    val indexEvents = scroll(useIndex = true)
+
+    assertThat(linearEvents.flatten())
+        .contains(
+            "item0:invisible",
+            "item3:focused",
+            "item3:unfocused",
+            "tall:fullImpression",
+            "side:visible",
+            "banner:focused")
+    assertThat(indexEvents).isEqualTo(linearEvents)
+  }
+
+  @Test
+  fun onVisibleBoundsChanged_withIndexAndSkippingFullyVisible_dispatchesSameEventsAsLinearScan() {
+    VisibilityExtensionConfigs.skipVisChecksForFullyVisible = true
+
+    val linearEvents = scroll(useIndex = false)
+    val indexEvents = scroll(useIndex = true)
+
+    assertThat(linearEvents.flatten()).contains("item0:invisible", "banner:focused")
+    assertThat(indexEvents).isEqualTo(linearEvents)
+  }
+
+  /** Mounts the outputs and scrolls through them, returning the sorted events of every pass. */
+  private fun scroll(useIndex: Boolean): List<List<String>> {
+    VisibilityExtensionConfigs.useVisibilityOutputsIndex = useIndex
+
+    val events = ArrayList<String>()
+    val input = TestInput(createOutputs(events))
+    val extension =
+        VisibilityMountExtension.getInstance() as VisibilityMountExtension<TestInput>
+    val extensionState = extension.createExtensionState(createMountDelegate())
+
+    val passes = ArrayList<List<String>>()
+    extension.beforeMount(extensionState, input, Rect(0, 0, VIEWPORT_WIDTH, VIEWPORT_HEIGHT))
+    extension.afterMount(extensionState)
+    passes.add(events.sorted())
+
+    for (visibleRect in VISIBLE_RECTS) {
+      events.clear()
+      extension.onVisibleBoundsChanged(extensionState, visibleRect)
+      passes.add(events.sorted())
+    }
+    return passes
+  }
+
+  private fun createMountDelegate(): MountDelegate {
+    val host = HostView(getApplicationContext())
+    FrameLayout(getApplicationContext()).apply {
+      left = 0
+      top = 0
+      right = VIEWPORT_WIDTH
+      bottom = VIEWPORT_HEIGHT
+      addView(host)
+    }
+
+    val mountDelegateTarget = mock<MountDelegateTarget>()
+    whenever(mountDelegateTarget.rootHost).thenReturn(host)
+    val mountDelegate = mock<MountDelegate>()
+    whenever(mountDelegate.tracer).thenReturn(RenderCoreSystrace.getInstance())
+    whenever(mountDelegate.mountDelegateTarget).thenReturn(mountDelegateTarget)
+    return mountDelegate
+  }
+
+  /**
+   * A vertical list of items, with an item spanning many of them, one offset horizontally and one
+   * larger than half of the viewport. They are not ordered by their position in the list.
+   */
+  private fun createOutputs(events: MutableList<String>): List<VisibilityOutput> {
+    val outputs = ArrayList<VisibilityOutput>()
+    for (i in 0 until 40) {
+      outputs.add(
+          createOutput(
+              "item$i",
+              Rect(0, i * 50, VIEWPORT_WIDTH, i * 50 + 50),
+              if (i % 3 == 0) 0.5f else 0f,
+              events))
+      if (i == 20) {
+        outputs.add(createOutput("side", Rect(120, 400, 200, 450), 0f, events))
+      }
+    }
+    outputs.add(0, createOutput("banner", Rect(0, 900, VIEWPORT_WIDTH, 1100), 0f, events))
+    outputs.add(createOutput("tall", Rect(0, 300, 50, 1500), 0f, events))
+    return outputs
+  }
+
+  private fun createOutput(
+      id: String,
+      bounds: Rect,
+      visibleHeightRatio: Float,
+      events: MutableList<String>
+  ): VisibilityOutput =
+      VisibilityOutput(
+          id,
+          id,
+          bounds,
+          visibleHeightRatio,
+          0f,
+          recorder(events, "$id:visible"),
+          recorder(events, "$id:invisible"),
+          recorder(events, "$id:focused"),
+          recorder(events, "$id:unfocused"),
+          recorder(events, "$id:fullImpression"),
+          Function { arguments ->
+            val event = arguments[0] as VisibilityChangedEvent
+            events.add(
+                "$id:changed ${event.visibleTop} ${event.visibleLeft} " +
+                    "${event.visibleWidth}x${event.visibleHeight} " +
+                    "${event.percentVisibleWidth} ${event.percentVisibleHeight}")
+            null
+          })
+
+  private fun recorder(events: MutableList<String>, event: String): Function<Void> = Function {
+    events.add(event)
+    null
+  }
+
+  private class TestInput(private val outputs: List<VisibilityOutput>) :
+      VisibilityExtensionInput {
+    override fun getVisibilityOutputs(): List<VisibilityOutput> = outputs
+
+    override fun getRenderUnitIdsWhichHostRenderTrees(): Set<Long> = emptySet()
+
+    override fun isProcessingVisibilityOutputsEnabled(): Boolean = true
+
+    override fun getVisibilityBoundsTransformer(): VisibilityBoundsTransformer? = null
+  }
+
+  companion object {
+    private const val VIEWPORT_WIDTH = 100
+    private const val VIEWPORT_HEIGHT = 200
+
+    private val VISIBLE_RECTS =
+        listOf(
+            Rect(0, 10, 100, 210),
+            Rect(0, 25, 100, 225),
+            Rect(0, 60, 100, 260),
+            Rect(0, 150, 100, 350),
+            Rect(0, 151, 100, 351),
+            Rect(0, 400, 100, 600),
+            Rect(0, 420, 100, 620),
+            Rect(0, 1000, 100, 1200),
+            Rect(0, 990, 100, 1190),
+            Rect(0, 1400, 100, 1600),
+            Rect(0, 700, 100, 900),
+            Rect(0, 2100, 100, 2300),
+            Rect(0, 0, 100, 200),
+            Rect(50, 380, 150, 580),
+            Rect(110, 380, 210, 580),
+            Rect(0, 0, 0, 0),
+            Rect(0, 500, 100, 700))
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore.visibility;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Rect;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class VisibilityOutputsIndexTest {
+
+  @Test
+  public void create_ordersOutputsByStartAlongTheLongestAxis() {
+    final VisibilityOutputsIndex index =
+        VisibilityOutputsIndex.create(
+            Arrays.asList(
+                output("a", new Rect(0, 200, 100, 300)),
+                output("b", new Rect(0, 0, 100, 100)),
+                output("c", new Rect(0, 50, 100, 400))));
+
+    assertThat(index.getCount()).isEqualTo(3);
+    assertThat(index.isVertical()).isTrue();
+    assertThat(index.getOutputIndex(0)).isEqualTo(1);
+    assertThat(index.getOutputIndex(1)).isEqualTo(2);
+    assertThat(index.getOutputIndex(2)).isEqualTo(0);
+
+    final VisibilityOutputsIndex horizontalIndex =
+        VisibilityOutputsIndex.create(
+            Arrays.asList(
+                output("a", new Rect(300, 0, 400, 100)), output("b", new Rect(0, 0, 100, 100))));
+
+    assertThat(horizontalIndex.isVertical()).isFalse();
+    assertThat(horizontalIndex.getOutputIndex(0)).isEqualTo(1);
+    assertThat(horizontalIndex.getStart(new Rect(10, 20, 30, 40))).isEqualTo(10);
+    assertThat(horizontalIndex.getEnd(new Rect(10, 20, 30, 40))).isEqualTo(30);
+  }
+
+  @Test
+  public void findBoundaries_returnsRangeOfOutputsThatMayIntersectVisibleRect() {
+    final VisibilityOutputsIndex index =
+        VisibilityOutputsIndex.create(
+            Arrays.asList(
+                output("a", new Rect(0, 0, 100, 100)),
+                output("b", new Rect(0, 100, 100, 500)),
+                output("c", new Rect(0, 200, 100, 300)),
+                output("d", new Rect(0, 600, 100, 700))));
+
+    // "b" ends after 350, so nothing before it can be skipped.
+    assertThat(index.findFirstEndAfter(350)).isEqualTo(1);
+    assertThat(index.findFirstEndAfter(550)).isEqualTo(3);
+    assertThat(index.findFirstEndAfter(0)).isEqualTo(0);
+    assertThat(index.findFirstEndAfter(1000)).isEqualTo(4);
+
+    assertThat(index.findFirstStartAtOrAfter(200)).isEqualTo(2);
+    assertThat(index.findFirstStartAtOrAfter(201)).isEqualTo(3);
+    assertThat(index.findFirstStartAtOrAfter(0)).isEqualTo(0);
+    assertThat(index.findFirstStartAtOrAfter(1000)).isEqualTo(4);
+  }
+
+  private static VisibilityOutput output(String id, Rect bounds) {
+    return new VisibilityOutput(id, id, bounds, 0f, 0f, null, null, null, null, null, null);
+  }
+}
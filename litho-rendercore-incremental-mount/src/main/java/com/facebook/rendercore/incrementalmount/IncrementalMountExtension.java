@@ -23,6 +23,7 @@ import android.graphics.Rect;
 import android.util.Log;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
+import androidx.collection.LongSparseArray;
 import androidx.core.view.ViewCompat;
 import com.facebook.rendercore.Host;
 import com.facebook.rendercore.MountState;
@@ -36,10 +37,6 @@ import com.facebook.rendercore.extensions.OnItemCallbacks;
 import com.facebook.rendercore.extensions.VisibleBoundsCallbacks;
 import com.facebook.rendercore.incrementalmount.IncrementalMountExtension.IncrementalMountExtensionState;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 /** Extension for performing incremental mount. */
 public class IncrementalMountExtension
@@ -110,6 +107,7 @@ public class IncrementalMountExtension
 
     releaseAcquiredReferencesForRemovedItems(extensionState, input);
     state.mInput = input;
+    state.mIndex = input.getIncrementalMountIndex();
     state.mPreviousLocalVisibleRect.setEmpty();
 
     setVisibleRect(state, localVisibleRect);
@@ -184,26 +182,23 @@ public class IncrementalMountExtension
   @Override
   public void premountNext(ExtensionState<IncrementalMountExtensionState> extensionState) {
     final IncrementalMountExtensionState state = extensionState.getState();
-    if (state.mInput == null) {
+    final IncrementalMountIndex index = state.mIndex;
+    if (state.mInput == null || index == null) {
       return;
     }
 
-    final List<IncrementalMountOutput> atTheEnd = state.mInput.getOutputsOrderedByTopBounds();
-    final List<IncrementalMountOutput> atTheStart = state.mInput.getOutputsOrderedByBottomBounds();
-    final int count = state.mInput.getIncrementalMountOutputCount();
+    final int count = index.getCount();
 
     if (state.mPreviousTopsIndex < count && state.mPreviousTopsIndex >= 0) {
-      final IncrementalMountOutput node = atTheEnd.get(state.mPreviousTopsIndex);
-      final long id = node.getId();
+      final long id = index.getIdByTop(state.mPreviousTopsIndex);
       if (!extensionState.ownsReference(id)) {
-        extensionState.acquireMountReference(node.getId(), true);
+        extensionState.acquireMountReference(id, true);
       }
       state.mPreviousTopsIndex++;
     } else if (state.mPreviousBottomsIndex > 0 && state.mPreviousBottomsIndex <= count) {
-      final IncrementalMountOutput node = atTheStart.get(state.mPreviousBottomsIndex - 1);
-      final long id = node.getId();
+      final long id = index.getIdByBottom(state.mPreviousBottomsIndex - 1);
       if (!extensionState.ownsReference(id)) {
-        extensionState.acquireMountReference(node.getId(), true);
+        extensionState.acquireMountReference(id, true);
       }
       state.mPreviousBottomsIndex--;
     }
@@ -301,7 +296,7 @@ public class IncrementalMountExtension
 
     final IncrementalMountExtensionState state = extensionState.getState();
     if (state.mInput != null && state.mInput.renderUnitWithIdHostsRenderTrees(id)) {
-      state.mItemsShouldNotNotifyVisibleBoundsChangedOnChildren.add(id);
+      state.mItemsShouldNotNotifyVisibleBoundsChangedOnChildren.put(id, Boolean.TRUE);
       state.mMountedOutputIdsWithNestedContent.put(id, content);
     }
   }
@@ -450,7 +445,8 @@ public class IncrementalMountExtension
       final ExtensionState<IncrementalMountExtensionState> extensionState,
       final Rect localVisibleRect) {
     final IncrementalMountExtensionState state = extensionState.getState();
-    if (state.mInput == null) {
+    final IncrementalMountIndex index = state.mIndex;
+    if (state.mInput == null || index == null) {
       return;
     }
 
@@ -459,10 +455,7 @@ public class IncrementalMountExtension
       extensionState.getTracer().beginSection("performIncrementalMount");
     }
 
-    final List<IncrementalMountOutput> byTopBounds = state.mInput.getOutputsOrderedByTopBounds();
-    final List<IncrementalMountOutput> byBottomBounds =
-        state.mInput.getOutputsOrderedByBottomBounds();
-    final int count = state.mInput.getIncrementalMountOutputCount();
+    final int count = index.getCount();
 
     int itemsMounted = 0;
     int itemsUnmounted = 0;
@@ -471,14 +464,12 @@ public class IncrementalMountExtension
       // View is going on/off the top of the screen. Check the bottoms to see if there is anything
       // that has moved on/off the top of the screen.
       while (state.mPreviousBottomsIndex < count
-          && localVisibleRect.top
-              >= byBottomBounds.get(state.mPreviousBottomsIndex).getBounds().bottom) {
+          && localVisibleRect.top >= index.getBottomByBottom(state.mPreviousBottomsIndex)) {
 
-        final IncrementalMountOutput node = byBottomBounds.get(state.mPreviousBottomsIndex);
-        final long id = node.getId();
+        final long id = index.getIdByBottom(state.mPreviousBottomsIndex);
 
         if (extensionState.ownsReference(id)
-            && !node.excludeFromIncrementalMount()
+            && !index.isExcludedByBottom(state.mPreviousBottomsIndex)
             && !state.usesGapWorker) {
           extensionState.releaseMountReference(id, true);
           if (IncrementalMountExtensionConfigs.isDebugLoggingEnabled) {
@@ -490,18 +481,15 @@ public class IncrementalMountExtension
       }
 
       while (state.mPreviousBottomsIndex > 0
-          && localVisibleRect.top
-              < byBottomBounds.get(state.mPreviousBottomsIndex - 1).getBounds().bottom) {
+          && localVisibleRect.top < index.getBottomByBottom(state.mPreviousBottomsIndex - 1)) {
 
-        final IncrementalMountOutput node = byBottomBounds.get(state.mPreviousBottomsIndex - 1);
-        final long id = node.getId();
+        final long id = index.getIdByBottom(state.mPreviousBottomsIndex - 1);
 
         // Item should still be in the view port.
-        if (localVisibleRect.bottom
-            >= byBottomBounds.get(state.mPreviousBottomsIndex - 1).getBounds().top) {
+        if (localVisibleRect.bottom >= index.getTopByBottom(state.mPreviousBottomsIndex - 1)) {
           if (!extensionState.ownsReference(id)) {
-            extensionState.acquireMountReference(node.getId(), true);
-            state.mComponentIdsMountedInThisFrame.add(id);
+            extensionState.acquireMountReference(id, true);
+            state.mComponentIdsMountedInThisFrame.put(id, Boolean.TRUE);
             if (IncrementalMountExtensionConfigs.isDebugLoggingEnabled) {
               itemsMounted++;
             }
@@ -518,16 +506,15 @@ public class IncrementalMountExtension
       // View is going on/off the bottom of the screen. Check the tops to see if there is anything
       // that has changed.
       while (state.mPreviousTopsIndex < count
-          && localVisibleRect.bottom >= byTopBounds.get(state.mPreviousTopsIndex).getBounds().top) {
+          && localVisibleRect.bottom >= index.getTopByTop(state.mPreviousTopsIndex)) {
 
-        final IncrementalMountOutput node = byTopBounds.get(state.mPreviousTopsIndex);
-        final long id = node.getId();
+        final long id = index.getIdByTop(state.mPreviousTopsIndex);
 
         // Item should still be in the view port.
-        if (localVisibleRect.top <= byTopBounds.get(state.mPreviousTopsIndex).getBounds().bottom) {
+        if (localVisibleRect.top <= index.getBottomByTop(state.mPreviousTopsIndex)) {
           if (!extensionState.ownsReference(id)) {
-            extensionState.acquireMountReference(node.getId(), true);
-            state.mComponentIdsMountedInThisFrame.add(id);
+            extensionState.acquireMountReference(id, true);
+            state.mComponentIdsMountedInThisFrame.put(id, Boolean.TRUE);
             if (IncrementalMountExtensionConfigs.isDebugLoggingEnabled) {
               itemsMounted++;
             }
@@ -538,14 +525,12 @@ public class IncrementalMountExtension
       }
 
       while (state.mPreviousTopsIndex > 0
-          && localVisibleRect.bottom
-              < byTopBounds.get(state.mPreviousTopsIndex - 1).getBounds().top) {
+          && localVisibleRect.bottom < index.getTopByTop(state.mPreviousTopsIndex - 1)) {
 
-        final IncrementalMountOutput node = byTopBounds.get(state.mPreviousTopsIndex - 1);
-        final long id = node.getId();
+        final long id = index.getIdByTop(state.mPreviousTopsIndex - 1);
 
         if (extensionState.ownsReference(id)
-            && !node.excludeFromIncrementalMount()
+            && !index.isExcludedByTop(state.mPreviousTopsIndex - 1)
             && !state.usesGapWorker) {
           extensionState.releaseMountReference(id, true);
           if (IncrementalMountExtensionConfigs.isDebugLoggingEnabled) {
@@ -563,12 +548,15 @@ public class IncrementalMountExtension
           "Updates: [Items Mounted=" + itemsMounted + ", Items Unmounted=" + itemsUnmounted + "]");
     }
 
-    for (long id : state.mMountedOutputIdsWithNestedContent.keySet()) {
-      if (state.mComponentIdsMountedInThisFrame.contains(id)) {
+    final LongSparseArray<Object> mountedOutputsWithNestedContent =
+        state.mMountedOutputIdsWithNestedContent;
+    for (int i = 0, size = mountedOutputsWithNestedContent.size(); i < size; i++) {
+      final long id = mountedOutputsWithNestedContent.keyAt(i);
+      if (state.mComponentIdsMountedInThisFrame.indexOfKey(id) >= 0) {
         continue;
       }
 
-      final Object content = state.mMountedOutputIdsWithNestedContent.get(id);
+      final Object content = mountedOutputsWithNestedContent.valueAt(i);
       if (content != null) {
         recursivelyNotifyVisibleBoundsChanged(extensionState, id, content);
       }
@@ -583,19 +571,13 @@ public class IncrementalMountExtension
 
   private static void setupPreviousMountableOutputData(
       final IncrementalMountExtensionState state, final Rect localVisibleRect) {
-    if (localVisibleRect.isEmpty() || state.mInput == null) {
+    final IncrementalMountIndex index = state.mIndex;
+    if (localVisibleRect.isEmpty() || state.mInput == null || index == null) {
       return;
     }
 
-    final List<IncrementalMountOutput> byTopBounds = state.mInput.getOutputsOrderedByTopBounds();
-    final List<IncrementalMountOutput> byBottomBounds =
-        state.mInput.getOutputsOrderedByBottomBounds();
-    final int mountableOutputCount = state.mInput.getIncrementalMountOutputCount();
-
-    state.mPreviousTopsIndex =
-        binarySearchTopBoundary(localVisibleRect.bottom, byTopBounds, mountableOutputCount);
-    state.mPreviousBottomsIndex =
-        binarySearchBottomBoundary(localVisibleRect.top, byBottomBounds, mountableOutputCount);
+    state.mPreviousTopsIndex = index.findFirstTopAtOrBelow(localVisibleRect.bottom);
+    state.mPreviousBottomsIndex = index.findFirstBottomBelow(localVisibleRect.top);
   }
 
   private static IncrementalMountGapWorker getGapWorker(
@@ -604,46 +586,6 @@ public class IncrementalMountExtension
         ViewCompat.getDisplay(state.getRootHost()), state.getTracer());
   }
 
-  private static int binarySearchTopBoundary(
-      final int rectBottom, final List<IncrementalMountOutput> byTopBounds, final int totalCount) {
-    int low = 0;
-    int high = totalCount - 1;
-
-    while (low <= high) {
-      int mid = low + ((high - low) / 2);
-
-      if (rectBottom > byTopBounds.get(mid).getBounds().top) {
-        low = mid + 1;
-      } else if (mid > 0 && rectBottom <= byTopBounds.get(mid - 1).getBounds().top) {
-        high = mid - 1;
-      } else if (mid == 0 || rectBottom > byTopBounds.get(mid - 1).getBounds().top) {
-        return mid;
-      }
-    }
-
-    return totalCount;
-  }
-
-  private static int binarySearchBottomBoundary(
-      final int rectTop, final List<IncrementalMountOutput> byBottomBounds, final int totalCount) {
-    int low = 0;
-    int high = totalCount - 1;
-
-    while (low <= high) {
-      int mid = low + ((high - low) / 2);
-
-      if (rectTop >= byBottomBounds.get(mid).getBounds().bottom) {
-        low = mid + 1;
-      } else if (mid > 0 && rectTop < byBottomBounds.get(mid - 1).getBounds().bottom) {
-        high = mid - 1;
-      } else if (mid == 0 || rectTop >= byBottomBounds.get(mid - 1).getBounds().bottom) {
-        return mid;
-      }
-    }
-
-    return totalCount;
-  }
-
   @VisibleForTesting
   public static int getPreviousTopsIndex(final IncrementalMountExtensionState state) {
     return state.mPreviousTopsIndex;
@@ -661,11 +603,15 @@ public class IncrementalMountExtension
   @VisibleForTesting
   public static class IncrementalMountExtensionState {
     private final Rect mPreviousLocalVisibleRect = new Rect();
-    private final Set<Long> mComponentIdsMountedInThisFrame = new HashSet<>();
-    private final Set<Long> mItemsShouldNotNotifyVisibleBoundsChangedOnChildren = new HashSet<>();
-    private final HashMap<Long, Object> mMountedOutputIdsWithNestedContent = new HashMap<>(8);
+    private final LongSparseArray<Boolean> mComponentIdsMountedInThisFrame =
+        new LongSparseArray<>();
+    private final LongSparseArray<Boolean> mItemsShouldNotNotifyVisibleBoundsChangedOnChildren =
+        new LongSparseArray<>();
+    private final LongSparseArray<Object> mMountedOutputIdsWithNestedContent =
+        new LongSparseArray<>(8);
 
     private @Nullable IncrementalMountExtensionInput mInput;
+    private @Nullable IncrementalMountIndex mIndex;
     private int mPreviousTopsIndex;
     private int mPreviousBottomsIndex;
 
@@ -35,4 +35,12 @@ public interface IncrementalMountExtensionInput {
   int getIncrementalMountOutputCount();
 
   boolean renderUnitWithIdHostsRenderTrees(long id);
+
+  /**
+   * Returns a primitive index of the outputs ordered by top and bottom bounds. Implementations
+   * which are mounted more than once should create it once and cache it.
+   */
+  default IncrementalMountIndex getIncrementalMountIndex() {
+    return IncrementalMountIndex.create(this);
+  }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore.incrementalmount;
+
+import java.util.List;
+
+/**
+ * An immutable, primitive copy of the {@link IncrementalMountOutput}s of an {@link
+ * IncrementalMountExtensionInput} ordered by top and by bottom bounds. It lets {@link
+ * IncrementalMountExtension} walk the outputs on every scroll frame without dereferencing the
+ * outputs or their bounds.
+ */
+public final class IncrementalMountIndex {
+
+  private final int mCount;
+
+  private final long[] mIdsByTop;
+  private final int[] mTopsByTop;
+  private final int[] mBottomsByTop;
+  private final boolean[] mExcludedByTop;
+
+  private final long[] mIdsByBottom;
+  private final int[] mTopsByBottom;
+  private final int[] mBottomsByBottom;
+  private final boolean[] mExcludedByBottom;
+
+  private IncrementalMountIndex(
+      final List<IncrementalMountOutput> byTopBounds,
+      final List<IncrementalMountOutput> byBottomBounds,
+      final int count) {
+    mCount = count;
+
+    mIdsByTop = new long[count];
+    mTopsByTop = new int[count];
+    mBottomsByTop = new int[count];
+    mExcludedByTop = new boolean[count];
+    fill(byTopBounds, count, mIdsByTop, mTopsByTop, mBottomsByTop, mExcludedByTop);
+
+    mIdsByBottom = new long[count];
+    mTopsByBottom = new int[count];
+    mBottomsByBottom = new int[count];
+    mExcludedByBottom = new boolean[count];
+    fill(byBottomBounds, count, mIdsByBottom, mTopsByBottom, mBottomsByBottom, mExcludedByBottom);
+  }
+
+  /** Creates the index from the sorted outputs of the given input. */
+  public static IncrementalMountIndex create(final IncrementalMountExtensionInput input) {
+    return new IncrementalMountIndex(
+        input.getOutputsOrderedByTopBounds(),
+        input.getOutputsOrderedByBottomBounds(),
+        input.getIncrementalMountOutputCount());
+  }
+
+  private static void fill(
+      final List<IncrementalMountOutput> outputs,
+      final int count,
+      final long[] ids,
+      final int[] tops,
+      final int[] bottoms,
+      final boolean[] excluded) {
+    for (int i = 0; i < count; i++) {
+      final IncrementalMountOutput output = outputs.get(i);
+      ids[i] = output.getId();
+      tops[i] = output.getBounds().top;
+      bottoms[i] = output.getBounds().bottom;
+      excluded[i] = output.excludeFromIncrementalMount();
+    }
+  }
+
+  public int getCount() {
+    return mCount;
+  }
+
+  public long getIdByTop(final int index) {
+    return mIdsByTop[index];
+  }
+
+  public int getTopByTop(final int index) {
+    return mTopsByTop[index];
+  }
+
+  public int getBottomByTop(final int index) {
+    return mBottomsByTop[index];
+  }
+
+  public boolean isExcludedByTop(final int index) {
+    return mExcludedByTop[index];
+  }
+
+  public long getIdByBottom(final int index) {
+    return mIdsByBottom[index];
+  }
+
+  public int getTopByBottom(final int index) {
+    return mTopsByBottom[index];
+  }
+
+  public int getBottomByBottom(final int index) {
+    return mBottomsByBottom[index];
+  }
+
+  public boolean isExcludedByBottom(final int index) {
+    return mExcludedByBottom[index];
+  }
+
+  /**
+   * @return the index of the first output (ordered by top bounds) whose top is greater than or
+   *     equal to the given bottom of the visible rect, or the count if there is none.
+   */
+  public int findFirstTopAtOrBelow(final int rectBottom) {
+    int low = 0;
+    int high = mCount;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (rectBottom > mTopsByTop[mid]) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the index of the first output (ordered by bottom bounds) whose bottom is greater than
+   *     the given top of the visible rect, or the count if there is none.
+   */
+  public int findFirstBottomBelow(final int rectTop) {
+    int low = 0;
+    int high = mCount;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (rectTop >= mBottomsByBottom[mid]) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore.incrementalmount;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Rect;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 16)
+public class IncrementalMountIndexTest {
+
+  @Test
+  public void create_copiesOutputsInSortedOrder() {
+    final IncrementalMountIndex index =
+        IncrementalMountIndex.create(
+            new TestIncrementalMountExtensionInput(
+                output(3, 200, 300), output(1, 0, 100), output(2, 50, 400)));
+
+    assertThat(index.getCount()).isEqualTo(3);
+
+    assertThat(index.getIdByTop(0)).isEqualTo(1);
+    assertThat(index.getIdByTop(1)).isEqualTo(2);
+    assertThat(index.getIdByTop(2)).isEqualTo(3);
+    assertThat(index.getBottomByTop(1)).isEqualTo(400);
+
+    assertThat(index.getIdByBottom(0)).isEqualTo(1);
+    assertThat(index.getIdByBottom(1)).isEqualTo(3);
+    assertThat(index.getIdByBottom(2)).isEqualTo(2);
+    assertThat(index.getTopByBottom(1)).isEqualTo(200);
+  }
+
+  @Test
+  public void findBoundaries_returnsFirstOutputsOutsideOfVisibleRect() {
+    final IncrementalMountIndex index =
+        IncrementalMountIndex.create(
+            new TestIncrementalMountExtensionInput(
+                output(1, 0, 100), output(2, 100, 200), output(3, 200, 300)));
+
+    assertThat(index.findFirstTopAtOrBelow(150)).isEqualTo(2);
+    assertThat(index.findFirstTopAtOrBelow(200)).isEqualTo(2);
+    assertThat(index.findFirstTopAtOrBelow(1000)).isEqualTo(3);
+    assertThat(index.findFirstTopAtOrBelow(0)).isEqualTo(0);
+
+    assertThat(index.findFirstBottomBelow(150)).isEqualTo(1);
+    assertThat(index.findFirstBottomBelow(100)).isEqualTo(1);
+    assertThat(index.findFirstBottomBelow(1000)).isEqualTo(3);
+    assertThat(index.findFirstBottomBelow(0)).isEqualTo(0);
+  }
+
+  private static IncrementalMountOutput output(long id, int top, int bottom) {
+    return new IncrementalMountOutput(id, (int) id, new Rect(0, top, 100, bottom), false, null);
+  }
+}
@@ -20,6 +20,9 @@ package com.facebook.rendercore.primitives.utils
 
 import android.util.SparseArray
 import com.facebook.rendercore.primitives.Equivalence
+import java.lang.reflect.Field
+import java.lang.reflect.Modifier
+import java.util.concurrent.ConcurrentHashMap
 
 /** Checks if two objects are equal. */
 fun equals(a: Any?, b: Any?): Boolean {
@@ -93,31 +96,86 @@ fun hasEquivalentFields(a: Any?, b: Any?): Boolean {
     return false
   }
 
-  for (field in a.javaClass.declaredFields) {
-    val val1: Any?
-    val val2: Any?
-    try {
-      val wasAccessible = field.isAccessible
-      if (!wasAccessible) {
-        field.isAccessible = true
-      }
-      val1 = field[a]
-      val2 = field[b]
-      if (!wasAccessible) {
-        field.isAccessible = false
+  val equivalenceFields = getEquivalenceFields(a.javaClass)
+  val fields = equivalenceFields.fields
+  val types = equivalenceFields.types
+  try {
+    for (i in fields.indices) {
+      val field = fields[i]
+      val isEquivalent =
+          when (types[i]) {
+            FIELD_TYPE_INT -> field.getInt(a) == field.getInt(b)
+            FIELD_TYPE_LONG -> field.getLong(a) == field.getLong(b)
+            FIELD_TYPE_BOOLEAN -> field.getBoolean(a) == field.getBoolean(b)
+            FIELD_TYPE_FLOAT -> field.getFloat(a).compareTo(field.getFloat(b)) == 0
+            FIELD_TYPE_DOUBLE -> field.getDouble(a).compareTo(field.getDouble(b)) == 0
+            FIELD_TYPE_BYTE -> field.getByte(a) == field.getByte(b)
+            FIELD_TYPE_SHORT -> field.getShort(a) == field.getShort(b)
+            FIELD_TYPE_CHAR -> field.getChar(a) == field.getChar(b)
+            else -> areObjectsEquivalent(field[a], field[b])
+          }
+      if (!isEquivalent) {
+        return false
       }
-    } catch (e: IllegalAccessException) {
-      throw IllegalStateException("Unable to get fields by reflection.", e)
-    }
-
-    if (!areObjectsEquivalent(val1, val2)) {
-      return false
     }
+  } catch (e: IllegalAccessException) {
+    throw IllegalStateException("Unable to get fields by reflection.", e)
   }
 
   return true
 }
 
+private const val FIELD_TYPE_OBJECT = 0
+private const val FIELD_TYPE_INT = 1
+private const val FIELD_TYPE_LONG = 2
+private const val FIELD_TYPE_BOOLEAN = 3
+private const val FIELD_TYPE_FLOAT = 4
+private const val FIELD_TYPE_DOUBLE = 5
+private const val FIELD_TYPE_BYTE = 6
+private const val FIELD_TYPE_SHORT = 7
+private const val FIELD_TYPE_CHAR = 8
+
+/**
+ * The instance fields of a class that [hasEquivalentFields] compares, made accessible once, along
+ * with their primitive type so that primitive fields are read without boxing.
+ */
+private class EquivalenceFields(val fields: Array<Field>, val types: IntArray)
+
+private val equivalenceFieldsCache = ConcurrentHashMap<Class<*>, EquivalenceFields>()
+
+/**
+ * Returns the cached [EquivalenceFields] of a class. Resolving declared fields and toggling their
+ * accessibility is done once per class rather than on every comparison; static fields are skipped
+ * since they are trivially equal for two instances of the same class.
+ */
+private fun getEquivalenceFields(clazz: Class<*>): EquivalenceFields {
+  equivalenceFieldsCache[clazz]?.let {
+    return it
+  }
+
+  val fields = clazz.declaredFields.filter { !Modifier.isStatic(it.modifiers) }.toTypedArray()
+  val types = IntArray(fields.size)
+  for (i in fields.indices) {
+    val field = fields[i]
+    field.isAccessible = true
+    types[i] =
+        when (field.type) {
+          Int::class.javaPrimitiveType -> FIELD_TYPE_INT
+          Long::class.javaPrimitiveType -> FIELD_TYPE_LONG
+          Boolean::class.javaPrimitiveType -> FIELD_TYPE_BOOLEAN
+          Float::class.javaPrimitiveType -> FIELD_TYPE_FLOAT
+          Double::class.javaPrimitiveType -> FIELD_TYPE_DOUBLE
+          Byte::class.javaPrimitiveType -> FIELD_TYPE_BYTE
+          Short::class.javaPrimitiveType -> FIELD_TYPE_SHORT
+          Char::class.javaPrimitiveType -> FIELD_TYPE_CHAR
+          else -> FIELD_TYPE_OBJECT
+        }
+  }
+
+  val equivalenceFields = EquivalenceFields(fields, types)
+  return equivalenceFieldsCache.putIfAbsent(clazz, equivalenceFields) ?: equivalenceFields
+}
+
 /** Checks if two objects are equivalent. */
 @Suppress("UNCHECKED_CAST")
 fun areObjectsEquivalent(val1: Any?, val2: Any?): Boolean {
@@ -42,6 +42,7 @@ import com.facebook.fbui.textlayoutbuilder.TextLayoutBuilder;
 import com.facebook.fbui.textlayoutbuilder.util.LayoutMeasureUtil;
 import com.facebook.rendercore.LayoutContext;
 import com.facebook.rendercore.MountableLayoutResult;
+import com.facebook.rendercore.TextLayoutCache;
 import com.facebook.rendercore.utils.LayoutUtils;
 
 public class TextMeasurementUtils {
@@ -363,6 +364,119 @@ public class TextMeasurementUtils {
 
   static Layout createTextLayout(
       Context context, TextStyle textStyle, int widthSpec, int heightSpec, CharSequence text) {
+    final boolean isLocaleDirectionRTL = LayoutUtils.isLayoutDirectionRTL(context);
+    // We ignore the locale direction if the text direction is manually set.
+    final boolean ignoreLocaleDirection;
+    if (textStyle.textDirection == null) {
+      ignoreLocaleDirection = false;
+      textStyle.textDirection =
+          isLocaleDirectionRTL
+              ? TextDirectionHeuristicsCompat.FIRSTSTRONG_RTL
+              : TextDirectionHeuristicsCompat.FIRSTSTRONG_LTR;
+    } else {
+      ignoreLocaleDirection = true;
+    }
+
+    // Layouts whose paint color follows a ColorStateList are mutated on mount, so can't be shared.
+    if (!TextLayoutCache.isEnabled()
+        || !TextLayoutCache.isCacheable(text)
+        || textStyle.textColor == 0) {
+      return buildTextLayout(
+          context, textStyle, widthSpec, text, isLocaleDirectionRTL, ignoreLocaleDirection);
+    }
+
+    final TextLayoutCache.Key key =
+        createLayoutCacheKey(
+            context, textStyle, widthSpec, text, isLocaleDirectionRTL, ignoreLocaleDirection);
+    final Layout cached = TextLayoutCache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    final Layout layout =
+        buildTextLayout(
+            context, textStyle, widthSpec, text, isLocaleDirectionRTL, ignoreLocaleDirection);
+    TextLayoutCache.put(key, layout);
+    return layout;
+  }
+
+  /**
+   * Builds the text layout for the given text and style on a low priority background thread, and
+   * warms up the glyph cache for it, so that measuring the same text with the same style and width
+   * constraint later is a cache hit. This is a no-op unless {@link
+   * com.facebook.rendercore.RenderCoreConfig#enableTextLayoutCache} is set.
+   */
+  public static void prewarm(
+      final Context context,
+      final int widthSpec,
+      final int heightSpec,
+      final CharSequence text,
+      TextStyle textStyle) {
+    if (!TextLayoutCache.isEnabled() || !TextLayoutCache.isCacheable(text)) {
+      return;
+    }
+    // createTextLayout resolves the text direction in place, so don't share the caller's style.
+    final TextStyle styleCopy = textStyle.makeCopy();
+    TextLayoutCache.prewarm(
+        new TextLayoutCache.LayoutFactory() {
+          @Override
+          public Layout createLayout() {
+            return createTextLayout(context, styleCopy, widthSpec, heightSpec, text);
+          }
+        });
+  }
+
+  private static TextLayoutCache.Key createLayoutCacheKey(
+      Context context,
+      TextStyle textStyle,
+      int widthSpec,
+      CharSequence text,
+      boolean isLocaleDirectionRTL,
+      boolean ignoreLocaleDirection) {
+    return new TextLayoutCache.Key.Builder()
+        .add(text)
+        .add(widthSpec)
+        .add(context.getResources().getDisplayMetrics().density)
+        .add(textStyle.ellipsize)
+        .add(textStyle.maxLines)
+        .add(textStyle.shadowRadius)
+        .add(textStyle.shadowDx)
+        .add(textStyle.shadowDy)
+        .add(textStyle.shadowColor)
+        .add(textStyle.isSingleLine)
+        .add(textStyle.textSize)
+        .add(textStyle.includeFontPadding)
+        .add(textStyle.manualCapSpacing)
+        .add(textStyle.manualBaselineSpacing)
+        .add(textStyle.lineSpacingExtra)
+        .add(textStyle.lineHeightMultiplier)
+        .add(textStyle.lineHeight)
+        .add(textStyle.linkColor)
+        .add(textStyle.justificationMode)
+        .add(textStyle.breakStrategy)
+        .add(textStyle.hyphenationFrequency)
+        .add(textStyle.shouldLayoutEmptyText)
+        .add(textStyle.letterSpacing)
+        .add(textStyle.minEms)
+        .add(textStyle.maxEms)
+        .add(textStyle.minTextWidth)
+        .add(textStyle.maxTextWidth)
+        .add(textStyle.textColor)
+        .add(textStyle.typeface)
+        .add(textStyle.textStyle)
+        .add(textStyle.textDirection)
+        .add(textStyle.alignment)
+        .add(isLocaleDirectionRTL)
+        .add(ignoreLocaleDirection)
+        .build();
+  }
+
+  private static Layout buildTextLayout(
+      Context context,
+      TextStyle textStyle,
+      int widthSpec,
+      CharSequence text,
+      boolean isLocaleDirectionRTL,
+      boolean ignoreLocaleDirection) {
     TextLayoutBuilder layoutBuilder = new TextLayoutBuilder();
     layoutBuilder.setShouldCacheLayout(false);
 
@@ -445,18 +559,6 @@ public class TextMeasurementUtils {
       layoutBuilder.setTextStyle(textStyle.textStyle);
     }
 
-    final boolean isLocaleDirectionRTL = LayoutUtils.isLayoutDirectionRTL(context);
-    // We ignore the locale direction if the text direction is manually set.
-    final boolean ignoreLocaleDirection;
-    if (textStyle.textDirection == null) {
-      ignoreLocaleDirection = false;
-      textStyle.textDirection =
-          isLocaleDirectionRTL
-              ? TextDirectionHeuristicsCompat.FIRSTSTRONG_RTL
-              : TextDirectionHeuristicsCompat.FIRSTSTRONG_LTR;
-    } else {
-      ignoreLocaleDirection = true;
-    }
     layoutBuilder.setTextDirection(textStyle.textDirection);
 
     final boolean isTextDirectionRTL = textStyle.textDirection.isRtl(text, 0, text.length());
@@ -37,11 +37,20 @@ import javax.annotation.concurrent.GuardedBy;
  * deactivated.
  *
  * <p>Data flows through the graph on each frame, from input nodes to output nodes.
+ *
+ * <p>Whenever the bindings change, the graph is compiled into arrays: the nodes in topological
+ * order, the inputs of each node and the nodes of each binding as indices into that order, and the
+ * state of each node. Frames only walk these arrays, so they neither allocate nor hash.
  */
 public class DataFlowGraph {
 
   private static final String STATE_NOT_INTIALIZED_FOR_VALUE_NODE =
       "DataFlowGraph:StateNotInitializedForValueNode";
+  private static final ValueNode[] EMPTY_NODES = new ValueNode[0];
+  private static final NodeState[] EMPTY_NODE_STATES = new NodeState[0];
+  private static final GraphBinding[] EMPTY_BINDINGS = new GraphBinding[0];
+  private static final int[] EMPTY_INDICES = new int[0];
+
   private static DataFlowGraph sInstance;
 
   public static DataFlowGraph getInstance() {
@@ -82,7 +91,29 @@ public class DataFlowGraph {
   private final Set<GraphBinding> mBindings = new LinkedHashSet<>();
 
   @GuardedBy("this")
-  private final ArrayList<ValueNode> mSortedNodes = new ArrayList<>();
+  private ValueNode[] mSortedNodes = EMPTY_NODES;
+
+  // The state of each node in mSortedNodes, at the same index.
+  @GuardedBy("this")
+  private NodeState[] mSortedNodeStates = EMPTY_NODE_STATES;
+
+  // The inputs of the node at index i in mSortedNodes are the nodes at the indices in
+  // mSortedInputs from mSortedInputsStart[i] (inclusive) to mSortedInputsStart[i + 1] (exclusive).
+  @GuardedBy("this")
+  private int[] mSortedInputsStart = EMPTY_INDICES;
+
+  @GuardedBy("this")
+  private int[] mSortedInputs = EMPTY_INDICES;
+
+  // Same as the inputs above, for the nodes of each binding in mSortedBindings.
+  @GuardedBy("this")
+  private GraphBinding[] mSortedBindings = EMPTY_BINDINGS;
+
+  @GuardedBy("this")
+  private int[] mBindingNodesStart = EMPTY_INDICES;
+
+  @GuardedBy("this")
+  private int[] mBindingNodes = EMPTY_INDICES;
 
   @GuardedBy("this")
   private final Map<ValueNode, NodeState> mNodeStates = new HashMap<>();
@@ -137,7 +168,7 @@ public class DataFlowGraph {
     unregisterNodes(binding);
     if (mBindings.isEmpty()) {
       mTimingSource.stop();
-      mSortedNodes.clear();
+      clearCompiledGraph();
       if (!mNodeStates.isEmpty()) {
         throw new RuntimeException("Failed to clean up all nodes");
       }
@@ -156,21 +187,21 @@ public class DataFlowGraph {
 
   @GuardedBy("this")
   private void propagate(long frameTimeNanos) {
-    final int size = mSortedNodes.size();
-    for (int i = 0; i < size; i++) {
-      final ValueNode node = mSortedNodes.get(i);
-      node.doCalculateValue(frameTimeNanos);
+    final ValueNode[] sortedNodes = mSortedNodes;
+    for (int i = 0; i < sortedNodes.length; i++) {
+      sortedNodes[i].doCalculateValue(frameTimeNanos);
     }
   }
 
   @GuardedBy("this")
   private void regenerateSortedNodes() {
-    mSortedNodes.clear();
-
     if (mBindings.size() == 0) {
+      clearCompiledGraph();
       return;
     }
 
+    final ArrayList<ValueNode> sortedNodes = new ArrayList<>();
+
     final ArraySet<ValueNode> leafNodes = new ArraySet<>();
     final SimpleArrayMap<ValueNode, Integer> nodesToOutputsLeft = new SimpleArrayMap<>();
     final ArrayDeque<ValueNode> nodesToProcess = new ArrayDeque<>();
@@ -198,7 +229,7 @@ public class DataFlowGraph {
 
     while (!nodesToProcess.isEmpty()) {
       final ValueNode next = nodesToProcess.pollFirst();
-      mSortedNodes.add(next);
+      sortedNodes.add(next);
       for (ValueNode input : next.getAllInputs()) {
         final int outputsLeft = nodesToOutputsLeft.get(input) - 1;
         nodesToOutputsLeft.put(input, outputsLeft);
@@ -211,15 +242,71 @@ public class DataFlowGraph {
     }
 
     int expectedTotalNodes = nodesToOutputsLeft.size() + leafNodes.size();
-    if (mSortedNodes.size() != expectedTotalNodes) {
+    if (sortedNodes.size() != expectedTotalNodes) {
       throw new DetectedCycleException(
           "Had unreachable nodes in graph -- this likely means there was a cycle");
     }
 
-    Collections.reverse(mSortedNodes);
+    Collections.reverse(sortedNodes);
+    compile(sortedNodes);
     mIsDirty = false;
   }
 
+  @GuardedBy("this")
+  private void compile(ArrayList<ValueNode> sortedNodes) {
+    final int nodeCount = sortedNodes.size();
+    final SimpleArrayMap<ValueNode, Integer> nodeIndices = new SimpleArrayMap<>(nodeCount);
+    mSortedNodes = sortedNodes.toArray(new ValueNode[nodeCount]);
+    mSortedNodeStates = new NodeState[nodeCount];
+    int inputCount = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      final ValueNode node = mSortedNodes[i];
+      nodeIndices.put(node, i);
+      mSortedNodeStates[i] = mNodeStates.get(node);
+      inputCount += node.getInputCount();
+    }
+
+    mSortedInputsStart = new int[nodeCount + 1];
+    mSortedInputs = new int[inputCount];
+    int inputIndex = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      mSortedInputsStart[i] = inputIndex;
+      for (ValueNode input : mSortedNodes[i].getAllInputs()) {
+        mSortedInputs[inputIndex++] = nodeIndices.get(input);
+      }
+    }
+    mSortedInputsStart[nodeCount] = inputIndex;
+
+    final int bindingCount = mBindings.size();
+    mSortedBindings = mBindings.toArray(new GraphBinding[bindingCount]);
+    mBindingNodesStart = new int[bindingCount + 1];
+    int bindingNodeCount = 0;
+    for (int i = 0; i < bindingCount; i++) {
+      bindingNodeCount += mSortedBindings[i].getAllNodes().size();
+    }
+    mBindingNodes = new int[bindingNodeCount];
+    int bindingNodeIndex = 0;
+    for (int i = 0; i < bindingCount; i++) {
+      mBindingNodesStart[i] = bindingNodeIndex;
+      final ArrayList<ValueNode> nodes = mSortedBindings[i].getAllNodes();
+      for (int j = 0, nodesSize = nodes.size(); j < nodesSize; j++) {
+        mBindingNodes[bindingNodeIndex++] = nodeIndices.get(nodes.get(j));
+      }
+    }
+    mBindingNodesStart[bindingCount] = bindingNodeIndex;
+  }
+
+  @GuardedBy("this")
+  private void clearCompiledGraph() {
+    mSortedNodes = EMPTY_NODES;
+    mSortedNodeStates = EMPTY_NODE_STATES;
+    mSortedInputsStart = EMPTY_INDICES;
+    mSortedInputs = EMPTY_INDICES;
+    mSortedBindings = EMPTY_BINDINGS;
+    mBindingNodesStart = EMPTY_INDICES;
+    mBindingNodes = EMPTY_INDICES;
+  }
+
   @GuardedBy("this")
   private void updateFinishedStates() {
     updateFinishedNodes();
@@ -228,10 +315,10 @@ public class DataFlowGraph {
 
   @GuardedBy("this")
   private void updateFinishedNodes() {
-    for (int i = 0, size = mSortedNodes.size(); i < size; i++) {
-      final ValueNode node = mSortedNodes.get(i);
-      final NodeState nodeState = mNodeStates.get(node);
-      if (nodeState == null || nodeState.isFinished || !areInputsFinished(node)) {
+    for (int i = 0; i < mSortedNodes.length; i++) {
+      final ValueNode node = mSortedNodes[i];
+      final NodeState nodeState = mSortedNodeStates[i];
+      if (nodeState == null || nodeState.isFinished || !areInputsFinished(i)) {
         continue;
       }
 
@@ -244,10 +331,11 @@ public class DataFlowGraph {
   }
 
   @GuardedBy("this")
-  private boolean areInputsFinished(ValueNode node) {
-    for (ValueNode input : node.getAllInputs()) {
-      final NodeState nodeState = mNodeStates.get(input);
-      if (!nodeState.isFinished) {
+  private boolean areInputsFinished(int sortedIndex) {
+    for (int i = mSortedInputsStart[sortedIndex], end = mSortedInputsStart[sortedIndex + 1];
+        i < end;
+        i++) {
+      if (!mSortedNodeStates[mSortedInputs[i]].isFinished) {
         return false;
       }
     }
@@ -259,26 +347,24 @@ public class DataFlowGraph {
     // We need loop the graph bindings and flag the ones we need to add/remove so that we don't
     // change the list while iterating.
     mIsFinishingBindings = true;
-    for (final GraphBinding binding : mBindings) {
+    for (int i = 0; i < mSortedBindings.length; i++) {
       boolean allAreFinished = true;
-      final ArrayList<ValueNode> nodesToCheck = binding.getAllNodes();
-      for (int j = 0, nodesSize = nodesToCheck.size(); j < nodesSize; j++) {
-        final NodeState nodeState = mNodeStates.get(nodesToCheck.get(j));
-        if (!nodeState.isFinished) {
+      for (int j = mBindingNodesStart[i], end = mBindingNodesStart[i + 1]; j < end; j++) {
+        if (!mSortedNodeStates[mBindingNodes[j]].isFinished) {
           allAreFinished = false;
           break;
         }
       }
       if (allAreFinished) {
-        binding.notifyNodesHaveFinished();
+        mSortedBindings[i].notifyNodesHaveFinished();
       }
     }
     mIsFinishingBindings = false;
-    for (final GraphBinding binding : mBindingsToRegister) {
-      register(binding);
+    for (int i = 0, size = mBindingsToRegister.size(); i < size; i++) {
+      register(mBindingsToRegister.get(i));
     }
-    for (final GraphBinding binding : mBindingsToUnregister) {
-      unregister(binding);
+    for (int i = 0, size = mBindingsToUnregister.size(); i < size; i++) {
+      unregister(mBindingsToUnregister.get(i));
     }
     mBindingsToRegister.clear();
     mBindingsToUnregister.clear();
@@ -316,6 +402,6 @@ public class DataFlowGraph {
   @VisibleForTesting
   @GuardedBy("this")
   boolean hasReferencesToNodes() {
-    return !mBindings.isEmpty() || !mSortedNodes.isEmpty() || !mNodeStates.isEmpty();
+    return !mBindings.isEmpty() || mSortedNodes.length != 0 || !mNodeStates.isEmpty();
   }
 }
@@ -43,6 +43,8 @@ public abstract class ValueNode {
   public static final String DEFAULT_INPUT = "default_input";
 
   private Map<String, ValueNode> mInputs = null;
+  // Mirrors the DEFAULT_INPUT entry of mInputs, which most nodes read on every frame.
+  private @Nullable ValueNode mDefaultInput = null;
   private ArrayList<ValueNode> mOutputs = null;
   private float mValue;
   private long mTimeNs = 0;
@@ -84,6 +86,9 @@ public abstract class ValueNode {
     if (getInputCount() > 1) {
       throw new RuntimeException("Trying to get single input of node with multiple inputs!");
     }
+    if (mDefaultInput != null) {
+      return mDefaultInput;
+    }
     return getInput(DEFAULT_INPUT);
   }
 
@@ -103,7 +108,7 @@ public abstract class ValueNode {
     if (getInputCount() > 1) {
       throw new RuntimeException("Trying to check for single input of node with multiple inputs!");
     }
-    return hasInput(DEFAULT_INPUT);
+    return mDefaultInput != null;
   }
 
   String buildDebugInputsString() {
@@ -123,6 +128,9 @@ public abstract class ValueNode {
 
   @Nullable
   ValueNode getInputUnsafe(String name) {
+    if (DEFAULT_INPUT.equals(name)) {
+      return mDefaultInput;
+    }
     if (mInputs == null) {
       return null;
     }
@@ -185,11 +193,17 @@ public abstract class ValueNode {
       mInputs = new LinkedHashMap<>();
     }
     mInputs.put(name, input);
+    if (DEFAULT_INPUT.equals(name)) {
+      mDefaultInput = input;
+    }
   }
 
   void removeInput(String name) {
     if (mInputs == null || mInputs.remove(name) == null) {
       throw new RuntimeException("Tried to remove non-existent input with name: " + name);
     }
+    if (DEFAULT_INPUT.equals(name)) {
+      mDefaultInput = null;
+    }
   }
 }
@@ -32,6 +32,8 @@ public class Spring {
   private static final double MAX_DELTA_TIME_SEC = 0.064;
   // fixed timestep to use in the physics solver in seconds
   private static final double SOLVER_TIMESTEP_SEC = 0.001;
+  // relative tolerance below which the analytic solver treats the spring as critically damped
+  private static final double CRITICAL_DAMPING_EPSILON = 1e-9;
   private SpringConfig mSpringConfig;
   private boolean mOvershootClampingEnabled;
 
@@ -328,6 +330,79 @@ public class Spring {
     int iterations = 0;
     end debug */
 
+    final double tension = mSpringConfig.tension;
+
+    if (mSpringConfig.useAnalyticSolver) {
+      solve(adjustedDeltaTime);
+    } else {
+      integrate(adjustedDeltaTime);
+    }
+
+    // End the spring immediately if it is overshooting and overshoot clamping is enabled.
+    // Also make sure that if the spring was considered within a resting threshold that it's now
+    // snapped to its end value.
+    if (isAtRest() || (mOvershootClampingEnabled && isOvershooting())) {
+      // Don't call setCurrentValue because that forces a call to onSpringUpdate
+      if (tension > 0) {
+        mStartValue = mEndValue;
+        mCurrentState.position = mEndValue;
+      } else {
+        mEndValue = mCurrentState.position;
+        mStartValue = mEndValue;
+      }
+      setVelocity(0);
+      isAtRest = true;
+    }
+
+    /* begin debug
+    long endTime = System.currentTimeMillis();
+    long elapsedMillis = endTime - startTime;
+    Log.d(TAG,
+        "iterations:" + iterations +
+            " iterationTime:" + elapsedMillis +
+            " position:" + mCurrentState.position +
+            " velocity:" + mCurrentState.velocity +
+            " realDeltaTime:" + realDeltaTime +
+            " adjustedDeltaTime:" + adjustedDeltaTime +
+            " isAtRest:" + isAtRest +
+            " wasAtRest:" + mWasAtRest);
+    end debug */
+
+    // NB: do these checks outside the loop so all listeners are properly notified of the state
+    //     transition
+    boolean notifyActivate = false;
+    if (mWasAtRest) {
+      mWasAtRest = false;
+      notifyActivate = true;
+    }
+    boolean notifyAtRest = false;
+    if (isAtRest) {
+      mWasAtRest = true;
+      notifyAtRest = true;
+    }
+    for (SpringListener listener : mListeners) {
+      // starting to move
+      if (notifyActivate) {
+        listener.onSpringActivate(this);
+      }
+
+      // updated
+      listener.onSpringUpdate(this);
+
+      // coming to rest
+      if (notifyAtRest) {
+        listener.onSpringAtRest(this);
+      }
+    }
+  }
+
+  /**
+   * Integrates the spring physics in SOLVER_TIMESTEP_SEC sized chunks to fulfill the given
+   * adjustedDeltaTime, carrying the remainder over to the next advance.
+   *
+   * @param adjustedDeltaTime the clamped amount of time to simulate
+   */
+  private void integrate(double adjustedDeltaTime) {
     mTimeAccumulator += adjustedDeltaTime;
 
     double tension = mSpringConfig.tension;
@@ -404,63 +479,89 @@ public class Spring {
     if (mTimeAccumulator > 0) {
       interpolate(mTimeAccumulator / SOLVER_TIMESTEP_SEC);
     }
+  }
 
-    // End the spring immediately if it is overshooting and overshoot clamping is enabled.
-    // Also make sure that if the spring was considered within a resting threshold that it's now
-    // snapped to its end value.
-    if (isAtRest() || (mOvershootClampingEnabled && isOvershooting())) {
-      // Don't call setCurrentValue because that forces a call to onSpringUpdate
-      if (tension > 0) {
-        mStartValue = mEndValue;
-        mCurrentState.position = mEndValue;
-      } else {
-        mEndValue = mCurrentState.position;
-        mStartValue = mEndValue;
-      }
-      setVelocity(0);
-      isAtRest = true;
-    }
-
-    /* begin debug
-    long endTime = System.currentTimeMillis();
-    long elapsedMillis = endTime - startTime;
-    Log.d(TAG,
-        "iterations:" + iterations +
-            " iterationTime:" + elapsedMillis +
-            " position:" + mCurrentState.position +
-            " velocity:" + mCurrentState.velocity +
-            " realDeltaTime:" + realDeltaTime +
-            " adjustedDeltaTime:" + adjustedDeltaTime +
-            " isAtRest:" + isAtRest +
-            " wasAtRest:" + mWasAtRest);
-    end debug */
-
-    // NB: do these checks outside the loop so all listeners are properly notified of the state
-    //     transition
-    boolean notifyActivate = false;
-    if (mWasAtRest) {
-      mWasAtRest = false;
-      notifyActivate = true;
-    }
-    boolean notifyAtRest = false;
-    if (isAtRest) {
-      mWasAtRest = true;
-      notifyAtRest = true;
+  /**
+   * Moves the spring by evaluating the closed form solution of the damped harmonic oscillator x'' =
+   * tension * (end - x) - friction * x' in constant time, instead of integrating it.
+   *
+   * <p>The time is consumed the same way {@link #integrate(double)} consumes it: in whole solver
+   * steps carrying the remainder over to the next advance, and ending up interpolated between the
+   * last two steps, i.e. one step behind. This keeps the trajectories of both solvers equivalent,
+   * so that switching a SpringConfig to the analytic solver doesn't change how its animations
+   * look.
+   *
+   * @param adjustedDeltaTime the clamped amount of time to simulate
+   */
+  private void solve(double adjustedDeltaTime) {
+    mTimeAccumulator += adjustedDeltaTime;
+    final double steps = Math.floor(mTimeAccumulator / SOLVER_TIMESTEP_SEC);
+    if (steps < 1) {
+      return;
     }
-    for (SpringListener listener : mListeners) {
-      // starting to move
-      if (notifyActivate) {
-        listener.onSpringActivate(this);
+    mTimeAccumulator -= steps * SOLVER_TIMESTEP_SEC;
+    final double t =
+        mTimeAccumulator > 0
+            ? (steps - 1) * SOLVER_TIMESTEP_SEC + mTimeAccumulator
+            : steps * SOLVER_TIMESTEP_SEC;
+
+    final double tension = mSpringConfig.tension;
+    final double friction = mSpringConfig.friction;
+    final double displacement = mCurrentState.position - mEndValue;
+    final double velocity = mCurrentState.velocity;
+
+    double newDisplacement;
+    double newVelocity;
+    if (tension <= 0) {
+      // No spring force, only friction slows the spring down.
+      if (friction <= 0) {
+        newDisplacement = displacement + velocity * t;
+        newVelocity = velocity;
+      } else {
+        final double decay = Math.exp(-friction * t);
+        newDisplacement = displacement + velocity * (1 - decay) / friction;
+        newVelocity = velocity * decay;
       }
-
-      // updated
-      listener.onSpringUpdate(this);
-
-      // coming to rest
-      if (notifyAtRest) {
-        listener.onSpringAtRest(this);
+    } else {
+      final double omega = Math.sqrt(tension);
+      final double discriminant = friction * friction - 4 * tension;
+      if (Math.abs(discriminant) <= CRITICAL_DAMPING_EPSILON * tension) {
+        // Critically damped
+        final double decay = Math.exp(-omega * t);
+        final double b = velocity + omega * displacement;
+        newDisplacement = (displacement + b * t) * decay;
+        newVelocity = (velocity - omega * b * t) * decay;
+      } else if (discriminant < 0) {
+        // Under damped
+        final double a = friction / 2;
+        final double dampedOmega = Math.sqrt(-discriminant) / 2;
+        final double decay = Math.exp(-a * t);
+        final double cos = Math.cos(dampedOmega * t);
+        final double sin = Math.sin(dampedOmega * t);
+        newDisplacement =
+            decay * (displacement * cos + (velocity + a * displacement) / dampedOmega * sin);
+        newVelocity =
+            decay * (velocity * cos - (tension * displacement + a * velocity) / dampedOmega * sin);
+      } else {
+        // Over damped
+        final double root = Math.sqrt(discriminant);
+        final double r1 = (-friction + root) / 2;
+        final double r2 = (-friction - root) / 2;
+        final double c1 = (velocity - r2 * displacement) / (r1 - r2);
+        final double c2 = displacement - c1;
+        final double e1 = Math.exp(r1 * t);
+        final double e2 = Math.exp(r2 * t);
+        newDisplacement = c1 * e1 + c2 * e2;
+        newVelocity = c1 * r1 * e1 + c2 * r2 * e2;
       }
     }
+
+    mPreviousState.position = mCurrentState.position;
+    mPreviousState.velocity = mCurrentState.velocity;
+    mCurrentState.position = mEndValue + newDisplacement;
+    mCurrentState.velocity = newVelocity;
+    mTempState.position = mCurrentState.position;
+    mTempState.velocity = mCurrentState.velocity;
   }
 
   /**
@@ -29,6 +29,12 @@ public class SpringConfig {
   public double friction;
   public double tension;
 
+  /**
+   * Whether springs using this config evaluate the closed form solution of the damped harmonic
+   * oscillator once per frame, instead of integrating it in 1ms steps.
+   */
+  public boolean useAnalyticSolver;
+
   // Taken from the default Quartz Composer spring config of tension=40, friction=7 (in QC units)
   public static SpringConfig defaultConfig = new SpringConfig(DEFAULT_TENSION, DEFAULT_FRICTION);
 
@@ -42,7 +48,19 @@ public class SpringConfig {
    * @param friction friction value for the SpringConfig
    */
   public SpringConfig(double tension, double friction) {
+    this(tension, friction, false);
+  }
+
+  /**
+   * constructor for the SpringConfig
+   *
+   * @param tension tension value for the SpringConfig
+   * @param friction friction value for the SpringConfig
+   * @param useAnalyticSolver whether to solve the spring analytically instead of integrating it
+   */
+  public SpringConfig(double tension, double friction, boolean useAnalyticSolver) {
     this.tension = tension;
     this.friction = friction;
+    this.useAnalyticSolver = useAnalyticSolver;
   }
 }
@@ -29,6 +29,12 @@ public class VisibilityExtensionConfigs {
   /** Skips visibility checks for fully visible items */
   public static boolean skipVisChecksForFullyVisible = false;
 
+  /**
+   * Only processes the visibility outputs that intersect the previous or the new visible rect when
+   * the visible rect changes, using a {@link VisibilityOutputsIndex} built once per layout.
+   */
+  public static boolean useVisibilityOutputsIndex = false;
+
   /** Set this to true to enable debug logs for the visibility extension. */
   public static boolean isDebugLoggingEnabled = false;
 }
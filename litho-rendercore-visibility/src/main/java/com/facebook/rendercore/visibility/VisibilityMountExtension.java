@@ -82,6 +82,8 @@ public class VisibilityMountExtension<Input extends VisibilityExtensionInput>
     final VisibilityMountExtensionState state = extensionState.getState();
 
     state.mVisibilityOutputs = input.getVisibilityOutputs();
+    state.mVisibilityOutputsIndex = null;
+    state.mPreviousProcessedVisibleRect.setEmpty();
     state.mRenderUnitIdsWhichHostRenderTrees = input.getRenderUnitIdsWhichHostRenderTrees();
     state.mPreviousLocalVisibleRect.setEmpty();
     state.mCurrentLocalVisibleRect = localVisibleRect;
@@ -150,6 +152,7 @@ public class VisibilityMountExtension<Input extends VisibilityExtensionInput>
   public void onUnmount(ExtensionState<VisibilityMountExtensionState> extensionState) {
     final VisibilityMountExtensionState state = extensionState.getState();
     state.mPreviousLocalVisibleRect.setEmpty();
+    state.mPreviousProcessedVisibleRect.setEmpty();
     state.mInput = null;
   }
 
@@ -166,6 +169,7 @@ public class VisibilityMountExtension<Input extends VisibilityExtensionInput>
     final VisibilityMountExtensionState state = extensionState.getState();
     clearVisibilityItemsNonincremental(extensionState.getRenderStateId(), state);
     state.mPreviousLocalVisibleRect.setEmpty();
+    state.mPreviousProcessedVisibleRect.setEmpty();
   }
 
   /** @deprecated Only used for Litho's integration. Marked for removal. */
@@ -250,9 +254,52 @@ public class VisibilityMountExtension<Input extends VisibilityExtensionInput>
 
       final boolean isTracing = RenderCoreSystrace.isTracing();
 
-      final Rect intersection = new Rect();
-      for (int j = 0; j < size; j++) {
-        final VisibilityOutput visibilityOutput = state.mVisibilityOutputs.get(j);
+      // Outputs that intersect neither the previously processed visible rect nor the new one have
+      // no events to dispatch, so the index is used to only walk the ones that might. A dirty pass
+      // still walks all the outputs, since every one of them is new.
+      final Rect previousProcessedRect = state.mPreviousProcessedVisibleRect;
+      final @Nullable VisibilityOutputsIndex index =
+          VisibilityExtensionConfigs.useVisibilityOutputsIndex && !isDirty
+              ? getOrCreateVisibilityOutputsIndex(state)
+              : null;
+      final int from;
+      final int to;
+      if (index != null) {
+        final boolean hasPreviousRect = !previousProcessedRect.isEmpty();
+        final int start =
+            hasPreviousRect
+                ? Math.min(index.getStart(previousProcessedRect), index.getStart(localVisibleRect))
+                : index.getStart(localVisibleRect);
+        final int end =
+            hasPreviousRect
+                ? Math.max(index.getEnd(previousProcessedRect), index.getEnd(localVisibleRect))
+                : index.getEnd(localVisibleRect);
+        from = index.findFirstEndAfter(start);
+        to = index.findFirstStartAtOrAfter(end);
+      } else {
+        from = 0;
+        to = size;
+      }
+
+      if (VisibilityExtensionConfigs.isDebugLoggingEnabled && index != null) {
+        Log.d(DEBUG_TAG, "Visibility Outputs in range of the visible rect: " + (to - from));
+      }
+
+      // The intersection rect is reused across passes, unless this pass was started by one of the
+      // handlers dispatched by another pass which is still using it.
+      final boolean isNestedPass = state.mIsProcessingVisibilityOutputs;
+      final Rect intersection = isNestedPass ? new Rect() : state.mIntersection;
+      state.mIsProcessingVisibilityOutputs = true;
+      for (int j = from; j < to; j++) {
+        final VisibilityOutput visibilityOutput =
+            state.mVisibilityOutputs.get(index != null ? index.getOutputIndex(j) : j);
+
+        if (index != null
+            && !hasVisibilityChanged(
+                visibilityOutput.getBounds(), previousProcessedRect, localVisibleRect)) {
+          continue;
+        }
+
         final String componentName = visibilityOutput.getKey();
 
         if (VisibilityExtensionConfigs.isDebugLoggingEnabled) {
@@ -430,6 +477,7 @@ public class VisibilityMountExtension<Input extends VisibilityExtensionInput>
           RenderCoreSystrace.endSection();
         }
       }
+      state.mIsProcessingVisibilityOutputs = isNestedPass;
     }
 
     final MountDelegate mountDelegate = extensionState.getMountDelegate();
@@ -443,6 +491,34 @@ public class VisibilityMountExtension<Input extends VisibilityExtensionInput>
     if (isDirty) {
       clearVisibilityItems(extensionState);
     }
+
+    state.mPreviousProcessedVisibleRect.set(localVisibleRect);
+  }
+
+  private static VisibilityOutputsIndex getOrCreateVisibilityOutputsIndex(
+      final VisibilityMountExtensionState state) {
+    if (state.mVisibilityOutputsIndex == null) {
+      state.mVisibilityOutputsIndex = VisibilityOutputsIndex.create(state.mVisibilityOutputs);
+    }
+    return state.mVisibilityOutputsIndex;
+  }
+
+  /**
+   * Returns false if the visibility events of an output with the given bounds can't have changed
+   * between the previously processed visible rect and the new one: either it intersects neither of
+   * them, or it was and still is fully visible and fully visible outputs are skipped anyway.
+   */
+  private static boolean hasVisibilityChanged(
+      final Rect bounds, final Rect previousVisibleRect, final Rect visibleRect) {
+    final boolean intersectsPrevious = Rect.intersects(bounds, previousVisibleRect);
+    final boolean intersects = Rect.intersects(bounds, visibleRect);
+    if (!intersectsPrevious && !intersects) {
+      return false;
+    }
+
+    return !(VisibilityExtensionConfigs.skipVisChecksForFullyVisible
+        && previousVisibleRect.contains(bounds)
+        && visibleRect.contains(bounds));
   }
 
   @NonNull
@@ -624,8 +700,13 @@ public class VisibilityMountExtension<Input extends VisibilityExtensionInput>
     // the map.
     private final Map<String, VisibilityItem> mVisibilityIdToItemMap = new HashMap<>();
     private final Rect mPreviousLocalVisibleRect = new Rect();
+    // The visible rect, after transformation, that the visibility outputs were last processed for.
+    private final Rect mPreviousProcessedVisibleRect = new Rect();
+    private final Rect mIntersection = new Rect();
+    private boolean mIsProcessingVisibilityOutputs;
 
     private List<VisibilityOutput> mVisibilityOutputs = Collections.emptyList();
+    private @Nullable VisibilityOutputsIndex mVisibilityOutputsIndex;
     private Set<Long> mRenderUnitIdsWhichHostRenderTrees = Collections.emptySet();
     private @Nullable Rect mCurrentLocalVisibleRect;
     private @Nullable VisibilityBoundsTransformer mVisibilityBoundsTransformer;
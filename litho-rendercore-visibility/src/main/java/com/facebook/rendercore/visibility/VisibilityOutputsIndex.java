@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore.visibility;
+
+import android.graphics.Rect;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, primitive copy of the bounds of the {@link VisibilityOutput}s of a layout, ordered
+ * along the axis the outputs are spread over the most. It lets {@link VisibilityMountExtension}
+ * find the outputs that intersect a visible rect with binary searches instead of walking every
+ * output on every scroll frame.
+ */
+public final class VisibilityOutputsIndex {
+
+  private final int mCount;
+  private final boolean mIsVertical;
+
+  private final int[] mOutputIndices;
+  private final int[] mStarts;
+  private final int[] mMaxEnds;
+
+  private VisibilityOutputsIndex(final List<VisibilityOutput> outputs, final boolean isVertical) {
+    final int count = outputs.size();
+    mCount = count;
+    mIsVertical = isVertical;
+
+    // Sort the positions of the outputs by their start without boxing them: the start is stored
+    // in the high bits and the position in the low bits.
+    final long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = ((long) getStart(outputs.get(i).getBounds()) << 32) | i;
+    }
+    Arrays.sort(keys);
+
+    mOutputIndices = new int[count];
+    mStarts = new int[count];
+    mMaxEnds = new int[count];
+    int maxEnd = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      final int outputIndex = (int) keys[i];
+      final Rect bounds = outputs.get(outputIndex).getBounds();
+      maxEnd = Math.max(maxEnd, getEnd(bounds));
+      mOutputIndices[i] = outputIndex;
+      mStarts[i] = getStart(bounds);
+      mMaxEnds[i] = maxEnd;
+    }
+  }
+
+  /** Creates the index along the axis the given outputs are spread over the most. */
+  public static VisibilityOutputsIndex create(final List<VisibilityOutput> outputs) {
+    int left = Integer.MAX_VALUE;
+    int top = Integer.MAX_VALUE;
+    int right = Integer.MIN_VALUE;
+    int bottom = Integer.MIN_VALUE;
+    for (int i = 0, size = outputs.size(); i < size; i++) {
+      final Rect bounds = outputs.get(i).getBounds();
+      left = Math.min(left, bounds.left);
+      top = Math.min(top, bounds.top);
+      right = Math.max(right, bounds.right);
+      bottom = Math.max(bottom, bounds.bottom);
+    }
+
+    return new VisibilityOutputsIndex(
+        outputs, outputs.isEmpty() || (long) bottom - top >= (long) right - left);
+  }
+
+  public int getCount() {
+    return mCount;
+  }
+
+  public boolean isVertical() {
+    return mIsVertical;
+  }
+
+  /** @return the position in the original list of the output at the given index. */
+  public int getOutputIndex(final int index) {
+    return mOutputIndices[index];
+  }
+
+  /** @return the start of the given rect along the axis of this index. */
+  public int getStart(final Rect rect) {
+    return mIsVertical ? rect.top : rect.left;
+  }
+
+  /** @return the end of the given rect along the axis of this index. */
+  public int getEnd(final Rect rect) {
+    return mIsVertical ? rect.bottom : rect.right;
+  }
+
+  /**
+   * @return the index of the first output that, or any output before which, ends after the given
+   *     start of the visible rect, or the count if there is none. No output before it can
+   *     intersect the visible rect.
+   */
+  public int findFirstEndAfter(final int rectStart) {
+    int low = 0;
+    int high = mCount;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (rectStart >= mMaxEnds[mid]) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the index of the first output whose start is greater than or equal to the given end of
+   *     the visible rect, or the count if there is none. No output from it on can intersect the
+   *     visible rect.
+   */
+  public int findFirstStartAtOrAfter(final int rectEnd) {
+    int low = 0;
+    int high = mCount;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (rectEnd > mStarts[mid]) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -20,19 +20,22 @@ import android.annotation.TargetApi;
 import android.app.Activity;
 import android.app.Application;
 import android.app.Service;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.ContextWrapper;
+import android.content.res.Configuration;
 import android.os.Build;
 import android.os.Bundle;
 import androidx.annotation.VisibleForTesting;
 import androidx.core.util.Pools;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
@@ -57,9 +60,13 @@ public class MountItemsPool {
 
   private static final Object sMountContentLock = new Object();
 
+  /**
+   * Pools are looked up without holding {@link #sMountContentLock}; it is only taken to create a
+   * pool or to drop the pools of a Context. Each pool is then responsible for its own locking.
+   */
   @GuardedBy("sMountContentLock")
   private static final Map<Context, Map<Object, ItemPool>> sMountContentPoolsByContext =
-      new HashMap<>(4);
+      new ConcurrentHashMap<>(4);
 
   // This Map is used as a set and the values are ignored.
   @GuardedBy("sMountContentLock")
@@ -67,6 +74,12 @@ public class MountItemsPool {
 
   private static PoolsActivityCallback sActivityCallbacks;
 
+  private static @Nullable PoolsComponentCallbacks sComponentCallbacks;
+
+  private static final AtomicLong sAcquireHitCount = new AtomicLong(0);
+  private static final AtomicLong sAcquireMissCount = new AtomicLong(0);
+  private static final AtomicLong sEvictionCount = new AtomicLong(0);
+
   /**
    * To support Gingerbread (where the registerActivityLifecycleCallbacks API doesn't exist), we
    * allow apps to explicitly invoke activity callbacks. If this is enabled we'll throw if we are
@@ -77,6 +90,16 @@ public class MountItemsPool {
   /** Should be used to disable pooling entirely for debugging, testing, and other use cases. */
   public static boolean isPoolingDisabled;
 
+  /**
+   * When enabled, a {@link DefaultItemPool} which keeps missing on acquire grows its capacity (up
+   * to {@link #sMaxAdaptivePoolSize}) instead of dropping released content, and shrinks back when
+   * the system asks the app to trim memory.
+   */
+  public static boolean isAdaptivePoolingEnabled;
+
+  /** The largest capacity an adaptive {@link DefaultItemPool} can grow to. */
+  public static int sMaxAdaptivePoolSize = 16;
+
   /** Can be used to return a custom Pool implementation for testing. */
   private static final ThreadLocal<MountItemsPool.Factory> sMountContentPoolFactory =
       new ThreadLocal<>();
@@ -92,17 +115,19 @@ public class MountItemsPool {
 
     final Object content = pool.acquire(poolableMountContent);
     if (content != null) {
+      sAcquireHitCount.incrementAndGet();
       return content;
     }
 
+    sAcquireMissCount.incrementAndGet();
     return poolableMountContent.createPoolableContent(context);
   }
 
   public static void release(
       Context context, ContentAllocator poolableMountContent, Object mountContent) {
     final ItemPool pool = getMountContentPool(context, poolableMountContent);
-    if (pool != null) {
-      pool.release(mountContent);
+    if (pool != null && !pool.release(mountContent)) {
+      sEvictionCount.incrementAndGet();
     }
   }
 
@@ -152,6 +177,15 @@ public class MountItemsPool {
       return null;
     }
 
+    final Class<?> poolableContentType = poolableMountContent.getPoolableContentType();
+    final Map<Object, ItemPool> existingPoolsMap = sMountContentPoolsByContext.get(context);
+    if (existingPoolsMap != null) {
+      final ItemPool existingPool = existingPoolsMap.get(poolableContentType);
+      if (existingPool != null) {
+        return existingPool;
+      }
+    }
+
     synchronized (sMountContentLock) {
       Map<Object, ItemPool> poolsMap = sMountContentPoolsByContext.get(context);
       if (poolsMap == null) {
@@ -161,10 +195,9 @@ public class MountItemsPool {
         }
 
         ensureActivityCallbacks(context);
-        poolsMap = new HashMap<>();
+        poolsMap = new ConcurrentHashMap<>();
         sMountContentPoolsByContext.put(context, poolsMap);
       }
-      final Class<?> poolableContentType = poolableMountContent.getPoolableContentType();
 
       ItemPool pool = poolsMap.get(poolableContentType);
       if (pool == null) {
@@ -190,6 +223,57 @@ public class MountItemsPool {
     }
   }
 
+  /**
+   * Releases pooled content in response to {@link ComponentCallbacks2#onTrimMemory(int)}. Adaptive
+   * pools shrink back to their initial capacity when the app is backgrounded or memory is running
+   * low, and every pool is dropped when memory is critical.
+   */
+  public static void onTrimMemory(int level) {
+    if (level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL
+        || level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE) {
+      synchronized (sMountContentLock) {
+        for (Map<Object, ItemPool> poolsMap : sMountContentPoolsByContext.values()) {
+          for (ItemPool pool : poolsMap.values()) {
+            if (pool instanceof DefaultItemPool) {
+              sEvictionCount.addAndGet(((DefaultItemPool) pool).trimToSize(0));
+            }
+          }
+        }
+        sMountContentPoolsByContext.clear();
+      }
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+      for (Map<Object, ItemPool> poolsMap : sMountContentPoolsByContext.values()) {
+        for (ItemPool pool : poolsMap.values()) {
+          if (pool instanceof DefaultItemPool) {
+            sEvictionCount.addAndGet(((DefaultItemPool) pool).resetCapacity());
+          }
+        }
+      }
+    }
+  }
+
+  /** @return the number of acquired content which was served from a pool. */
+  public static long getAcquireHitCount() {
+    return sAcquireHitCount.get();
+  }
+
+  /** @return the number of acquired content which had to be created because its pool was empty. */
+  public static long getAcquireMissCount() {
+    return sAcquireMissCount.get();
+  }
+
+  /** @return the number of released content dropped because its pool was full or trimmed. */
+  public static long getEvictionCount() {
+    return sEvictionCount.get();
+  }
+
+  @VisibleForTesting
+  public static void resetCounters() {
+    sAcquireHitCount.set(0);
+    sAcquireMissCount.set(0);
+    sEvictionCount.set(0);
+  }
+
   @VisibleForTesting
   public static void setMountContentPoolFactory(@Nullable final MountItemsPool.Factory factory) {
     sMountContentPoolFactory.set(factory);
@@ -237,6 +321,37 @@ public class MountItemsPool {
       ((Application) context.getApplicationContext())
           .registerActivityLifecycleCallbacks(sActivityCallbacks);
     }
+
+    if (sComponentCallbacks == null) {
+      sComponentCallbacks = new PoolsComponentCallbacks();
+      context.getApplicationContext().registerComponentCallbacks(sComponentCallbacks);
+    }
+  }
+
+  /**
+   * Forwards memory pressure signals to {@link #onTrimMemory(int)} when {@link
+   * #isAdaptivePoolingEnabled} is set, so that pools are left untouched by default.
+   */
+  private static class PoolsComponentCallbacks implements ComponentCallbacks2 {
+
+    @Override
+    public void onTrimMemory(int level) {
+      if (isAdaptivePoolingEnabled) {
+        MountItemsPool.onTrimMemory(level);
+      }
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+      // Do nothing.
+    }
+
+    @Override
+    public void onLowMemory() {
+      if (isAdaptivePoolingEnabled) {
+        MountItemsPool.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+      }
+    }
   }
 
   /** Empty implementation of the {@link Application.ActivityLifecycleCallbacks} interface */
@@ -371,11 +486,13 @@ public class MountItemsPool {
 
   public static class DefaultItemPool implements ItemPool {
 
-    private final Pools.Pool<Object> mPool;
+    private Pools.Pool<Object> mPool;
     private Object mDebugIdentifier;
     private final boolean mIsSync;
     private final AtomicInteger mCurrentPoolSize = new AtomicInteger(0);
-    private final int mMaxPoolSize;
+    private final int mInitialPoolSize;
+    private int mMaxPoolSize;
+    private int mMissesSinceResize;
     private final Object mLock = new Object();
 
     public DefaultItemPool(Class<?> poolableContentType, int maxPoolSize) {
@@ -388,10 +505,10 @@ public class MountItemsPool {
      */
     @Deprecated
     public DefaultItemPool(Class<?> poolableContentType, int maxPoolSize, boolean isSync) {
-      mPool =
-          isSync ? new Pools.SynchronizedPool<>(maxPoolSize) : new Pools.SimplePool<>(maxPoolSize);
       mIsSync = isSync;
+      mInitialPoolSize = maxPoolSize;
       mMaxPoolSize = maxPoolSize;
+      mPool = createPool(maxPoolSize);
       mDebugIdentifier = poolableContentType.getName();
     }
 
@@ -430,8 +547,53 @@ public class MountItemsPool {
       return false;
     }
 
+    /** @return the current capacity of this pool. */
+    public int getMaxPoolSize() {
+      return mMaxPoolSize;
+    }
+
+    /**
+     * Drops pooled content until at most {@code size} items are left.
+     *
+     * @return the number of dropped items.
+     */
+    int trimToSize(int size) {
+      if (mIsSync) {
+        synchronized (mLock) {
+          return dropFromPool(size);
+        }
+      } else {
+        return dropFromPool(size);
+      }
+    }
+
+    /**
+     * Shrinks the capacity of this pool back to the size it was created with.
+     *
+     * @return the number of dropped items.
+     */
+    int resetCapacity() {
+      if (mIsSync) {
+        synchronized (mLock) {
+          return resize(mInitialPoolSize);
+        }
+      } else {
+        return resize(mInitialPoolSize);
+      }
+    }
+
+    private Pools.Pool<Object> createPool(int maxPoolSize) {
+      return mIsSync
+          ? new Pools.SynchronizedPool<>(maxPoolSize)
+          : new Pools.SimplePool<>(maxPoolSize);
+    }
+
     private boolean addToPool(Object item) {
       boolean releasedIntoPool = mPool.release(item);
+      if (!releasedIntoPool && shouldGrow()) {
+        resize(Math.min(mMaxPoolSize * 2, sMaxAdaptivePoolSize));
+        releasedIntoPool = mPool.release(item);
+      }
       if (releasedIntoPool) {
         mCurrentPoolSize.incrementAndGet();
       }
@@ -443,8 +605,45 @@ public class MountItemsPool {
       Object content = mPool.acquire();
       if (content != null) {
         mCurrentPoolSize.decrementAndGet();
+      } else if (isAdaptivePoolingEnabled) {
+        mMissesSinceResize++;
       }
       return content;
     }
+
+    /**
+     * The pool grows when it is full but, since it last changed size, it has missed as many
+     * acquires as it can hold: the content released now would likely have been used.
+     */
+    private boolean shouldGrow() {
+      return isAdaptivePoolingEnabled
+          && mMaxPoolSize < sMaxAdaptivePoolSize
+          && mMissesSinceResize >= mMaxPoolSize;
+    }
+
+    private int resize(int maxPoolSize) {
+      final Pools.Pool<Object> pool = createPool(maxPoolSize);
+      int dropped = 0;
+      Object item;
+      while ((item = mPool.acquire()) != null) {
+        if (!pool.release(item)) {
+          dropped++;
+        }
+      }
+      mPool = pool;
+      mMaxPoolSize = maxPoolSize;
+      mMissesSinceResize = 0;
+      mCurrentPoolSize.addAndGet(-dropped);
+      return dropped;
+    }
+
+    private int dropFromPool(int size) {
+      int dropped = 0;
+      while (mCurrentPoolSize.get() > size && mPool.acquire() != null) {
+        mCurrentPoolSize.decrementAndGet();
+        dropped++;
+      }
+      return dropped;
+    }
   }
 }
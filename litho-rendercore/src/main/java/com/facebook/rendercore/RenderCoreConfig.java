@@ -38,4 +38,13 @@ public class RenderCoreConfig {
   public static boolean shouldClearRenderTreeOnUnmountAll = false;
 
   public static int drawableCacheSize = 100;
+
+  /**
+   * Enabling this will share text {@link android.text.Layout}s between measurements of the same
+   * text with the same style and width constraint through {@link TextLayoutCache}.
+   */
+  public static boolean enableTextLayoutCache = false;
+
+  /** The maximum number of layouts kept by {@link TextLayoutCache}. */
+  public static int textLayoutCacheSize = 200;
 }
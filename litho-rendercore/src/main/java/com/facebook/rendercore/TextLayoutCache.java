@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore;
+
+import static android.os.Process.THREAD_PRIORITY_BACKGROUND;
+import static android.os.Process.THREAD_PRIORITY_LOWEST;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.text.Layout;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.collection.LruCache;
+import com.facebook.infer.annotation.Nullsafe;
+import java.util.Arrays;
+
+/**
+ * A process wide, size bounded cache of text {@link Layout}s. Building a {@link Layout} is the most
+ * expensive part of measuring text, and the same text is often measured with the same style and
+ * width constraint many times (e.g. the same label in every row of a list, or re-measures of an
+ * unchanged item).
+ *
+ * <p>Cached layouts are shared between every mounted drawable that uses them, so only layouts that
+ * are never mutated after being built may be cached. See {@link #isCacheable(CharSequence)}.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class TextLayoutCache {
+
+  private static final String TAG = TextLayoutCache.class.getName();
+
+  private static final int PREWARM_THREAD_PRIORITY =
+      (THREAD_PRIORITY_BACKGROUND + THREAD_PRIORITY_LOWEST) / 2;
+
+  private static @Nullable LruCache<Key, Layout> sCache;
+  private static @Nullable Handler sPrewarmHandler;
+
+  /** Creates the {@link Layout} for a cache miss or a pre-warm request. */
+  public interface LayoutFactory {
+    Layout createLayout();
+  }
+
+  private TextLayoutCache() {}
+
+  public static boolean isEnabled() {
+    return RenderCoreConfig.enableTextLayoutCache;
+  }
+
+  /**
+   * Returns whether a layout of the given text may be shared. Spanned text is excluded: spans are
+   * mutable, may be stateful (e.g. clickable or image spans bound to a mounted view) and don't
+   * implement value equality on all API levels.
+   */
+  public static boolean isCacheable(CharSequence text) {
+    return text instanceof String;
+  }
+
+  public static @Nullable Layout get(Key key) {
+    if (!isEnabled()) {
+      return null;
+    }
+    return getCache().get(key);
+  }
+
+  public static void put(Key key, Layout layout) {
+    if (!isEnabled()) {
+      return;
+    }
+    getCache().put(key, layout);
+  }
+
+  /**
+   * Returns the cached layout for the key, or creates one with the factory and caches it. Two
+   * threads missing on the same key concurrently both build a layout; the last one wins, which is
+   * harmless since both are equivalent.
+   */
+  public static Layout getOrCreate(Key key, LayoutFactory factory) {
+    Layout layout = get(key);
+    if (layout == null) {
+      layout = factory.createLayout();
+      put(key, layout);
+    }
+    return layout;
+  }
+
+  /**
+   * Schedules a layout to be built on a low priority background thread and then drawn into a
+   * {@link Picture} to warm up the glyph cache. The factory is expected to go through {@link
+   * #getOrCreate(Key, LayoutFactory)} so that the measure pass of an upcoming item is a cache hit.
+   * No-op when the cache is disabled.
+   */
+  public static void prewarm(final LayoutFactory factory) {
+    if (!isEnabled()) {
+      return;
+    }
+    getPrewarmHandler()
+        .post(
+            new Runnable() {
+              @Override
+              public void run() {
+                try {
+                  final Layout layout = factory.createLayout();
+                  final Picture picture = new Picture();
+                  final Canvas canvas =
+                      picture.beginRecording(layout.getWidth(), Math.max(layout.getHeight(), 1));
+                  layout.draw(canvas);
+                  picture.endRecording();
+                } catch (Exception e) {
+                  // Nothing to do here. This is a best effort. No real problem if it fails.
+                }
+              }
+            });
+  }
+
+  public static void clear() {
+    final LruCache<Key, Layout> cache = sCache;
+    if (cache != null) {
+      cache.evictAll();
+    }
+  }
+
+  public static int size() {
+    final LruCache<Key, Layout> cache = sCache;
+    return cache != null ? cache.size() : 0;
+  }
+
+  private static synchronized LruCache<Key, Layout> getCache() {
+    if (sCache == null) {
+      sCache = new LruCache<>(Math.max(RenderCoreConfig.textLayoutCacheSize, 1));
+    }
+    return sCache;
+  }
+
+  @VisibleForTesting
+  static synchronized Handler getPrewarmHandler() {
+    if (sPrewarmHandler == null) {
+      final HandlerThread handlerThread = new HandlerThread(TAG, PREWARM_THREAD_PRIORITY);
+      handlerThread.start();
+      sPrewarmHandler = new Handler(handlerThread.getLooper());
+    }
+    return sPrewarmHandler;
+  }
+
+  /**
+   * Identifies a text layout by every input that affects it. Primitive inputs are packed into an
+   * int array to avoid boxing; everything else is compared with {@link Object#equals(Object)}.
+   */
+  public static final class Key {
+
+    private final int[] mInts;
+    private final @Nullable Object[] mObjects;
+    private final int mHashCode;
+
+    private Key(int[] ints, @Nullable Object[] objects) {
+      mInts = ints;
+      mObjects = objects;
+      mHashCode = 31 * Arrays.hashCode(ints) + Arrays.hashCode(objects);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) o;
+      return mHashCode == other.mHashCode
+          && Arrays.equals(mInts, other.mInts)
+          && Arrays.equals(mObjects, other.mObjects);
+    }
+
+    @Override
+    public int hashCode() {
+      return mHashCode;
+    }
+
+    public static final class Builder {
+
+      private int[] mInts = new int[32];
+      private int mIntCount;
+      private @Nullable Object[] mObjects = new Object[8];
+      private int mObjectCount;
+
+      public Builder add(int value) {
+        if (mIntCount == mInts.length) {
+          mInts = Arrays.copyOf(mInts, mIntCount * 2);
+        }
+        mInts[mIntCount++] = value;
+        return this;
+      }
+
+      public Builder add(float value) {
+        return add(Float.floatToIntBits(value));
+      }
+
+      public Builder add(boolean value) {
+        return add(value ? 1 : 0);
+      }
+
+      public Builder add(@Nullable Object value) {
+        if (mObjectCount == mObjects.length) {
+          mObjects = Arrays.copyOf(mObjects, mObjectCount * 2);
+        }
+        mObjects[mObjectCount++] = value;
+        return this;
+      }
+
+      public Key build() {
+        return new Key(Arrays.copyOf(mInts, mIntCount), Arrays.copyOf(mObjects, mObjectCount));
+      }
+    }
+  }
+}
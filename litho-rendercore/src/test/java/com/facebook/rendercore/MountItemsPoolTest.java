@@ -19,6 +19,7 @@ package com.facebook.rendercore;
 import static org.assertj.core.api.Java6Assertions.assertThat;
 
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.view.View;
 import androidx.annotation.Nullable;
@@ -48,6 +49,7 @@ public class MountItemsPoolTest {
   @After
   public void cleanup() {
     MountItemsPool.setMountContentPoolFactory(null);
+    MountItemsPool.isAdaptivePoolingEnabled = false;
   }
 
   @Test
@@ -194,6 +196,51 @@ public class MountItemsPoolTest {
     assertThat(thirdContent).isNotSameAs(secondContent);
   }
 
+  @Test
+  public void testAdaptivePoolGrowsAfterMissesAndShrinksOnTrimMemory() {
+    MountItemsPool.isAdaptivePoolingEnabled = true;
+    MountItemsPool.resetCounters();
+    final TestRenderUnit testRenderUnit = new TestRenderUnit(/*id*/ 0, /*customPoolSize*/ 2);
+
+    final Object[] contents = new Object[4];
+    for (int i = 0; i < contents.length; i++) {
+      contents[i] = MountItemsPool.acquireMountContent(mContext, testRenderUnit);
+    }
+    for (Object content : contents) {
+      MountItemsPool.release(mContext, testRenderUnit, content);
+    }
+
+    // All 4 acquires missed, so the pool grew instead of dropping the released content.
+    assertThat(MountItemsPool.getAcquireMissCount()).isEqualTo(4);
+    assertThat(MountItemsPool.getEvictionCount()).isEqualTo(0);
+
+    for (int i = 0; i < contents.length; i++) {
+      MountItemsPool.acquireMountContent(mContext, testRenderUnit);
+    }
+    assertThat(testRenderUnit.getCreatedCount()).isEqualTo(4);
+    assertThat(MountItemsPool.getAcquireHitCount()).isEqualTo(4);
+
+    for (Object content : contents) {
+      MountItemsPool.release(mContext, testRenderUnit, content);
+    }
+    MountItemsPool.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+    assertThat(MountItemsPool.getEvictionCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testPoolIsDroppedOnCriticalTrimMemory() {
+    final TestRenderUnit testRenderUnit = new TestRenderUnit(0);
+
+    final Object content1 = MountItemsPool.acquireMountContent(mContext, testRenderUnit);
+    MountItemsPool.release(mContext, testRenderUnit, content1);
+
+    MountItemsPool.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+
+    final Object content2 = MountItemsPool.acquireMountContent(mContext, testRenderUnit);
+    assertThat(content2).isNotSameAs(content1);
+  }
+
   public static final class TestRenderUnit extends RenderUnit<View>
       implements ContentAllocator<View> {
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import android.text.Layout;
+import android.text.SpannableString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class TextLayoutCacheTest {
+
+  @Before
+  public void setup() {
+    RenderCoreConfig.enableTextLayoutCache = true;
+    TextLayoutCache.clear();
+  }
+
+  @After
+  public void cleanup() {
+    TextLayoutCache.clear();
+    RenderCoreConfig.enableTextLayoutCache = false;
+  }
+
+  @Test
+  public void keysWithSameInputs_areEqual() {
+    final TextLayoutCache.Key first = createKey("Hello", 100, 1.5f);
+    final TextLayoutCache.Key second = createKey("Hello", 100, 1.5f);
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+  }
+
+  @Test
+  public void keysWithDifferentInputs_areNotEqual() {
+    final TextLayoutCache.Key key = createKey("Hello", 100, 1.5f);
+
+    assertThat(key).isNotEqualTo(createKey("World", 100, 1.5f));
+    assertThat(key).isNotEqualTo(createKey("Hello", 200, 1.5f));
+    assertThat(key).isNotEqualTo(createKey("Hello", 100, 2f));
+  }
+
+  @Test
+  public void keysWithManyInputs_growBuilderStorage() {
+    final TextLayoutCache.Key.Builder first = new TextLayoutCache.Key.Builder();
+    final TextLayoutCache.Key.Builder second = new TextLayoutCache.Key.Builder();
+    for (int i = 0; i < 100; i++) {
+      first.add(i).add("part" + i);
+      second.add(i).add("part" + i);
+    }
+
+    assertThat(first.build()).isEqualTo(second.build());
+  }
+
+  @Test
+  public void getOrCreate_onHit_returnsCachedLayout() {
+    final Layout layout = mock(Layout.class);
+    final CountingFactory factory = new CountingFactory(layout);
+
+    assertThat(TextLayoutCache.getOrCreate(createKey("Hello", 100, 1f), factory)).isSameAs(layout);
+    assertThat(TextLayoutCache.getOrCreate(createKey("Hello", 100, 1f), factory)).isSameAs(layout);
+
+    assertThat(factory.mCreateCount).isEqualTo(1);
+    assertThat(TextLayoutCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void getOrCreate_whenDisabled_alwaysCreates() {
+    RenderCoreConfig.enableTextLayoutCache = false;
+    final CountingFactory factory = new CountingFactory(mock(Layout.class));
+
+    TextLayoutCache.getOrCreate(createKey("Hello", 100, 1f), factory);
+    TextLayoutCache.getOrCreate(createKey("Hello", 100, 1f), factory);
+
+    assertThat(factory.mCreateCount).isEqualTo(2);
+    assertThat(TextLayoutCache.get(createKey("Hello", 100, 1f))).isNull();
+  }
+
+  @Test
+  public void isCacheable_onlyAcceptsPlainStrings() {
+    assertThat(TextLayoutCache.isCacheable("Hello")).isTrue();
+    assertThat(TextLayoutCache.isCacheable(new SpannableString("Hello"))).isFalse();
+  }
+
+  private static TextLayoutCache.Key createKey(String text, int widthSpec, float density) {
+    return new TextLayoutCache.Key.Builder().add(text).add(widthSpec).add(density).build();
+  }
+
+  private static class CountingFactory implements TextLayoutCache.LayoutFactory {
+    private final Layout mLayout;
+    private int mCreateCount;
+
+    CountingFactory(Layout layout) {
+      mLayout = layout;
+    }
+
+    @Override
+    public Layout createLayout() {
+      mCreateCount++;
+      return mLayout;
+    }
+  }
+}
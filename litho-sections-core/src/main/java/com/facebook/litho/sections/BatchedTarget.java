@@ -33,6 +33,11 @@ import java.util.Locale;
  * <p>We can't use that callback directly because {@link
  * com.facebook.litho.sections.SectionTree.Target} expects us to pass in {@link RenderInfo} with the
  * insert/update/remove calls.
+ *
+ * <p>When {@code coalesceOperations} is enabled the pending operation is also extended by range
+ * operations and by inserts anywhere inside or adjacent to a pending insert, updates of a pending
+ * insert are folded into it, and deletes of a pending insert cancel it, so that only the minimal
+ * set of operations reaches the wrapped target.
  */
 class BatchedTarget implements SectionTree.Target {
 
@@ -41,39 +46,64 @@ class BatchedTarget implements SectionTree.Target {
 
   private final SectionTree.Target mTarget;
   private final SparseArray<RenderInfo> mComponentInfoSparseArray = new SparseArray<>();
+  private final ArrayList<RenderInfo> mPendingInsertInfos = new ArrayList<>();
   private final SectionsDebugLogger mSectionsDebugLogger;
   private final String mSectionTreeTag;
+  private final boolean mCoalesceOperations;
 
   private int mLastEventType = TYPE_NONE;
   private int mLastEventPosition = -1;
   private int mLastEventCount = -1;
 
   BatchedTarget(SectionTree.Target target, SectionsDebugLogger sectionsDebugLogger, String tag) {
+    this(target, sectionsDebugLogger, tag, false);
+  }
+
+  BatchedTarget(
+      SectionTree.Target target,
+      SectionsDebugLogger sectionsDebugLogger,
+      String tag,
+      boolean coalesceOperations) {
     mTarget = target;
     mSectionsDebugLogger = sectionsDebugLogger;
     mSectionTreeTag = tag;
+    mCoalesceOperations = coalesceOperations;
   }
 
   @Override
   public void insert(int index, RenderInfo renderInfo) {
-    if (mLastEventType == Change.INSERT
-        && index >= mLastEventPosition
-        && index <= mLastEventPosition + mLastEventCount
-        && !(index < mLastEventPosition + mLastEventCount)) {
+    if (mLastEventType == Change.INSERT && index == mLastEventPosition + mLastEventCount) {
       mLastEventCount++;
-      mLastEventPosition = Math.min(index, mLastEventPosition);
-      mComponentInfoSparseArray.put(index, renderInfo);
+      mPendingInsertInfos.add(renderInfo);
+      return;
+    }
+    if (mCoalesceOperations && isInsideOrAdjacentToPendingInsert(index)) {
+      mLastEventCount++;
+      mPendingInsertInfos.add(index - mLastEventPosition, renderInfo);
       return;
     }
     dispatchLastEvent();
     mLastEventPosition = index;
     mLastEventCount = 1;
     mLastEventType = Change.INSERT;
-    mComponentInfoSparseArray.put(index, renderInfo);
+    mPendingInsertInfos.add(renderInfo);
   }
 
   @Override
   public void insertRange(int index, int count, List<RenderInfo> renderInfos) {
+    if (mCoalesceOperations) {
+      if (isInsideOrAdjacentToPendingInsert(index)) {
+        mLastEventCount += count;
+        mPendingInsertInfos.addAll(index - mLastEventPosition, renderInfos);
+        return;
+      }
+      dispatchLastEvent();
+      mLastEventPosition = index;
+      mLastEventCount = count;
+      mLastEventType = Change.INSERT;
+      mPendingInsertInfos.addAll(renderInfos);
+      return;
+    }
     dispatchLastEvent();
     mTarget.insertRange(index, count, renderInfos);
     if (ENABLE_LOGGER) {
@@ -83,6 +113,10 @@ class BatchedTarget implements SectionTree.Target {
 
   @Override
   public void update(int index, RenderInfo renderInfo) {
+    if (mCoalesceOperations && isInsidePendingInsert(index, 1)) {
+      mPendingInsertInfos.set(index - mLastEventPosition, renderInfo);
+      return;
+    }
     if (mLastEventType == Change.UPDATE
         && !(index > mLastEventPosition + mLastEventCount || index + 1 < mLastEventPosition)) {
       // take potential overlap into account
@@ -101,6 +135,29 @@ class BatchedTarget implements SectionTree.Target {
 
   @Override
   public void updateRange(int index, int count, List<RenderInfo> renderInfos) {
+    if (mCoalesceOperations) {
+      if (isInsidePendingInsert(index, count)) {
+        for (int i = 0; i < count; i++) {
+          mPendingInsertInfos.set(index - mLastEventPosition + i, renderInfos.get(i));
+        }
+        return;
+      }
+      if (mLastEventType != Change.UPDATE
+          || index > mLastEventPosition + mLastEventCount
+          || index + count < mLastEventPosition) {
+        dispatchLastEvent();
+        mLastEventPosition = index;
+        mLastEventCount = 0;
+        mLastEventType = Change.UPDATE;
+      }
+      final int previousEnd = mLastEventPosition + mLastEventCount;
+      mLastEventPosition = Math.min(index, mLastEventPosition);
+      mLastEventCount = Math.max(previousEnd, index + count) - mLastEventPosition;
+      for (int i = 0; i < count; i++) {
+        mComponentInfoSparseArray.put(index + i, renderInfos.get(i));
+      }
+      return;
+    }
     dispatchLastEvent();
     mTarget.updateRange(index, count, renderInfos);
     if (ENABLE_LOGGER) {
@@ -110,6 +167,10 @@ class BatchedTarget implements SectionTree.Target {
 
   @Override
   public void delete(int index) {
+    if (mCoalesceOperations && isInsidePendingInsert(index, 1)) {
+      cancelPendingInserts(index, 1);
+      return;
+    }
     if (mLastEventType == Change.DELETE
         && mLastEventPosition >= index
         && mLastEventPosition <= index + 1) {
@@ -125,6 +186,24 @@ class BatchedTarget implements SectionTree.Target {
 
   @Override
   public void deleteRange(int index, int count) {
+    if (mCoalesceOperations) {
+      if (isInsidePendingInsert(index, count)) {
+        cancelPendingInserts(index, count);
+        return;
+      }
+      if (mLastEventType == Change.DELETE
+          && mLastEventPosition >= index
+          && mLastEventPosition <= index + count) {
+        mLastEventCount += count;
+        mLastEventPosition = index;
+        return;
+      }
+      dispatchLastEvent();
+      mLastEventPosition = index;
+      mLastEventCount = count;
+      mLastEventType = Change.DELETE;
+      return;
+    }
     dispatchLastEvent();
     mTarget.deleteRange(index, count);
   }
@@ -183,24 +262,57 @@ class BatchedTarget implements SectionTree.Target {
     mTarget.changeConfig(dynamicConfig);
   }
 
+  private boolean isInsideOrAdjacentToPendingInsert(int index) {
+    return mLastEventType == Change.INSERT
+        && index >= mLastEventPosition
+        && index <= mLastEventPosition + mLastEventCount;
+  }
+
+  private boolean isInsidePendingInsert(int index, int count) {
+    return mLastEventType == Change.INSERT
+        && index >= mLastEventPosition
+        && index + count <= mLastEventPosition + mLastEventCount;
+  }
+
+  /**
+   * Removes items that were inserted by the pending insert before the target got to see them, so
+   * that neither the insert nor the delete is dispatched.
+   */
+  private void cancelPendingInserts(int index, int count) {
+    final int start = index - mLastEventPosition;
+    mPendingInsertInfos.subList(start, start + count).clear();
+    mLastEventCount -= count;
+    if (mLastEventCount == 0) {
+      mLastEventType = TYPE_NONE;
+    }
+  }
+
+  private boolean hasPendingRenderInfos() {
+    return mComponentInfoSparseArray.size() != 0 || !mPendingInsertInfos.isEmpty();
+  }
+
+  private RenderInfo getPendingRenderInfo(int index) {
+    if (isInsidePendingInsert(index, 1)) {
+      return mPendingInsertInfos.get(index - mLastEventPosition);
+    }
+    return mComponentInfoSparseArray.get(index);
+  }
+
   private void maybeLogRequestFocusWithOffset(int index, int offset) {
-    if (ENABLE_LOGGER && mComponentInfoSparseArray.size() != 0) {
+    if (ENABLE_LOGGER && hasPendingRenderInfos()) {
       mSectionsDebugLogger.logRequestFocusWithOffset(
           mSectionTreeTag,
           index,
           offset,
-          mComponentInfoSparseArray.get(index),
+          getPendingRenderInfo(index),
           Thread.currentThread().getName());
     }
   }
 
   private void maybeLogRequestFocus(int index) {
-    if (ENABLE_LOGGER && mComponentInfoSparseArray.size() != 0) {
+    if (ENABLE_LOGGER && hasPendingRenderInfos()) {
       mSectionsDebugLogger.logRequestFocus(
-          mSectionTreeTag,
-          index,
-          mComponentInfoSparseArray.get(index),
-          Thread.currentThread().getName());
+          mSectionTreeTag, index, getPendingRenderInfo(index), Thread.currentThread().getName());
     }
   }
 
@@ -210,20 +322,19 @@ class BatchedTarget implements SectionTree.Target {
     }
     switch (mLastEventType) {
       case Change.INSERT:
-        List<RenderInfo> renderInfosInsert =
-            collectComponentInfos(mLastEventPosition, mLastEventCount, mComponentInfoSparseArray);
+        List<RenderInfo> renderInfosInsert = new ArrayList<>(mPendingInsertInfos);
         if (mLastEventCount > 1) {
           mTarget.insertRange(mLastEventPosition, mLastEventCount, renderInfosInsert);
           if (ENABLE_LOGGER) {
             logInsertIterative(mLastEventPosition, renderInfosInsert);
           }
         } else {
-          mTarget.insert(mLastEventPosition, mComponentInfoSparseArray.get(mLastEventPosition));
+          mTarget.insert(mLastEventPosition, renderInfosInsert.get(0));
           if (ENABLE_LOGGER) {
             mSectionsDebugLogger.logInsert(
                 mSectionTreeTag,
                 mLastEventPosition,
-                mComponentInfoSparseArray.get(mLastEventPosition),
+                renderInfosInsert.get(0),
                 Thread.currentThread().getName());
           }
         }
@@ -266,6 +377,7 @@ class BatchedTarget implements SectionTree.Target {
     }
     mLastEventType = TYPE_NONE;
     mComponentInfoSparseArray.clear();
+    mPendingInsertInfos.clear();
   }
 
   private static List<RenderInfo> collectComponentInfos(
@@ -26,6 +26,9 @@ import com.facebook.litho.sections.logger.SectionsDebugLogger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 /**
  * ChangeSetState is responsible to generate a global ChangeSet between two {@link Section}s trees.
@@ -34,6 +37,9 @@ public class ChangeSetState {
 
   private static final List<Section> sEmptyList = new ArrayList<>();
 
+  /** Below this many children, handing them to an executor costs more than it saves. */
+  private static final int MIN_CONCURRENT_CHILDREN = 2;
+
   private final @Nullable Section mCurrentRoot;
   private final @Nullable Section mNewRoot;
   private final ChangeSet mChangeSet;
@@ -65,6 +71,35 @@ public class ChangeSetState {
       String currentPrefix,
       String nextPrefix,
       boolean enableStats) {
+    return generateChangeSet(
+        sectionContext,
+        currentRoot,
+        newRoot,
+        sectionsDebugLogger,
+        sectionTreeTag,
+        currentPrefix,
+        nextPrefix,
+        enableStats,
+        null);
+  }
+
+  /**
+   * Same as {@link #generateChangeSet(SectionContext, Section, Section, SectionsDebugLogger,
+   * String, String, String, boolean)}, but the {@link ChangeSet}s of sibling sections are
+   * generated concurrently on the given {@link Executor} when it is not null. The calling thread
+   * takes part in the work, and the results are merged in the same order as when they are generated
+   * serially.
+   */
+  static ChangeSetState generateChangeSet(
+      SectionContext sectionContext,
+      @Nullable Section currentRoot,
+      @Nullable Section newRoot,
+      SectionsDebugLogger sectionsDebugLogger,
+      String sectionTreeTag,
+      String currentPrefix,
+      String nextPrefix,
+      boolean enableStats,
+      @Nullable Executor executor) {
     final ArrayList<Section> removedComponents = new ArrayList<>();
     final ChangeSet changeSet;
     if (currentRoot != null
@@ -81,7 +116,8 @@ public class ChangeSetState {
               currentPrefix,
               nextPrefix,
               Thread.currentThread().getName(),
-              enableStats);
+              enableStats,
+              executor);
 
       ChangeSet add =
           generateChangeSetRecursive(
@@ -94,7 +130,8 @@ public class ChangeSetState {
               currentPrefix,
               nextPrefix,
               Thread.currentThread().getName(),
-              enableStats);
+              enableStats,
+              executor);
       changeSet = ChangeSet.merge(remove, add);
     } else {
       changeSet =
@@ -108,7 +145,8 @@ public class ChangeSetState {
               currentPrefix,
               nextPrefix,
               Thread.currentThread().getName(),
-              enableStats);
+              enableStats,
+              executor);
     }
 
     final ChangeSetState changeSetState =
@@ -127,7 +165,8 @@ public class ChangeSetState {
       String currentPrefix,
       String newPrefix,
       String thread,
-      boolean enableStats) {
+      boolean enableStats,
+      @Nullable Executor executor) {
 
     boolean currentRootIsNull = currentRoot == null;
     boolean newRootIsNull = newRoot == null;
@@ -289,7 +328,8 @@ public class ChangeSetState {
             updateCurrentPrefix,
             updateNewPrefix,
             thread,
-            enableStats);
+            enableStats,
+            executor);
 
     for (int i = 0, size = changeSets.size(); i < size; i++) {
       ChangeSet changeSet = changeSets.valueAt(i);
@@ -323,8 +363,13 @@ public class ChangeSetState {
       String currentPrefix,
       String newPrefix,
       String thread,
-      boolean enableStats) {
-    final SparseArray<ChangeSet> changeSets = new SparseArray<>();
+      boolean enableStats,
+      @Nullable Executor executor) {
+    // Each child's ChangeSet only depends on that child, so they are all generated first and then
+    // merged into the slot of the matching child of currentRoot, always in the same order.
+    final List<Section> currentJobs = new ArrayList<>();
+    final List<Section> newJobs = new ArrayList<>();
+    final List<Integer> jobSlots = new ArrayList<>();
 
     // Find removed current children.
     for (int i = 0; i < currentChildrenList.size(); i++) {
@@ -332,21 +377,12 @@ public class ChangeSetState {
       final Section currentChild = currentChildrenList.get(i);
 
       if (newChildren.get(key) == null) {
-        changeSets.put(
-            i,
-            generateChangeSetRecursive(
-                sectionContext,
-                currentChild,
-                null,
-                removedComponents,
-                sectionsDebugLogger,
-                sectionTreeTag,
-                currentPrefix,
-                newPrefix,
-                thread,
-                enableStats));
+        currentJobs.add(currentChild);
+        newJobs.add(null);
+        jobSlots.add(i);
       }
     }
+    final int removedJobsCount = currentJobs.size();
 
     int activeChildIndex = 0;
     for (int i = 0; i < newChildrenList.size(); i++) {
@@ -354,47 +390,140 @@ public class ChangeSetState {
       final Pair<Section, Integer> valueAndPosition = currentChildren.get(newChild.getGlobalKey());
       final int currentChildIndex = valueAndPosition != null ? valueAndPosition.second : -1;
 
-      // New child was added.
       if (currentChildIndex < 0) {
-        final ChangeSet currentChangeSet = changeSets.get(activeChildIndex);
-        final ChangeSet changeSet =
-            generateChangeSetRecursive(
-                sectionContext,
-                null,
-                newChild,
-                removedComponents,
-                sectionsDebugLogger,
-                sectionTreeTag,
-                currentPrefix,
-                newPrefix,
-                thread,
-                enableStats);
-
-        changeSets.put(activeChildIndex, ChangeSet.merge(currentChangeSet, changeSet));
+        // New child was added.
+        currentJobs.add(null);
       } else {
         activeChildIndex = currentChildIndex;
+        currentJobs.add(currentChildrenList.get(currentChildIndex));
+      }
+      newJobs.add(newChild);
+      jobSlots.add(activeChildIndex);
+    }
 
-        final ChangeSet currentChangeSet = changeSets.get(activeChildIndex);
-        final ChangeSet changeSet =
+    final ChangeSet[] childChangeSets;
+    if (executor != null && currentJobs.size() >= MIN_CONCURRENT_CHILDREN) {
+      childChangeSets =
+          generateChildChangeSetsConcurrently(
+              executor,
+              sectionContext,
+              currentJobs,
+              newJobs,
+              removedComponents,
+              sectionsDebugLogger,
+              sectionTreeTag,
+              currentPrefix,
+              newPrefix,
+              thread,
+              enableStats);
+    } else {
+      childChangeSets = new ChangeSet[currentJobs.size()];
+      for (int i = 0; i < childChangeSets.length; i++) {
+        childChangeSets[i] =
             generateChangeSetRecursive(
                 sectionContext,
-                currentChildrenList.get(currentChildIndex),
-                newChild,
+                currentJobs.get(i),
+                newJobs.get(i),
                 removedComponents,
                 sectionsDebugLogger,
                 sectionTreeTag,
                 currentPrefix,
                 newPrefix,
                 thread,
-                enableStats);
+                enableStats,
+                executor);
+      }
+    }
 
-        changeSets.put(activeChildIndex, ChangeSet.merge(currentChangeSet, changeSet));
+    final SparseArray<ChangeSet> changeSets = new SparseArray<>();
+    for (int i = 0; i < childChangeSets.length; i++) {
+      final int slot = jobSlots.get(i);
+      if (i < removedJobsCount) {
+        changeSets.put(slot, childChangeSets[i]);
+      } else {
+        changeSets.put(slot, ChangeSet.merge(changeSets.get(slot), childChangeSets[i]));
       }
     }
 
     return changeSets;
   }
 
+  /**
+   * Generates the {@link ChangeSet} of each pair of current and new child on the given {@link
+   * Executor}. The calling thread runs every task that has not been picked up by the executor yet,
+   * which also keeps nested calls from waiting on tasks queued behind them.
+   */
+  private static ChangeSet[] generateChildChangeSetsConcurrently(
+      Executor executor,
+      final SectionContext sectionContext,
+      final List<Section> currentChildren,
+      final List<Section> newChildren,
+      List<Section> removedComponents,
+      final SectionsDebugLogger sectionsDebugLogger,
+      final String sectionTreeTag,
+      final String currentPrefix,
+      final String newPrefix,
+      final String thread,
+      final boolean enableStats) {
+    final int count = currentChildren.size();
+    final List<FutureTask<ChangeSet>> tasks = new ArrayList<>(count);
+    final List<List<Section>> removedPerChild = new ArrayList<>(count);
+
+    for (int i = 0; i < count; i++) {
+      final Section currentChild = currentChildren.get(i);
+      final Section newChild = newChildren.get(i);
+      final List<Section> removed = new ArrayList<>();
+      removedPerChild.add(removed);
+      tasks.add(
+          new FutureTask<>(
+              () ->
+                  generateChangeSetRecursive(
+                      sectionContext,
+                      currentChild,
+                      newChild,
+                      removed,
+                      sectionsDebugLogger,
+                      sectionTreeTag,
+                      currentPrefix,
+                      newPrefix,
+                      thread,
+                      enableStats,
+                      executor)));
+    }
+
+    for (int i = 1; i < count; i++) {
+      executor.execute(tasks.get(i));
+    }
+
+    final ChangeSet[] changeSets = new ChangeSet[count];
+    for (int i = 0; i < count; i++) {
+      final FutureTask<ChangeSet> task = tasks.get(i);
+      // No-op if the executor already started or finished this task.
+      task.run();
+      changeSets[i] = getChangeSet(task);
+      removedComponents.addAll(removedPerChild.get(i));
+    }
+
+    return changeSets;
+  }
+
+  private static ChangeSet getChangeSet(FutureTask<ChangeSet> task) {
+    try {
+      return task.get();
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
   private static int getPreviousChildrenCount(List<Section> sections, String key) {
     int count = 0;
     for (Section s : sections) {
@@ -58,6 +58,7 @@ import com.facebook.litho.sections.ChangesetDebugConfiguration.ChangesetDebugLis
 import com.facebook.litho.sections.SectionsLogEventUtils.ApplyNewChangeSet;
 import com.facebook.litho.sections.config.SectionsConfiguration;
 import com.facebook.litho.sections.logger.SectionsDebugLogger;
+import com.facebook.litho.stats.LithoMetrics;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.litho.widget.ChangeSetCompleteCallback;
 import com.facebook.litho.widget.RecyclerBinder.CommitPolicy;
@@ -73,6 +74,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -177,6 +179,7 @@ public class SectionTree {
   private final FocusDispatcher mFocusDispatcher;
   private final boolean mAsyncStateUpdates;
   private final boolean mAsyncPropUpdates;
+  private final @Nullable Executor mChangeSetExecutor;
   private final String mTag;
   private final Map<String, Range> mLastRanges = new HashMap<>();
   private final boolean mForceSyncStateUpdates;
@@ -344,8 +347,11 @@ public class SectionTree {
     }
 
     mAsyncPropUpdates = builder.mAsyncPropUpdates;
+    mChangeSetExecutor = builder.mChangeSetExecutor;
     mTag = builder.mTag;
-    mTarget = new BatchedTarget(builder.mTarget, mSectionsDebugLogger, mTag);
+    mTarget =
+        new BatchedTarget(
+            builder.mTarget, mSectionsDebugLogger, mTag, builder.mCoalesceChangeSetOperations);
     mUseBackgroundChangeSets = mTarget.supportsBackgroundChangeSets();
     mFocusDispatcher = new FocusDispatcher(mTarget);
 
@@ -1121,6 +1127,8 @@ public class SectionTree {
       attribution = mTag;
     }
 
+    final long metricsStartNs = LithoMetrics.start();
+    final long metricsStartAllocations = LithoMetrics.startAllocations();
     final boolean isTracing = ComponentsSystrace.isTracing();
     if (isTracing) {
       if (attribution != null) {
@@ -1207,7 +1215,8 @@ public class SectionTree {
                 nextRoot,
                 pendingStateUpdates.mAllStateUpdates,
                 mSectionsDebugLogger,
-                mTag);
+                mTag,
+                mChangeSetExecutor);
         if (isTracing) {
           ComponentsSystrace.endSection();
         }
@@ -1307,6 +1316,11 @@ public class SectionTree {
       if (ThreadUtils.isMainThread()) {
         LithoStats.incrementSectionCalculateNewChangesetOnUICount();
       }
+      LithoMetrics.record(
+          LithoMetrics.Stage.CHANGESET,
+          LithoMetrics.NO_TREE_ID,
+          metricsStartNs,
+          metricsStartAllocations);
     }
   }
 
@@ -1703,7 +1717,8 @@ public class SectionTree {
       Section nextRoot,
       Map<String, List<StateContainer.StateUpdate>> pendingStateUpdates,
       SectionsDebugLogger sectionsDebugLogger,
-      String sectionTreeTag) {
+      String sectionTreeTag,
+      @Nullable Executor changeSetExecutor) {
     nextRoot.setGlobalKey(nextRoot.getKey());
 
     final boolean isTracing = ComponentsSystrace.isTracing();
@@ -1724,7 +1739,15 @@ public class SectionTree {
     }
     try {
       return ChangeSetState.generateChangeSet(
-          context, currentRoot, nextRoot, sectionsDebugLogger, sectionTreeTag, "", "", false);
+          context,
+          currentRoot,
+          nextRoot,
+          sectionsDebugLogger,
+          sectionTreeTag,
+          "",
+          "",
+          false,
+          changeSetExecutor);
     } finally {
       if (isTracing) {
         ComponentsSystrace.endSection();
@@ -1946,6 +1969,8 @@ public class SectionTree {
     private boolean mAsyncPropUpdates;
     private String mTag;
     private @Nullable RunnableHandler mChangeSetThreadHandler;
+    private @Nullable Executor mChangeSetExecutor;
+    private boolean mCoalesceChangeSetOperations;
     private boolean mForceSyncStateUpdates;
     private boolean mPostToFrontOfQueueForFirstChangeset;
 
@@ -1963,6 +1988,27 @@ public class SectionTree {
       return this;
     }
 
+    /**
+     * An optional Executor used to generate the {@link ChangeSet}s of sibling sections
+     * concurrently, e.g. the DataDiffSections of a large group. The results are merged in the same
+     * order as when generated serially. The diff sections of this tree must not rely on running on
+     * the change set thread when this is set.
+     */
+    public Builder changeSetExecutor(@Nullable Executor changeSetExecutor) {
+      mChangeSetExecutor = changeSetExecutor;
+      return this;
+    }
+
+    /**
+     * If enabled, the single and range operations of a {@link ChangeSet} are merged into the
+     * smallest set of range operations before they reach the {@link Target}, and items that are
+     * inserted and removed again within the same {@link ChangeSet} are never dispatched.
+     */
+    public Builder coalesceChangeSetOperations(boolean coalesceChangeSetOperations) {
+      mCoalesceChangeSetOperations = coalesceChangeSetOperations;
+      return this;
+    }
+
     /** If enabled, all state updates will be performed on a background thread. */
     public Builder asyncStateUpdates(boolean asyncStateUpdates) {
       mAsyncStateUpdates = asyncStateUpdates;
@@ -139,19 +139,25 @@ public class DataDiffSectionSpec<T> {
     if (nextData != null && isDetectDuplicatesEnabled(alwaysDetectDuplicates)) {
       detectDuplicates(nextData, callback);
     }
-    if (isTracing) {
-      ComponentsSystrace.beginSection("DiffUtil.calculateDiff");
-    }
-    final DiffUtil.DiffResult result =
-        DiffUtil.calculateDiff(callback, isDetectMovesEnabled(detectMoves));
-    if (isTracing) {
-      ComponentsSystrace.endSection();
-    }
 
     updatesCallback =
         new RecyclerBinderUpdateCallback<>(
             previousData, nextData, componentRenderer, operationExecutor);
-    result.dispatchUpdatesTo(updatesCallback);
+
+    if (ComponentsConfiguration.enableDataDiffSectionFastPaths) {
+      DataDiffer.calculateAndDispatchDiff(
+          callback, isDetectMovesEnabled(detectMoves), updatesCallback);
+    } else {
+      if (isTracing) {
+        ComponentsSystrace.beginSection("DiffUtil.calculateDiff");
+      }
+      final DiffUtil.DiffResult result =
+          DiffUtil.calculateDiff(callback, isDetectMovesEnabled(detectMoves));
+      if (isTracing) {
+        ComponentsSystrace.endSection();
+      }
+      result.dispatchUpdatesTo(updatesCallback);
+    }
 
     updatesCallback.applyChangeset(c);
   }
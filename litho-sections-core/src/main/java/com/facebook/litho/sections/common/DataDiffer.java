@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.sections.common;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.BatchingListUpdateCallback;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import com.facebook.litho.ComponentsSystrace;
+
+/**
+ * Computes the updates between two lists for {@link DataDiffSectionSpec}.
+ *
+ * <p>The common prefix and suffix of items which are the same are matched in a single linear pass.
+ * This covers appending, prepending, inserting or removing a contiguous range, and unchanged
+ * lists, without running {@link DiffUtil}. Only the remaining middle range, if both lists still
+ * have items in it, is handed to {@link DiffUtil}.
+ *
+ * <p>Insertions, removals and moves are dispatched from the end of the list to its start, like
+ * {@link DiffUtil.DiffResult#dispatchUpdatesTo}, so every position is valid when it is dispatched.
+ * Changed items of the matched suffix are dispatched before those updates and changed items of the
+ * matched prefix after them, each in ascending position order. The relative order of these {@code
+ * onChanged} calls is not guaranteed to match {@link DiffUtil} and callers must not depend on it.
+ */
+final class DataDiffer {
+
+  private DataDiffer() {}
+
+  static void calculateAndDispatchDiff(
+      DiffUtil.Callback callback, boolean detectMoves, ListUpdateCallback updateCallback) {
+    final int oldSize = callback.getOldListSize();
+    final int newSize = callback.getNewListSize();
+    final int minSize = Math.min(oldSize, newSize);
+
+    int prefix = 0;
+    while (prefix < minSize && callback.areItemsTheSame(prefix, prefix)) {
+      prefix++;
+    }
+
+    int suffix = 0;
+    while (suffix < minSize - prefix
+        && callback.areItemsTheSame(oldSize - 1 - suffix, newSize - 1 - suffix)) {
+      suffix++;
+    }
+
+    final BatchingListUpdateCallback batchingCallback =
+        new BatchingListUpdateCallback(updateCallback);
+
+    final int oldMiddle = oldSize - prefix - suffix;
+    final int newMiddle = newSize - prefix - suffix;
+
+    dispatchChanges(callback, batchingCallback, oldSize - suffix, newSize - suffix, suffix);
+
+    if (oldMiddle == 0 && newMiddle > 0) {
+      batchingCallback.onInserted(prefix, newMiddle);
+    } else if (newMiddle == 0 && oldMiddle > 0) {
+      batchingCallback.onRemoved(prefix, oldMiddle);
+    } else if (oldMiddle > 0) {
+      final boolean isTracing = ComponentsSystrace.isTracing();
+      if (isTracing) {
+        ComponentsSystrace.beginSection("DiffUtil.calculateDiff");
+      }
+      final DiffUtil.DiffResult result =
+          DiffUtil.calculateDiff(
+              new RangeCallback(callback, prefix, oldMiddle, newMiddle), detectMoves);
+      if (isTracing) {
+        ComponentsSystrace.endSection();
+      }
+      result.dispatchUpdatesTo(new OffsetListUpdateCallback(batchingCallback, prefix));
+    }
+
+    dispatchChanges(callback, batchingCallback, 0, 0, prefix);
+
+    batchingCallback.dispatchLastEvent();
+  }
+
+  private static void dispatchChanges(
+      DiffUtil.Callback callback,
+      ListUpdateCallback updateCallback,
+      int oldStart,
+      int newStart,
+      int count) {
+    for (int i = 0; i < count; i++) {
+      if (!callback.areContentsTheSame(oldStart + i, newStart + i)) {
+        updateCallback.onChanged(
+            oldStart + i, 1, callback.getChangePayload(oldStart + i, newStart + i));
+      }
+    }
+  }
+
+  /** Exposes the [offset, offset + size) range of both lists to {@link DiffUtil}. */
+  private static final class RangeCallback extends DiffUtil.Callback {
+
+    private final DiffUtil.Callback mDelegate;
+    private final int mOffset;
+    private final int mOldSize;
+    private final int mNewSize;
+
+    RangeCallback(DiffUtil.Callback delegate, int offset, int oldSize, int newSize) {
+      mDelegate = delegate;
+      mOffset = offset;
+      mOldSize = oldSize;
+      mNewSize = newSize;
+    }
+
+    @Override
+    public int getOldListSize() {
+      return mOldSize;
+    }
+
+    @Override
+    public int getNewListSize() {
+      return mNewSize;
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+      return mDelegate.areItemsTheSame(oldItemPosition + mOffset, newItemPosition + mOffset);
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+      return mDelegate.areContentsTheSame(oldItemPosition + mOffset, newItemPosition + mOffset);
+    }
+
+    @Nullable
+    @Override
+    public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+      return mDelegate.getChangePayload(oldItemPosition + mOffset, newItemPosition + mOffset);
+    }
+  }
+
+  /** Shifts the positions of the updates dispatched for a {@link RangeCallback}. */
+  private static final class OffsetListUpdateCallback implements ListUpdateCallback {
+
+    private final ListUpdateCallback mDelegate;
+    private final int mOffset;
+
+    OffsetListUpdateCallback(ListUpdateCallback delegate, int offset) {
+      mDelegate = delegate;
+      mOffset = offset;
+    }
+
+    @Override
+    public void onInserted(int position, int count) {
+      mDelegate.onInserted(position + mOffset, count);
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+      mDelegate.onRemoved(position + mOffset, count);
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+      mDelegate.onMoved(fromPosition + mOffset, toPosition + mOffset);
+    }
+
+    @Override
+    public void onChanged(int position, int count, @Nullable Object payload) {
+      mDelegate.onChanged(position + mOffset, count, payload);
+    }
+  }
+}
@@ -16,9 +16,14 @@
 
 package com.facebook.litho;
 
+import androidx.annotation.Nullable;
+import com.facebook.rendercore.LayoutCache;
+
 /** Helper class to access Litho internals for benchmark testing. */
 public class BenchmarkTestHelper {
   private static final int[] LAYOUT_SIZE_OUT = new int[2];
+  private static final int BENCHMARK_TREE_ID = 0;
+  private static final int BENCHMARK_VERSION = 0;
 
   public static LithoView createAndMeasureLithoView(
       ComponentContext c, Component component, int widthSpec, int heightSpec) {
@@ -59,4 +64,116 @@ public class BenchmarkTestHelper {
   public static void setMountStateDirty(LithoView lithoView) {
     lithoView.setMountStateDirty();
   }
+
+  /** Runs only the resolve phase of the render pipeline for the given root component. */
+  public static ResolveResult resolve(ComponentContext c, Component component) {
+    return ResolveTreeFuture.resolve(
+        c,
+        component,
+        new TreeState(),
+        BENCHMARK_VERSION,
+        BENCHMARK_TREE_ID,
+        null,
+        null,
+        null,
+        null);
+  }
+
+  /**
+   * Runs only the Yoga layout phase for a previously resolved tree. The returned {@link
+   * MeasuredTree} can be passed to {@link #reduce(MeasuredTree)} to run the reduce phase.
+   */
+  public static MeasuredTree measure(ResolveResult resolveResult, int widthSpec, int heightSpec) {
+    final ComponentContext c = resolveResult.context;
+    final TreeState treeState = resolveResult.treeState;
+    final LithoLayoutContext lsc =
+        new LithoLayoutContext(
+            BENCHMARK_TREE_ID,
+            new MeasuredResultCache(),
+            c,
+            treeState,
+            BENCHMARK_VERSION,
+            resolveResult.component.getId(),
+            false,
+            new LayoutCache(),
+            null,
+            null);
+
+    final CalculationContext prevContext = c.getCalculationStateContext();
+    treeState.registerLayoutState();
+    try {
+      c.setLithoLayoutContext(lsc);
+      final @Nullable LithoLayoutResult root =
+          Layout.measureTree(
+              lsc, c.getAndroidContext(), resolveResult.node, widthSpec, heightSpec, null);
+      final LayoutState layoutState = createLayoutState(resolveResult, widthSpec, heightSpec);
+      if (root != null) {
+        Layout.measurePendingSubtrees(c, root, root.getNode(), layoutState, lsc);
+      }
+      return new MeasuredTree(resolveResult, lsc, root, widthSpec, heightSpec);
+    } finally {
+      c.setCalculationStateContext(prevContext);
+      treeState.unregisterLayoutInitialState();
+    }
+  }
+
+  /**
+   * Runs only the reduce phase on a measured tree. A new {@link LayoutState} is created for each
+   * call, so the same {@link MeasuredTree} can be reduced repeatedly.
+   */
+  public static LayoutState reduce(MeasuredTree measuredTree) {
+    final ResolveResult resolveResult = measuredTree.mResolveResult;
+    final LayoutState layoutState =
+        createLayoutState(resolveResult, measuredTree.mWidthSpec, measuredTree.mHeightSpec);
+    layoutState.mLayoutResult = measuredTree.mRoot;
+    LithoReducer.setSizeAfterMeasureAndCollectResults(
+        resolveResult.context, measuredTree.mLithoLayoutContext, layoutState);
+    return layoutState;
+  }
+
+  private static LayoutState createLayoutState(
+      ResolveResult resolveResult, int widthSpec, int heightSpec) {
+    return new LayoutState(
+        resolveResult.context,
+        resolveResult.component,
+        resolveResult.treeState,
+        resolveResult.outputs != null ? resolveResult.outputs.attachables : null,
+        resolveResult.outputs != null ? resolveResult.outputs.transitions : null,
+        resolveResult.outputs != null
+            ? resolveResult.outputs.componentsThatNeedPreviousRenderData
+            : null,
+        null,
+        resolveResult.node,
+        widthSpec,
+        heightSpec,
+        BENCHMARK_TREE_ID,
+        false,
+        false);
+  }
+
+  /** The result of the layout phase, holding everything needed to run the reduce phase. */
+  public static final class MeasuredTree {
+    private final ResolveResult mResolveResult;
+    private final LithoLayoutContext mLithoLayoutContext;
+    private final @Nullable LithoLayoutResult mRoot;
+    private final int mWidthSpec;
+    private final int mHeightSpec;
+
+    private MeasuredTree(
+        ResolveResult resolveResult,
+        LithoLayoutContext lithoLayoutContext,
+        @Nullable LithoLayoutResult root,
+        int widthSpec,
+        int heightSpec) {
+      mResolveResult = resolveResult;
+      mLithoLayoutContext = lithoLayoutContext;
+      mRoot = root;
+      mWidthSpec = widthSpec;
+      mHeightSpec = heightSpec;
+    }
+
+    public @Nullable LithoLayoutResult getRoot() {
+      return mRoot;
+    }
+  }
 }
@@ -29,6 +29,7 @@ import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentTree;
 import com.facebook.litho.ComponentTree.MeasureListener;
 import com.facebook.litho.ErrorEventHandler;
+import com.facebook.litho.LayoutPriority;
 import com.facebook.litho.LithoLifecycleListener;
 import com.facebook.litho.LithoLifecycleProvider;
 import com.facebook.litho.LithoLifecycleProviderDelegate;
@@ -111,6 +112,12 @@ public class ComponentTreeHolder {
   @GuardedBy("this")
   private int mLastRequestedHeightSpec = UNINITIALIZED;
 
+  @GuardedBy("this")
+  private @LayoutPriority int mLayoutPriority = LayoutPriority.VISIBLE;
+
+  @GuardedBy("this")
+  private @Nullable ComponentTreeHolderLayoutCache mLayoutCache;
+
   public static Builder create() {
     return new Builder();
   }
@@ -231,9 +238,37 @@ public class ComponentTreeHolder {
       acquireTreeState();
     }
 
+    if (retainTreeInLayoutCache()) {
+      return;
+    }
+
     releaseTree();
   }
 
+  /**
+   * Sets the cache this holder hands its {@link ComponentTree} to when it leaves the range, instead
+   * of releasing it.
+   */
+  synchronized void setLayoutCache(@Nullable ComponentTreeHolderLayoutCache layoutCache) {
+    mLayoutCache = layoutCache;
+  }
+
+  @GuardedBy("this")
+  private boolean retainTreeInLayoutCache() {
+    // Trees driven by their own lifecycle provider are destroyed through it, so they can't be
+    // retained.
+    if (mLayoutCache == null
+        || mComponentTree == null
+        || mComponentTreeHolderLifecycleProvider != null
+        || !mLayoutCache.put(this, mComponentTree)) {
+      return false;
+    }
+
+    mComponentTree = null;
+    mIsTreeValid = false;
+    return true;
+  }
+
   synchronized void invalidateTree() {
     mIsTreeValid = false;
   }
@@ -428,6 +463,23 @@ public class ComponentTreeHolder {
     return mIsInserted;
   }
 
+  /**
+   * Sets the {@link LayoutPriority} the async layouts of this holder are scheduled with.
+   *
+   * @see ComponentTree#setLayoutPriority(int)
+   */
+  public void setLayoutPriority(@LayoutPriority int layoutPriority) {
+    final ComponentTree componentTree;
+    synchronized (this) {
+      mLayoutPriority = layoutPriority;
+      componentTree = mComponentTree;
+    }
+
+    if (componentTree != null) {
+      componentTree.setLayoutPriority(layoutPriority);
+    }
+  }
+
   /** Set whether this ComponentTreeHolder has been inserted into the adapter. */
   public synchronized void setInserted(boolean inserted) {
     mIsInserted = inserted;
@@ -436,32 +488,15 @@ public class ComponentTreeHolder {
   @GuardedBy("this")
   private void ensureComponentTree(ComponentContext context) {
     if (mComponentTree == null) {
-      if (mParentLifecycle != null) {
-        mComponentTreeHolderLifecycleProvider = new ComponentTreeHolderLifecycleProvider();
+      final ComponentTree retainedTree = mLayoutCache != null ? mLayoutCache.take(this) : null;
+      if (retainedTree != null) {
+        retainedTree.updateLayoutThreadHandler(mLayoutHandler);
+        mComponentTree = retainedTree;
+      } else {
+        mComponentTree = createComponentTree(context);
       }
-      final ComponentTree.Builder builder =
-          ComponentTree.create(
-              context, mRenderInfo.getComponent(), mComponentTreeHolderLifecycleProvider);
-
-      // if custom attributes are provided on RenderInfo, they will be preferred over builder values
-      applyCustomAttributesIfProvided(builder);
-
-      builder
-          .layoutThreadHandler(mLayoutHandler)
-          .treeState(mTreeState)
-          .preAllocateMountContentHandler(mPreallocateMountContentHandler)
-          .shouldPreallocateMountContentPerMountSpec(mShouldPreallocatePerMountSpec)
-          .measureListener(
-              mComponentTreeMeasureListenerFactory == null
-                  ? null
-                  : mComponentTreeMeasureListenerFactory.create(this))
-          .incrementalMount(mIncrementalMount)
-          .visibilityProcessing(mVisibilityProcessingEnabled)
-          .logger(mRenderInfo.getComponentsLogger(), mRenderInfo.getLogTag())
-          .componentsConfiguration(mComponentsConfiguration)
-          .build();
-
-      mComponentTree = builder.build();
+
+      mComponentTree.setLayoutPriority(mLayoutPriority);
 
       if (mPendingNewLayoutListener != null) {
         mComponentTree.setNewLayoutStateReadyListener(mPendingNewLayoutListener);
@@ -469,6 +504,36 @@ public class ComponentTreeHolder {
     }
   }
 
+  @GuardedBy("this")
+  private ComponentTree createComponentTree(ComponentContext context) {
+    if (mParentLifecycle != null) {
+      mComponentTreeHolderLifecycleProvider = new ComponentTreeHolderLifecycleProvider();
+    }
+    final ComponentTree.Builder builder =
+        ComponentTree.create(
+            context, mRenderInfo.getComponent(), mComponentTreeHolderLifecycleProvider);
+
+    // if custom attributes are provided on RenderInfo, they will be preferred over builder values
+    applyCustomAttributesIfProvided(builder);
+
+    builder
+        .layoutThreadHandler(mLayoutHandler)
+        .treeState(mTreeState)
+        .preAllocateMountContentHandler(mPreallocateMountContentHandler)
+        .shouldPreallocateMountContentPerMountSpec(mShouldPreallocatePerMountSpec)
+        .measureListener(
+            mComponentTreeMeasureListenerFactory == null
+                ? null
+                : mComponentTreeMeasureListenerFactory.create(this))
+        .incrementalMount(mIncrementalMount)
+        .visibilityProcessing(mVisibilityProcessingEnabled)
+        .logger(mRenderInfo.getComponentsLogger(), mRenderInfo.getLogTag())
+        .componentsConfiguration(mComponentsConfiguration)
+        .build();
+
+    return builder.build();
+  }
+
   private void applyCustomAttributesIfProvided(ComponentTree.Builder builder) {
     final Object isReconciliationEnabledAttr =
         mRenderInfo.getCustomAttribute(ComponentRenderInfo.RECONCILIATION_ENABLED);
@@ -495,6 +560,10 @@ public class ComponentTreeHolder {
 
   @UiThread
   public synchronized void releaseTree() {
+    if (mLayoutCache != null) {
+      mLayoutCache.drop(this);
+    }
+
     if (mComponentTree != null) {
       if (mComponentTreeHolderLifecycleProvider != null) {
         mComponentTreeHolderLifecycleProvider.moveToLifecycle(DESTROYED);
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+import androidx.collection.LruCache;
+import com.facebook.litho.ComponentTree;
+import com.facebook.litho.LayoutState;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the {@link ComponentTree}s of items that left a {@link RecyclerBinder}'s range alive,
+ * together with their last committed {@link LayoutState}, so that an item scrolling back in only
+ * needs to be mounted instead of resolved and measured again.
+ *
+ * <p>Entries are keyed by the {@link ComponentTreeHolder} that released the tree. When the holder
+ * comes back with the same root component and size specs, the {@link ComponentTree} finds its
+ * committed layout compatible and skips the calculation; otherwise the adopted tree calculates a
+ * new layout like any other tree in range. The cache is bounded by an estimate of the retained
+ * bytes and evicts the least recently released trees first.
+ */
+final class ComponentTreeHolderLayoutCache {
+
+  /** Rough cost of a LayoutState, its RenderTree and its TreeState, per mountable output. */
+  static final int ESTIMATED_BYTES_PER_OUTPUT = 512;
+
+  /** Rough cost of a ComponentTree and LayoutState regardless of their contents. */
+  static final int ESTIMATED_BYTES_PER_TREE = 2048;
+
+  private final LruCache<ComponentTreeHolder, Entry> mCache;
+
+  ComponentTreeHolderLayoutCache(int maxSizeBytes) {
+    mCache =
+        new LruCache<ComponentTreeHolder, Entry>(maxSizeBytes) {
+          @Override
+          protected int sizeOf(@NonNull ComponentTreeHolder key, @NonNull Entry value) {
+            return value.mSizeBytes;
+          }
+
+          @Override
+          protected void entryRemoved(
+              boolean evicted,
+              @NonNull ComponentTreeHolder key,
+              @NonNull Entry oldValue,
+              @Nullable Entry newValue) {
+            // Trees taken back by their holder are still in use; only evicted or replaced ones
+            // have to be released.
+            if (evicted || newValue != null) {
+              oldValue.mComponentTree.release();
+            }
+          }
+        };
+  }
+
+  /**
+   * Retains the tree released by the given holder. Returns false if the tree has no committed
+   * layout worth keeping, in which case the caller still owns it.
+   */
+  @UiThread
+  boolean put(ComponentTreeHolder holder, ComponentTree componentTree) {
+    final @Nullable LayoutState layoutState = componentTree.getCommittedLayoutState();
+    if (layoutState == null) {
+      return false;
+    }
+
+    final int sizeBytes =
+        ESTIMATED_BYTES_PER_TREE
+            + layoutState.getMountableOutputCount() * ESTIMATED_BYTES_PER_OUTPUT;
+    if (sizeBytes > mCache.maxSize()) {
+      return false;
+    }
+
+    mCache.put(holder, new Entry(componentTree, sizeBytes));
+    return true;
+  }
+
+  /**
+   * Hands the tree retained for the given holder back to it. The tree belongs to the caller from
+   * now on, so it is not released by the cache anymore.
+   */
+  @Nullable
+  ComponentTree take(ComponentTreeHolder holder) {
+    final @Nullable Entry entry = mCache.remove(holder);
+    return entry != null ? entry.mComponentTree : null;
+  }
+
+  /** Releases the tree retained for the given holder, if any. */
+  @UiThread
+  void drop(ComponentTreeHolder holder) {
+    final @Nullable Entry entry = mCache.remove(holder);
+    if (entry != null) {
+      entry.mComponentTree.release();
+    }
+  }
+
+  int sizeBytes() {
+    return mCache.size();
+  }
+
+  private static final class Entry {
+    private final ComponentTree mComponentTree;
+    private final int mSizeBytes;
+
+    private Entry(ComponentTree componentTree, int sizeBytes) {
+      mComponentTree = componentTree;
+      mSizeBytes = sizeBytes;
+    }
+  }
+}
@@ -23,6 +23,7 @@ import androidx.annotation.VisibleForTesting;
 import androidx.collection.LruCache;
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentsReporter;
+import com.facebook.litho.LayoutPriority;
 import com.facebook.litho.Size;
 import com.facebook.litho.ThreadUtils;
 import com.facebook.rendercore.RunnableHandler;
@@ -89,6 +90,8 @@ public class ComponentWarmer {
 
     @Override
     public void prepareAsync(ComponentTreeHolder holder) {
+      // Warmed up items aren't inserted yet, so they shouldn't delay the layout of visible items.
+      holder.setLayoutPriority(LayoutPriority.PREFETCH);
       holder.computeLayoutAsync(mComponentContext, mWidthSpec, mHeightSpec);
     }
   }
@@ -58,6 +58,7 @@ import com.facebook.litho.ComponentsReporter;
 import com.facebook.litho.ComponentsSystrace;
 import com.facebook.litho.ErrorEventHandler;
 import com.facebook.litho.EventHandler;
+import com.facebook.litho.LayoutPriority;
 import com.facebook.litho.LithoLifecycleProvider;
 import com.facebook.litho.LithoStartupLogger;
 import com.facebook.litho.LithoView;
@@ -131,6 +132,7 @@ public class RecyclerBinder
   @Nullable private final LayoutHandlerFactory mLayoutHandlerFactory;
   private final @Nullable LithoViewFactory mLithoViewFactory;
   private final ComponentTreeHolderFactory mComponentTreeHolderFactory;
+  private final @Nullable ComponentTreeHolderLayoutCache mLayoutCache;
   private final Handler mMainThreadHandler = new Handler(Looper.getMainLooper());
   private final float mRangeRatio;
   private final AtomicBoolean mIsMeasured = new AtomicBoolean(false);
@@ -141,6 +143,7 @@ public class RecyclerBinder
   private final boolean mAcquireStateHandlerOnRelease;
   private final @Nullable LithoLifecycleProvider mParentLifecycle;
   private final RecyclerRangeTraverser mRangeTraverser;
+  private final @Nullable ScrollVelocityPredictor mScrollVelocityPredictor;
   private final boolean mHScrollAsyncMode;
   private final boolean mIncrementalMountEnabled;
   private final boolean mIsSubAdapter;
@@ -474,6 +477,8 @@ public class RecyclerBinder
     private RunnableHandler mAsyncInsertLayoutHandler;
     private boolean visibilityProcessing = true;
     private boolean acquireStateHandlerOnRelease = true;
+    private int layoutCacheMaxSizeBytes = 0;
+    private boolean velocityAwareRange = false;
     private boolean recyclerViewItemPrefetch = false;
     private boolean requestMountForPrefetchedItems = false;
     private int itemViewCacheSize = 0;
@@ -506,6 +511,18 @@ public class RecyclerBinder
       return this;
     }
 
+    /**
+     * Defaults to 0 (disabled). If positive, ComponentTrees of items leaving the prepared range are
+     * kept alive with their last committed layout, up to roughly this many bytes, instead of being
+     * released. Items scrolling back into range then reuse the retained layout, and only need to be
+     * mounted, as long as their component and size specs did not change. The least recently
+     * released trees are evicted first.
+     */
+    public Builder layoutCacheMaxSizeBytes(int layoutCacheMaxSizeBytes) {
+      this.layoutCacheMaxSizeBytes = layoutCacheMaxSizeBytes;
+      return this;
+    }
+
     /**
      * @param layoutInfo an implementation of {@link LayoutInfo} that will expose information about
      *     the {@link LayoutManager} this RecyclerBinder will use. If not set, it will default to a
@@ -684,6 +701,17 @@ public class RecyclerBinder
       return this;
     }
 
+    /**
+     * Defaults to false. If true, the range follows the scroll: while the list is scrolling, the
+     * range ahead of the scroll direction grows with the scroll velocity, the range behind it
+     * shrinks, and layouts are scheduled in the order items are expected to become visible. When
+     * the list is idle, the range and traversal order are the same as without this option.
+     */
+    public Builder velocityAwareRange(boolean velocityAwareRange) {
+      this.velocityAwareRange = velocityAwareRange;
+      return this;
+    }
+
     /**
      * Method for tests to allow mocking of the InternalAdapter to verify interaction with the
      * RecyclerView.
@@ -955,6 +983,10 @@ public class RecyclerBinder
     mAsyncInsertHandler = builder.mAsyncInsertLayoutHandler;
     mLithoViewFactory = builder.lithoViewFactory;
     mAcquireStateHandlerOnRelease = builder.acquireStateHandlerOnRelease;
+    mLayoutCache =
+        builder.layoutCacheMaxSizeBytes > 0
+            ? new ComponentTreeHolderLayoutCache(builder.layoutCacheMaxSizeBytes)
+            : null;
     mRecyclerViewItemPrefetch = builder.recyclerViewItemPrefetch;
     mRequestMountForPrefetchedItems = builder.requestMountForPrefetchedItems;
     mItemViewCacheSize = builder.itemViewCacheSize;
@@ -1010,9 +1042,13 @@ public class RecyclerBinder
       mRangeTraverser = RecyclerRangeTraverser.FORWARD_TRAVERSER;
     }
 
+    mScrollVelocityPredictor = builder.velocityAwareRange ? new ScrollVelocityPredictor() : null;
     mViewportManager =
         new ViewportManager(
-            mCurrentFirstVisiblePosition, mCurrentLastVisiblePosition, builder.layoutInfo);
+            mCurrentFirstVisiblePosition,
+            mCurrentLastVisiblePosition,
+            builder.layoutInfo,
+            mScrollVelocityPredictor);
 
     if (builder.estimatedViewportCount != UNSET) {
       mEstimatedViewportCount = builder.estimatedViewportCount;
@@ -3394,10 +3430,32 @@ public class RecyclerBinder
   }
 
   private void computeRange(int firstVisible, int lastVisible) {
-    computeRange(firstVisible, lastVisible, mRangeTraverser);
+    final int scrollDirection = getScrollDirection();
+    computeRange(
+        firstVisible,
+        lastVisible,
+        scrollDirection == 0
+            ? mRangeTraverser
+            : new ScrollVelocityPredictor.TimeToVisibleTraverser(scrollDirection),
+        scrollDirection);
   }
 
   private void computeRange(int firstVisible, int lastVisible, RecyclerRangeTraverser traverser) {
+    computeRange(firstVisible, lastVisible, traverser, 0);
+  }
+
+  private int getScrollDirection() {
+    return mScrollVelocityPredictor != null
+        ? mScrollVelocityPredictor.getDirection(SystemClock.uptimeMillis())
+        : 0;
+  }
+
+  /**
+   * @param scrollDirection 1 or -1 to extend the range towards higher or lower positions, following
+   *     the scroll velocity, or 0 for a range that is symmetric around the visible items.
+   */
+  private void computeRange(
+      int firstVisible, int lastVisible, RecyclerRangeTraverser traverser, int scrollDirection) {
     final int rangeSize;
     final int rangeStart;
     final int rangeEnd;
@@ -3417,6 +3475,13 @@ public class RecyclerBinder
       if (mIsCircular) {
         rangeStart = 0;
         rangeEnd = treeHoldersSize;
+      } else if (scrollDirection != 0 && mScrollVelocityPredictor != null) {
+        final int staticRange = (int) (rangeSize * mRangeRatio);
+        final long now = SystemClock.uptimeMillis();
+        final int rangeAhead = mScrollVelocityPredictor.getRangeAhead(staticRange, now);
+        final int rangeBehind = mScrollVelocityPredictor.getRangeBehind(staticRange, now);
+        rangeStart = firstVisible - (scrollDirection > 0 ? rangeBehind : rangeAhead);
+        rangeEnd = firstVisible + rangeSize + (scrollDirection > 0 ? rangeAhead : rangeBehind);
       } else {
         rangeStart = firstVisible - (int) (rangeSize * mRangeRatio);
         rangeEnd = firstVisible + rangeSize + (int) (rangeSize * mRangeRatio);
@@ -3431,6 +3496,8 @@ public class RecyclerBinder
       }
     }
 
+    final int visibleStart = firstVisible;
+    final int visibleEnd = lastVisible;
     RecyclerRangeTraverser.Processor processor;
     switch (mRecyclingStrategy) {
       case RecyclingStrategy.RETAIN_MAXIMUM_RANGE:
@@ -3439,7 +3506,13 @@ public class RecyclerBinder
               @Override
               public boolean process(int index) {
                 return computeRangeLayoutWithRetainMaximumRange(
-                    index, rangeStart, rangeEnd, treeHoldersSize, didRangeExtremitiesChange);
+                    index,
+                    rangeStart,
+                    rangeEnd,
+                    visibleStart,
+                    visibleEnd,
+                    treeHoldersSize,
+                    didRangeExtremitiesChange);
               }
             };
         break;
@@ -3450,7 +3523,8 @@ public class RecyclerBinder
             new RecyclerRangeTraverser.Processor() {
               @Override
               public boolean process(int index) {
-                return computeRangeLayoutAt(index, rangeStart, rangeEnd, treeHoldersSize);
+                return computeRangeLayoutAt(
+                    index, rangeStart, rangeEnd, visibleStart, visibleEnd, treeHoldersSize);
               }
             };
     }
@@ -3458,9 +3532,21 @@ public class RecyclerBinder
     traverser.traverse(0, treeHoldersSize, firstVisible, lastVisible, processor);
   }
 
+  private static @LayoutPriority int getLayoutPriority(
+      int index, int visibleStart, int visibleEnd) {
+    return index >= visibleStart && index <= visibleEnd
+        ? LayoutPriority.VISIBLE
+        : LayoutPriority.IN_RANGE;
+  }
+
   /** @return Whether or not to continue layout computation for current range */
   private boolean computeRangeLayoutAt(
-      int index, int rangeStart, int rangeEnd, int treeHoldersSize) {
+      int index,
+      int rangeStart,
+      int rangeEnd,
+      int visibleStart,
+      int visibleEnd,
+      int treeHoldersSize) {
 
     final ComponentTreeHolder holder;
     final int childrenWidthSpec, childrenHeightSpec;
@@ -3483,6 +3569,7 @@ public class RecyclerBinder
     }
 
     if ((index >= rangeStart || holder.getRenderInfo().isSticky()) && index <= rangeEnd) {
+      holder.setLayoutPriority(getLayoutPriority(index, visibleStart, visibleEnd));
       if (!holder.isTreeValidForSizeSpecs(childrenWidthSpec, childrenHeightSpec)) {
         holder.computeLayoutAsync(mComponentContext, childrenWidthSpec, childrenHeightSpec);
       }
@@ -3495,7 +3582,13 @@ public class RecyclerBinder
 
   /** @return Whether or not to continue layout computation for current range */
   private boolean computeRangeLayoutWithRetainMaximumRange(
-      int index, int rangeStart, int rangeEnd, int treeHoldersSize, boolean allowDeletions) {
+      int index,
+      int rangeStart,
+      int rangeEnd,
+      int visibleStart,
+      int visibleEnd,
+      int treeHoldersSize,
+      boolean allowDeletions) {
 
     final ComponentTreeHolder holder;
     int childrenWidthSpec = 0, childrenHeightSpec = 0;
@@ -3524,6 +3617,7 @@ public class RecyclerBinder
     }
 
     if (shouldTryComputeLayout) {
+      holder.setLayoutPriority(getLayoutPriority(index, visibleStart, visibleEnd));
       if (!holder.isTreeValidForSizeSpecs(childrenWidthSpec, childrenHeightSpec)) {
         holder.computeLayoutAsync(mComponentContext, childrenWidthSpec, childrenHeightSpec);
       }
@@ -4172,6 +4266,14 @@ public class RecyclerBinder
   }
 
   private ComponentTreeHolder createComponentTreeHolder(RenderInfo renderInfo) {
+    final ComponentTreeHolder holder = createOrConsumeComponentTreeHolder(renderInfo);
+    if (mLayoutCache != null) {
+      holder.setLayoutCache(mLayoutCache);
+    }
+    return holder;
+  }
+
+  private ComponentTreeHolder createOrConsumeComponentTreeHolder(RenderInfo renderInfo) {
     if (mComponentWarmer != null) {
       final Object tag = renderInfo.getCustomAttribute(ComponentWarmer.COMPONENT_WARMER_TAG);
       if (tag instanceof String) {
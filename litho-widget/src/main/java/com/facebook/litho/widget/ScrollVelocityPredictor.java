@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import androidx.annotation.UiThread;
+import androidx.annotation.VisibleForTesting;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Predicts where a list is scrolling to from how fast its first visible position changes, so that
+ * the {@link RecyclerBinder} range can lean ahead of the scroll instead of staying symmetric around
+ * the viewport.
+ *
+ * <p>The velocity is measured in items per second rather than pixels, which keeps the prediction
+ * meaningful for feeds with items of very different heights. It is fed by {@link ViewportManager}
+ * on the main thread and read by range computations on any thread.
+ */
+@ThreadSafe
+final class ScrollVelocityPredictor {
+
+  /** How far ahead, in time, the range is extended in the direction of the scroll. */
+  @VisibleForTesting static final long LOOKAHEAD_MS = 500;
+
+  /** The range ahead of the scroll grows to at most this many times its static size. */
+  @VisibleForTesting static final int MAX_EXPANSION_FACTOR = 3;
+
+  /** A velocity older than this is stale: the list has stopped or is about to. */
+  @VisibleForTesting static final long STALE_VELOCITY_MS = 250;
+
+  private static final long UNSET = -1;
+
+  // Only written from the main thread.
+  private int mLastFirstVisiblePosition = -1;
+  private long mLastChangeTimeMs = UNSET;
+
+  private volatile float mItemsPerSecond;
+  private volatile long mVelocityTimeMs = UNSET;
+
+  /** Records the first visible position observed while the list is scrolling. */
+  @UiThread
+  void onScrolled(int firstVisiblePosition, long uptimeMs) {
+    if (firstVisiblePosition < 0 || firstVisiblePosition == mLastFirstVisiblePosition) {
+      return;
+    }
+
+    if (mLastFirstVisiblePosition >= 0 && mLastChangeTimeMs != UNSET) {
+      final long elapsedMs = Math.max(1, uptimeMs - mLastChangeTimeMs);
+      final float instantVelocity =
+          (firstVisiblePosition - mLastFirstVisiblePosition) * 1000f / elapsedMs;
+      final float previous = isVelocityStale(uptimeMs) ? 0 : mItemsPerSecond;
+      // A direction change invalidates the history instead of slowly averaging it away.
+      mItemsPerSecond =
+          Math.signum(previous) == Math.signum(instantVelocity)
+              ? (previous + instantVelocity) / 2
+              : instantVelocity;
+      mVelocityTimeMs = uptimeMs;
+    }
+
+    mLastFirstVisiblePosition = firstVisiblePosition;
+    mLastChangeTimeMs = uptimeMs;
+  }
+
+  /** Forgets the current velocity, e.g. when the list becomes idle. */
+  @UiThread
+  void reset() {
+    mLastFirstVisiblePosition = -1;
+    mLastChangeTimeMs = UNSET;
+    mItemsPerSecond = 0;
+    mVelocityTimeMs = UNSET;
+  }
+
+  /**
+   * @return 1 if the list is scrolling towards higher positions, -1 if towards lower ones, or 0 if
+   *     there is no recent scroll to predict from.
+   */
+  int getDirection(long uptimeMs) {
+    if (isVelocityStale(uptimeMs)) {
+      return 0;
+    }
+    return (int) Math.signum(mItemsPerSecond);
+  }
+
+  /** @return the number of items past the viewport to lay out in the direction of the scroll. */
+  int getRangeAhead(int staticRange, long uptimeMs) {
+    return staticRange + getExtraRange(staticRange, uptimeMs);
+  }
+
+  /**
+   * @return the number of items past the viewport to keep on the opposite side of the scroll. It
+   *     shrinks by the amount the range ahead grows, down to half of the static range.
+   */
+  int getRangeBehind(int staticRange, long uptimeMs) {
+    return Math.max(staticRange / 2, staticRange - getExtraRange(staticRange, uptimeMs));
+  }
+
+  private int getExtraRange(int staticRange, long uptimeMs) {
+    if (isVelocityStale(uptimeMs)) {
+      return 0;
+    }
+    final int lookahead = (int) Math.ceil(Math.abs(mItemsPerSecond) * LOOKAHEAD_MS / 1000f);
+    return Math.min(lookahead, staticRange * (MAX_EXPANSION_FACTOR - 1));
+  }
+
+  private boolean isVelocityStale(long uptimeMs) {
+    final long velocityTimeMs = mVelocityTimeMs;
+    return velocityTimeMs == UNSET || uptimeMs - velocityTimeMs > STALE_VELOCITY_MS;
+  }
+
+  /**
+   * Traverses positions in the order they are expected to become visible: the visible ones first,
+   * then the ones ahead of the scroll from the nearest to the farthest, and finally the ones
+   * behind it, which the scroll is moving away from.
+   */
+  static final class TimeToVisibleTraverser implements RecyclerRangeTraverser {
+
+    private final int mDirection;
+
+    TimeToVisibleTraverser(int direction) {
+      mDirection = direction;
+    }
+
+    @Override
+    public void traverse(
+        int rangeStart, int rangeEnd, int firstVisible, int lastVisible, Processor processor) {
+      if (rangeEnd <= rangeStart) {
+        return;
+      }
+
+      final int visibleStart = Math.max(rangeStart, Math.min(firstVisible, rangeEnd - 1));
+      final int visibleEnd = Math.max(visibleStart, Math.min(lastVisible, rangeEnd - 1));
+
+      if (mDirection >= 0) {
+        for (int i = visibleStart; i < rangeEnd; i++) {
+          if (!processor.process(i)) {
+            return;
+          }
+        }
+        for (int i = visibleStart - 1; i >= rangeStart; i--) {
+          if (!processor.process(i)) {
+            return;
+          }
+        }
+      } else {
+        for (int i = visibleEnd; i >= rangeStart; i--) {
+          if (!processor.process(i)) {
+            return;
+          }
+        }
+        for (int i = visibleEnd + 1; i < rangeEnd; i++) {
+          if (!processor.process(i)) {
+            return;
+          }
+        }
+      }
+    }
+  }
+}
@@ -87,6 +87,7 @@ import com.facebook.litho.annotations.Prop;
 import com.facebook.litho.annotations.PropDefault;
 import com.facebook.litho.annotations.ResType;
 import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.rendercore.TextLayoutCache;
 import com.facebook.widget.accessibility.delegates.AccessibleClickableSpan;
 import com.facebook.widget.accessibility.delegates.ContentDescriptionSpan;
 import com.facebook.yoga.YogaDirection;
@@ -328,6 +329,7 @@ public class TextSpec {
       @Prop(optional = true) boolean minimallyWide,
       @Prop(optional = true, resType = ResType.DIMEN_SIZE) int minimallyWideThreshold,
       @Prop(optional = true, resType = ResType.DIMEN_TEXT) float lineHeight,
+      @Prop(optional = true, dynamic = true) Integer dynamicTextColor,
       Output<Layout> measureLayout,
       Output<Integer> measuredWidth,
       Output<Integer> measuredHeight) {
@@ -373,7 +375,8 @@ public class TextSpec {
             hyphenationFrequency,
             justificationMode,
             textDirection,
-            lineHeight);
+            lineHeight,
+            dynamicTextColor == null);
 
     measureLayout.set(newLayout);
 
@@ -456,9 +459,64 @@ public class TextSpec {
       int hyphenationFrequency,
       int justificationMode,
       @Nullable TextDirectionHeuristicCompat textDirection,
-      float lineHeight) {
+      float lineHeight,
+      boolean allowLayoutCache) {
     Layout newLayout;
 
+    final int resolvedTextSize =
+        textSize != UNSET
+            ? textSize
+            : context.getResourceResolver().sipsToPixels(DEFAULT_TEXT_SIZE_SP);
+    final TextDirectionHeuristicCompat resolvedTextDirection =
+        getTextDirection(textDirection, layoutDirection);
+    final Alignment layoutAlignment =
+        getLayoutAlignment(textAlignment, resolvedTextDirection, text, layoutDirection);
+
+    // Layouts are only shared when nothing mutates their paint after mount: the color must not
+    // follow a ColorStateList (see TextDrawable#onStateChange) or a dynamic value.
+    @Nullable TextLayoutCache.Key cacheKey = null;
+    if (allowLayoutCache
+        && textColor != 0
+        && TextLayoutCache.isEnabled()
+        && TextLayoutCache.isCacheable(text)) {
+      cacheKey =
+          new TextLayoutCache.Key.Builder()
+              .add(text)
+              .add(widthSpec)
+              .add(density)
+              .add(ellipsize)
+              .add(shouldIncludeFontPadding)
+              .add(maxLines)
+              .add(shadowRadius)
+              .add(shadowDx)
+              .add(shadowDy)
+              .add(shadowColor)
+              .add(isSingleLine)
+              .add(textColor)
+              .add(linkColor)
+              .add(resolvedTextSize)
+              .add(extraSpacing)
+              .add(spacingMultiplier)
+              .add(letterSpacing)
+              .add(textStyle)
+              .add(typeface)
+              .add(layoutAlignment)
+              .add(minEms)
+              .add(maxEms)
+              .add(minTextWidth)
+              .add(maxTextWidth)
+              .add(breakStrategy)
+              .add(hyphenationFrequency)
+              .add(justificationMode)
+              .add(resolvedTextDirection)
+              .add(lineHeight)
+              .build();
+      final Layout cachedLayout = TextLayoutCache.get(cacheKey);
+      if (cachedLayout != null) {
+        return cachedLayout;
+      }
+    }
+
     TextLayoutBuilder layoutBuilder = new TextLayoutBuilder();
     layoutBuilder.setShouldCacheLayout(false);
 
@@ -504,12 +562,7 @@ public class TextSpec {
         .setHyphenationFrequency(hyphenationFrequency);
 
     // text size must be set before the line hight
-    if (textSize != UNSET) {
-      layoutBuilder.setTextSize(textSize);
-    } else {
-      int defaultTextSize = context.getResourceResolver().sipsToPixels(DEFAULT_TEXT_SIZE_SP);
-      layoutBuilder.setTextSize(defaultTextSize);
-    }
+    layoutBuilder.setTextSize(resolvedTextSize);
 
     if (lineHeight != Float.MAX_VALUE) {
       layoutBuilder.setLineHeight(lineHeight);
@@ -543,10 +596,8 @@ public class TextSpec {
       layoutBuilder.setTextStyle(textStyle);
     }
 
-    textDirection = getTextDirection(textDirection, layoutDirection);
-    layoutBuilder.setTextDirection(textDirection);
-    layoutBuilder.setAlignment(
-        getLayoutAlignment(textAlignment, textDirection, text, layoutDirection));
+    layoutBuilder.setTextDirection(resolvedTextDirection);
+    layoutBuilder.setAlignment(layoutAlignment);
 
     // T146855657 this is a temporary step to enable timeout for checking whether layout
     // isBoringLayout
@@ -559,6 +610,10 @@ public class TextSpec {
       throw new RuntimeException("text: " + text.toString(), e);
     }
 
+    if (cacheKey != null) {
+      TextLayoutCache.put(cacheKey, newLayout);
+    }
+
     if (glyphWarming) {
       // TODO(T34488162): we also don't want this to happen when we are using DL (legacy?)
       TextureWarmer.getInstance().warmLayout(newLayout);
@@ -602,6 +657,7 @@ public class TextSpec {
       @Nullable @Prop(optional = true) TextDirectionHeuristicCompat textDirection,
       @Nullable @Prop(optional = true, resType = ResType.STRING) CharSequence customEllipsisText,
       @Prop(optional = true, resType = ResType.DIMEN_TEXT) float lineHeight,
+      @Prop(optional = true, dynamic = true) Integer dynamicTextColor,
       @FromMeasure Layout measureLayout,
       @FromMeasure Integer measuredWidth,
       @FromMeasure Integer measuredHeight,
@@ -658,7 +714,8 @@ public class TextSpec {
               hyphenationFrequency,
               justificationMode,
               textDirection,
-              lineHeight));
+              lineHeight,
+              dynamicTextColor == null));
     }
 
     final float textHeight = LayoutMeasureUtil.getHeight(textLayout.get());
@@ -715,7 +772,8 @@ public class TextSpec {
                 hyphenationFrequency,
                 justificationMode,
                 textDirection,
-                lineHeight);
+                lineHeight,
+                dynamicTextColor == null);
 
         YogaDirection layoutDirection = layout.getResolvedLayoutDirection();
         TextDirectionHeuristicCompat finalTextDirection =
@@ -768,7 +826,8 @@ public class TextSpec {
                 hyphenationFrequency,
                 justificationMode,
                 textDirection,
-                lineHeight);
+                lineHeight,
+                dynamicTextColor == null);
 
         processedText.set(truncated);
         textLayout.set(newLayout);
@@ -16,6 +16,7 @@
 
 package com.facebook.litho.widget;
 
+import android.os.SystemClock;
 import androidx.annotation.AnyThread;
 import androidx.annotation.GuardedBy;
 import androidx.annotation.Nullable;
@@ -50,16 +51,26 @@ final class ViewportManager {
   private final List<ViewportChanged> mViewportChangedListeners;
 
   private final LayoutInfo mLayoutInfo;
+  private final @Nullable ScrollVelocityPredictor mScrollVelocityPredictor;
   private final ViewportScrollListener mViewportScrollListener = new ViewportScrollListener();
 
   ViewportManager(
       int currentFirstVisiblePosition, int currentLastVisiblePosition, LayoutInfo layoutInfo) {
+    this(currentFirstVisiblePosition, currentLastVisiblePosition, layoutInfo, null);
+  }
+
+  ViewportManager(
+      int currentFirstVisiblePosition,
+      int currentLastVisiblePosition,
+      LayoutInfo layoutInfo,
+      @Nullable ScrollVelocityPredictor scrollVelocityPredictor) {
     mCurrentFirstVisiblePosition = currentFirstVisiblePosition;
     mCurrentLastVisiblePosition = currentLastVisiblePosition;
     mCurrentFirstFullyVisiblePosition = layoutInfo.findFirstFullyVisibleItemPosition();
     mCurrentLastFullyVisiblePosition = layoutInfo.findLastFullyVisibleItemPosition();
     mTotalItemCount = layoutInfo.getItemCount();
     mLayoutInfo = layoutInfo;
+    mScrollVelocityPredictor = scrollVelocityPredictor;
     mViewportChangedListeners = new ArrayList<>(2);
   }
 
@@ -79,6 +90,10 @@ final class ViewportManager {
       return;
     }
 
+    if (mScrollVelocityPredictor != null && state == ViewportInfo.State.SCROLLING) {
+      mScrollVelocityPredictor.onScrolled(firstVisiblePosition, SystemClock.uptimeMillis());
+    }
+
     if (firstVisiblePosition == mCurrentFirstVisiblePosition
         && lastVisiblePosition == mCurrentLastVisiblePosition
         && firstFullyVisibleItemPosition == mCurrentFirstFullyVisiblePosition
@@ -223,5 +238,12 @@ final class ViewportManager {
     public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
       onViewportChanged(ViewportInfo.State.SCROLLING);
     }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+      if (mScrollVelocityPredictor != null && newState == RecyclerView.SCROLL_STATE_IDLE) {
+        mScrollVelocityPredictor.reset();
+      }
+    }
   }
 }